@@ -0,0 +1,85 @@
+package com.arkvalleyevents.msse692_backend.controller;
+
+import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventPageResponse;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.model.EventType;
+import com.arkvalleyevents.msse692_backend.service.CountMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller-side work on the event list endpoint: sort validation and wrapping a 20-row page in the response.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventsControllerBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private Page<EventDto> page;
+    private Slice<EventDto> slice;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2025, 7, 1, 19, 0);
+        List<EventDto> rows = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            EventDto dto = new EventDto();
+            dto.setEventId((long) i);
+            dto.setSlug("event-" + i);
+            dto.setEventName("Event " + i);
+            dto.setType(EventType.CONCERT);
+            dto.setStartAt(start.plusDays(i));
+            dto.setEndAt(start.plusDays(i).plusHours(2));
+            dto.setStatus(EventStatus.PUBLISHED);
+            rows.add(dto);
+        }
+        PageRequest request = PageRequest.of(2, PAGE_SIZE, Sort.by("startAt"));
+        page = new PageImpl<>(rows, request, 500);
+        slice = new SliceImpl<>(rows, request, true);
+    }
+
+    @Benchmark
+    public String normalizeSort_default() {
+        return EventsController.normalizeSort(null);
+    }
+
+    @Benchmark
+    public String normalizeSort_desc() {
+        return EventsController.normalizeSort("eventName,desc");
+    }
+
+    @Benchmark
+    public EventPageResponse pageResponse_exact() {
+        return EventPageResponse.from(page);
+    }
+
+    @Benchmark
+    public EventPageResponse pageResponse_slice() {
+        return EventPageResponse.from(slice, CountMode.NONE);
+    }
+}
@@ -0,0 +1,127 @@
+package com.arkvalleyevents.msse692_backend.logging;
+
+import ch.qos.logback.classic.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The APPROVE_REQUEST audit line through the varargs audit() the role services used to carry (copied below) vs
+ * AuditLog, with the audit logger on and off. The loggers have no appenders, so only building the line and the
+ * logback event is measured; run with -prof gc for bytes/op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditLogBenchmark {
+
+    private Logger enabled;
+    private Logger disabled;
+
+    private Long actorId;
+    private String approverUid;
+    private String requesterUid;
+    private UUID requestId;
+    private Set<String> roles;
+    private Long version;
+
+    @Setup
+    public void setUp() {
+        enabled = logger("bench.audit.on", Level.INFO);
+        disabled = logger("bench.audit.off", Level.OFF);
+        actorId = 42L;
+        approverUid = "admin-uid-7f3a";
+        requesterUid = "user-uid-19c2";
+        requestId = UUID.fromString("3f1c9a52-5d1e-4b8e-9a7c-2b6f0e4d8a11");
+        roles = new HashSet<>(Set.of("EDITOR", "USER"));
+        version = 3L;
+    }
+
+    @Benchmark
+    public void legacy_enabled() {
+        legacyApprove(enabled);
+    }
+
+    @Benchmark
+    public void legacy_disabled() {
+        legacyApprove(disabled);
+    }
+
+    @Benchmark
+    public void auditLog_enabled() {
+        approve(enabled);
+    }
+
+    @Benchmark
+    public void auditLog_disabled() {
+        approve(disabled);
+    }
+
+    private void legacyApprove(Logger log) {
+        legacyAudit(log, "APPROVE_REQUEST", "actorId", actorId, "approverUid", approverUid, "requesterUid", requesterUid,
+                "requestId", requestId, "rolesGranted", roles, "from", "Pending", "to", "Approved", "noteLen", 12,
+                "outcome", "SUCCESS", "version", version);
+    }
+
+    private void approve(Logger log) {
+        AuditLog.event(log, "APPROVE_REQUEST").with("actorId", actorId).with("approverUid", approverUid)
+                .with("requesterUid", requesterUid).with("requestId", requestId).with("rolesGranted", roles)
+                .with("from", "Pending").with("to", "Approved").with("noteLen", 12)
+                .with("outcome", "SUCCESS").with("version", version).log();
+    }
+
+    // RoleRequestServiceImpl.audit before AuditLog
+    private static void legacyAudit(Logger log, String event, Object... kv) {
+        StringBuilder sb = new StringBuilder("audit=true event=").append(event);
+        for (int i = 0; i + 1 < kv.length; i += 2) {
+            Object key = kv[i];
+            Object val = kv[i + 1];
+            if (key == null) continue;
+            sb.append(' ').append(key).append('=');
+            if (val == null) {
+                sb.append("null");
+            } else if (val instanceof Iterable<?>) {
+                String joined = ((Iterable<?>) val).iterator().hasNext() ?
+                        toSortedList((Iterable<?>) val).toString() : "[]";
+                sb.append(joined);
+            } else {
+                sb.append(val);
+            }
+        }
+        log.info(sb.toString());
+    }
+
+    private static List<String> toSortedList(Iterable<?> it) {
+        List<String> list = new ArrayList<>();
+        for (Object o : it) if (o != null) list.add(o.toString());
+        list.sort(Comparator.naturalOrder());
+        return list;
+    }
+
+    private static Logger logger(String name, Level level) {
+        ch.qos.logback.classic.Logger logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(name);
+        logger.setLevel(level);
+        logger.setAdditive(false);
+        return logger;
+    }
+}
@@ -0,0 +1,99 @@
+package com.arkvalleyevents.msse692_backend.security.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of turning a Firebase-style RS256 ID token into a Jwt: the verifying decoder as configured
+ * in SecurityConfig (seeded key set, issuer + audience validators) versus the same decoder behind
+ * CachingJwtDecoder answering a repeat token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtDecodeBenchmark {
+
+    private static final String ISSUER = "https://securetoken.google.com/ark-valley-events";
+    private static final String AUDIENCE = "ark-valley-events";
+
+    private JwtDecoder verifying;
+    private JwtDecoder cached;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("bench").generate();
+        Path seed = Files.createTempFile("jwks", ".json");
+        Files.writeString(seed, new JWKSet(key.toPublicJWK()).toString());
+
+        var validator = new DelegatingOAuth2TokenValidator<Jwt>(JwtValidators.createDefaultWithIssuer(ISSUER),
+                jwt -> OAuth2TokenValidatorResult.success());
+        NimbusJwtDecoder nimbus = FirebaseJwtDecoders.withKeys(
+                new SeededJwkSource(FirebaseJwtDecoders.loadSeed(seed.toString()), null, Duration.ofHours(1), Duration.ofSeconds(30)));
+        nimbus.setJwtValidator(validator);
+        verifying = nimbus;
+        cached = new CachingJwtDecoder(nimbus, 10_000, new SimpleMeterRegistry());
+
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .audience(AUDIENCE)
+                .subject("uid-bench")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(3600)))
+                .claim("email", "bench@example.com")
+                .claim("roles", List.of("USER", "EDITOR"))
+                .claim("firebase", Map.of("sign_in_provider", "google.com"))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("bench").build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        token = jwt.serialize();
+        cached.decode(token); // the SPA's first request
+        Files.deleteIfExists(seed);
+    }
+
+    @Benchmark
+    public Jwt verifyEveryRequest() {
+        return verifying.decode(token);
+    }
+
+    @Benchmark
+    public Jwt verifiedTokenCacheHit() {
+        return cached.decode(token);
+    }
+}
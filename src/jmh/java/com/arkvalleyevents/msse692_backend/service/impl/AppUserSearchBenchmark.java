@@ -0,0 +1,87 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin user search over 1M synthetic users: AppUserSearchIndex lookup vs a linear substring scan of the same
+ * lower-cased fields, which is the work LOWER(col) LIKE '%q%' does per row before any I/O.
+ * Queries range from selective (a full surname + number, a UID fragment) to one with no match.
+ * The forked JVM gets a 4 GB heap: setup holds both the index and the scan copy of the text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AppUserSearchBenchmark {
+
+    private static final String[] FIRST = {"ann", "bob", "carol", "dave", "erin", "frank", "grace", "heidi", "ivan", "judy",
+            "mallory", "niaj", "olivia", "peggy", "rupert", "sybil", "trent", "victor", "walter", "zoe"};
+    private static final String[] LAST = {"smith", "jones", "garcia", "miller", "davis", "lopez", "wilson", "anderson",
+            "thomas", "taylor", "moore", "jackson", "martin", "lee", "perez", "thompson", "white", "harris", "clark", "lewis"};
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "example.org", "arkvalley.events"};
+    private static final String UID_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+    @Param({"1000000"})
+    public int users;
+
+    @Param({"thompson4217", "k3vq9", "nobody-here"})
+    public String query;
+
+    private AppUserSearchIndex index;
+    private String[] texts;
+    private String needle;
+
+    @Setup
+    public void setUp() {
+        index = new AppUserSearchIndex(null, new SimpleMeterRegistry(), true, 1000);
+        texts = new String[users];
+        SplittableRandom rnd = new SplittableRandom(42);
+        for (int i = 0; i < users; i++) {
+            String first = FIRST[rnd.nextInt(FIRST.length)];
+            String last = LAST[rnd.nextInt(LAST.length)];
+            String email = first + "." + last + i + "@" + DOMAINS[rnd.nextInt(DOMAINS.length)];
+            String name = Character.toUpperCase(first.charAt(0)) + first.substring(1) + " "
+                    + Character.toUpperCase(last.charAt(0)) + last.substring(1);
+            StringBuilder uid = new StringBuilder(28);
+            for (int c = 0; c < 28; c++) uid.append(UID_CHARS.charAt(rnd.nextInt(UID_CHARS.length())));
+            index.apply(i + 1L, uid.toString(), email, name, 0L);
+            texts[i] = (email + "\u0001" + name + "\u0001" + uid).toLowerCase(Locale.ROOT);
+        }
+        index.markReady();
+        needle = query.toLowerCase(Locale.ROOT);
+    }
+
+    @Benchmark
+    public Optional<List<Long>> trigramIndex() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public List<Long> linearScan() {
+        List<Long> out = new ArrayList<>();
+        for (int i = 0; i < texts.length; i++) {
+            if (texts[i].contains(needle)) out.add(i + 1L);
+        }
+        return out;
+    }
+}
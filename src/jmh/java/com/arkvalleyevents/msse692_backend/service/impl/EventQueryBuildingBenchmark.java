@@ -0,0 +1,77 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request query building in EventServiceImpl: filter map to Specification, sort string to Sort, and the
+ * slug derived on create. Filter maps mirror what EventListPolicy hands over for each caller type.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventQueryBuildingBenchmark {
+
+    private Map<String, String> publicFilters;
+    private Map<String, String> editorFilters;
+    private Map<String, String> adminFilters;
+
+    @Setup
+    public void setUp() {
+        publicFilters = new HashMap<>(Map.of("status", "PUBLISHED"));
+        editorFilters = new HashMap<>(Map.of("createdByUserId", "42", "ownerOrPublished", "true"));
+        adminFilters = new HashMap<>(Map.of(
+                "status", "PUBLISHED",
+                "eventType", "CONCERT",
+                "from", "2025-06-01T00:00:00",
+                "to", "2025-06-30T23:59:59"));
+    }
+
+    @Benchmark
+    public Specification<Event> buildSpecification_public() {
+        return EventServiceImpl.buildSpecification(publicFilters);
+    }
+
+    @Benchmark
+    public Specification<Event> buildSpecification_editor() {
+        return EventServiceImpl.buildSpecification(editorFilters);
+    }
+
+    @Benchmark
+    public Specification<Event> buildSpecification_adminAllFilters() {
+        return EventServiceImpl.buildSpecification(adminFilters);
+    }
+
+    @Benchmark
+    public Sort parseSort_desc() {
+        return EventServiceImpl.parseSort("startAt,desc");
+    }
+
+    @Benchmark
+    public Sort parseSort_prefix() {
+        return EventServiceImpl.parseSort("-eventName");
+    }
+
+    @Benchmark
+    public String slugify() {
+        return EventServiceImpl.slugify("  Summer Music Fest 2025: Live @ the Park!  ");
+    }
+}
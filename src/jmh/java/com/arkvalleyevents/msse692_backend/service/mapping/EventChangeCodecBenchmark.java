@@ -0,0 +1,80 @@
+package com.arkvalleyevents.msse692_backend.service.mapping;
+
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.model.EventType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the event_audit.snapshot diff adds to a write: capture() runs on the request thread for every
+ * update/publish/cancel, encode_* on the audit writer thread. Description size is a parameter because the LOB
+ * is checksummed when it changes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventChangeCodecBenchmark {
+
+    @Param({"200", "32768"})
+    public int descriptionLength;
+
+    private Event event;
+    private EventFieldState before;
+    private EventFieldState published;
+    private EventFieldState edited;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2025, 7, 4, 19, 0);
+        event = new Event();
+        event.setSlug("summer-music-fest-2025");
+        event.setEventName("Summer Music Fest 2025");
+        event.setEventType(EventType.CONCERT);
+        event.setStartAt(start);
+        event.setEndAt(start.plusHours(3));
+        event.setStatus(EventStatus.DRAFT);
+        event.setEventLocation("Riverside Park, Salida CO");
+        event.setEventDescription("d".repeat(descriptionLength));
+        before = EventFieldState.of(event);
+
+        event.setStatus(EventStatus.PUBLISHED);
+        published = EventFieldState.of(event);
+
+        event.setStatus(EventStatus.DRAFT);
+        event.setEventName("Summer Music Fest 2025 (moved)");
+        event.setStartAt(start.plusDays(1));
+        event.setEventDescription("e".repeat(descriptionLength));
+        edited = EventFieldState.of(event);
+    }
+
+    @Benchmark
+    public EventFieldState capture() {
+        return EventFieldState.of(event);
+    }
+
+    @Benchmark
+    public String encode_statusOnly() {
+        return EventChangeCodec.encode(before, published, 4L);
+    }
+
+    @Benchmark
+    public String encode_editWithDescription() {
+        return EventChangeCodec.encode(before, edited, 4L);
+    }
+}
@@ -0,0 +1,76 @@
+package com.arkvalleyevents.msse692_backend.service.mapping;
+
+import com.arkvalleyevents.msse692_backend.dto.response.EventDetailDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.model.EventType;
+import com.arkvalleyevents.msse692_backend.repository.EventSummaryView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The generated MapStruct EventMapperImpl on the list (entity and projection row) and detail paths.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventMapperBenchmark {
+
+    private EventMapper mapper;
+    private Event event;
+    private EventSummaryView summary;
+
+    @Setup
+    public void setUp() {
+        mapper = new EventMapperImpl();
+        LocalDateTime start = LocalDateTime.of(2025, 7, 4, 19, 0);
+        event = new Event();
+        event.setEventId(1001L);
+        event.setSlug("summer-music-fest-2025");
+        event.setEventName("Summer Music Fest 2025");
+        event.setEventType(EventType.CONCERT);
+        event.setStartAt(start);
+        event.setEndAt(start.plusHours(3));
+        event.setStatus(EventStatus.PUBLISHED);
+        event.setEventLocation("Riverside Park, Salida CO");
+        event.setEventDescription("Live music on the river. ".repeat(40));
+        event.setCreatedAt(Instant.parse("2025-05-01T12:00:00Z"));
+        event.setUpdatedAt(Instant.parse("2025-05-02T12:00:00Z"));
+        event.setVersion(3L);
+        event.setCreatedByUserId(42L);
+        event.setLastModifiedByUserId(42L);
+        summary = new EventSummaryView(1001L, "summer-music-fest-2025", "Summer Music Fest 2025", EventType.CONCERT,
+                start, start.plusHours(3), EventStatus.PUBLISHED, "Riverside Park, Salida CO", 42L, 42L);
+    }
+
+    @Benchmark
+    public EventDto toDto_entity() {
+        return mapper.toDto(event);
+    }
+
+    @Benchmark
+    public EventDto toDto_summaryRow() {
+        return mapper.toDto(summary);
+    }
+
+    @Benchmark
+    public EventDetailDto toDetailDto() {
+        return mapper.toDetailDto(event);
+    }
+}
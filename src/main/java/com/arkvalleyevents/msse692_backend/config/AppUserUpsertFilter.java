@@ -4,7 +4,10 @@ import com.arkvalleyevents.msse692_backend.model.AppUser;
 import com.arkvalleyevents.msse692_backend.model.Profile;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
 import com.arkvalleyevents.msse692_backend.repository.ProfileRepository;
-import com.arkvalleyevents.msse692_backend.util.CurrentAuditor;
+import com.arkvalleyevents.msse692_backend.security.context.AppUserIdentityCache;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentity;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentityScope;
+import com.arkvalleyevents.msse692_backend.service.impl.AppUserSearchIndex;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,56 +27,87 @@ import org.springframework.web.filter.OncePerRequestFilter;
 /**
  * On authenticated requests, ensure an AppUser row exists keyed by Firebase UID
  * and upsert basic profile fields. Defaults role to USER on first create.
+ * Repeat requests whose email/name/picture claims are unchanged are answered from
+ * {@link AppUserIdentityCache} without any query.
  */
 @Component
 public class AppUserUpsertFilter extends OncePerRequestFilter {
 
     private final AppUserRepository repository;
     private final ProfileRepository profileRepository;
+    private final AppUserIdentityCache identityCache;
+    private final AppUserSearchIndex searchIndex;
 
-    public AppUserUpsertFilter(AppUserRepository repository, ProfileRepository profileRepository) {
+    public AppUserUpsertFilter(AppUserRepository repository, ProfileRepository profileRepository,
+                               AppUserIdentityCache identityCache, AppUserSearchIndex searchIndex) {
         this.repository = repository;
         this.profileRepository = profileRepository;
+        this.identityCache = identityCache;
+        this.searchIndex = searchIndex;
     }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null && auth.getPrincipal() instanceof org.springframework.security.oauth2.jwt.Jwt jwtPrincipal) {
-            Long userId = upsertFromJwt(jwtPrincipal);
-            CurrentAuditor.set(userId); // make available to AuditorAware
+        RequestIdentity identity = null;
+        if (auth != null) {
+            Long userId = null;
+            String uid = null;
+            if (auth.getPrincipal() instanceof org.springframework.security.oauth2.jwt.Jwt jwtPrincipal) {
+                uid = uid(jwtPrincipal);
+                userId = upsertFromJwt(jwtPrincipal, uid);
+            }
+            identity = RequestIdentity.of(userId, uid, auth.isAuthenticated() ? auth.getAuthorities() : null);
+        }
+        // Bound for the rest of the chain only; restored even when the chain throws
+        try (RequestIdentityScope.Binding ignored = RequestIdentityScope.bind(identity)) {
+            filterChain.doFilter(request, response);
         }
-        filterChain.doFilter(request, response);
-        CurrentAuditor.clear();
     }
 
-    private Long upsertFromJwt(Jwt jwt) {
+    private String uid(Jwt jwt) {
         String uid = claim(jwt, "sub"); // Firebase UID is subject
         if (uid == null || uid.isBlank()) {
             uid = claim(jwt, "user_id");
         }
-        if (uid == null || uid.isBlank()) return null;
+        return uid == null || uid.isBlank() ? null : uid;
+    }
+
+    private Long upsertFromJwt(Jwt jwt, String uid) {
+        if (uid == null) return null;
+
+        String email = claim(jwt, "email");
+        String name = claim(jwt, "name");
+        String picture = claim(jwt, "picture");
+        long fingerprint = AppUserIdentityCache.fingerprint(email, name, picture);
+        Optional<AppUserIdentityCache.Identity> cached = identityCache.lookup(uid, fingerprint);
+        if (cached.isPresent()) {
+            return cached.get().userId();
+        }
 
         Optional<AppUser> existing = repository.findByFirebaseUid(uid);
         if (existing.isPresent()) {
             AppUser u = existing.get();
             boolean changed = false;
-            String email = claim(jwt, "email");
-            String name = claim(jwt, "name");
-            String picture = claim(jwt, "picture");
 
             if (email != null && !email.equals(u.getEmail())) { u.setEmail(email); changed = true; }
 
-            // If a completed Profile exists for this user, do NOT overwrite displayName from JWT
+            // If a completed Profile exists for this user, do NOT overwrite displayName from JWT.
+            // Only the claims changed since the last cached resolve: the cached flag is still valid (profile writes evict it)
+            Optional<Boolean> knownCompleted = identityCache.completedProfile(uid);
             boolean hasCompletedProfile = false;
-            try {
-                hasCompletedProfile = profileRepository
-                    .findByUserId(u.getId())
-                    .map(Profile::isCompleted)
-                    .orElse(false);
-            } catch (Exception ignored) {
-                // In case repository not available in certain profiles/tests, fail open to original behavior
+            if (knownCompleted.isPresent()) {
+                hasCompletedProfile = knownCompleted.get();
+            } else {
+                try {
+                    hasCompletedProfile = profileRepository
+                        .findByUserId(u.getId())
+                        .map(Profile::isCompleted)
+                        .orElse(false);
+                } catch (Exception ignored) {
+                    // In case repository not available in certain profiles/tests, fail open to original behavior
+                }
             }
 
             if (!hasCompletedProfile) {
@@ -81,22 +115,33 @@ public class AppUserUpsertFilter extends OncePerRequestFilter {
             }
 
             if (picture != null && !picture.equals(u.getPhotoUrl())) { u.setPhotoUrl(picture); changed = true; }
-            if (changed) repository.save(Objects.requireNonNull(u));
+            if (changed) {
+                indexSaved(repository.save(Objects.requireNonNull(u)));
+            }
+            identityCache.put(uid, fingerprint, u.getId(), hasCompletedProfile);
             return u.getId();
         } else {
             AppUser u = new AppUser();
             u.setFirebaseUid(uid);
-            u.setEmail(claim(jwt, "email"));
-            u.setDisplayName(claim(jwt, "name"));
-            u.setPhotoUrl(claim(jwt, "picture"));
+            u.setEmail(email);
+            u.setDisplayName(name);
+            u.setPhotoUrl(picture);
             Set<String> roles = new HashSet<>();
             roles.add("USER");
             u.setRoles(roles);
-            repository.save(u);
+            indexSaved(repository.save(u));
+            identityCache.put(uid, fingerprint, u.getId(), false);
             return u.getId();
         }
     }
 
+    // save() committed on its own (no surrounding transaction here), so the index sees only durable rows
+    private void indexSaved(AppUser saved) {
+        if (saved != null) {
+            searchIndex.onSaved(saved);
+        }
+    }
+
     private String claim(Jwt jwt, String name) {
         Object v = jwt.getClaims().get(name);
         return v != null ? String.valueOf(v) : null;
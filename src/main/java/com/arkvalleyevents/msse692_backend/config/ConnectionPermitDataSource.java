@@ -0,0 +1,151 @@
+package com.arkvalleyevents.msse692_backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps concurrent connection checkouts with a fair semaphore sized to the Hikari pool.
+ *
+ * With virtual threads there is no Tomcat thread limit in front of the pool any more, so thousands of requests
+ * can ask Hikari for a connection at once. Waiting here instead queues them FIFO on a cheap park (no pinning),
+ * keeps Hikari's own wait path uncontended, and makes the backlog visible as a metric. A permit is returned when
+ * the connection is closed (i.e. handed back to the pool), exactly once.
+ *
+ * Closing this DataSource closes the pool: it replaces the Hikari bean, so it inherits its shutdown.
+ */
+public class ConnectionPermitDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final LongAdder timeouts = new LongAdder();
+
+    public ConnectionPermitDataSource(DataSource target, int maxPermits, Duration acquireTimeout) {
+        super(target);
+        this.maxPermits = Math.max(maxPermits, 1);
+        this.permits = new Semaphore(this.maxPermits, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return permitted(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return permitted(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /** Threads currently parked waiting for a permit (an estimate, as for Semaphore#getQueueLength). */
+    public int waitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    /** Highest number of connections checked out at once since startup. */
+    public int peakInUse() {
+        return peakInUse.get();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException("Timed out after "
+                        + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + "ms waiting for one of "
+                        + maxPermits + " connection permits");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", e);
+        }
+        peakInUse.accumulateAndGet(maxPermits - permits.availablePermits(), Math::max);
+    }
+
+    private Connection permitted(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new PermitReleasingHandler(target));
+    }
+
+    private final class PermitReleasingHandler implements InvocationHandler {
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Permitted[" + target + "]";
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+            }
+        }
+    }
+}
@@ -1,30 +1,42 @@
 package com.arkvalleyevents.msse692_backend.config;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
+import com.google.firebase.ThreadManager;
 import com.google.firebase.auth.FirebaseAuth;
 
 import jakarta.annotation.PostConstruct;
 
 /**
- * Initializes Firebase Admin SDK using Application Default Credentials and exposes FirebaseApp and FirebaseAuth beans
+ * Initializes Firebase Admin SDK using Application Default Credentials and exposes FirebaseApp and FirebaseAuth beans.
+ * With spring.threads.virtual.enabled the SDK's background work (token refresh, async calls) runs on virtual threads too.
  */
 
 @Configuration
 public class FirebaseAdminConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @PostConstruct
     public void init() throws IOException {
         if (FirebaseApp.getApps().isEmpty()) {
-            FirebaseOptions options = FirebaseOptions.builder()
-                .setCredentials(GoogleCredentials.getApplicationDefault())
-                .build();
-            FirebaseApp.initializeApp(options);
+            FirebaseOptions.Builder options = FirebaseOptions.builder()
+                .setCredentials(GoogleCredentials.getApplicationDefault());
+            if (virtualThreads) {
+                options.setThreadManager(new VirtualThreadManager());
+            }
+            FirebaseApp.initializeApp(options.build());
         }
     }
 
@@ -38,4 +50,24 @@ public class FirebaseAdminConfig {
     public FirebaseAuth firebaseAuth(FirebaseApp app) {
         return FirebaseAuth.getInstance(app);
     }
+
+    /** One virtual thread per SDK task instead of the default daemon platform-thread pool. */
+    static final class VirtualThreadManager extends ThreadManager {
+        private final ThreadFactory threadFactory = Thread.ofVirtual().name("firebase-admin-", 0).factory();
+
+        @Override
+        protected ExecutorService getExecutor(FirebaseApp app) {
+            return Executors.newThreadPerTaskExecutor(threadFactory);
+        }
+
+        @Override
+        protected void releaseExecutor(FirebaseApp app, ExecutorService executor) {
+            executor.shutdownNow();
+        }
+
+        @Override
+        protected ThreadFactory getThreadFactory() {
+            return threadFactory;
+        }
+    }
 }
@@ -1,32 +1,42 @@
 package com.arkvalleyevents.msse692_backend.config;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
-import com.arkvalleyevents.msse692_backend.util.CurrentAuditor;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentityScope;
 
 /**
- * Enables JPA auditing and provides an AuditorAware<Long> that resolves the current user ID via CurrentAuditor (and optionally via a JWT claim).
+ * Enables JPA auditing and provides an AuditorAware<Long> that resolves the current user ID via the request's RequestIdentity (and optionally via a JWT claim).
  */
 
 @Configuration
-@EnableJpaAuditing(auditorAwareRef = "appUserAuditorAware")
+@EnableJpaAuditing(auditorAwareRef = "appUserAuditorAware", dateTimeProviderRef = "auditingDateTimeProvider")
 public class JpaConfig {
 
+	// Audit timestamps at the columns' microsecond precision, so the entity holds exactly what the database stores
+	// (PublicUpcomingIndex stamps lists from in-memory updatedAt values that must match EventRepository.stamp)
+	@Bean
+	public DateTimeProvider auditingDateTimeProvider() {
+		return () -> Optional.of(Instant.now().truncatedTo(ChronoUnit.MICROS));
+	}
+
 	@Bean
 	public AuditorAware<Long> appUserAuditorAware() {
 		return new AuditorAware<Long>() {
 			@Override
 			@SuppressWarnings("null")
 			public Optional<Long> getCurrentAuditor() {
-				// First check thread-local set by AppUserUpsertFilter
-				Optional<Long> tl = CurrentAuditor.get();
-				if (tl.isPresent()) return tl;
+				// First check the identity AppUserUpsertFilter bound for this request
+				Optional<Long> bound = RequestIdentityScope.currentUserId();
+				if (bound.isPresent()) return bound;
 				// Fallback: attempt to extract from SecurityContext without hitting repositories
 				Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 				if (auth == null || !auth.isAuthenticated()) return Optional.empty();
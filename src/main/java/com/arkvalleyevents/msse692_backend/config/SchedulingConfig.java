@@ -0,0 +1,12 @@
+package com.arkvalleyevents.msse692_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance jobs (e.g. eviction of past events from the public upcoming index).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
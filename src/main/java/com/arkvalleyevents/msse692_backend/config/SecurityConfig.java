@@ -1,14 +1,15 @@
 package com.arkvalleyevents.msse692_backend.config;
 
-import com.arkvalleyevents.msse692_backend.model.AppUser;
+import com.arkvalleyevents.msse692_backend.model.RoleMask;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
+import com.arkvalleyevents.msse692_backend.security.context.RoleAuthorityCache;
+import com.arkvalleyevents.msse692_backend.security.jwt.FirebaseJwtDecoders;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,14 +18,12 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.JwtDecoders;
 import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
@@ -34,6 +33,7 @@ import org.springframework.security.web.SecurityFilterChain;
  * Consolidated security configuration:
  * - dev profile: JWT via issuer only
  * - local/prod profiles: JWT with issuer + audience validation and roles mapping
+ * Both decoders load Firebase keys without discovery (FirebaseJwtDecoders) and cache verified tokens until exp.
  * Public GET endpoints are permitted; all others require authentication.
  */
 @Configuration
@@ -79,8 +79,10 @@ public class SecurityConfig {
 
     @Bean(name = "jwtDecoder")
     @Profile("dev")
-    public JwtDecoder devJwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri) {
-        return JwtDecoders.fromIssuerLocation(issuerUri);
+    public JwtDecoder devJwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+                                    FirebaseJwtDecoders.Settings jwtDecoderSettings,
+                                    MeterRegistry meterRegistry) {
+        return FirebaseJwtDecoders.build(jwtDecoderSettings, JwtValidators.createDefaultWithIssuer(issuerUri), meterRegistry);
     }
 
     @Bean(name = "jwtAuthenticationConverter")
@@ -128,10 +130,10 @@ public class SecurityConfig {
     @Profile({"local", "prod"})
     public JwtDecoder prodJwtDecoder(
             @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
-            @Value("${app.security.firebase.audience}") String audience
+            @Value("${app.security.firebase.audience}") String audience,
+            FirebaseJwtDecoders.Settings jwtDecoderSettings,
+            MeterRegistry meterRegistry
     ) {
-        JwtDecoder decoder = JwtDecoders.fromIssuerLocation(issuerUri);
-
         var withIssuer = JwtValidators.createDefaultWithIssuer(issuerUri);
         OAuth2TokenValidator<Jwt> withAudience = jwt -> {
             List<String> aud = jwt.getAudience();
@@ -141,22 +143,46 @@ public class SecurityConfig {
                 : OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Invalid audience", null));
         };
 
-        ((org.springframework.security.oauth2.jwt.NimbusJwtDecoder) decoder)
-            .setJwtValidator(new DelegatingOAuth2TokenValidator<>(withIssuer, withAudience));
-        return decoder;
+        return FirebaseJwtDecoders.build(jwtDecoderSettings,
+            new DelegatingOAuth2TokenValidator<>(withIssuer, withAudience), meterRegistry);
+    }
+
+    // Keys without OIDC discovery: optional local JWKS seed, lazily refreshed from the Firebase JWKS endpoint
+    @Bean
+    @Profile({"dev", "local", "prod"})
+    public FirebaseJwtDecoders.Settings jwtDecoderSettings(
+            @Value("${app.security.jwt.jwks-file:}") String jwksFile,
+            @Value("${app.security.jwt.jwks-uri:" + FirebaseJwtDecoders.FIREBASE_JWKS_URI + "}") String jwksUri,
+            @Value("${app.security.jwt.refresh-interval:1h}") Duration refreshInterval,
+            @Value("${app.security.jwt.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${app.security.jwt.cache.max-entries:10000}") int cacheMaxEntries) {
+        return new FirebaseJwtDecoders.Settings(jwksFile, jwksUri, refreshInterval, cacheEnabled, cacheMaxEntries);
     }
 
     @Bean(name = "jwtAuthenticationConverter")
     @Profile({"local", "prod"})
-    public JwtAuthenticationConverter prodJwtAuthenticationConverter() {
+    public JwtAuthenticationConverter prodJwtAuthenticationConverter(RoleAuthorityCache roleAuthorityCache) {
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-        converter.setJwtGrantedAuthoritiesConverter(rolesClaimConverter());
+        converter.setJwtGrantedAuthoritiesConverter(rolesClaimConverter(roleAuthorityCache));
         return converter;
     }
 
-    private org.springframework.core.convert.converter.Converter<Jwt, Collection<GrantedAuthority>> rolesClaimConverter() {
+    // Declared here (not @Component) so slices importing SecurityConfig get it too; role services invalidate it
+    @Bean
+    public RoleAuthorityCache roleAuthorityCache(@Value("${app.security.role-cache.ttl:5m}") Duration ttl,
+                                                 @Value("${app.security.role-cache.max-entries:10000}") int maxEntries) {
+        return new RoleAuthorityCache(ttl, maxEntries);
+    }
+
+    org.springframework.core.convert.converter.Converter<Jwt, Collection<GrantedAuthority>> rolesClaimConverter(RoleAuthorityCache cache) {
         return jwt -> {
             Object claim = jwt.getClaims().get("roles");
+            if (claim instanceof List<?> l && !l.isEmpty() && allStrings(l)) {
+                // Common case: the claim list itself is the interning key, nothing is copied on a hit
+                @SuppressWarnings("unchecked")
+                List<String> names = (List<String>) l;
+                return cache.authorities(names);
+            }
             List<String> roles = new ArrayList<>();
             if (claim instanceof Collection<?> c) {
                 for (Object o : c) {
@@ -165,31 +191,31 @@ public class SecurityConfig {
             } else if (claim instanceof String s) {
                 roles.add(s);
             }
-            if (roles.isEmpty()) {
-                // Fallback to DB roles based on Firebase UID (sub/user_id)
-                String uid = stringClaim(jwt, "sub");
-                if (uid == null || uid.isBlank()) uid = stringClaim(jwt, "user_id");
-                if (uid != null && !uid.isBlank()) {
-                    Optional<AppUser> u = appUserRepository.findByFirebaseUid(uid);
-                    if (u.isPresent()) {
-                        Set<String> dbRoles = u.get().getRoles();
-                        if (dbRoles != null && !dbRoles.isEmpty()) {
-                            roles.addAll(dbRoles);
-                        }
-                    }
-                }
-                if (roles.isEmpty()) roles.add("USER");
+            if (!roles.isEmpty()) {
+                return cache.authorities(roles);
             }
-            return roles.stream()
-                .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(r -> !r.isEmpty())
-                .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r.toUpperCase())
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toUnmodifiableList());
+            // Fallback to DB roles based on Firebase UID (sub/user_id), cached per UID until a role change or TTL
+            String uid = stringClaim(jwt, "sub");
+            if (uid == null || uid.isBlank()) uid = stringClaim(jwt, "user_id");
+            if (uid == null || uid.isBlank()) {
+                return cache.authorities(List.of("USER"));
+            }
+            return cache.forUid(uid, this::storedRoles);
         };
     }
 
+    // One scalar column read: no entity load and no app_user_roles join (roles are LAZY now)
+    private Collection<String> storedRoles(String uid) {
+        return appUserRepository.findRoleMaskByFirebaseUid(uid).map(RoleMask::names).orElse(Set.of());
+    }
+
+    private static boolean allStrings(List<?> values) {
+        for (Object o : values) {
+            if (!(o instanceof String)) return false;
+        }
+        return true;
+    }
+
     private static String stringClaim(Jwt jwt, String name) {
         Object v = jwt.getClaims().get(name);
         return v != null ? String.valueOf(v) : null;
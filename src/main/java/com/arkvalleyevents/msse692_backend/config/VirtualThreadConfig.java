@@ -0,0 +1,68 @@
+package com.arkvalleyevents.msse692_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extra wiring when requests run on virtual threads ({@code spring.threads.virtual.enabled=true}, set by the
+ * {@code virtual} profile). Boot itself moves Tomcat, the application task executor and the scheduler onto
+ * virtual threads. Here the Hikari DataSource is wrapped in a {@link ConnectionPermitDataSource} so the number of
+ * concurrent checkouts stays at the pool size however many virtual threads are runnable.
+ *
+ * Permits default to Hikari's maximum-pool-size and the wait to its connection-timeout; override with
+ * {@code app.datasource.connection-permits} / {@code app.datasource.permit-timeout}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    static BeanPostProcessor connectionPermitDataSourcePostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                int permits = env.getProperty("app.datasource.connection-permits", Integer.class, hikari.getMaximumPoolSize());
+                Duration timeout = env.getProperty("app.datasource.permit-timeout", Duration.class,
+                        Duration.ofMillis(hikari.getConnectionTimeout()));
+                log.info("Virtual threads enabled: limiting DataSource '{}' to {} concurrent connections (wait up to {}ms)",
+                        beanName, permits, timeout.toMillis());
+                return new ConnectionPermitDataSource(hikari, permits, timeout);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof ConnectionPermitDataSource permits)) {
+                return;
+            }
+            Gauge.builder("app.datasource.permits.available", permits, ConnectionPermitDataSource::availablePermits)
+                    .description("Connection permits free right now").register(registry);
+            Gauge.builder("app.datasource.permits.waiting", permits, ConnectionPermitDataSource::waitingThreads)
+                    .description("Threads parked waiting for a connection permit").register(registry);
+            Gauge.builder("app.datasource.permits.peak", permits, ConnectionPermitDataSource::peakInUse)
+                    .description("Most connections checked out at once since startup").register(registry);
+            FunctionCounter.builder("app.datasource.permits.timeouts", permits, ConnectionPermitDataSource::timeouts)
+                    .description("Permit waits that hit the timeout").register(registry);
+        };
+    }
+}
@@ -2,21 +2,24 @@ package com.arkvalleyevents.msse692_backend.controller;
 
 import com.arkvalleyevents.msse692_backend.dto.response.ApiErrorDto;
 import com.arkvalleyevents.msse692_backend.dto.request.RoleRequestDecisionDto;
+import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestCursorPageResponse;
 import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestDto;
 import com.arkvalleyevents.msse692_backend.model.RoleRequestStatus;
 import com.arkvalleyevents.msse692_backend.service.RoleRequestService;
 import com.arkvalleyevents.msse692_backend.service.UserRoleService;
 import com.arkvalleyevents.msse692_backend.service.AppUserService;
+import com.arkvalleyevents.msse692_backend.service.CountMode;
 import com.arkvalleyevents.msse692_backend.dto.response.AppUserWithRolesDto;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -61,15 +64,22 @@ public class AdminUserController {
         // ----------------------------------------------------------------
 
         @GetMapping()
-        @Operation(summary = "List users", description = "Admin-only: Paginated user list with optional text (q) and role filters.")
+        @Operation(summary = "List users", description = "Admin-only: Paginated user list with optional text (q) and role filters. "
+            + "count=false returns a slice (no totals, skips the COUNT query); count=approx returns cached totals.")
         @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK",
                 content = @Content(schema = @Schema(implementation = AppUserWithRolesDto.class)))
         })
-        public Page<AppUserWithRolesDto> listUsers(@RequestParam(name = "q") Optional<String> q,
+        public Slice<AppUserWithRolesDto> listUsers(@RequestParam(name = "q") Optional<String> q,
                                @RequestParam(name = "role", required = false) Set<String> roles,
+                               @RequestParam(name = "count", required = false) String count,
                                Pageable pageable) {
-        return appUserService.listUsers(q, roles == null ? Set.of() : roles, pageable);
+        CountMode countMode = CountMode.fromParam(count);
+        Set<String> roleFilter = roles == null ? Set.of() : roles;
+        if (countMode == CountMode.EXACT) {
+            return appUserService.listUsers(q, roleFilter, pageable);
+        }
+        return appUserService.listUsers(q, roleFilter, pageable, countMode);
         }
 
         @GetMapping("/{uid}")
@@ -162,10 +172,33 @@ public class AdminUserController {
         return ResponseEntity.accepted().body(Map.of(
             "uid", result.uid(),
             "message", "Role claims sync triggered",
-            "force", result.force()
+            "force", result.force(),
+            "outcome", String.valueOf(result.outcome())
         ));
     }
 
+    @PostMapping("/claims/sync")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Sync all users' role claims",
+        description = "Pushes Firebase role claims for every user (ADMIN only). Without force, users whose roles are "
+            + "unchanged since the last successful push are skipped. Returns pushed/skipped/failed counts."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "403", description = "Forbidden",
+                content = @Content(schema = @Schema(implementation = ApiErrorDto.class)))
+    })
+    public Map<String, Object> syncAllRolesClaims(@RequestParam(name = "force", defaultValue = "false") boolean force) {
+        var counts = userRoleService.syncAllClaims(force);
+        return Map.of(
+            "force", force,
+            "pushed", counts.pushed(),
+            "skipped", counts.skipped(),
+            "failed", counts.failed()
+        );
+    }
+
     // Admin Requests
     // ----------------------------------------------------------------
     // These endpoints allow admins to manage role requests made by users
@@ -175,20 +208,33 @@ public class AdminUserController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
         summary = "List role requests",
-        description = "Admin-only: Lists user role elevation requests with optional status and text search filters. Returns a paginated result."
+        description = "Admin-only: Lists user role elevation requests with optional status and text search filters. Returns a paginated result. "
+            + "count=false returns a slice (no totals); count=approx returns cached totals. "
+            + "Passing 'cursor' (empty for the first page) switches to keyset paging, newest first: no totals, an opaque next cursor, 'page' and 'sort' ignored."
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "OK",
-            content = @Content(schema = @Schema(implementation = RoleRequestDto.class))),
+            content = @Content(schema = @Schema(oneOf = {RoleRequestDto.class, RoleRequestCursorPageResponse.class}))),
         @ApiResponse(responseCode = "400", description = "Bad Request",
             content = @Content(schema = @Schema(implementation = ApiErrorDto.class))),
         @ApiResponse(responseCode = "403", description = "Forbidden",
             content = @Content(schema = @Schema(implementation = ApiErrorDto.class)))
     })
-    public Page<RoleRequestDto> list(@RequestParam Optional<RoleRequestStatus> status,
-                                    @RequestParam Optional<String> search,
-                                    Pageable pageable) {
-        return service.adminList(status, search, pageable);
+    public ResponseEntity<?> list(@RequestParam Optional<RoleRequestStatus> status,
+                                  @RequestParam Optional<String> search,
+                                  @RequestParam(name = "count", required = false) String count,
+                                  @Parameter(description = "Opaque keyset cursor from a previous response; empty value requests the first page")
+                                  @RequestParam(name = "cursor", required = false) String cursor,
+                                  Pageable pageable) {
+        if (cursor != null) {
+            // Keyset mode: seek past the cursor row over idx_role_requests_status_created_at instead of OFFSET + COUNT
+            return ResponseEntity.ok(service.adminQueue(status, search, cursor, pageable.getPageSize()));
+        }
+        CountMode countMode = CountMode.fromParam(count);
+        if (countMode == CountMode.EXACT) {
+            return ResponseEntity.ok(service.adminList(status, search, pageable));
+        }
+        return ResponseEntity.ok(service.adminList(status, search, pageable, countMode));
     }
 
     @GetMapping("roles/requests/{id}")
@@ -5,13 +5,20 @@ import com.arkvalleyevents.msse692_backend.dto.request.CreateEventDto;
 import com.arkvalleyevents.msse692_backend.dto.request.UpdateEventDto;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDetailDto;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditCursorPageResponse;
 import com.arkvalleyevents.msse692_backend.dto.response.EventAuditDto;
 import com.arkvalleyevents.msse692_backend.dto.response.EventPageResponse;
+import com.arkvalleyevents.msse692_backend.dto.response.EventCursorPageResponse;
+import com.arkvalleyevents.msse692_backend.dto.response.EventVersionStateDto;
+import com.arkvalleyevents.msse692_backend.repository.EventVersionView;
+import com.arkvalleyevents.msse692_backend.service.CountMode;
 import com.arkvalleyevents.msse692_backend.service.EventAuditService;
 import com.arkvalleyevents.msse692_backend.service.EventService;
 import com.arkvalleyevents.msse692_backend.security.policy.EventAccessPolicy;
 import com.arkvalleyevents.msse692_backend.security.context.UserContext;
 import com.arkvalleyevents.msse692_backend.security.context.UserContextProvider;
+import com.arkvalleyevents.msse692_backend.util.ETags;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -23,18 +30,29 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
  
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.ValidationException;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -50,18 +68,21 @@ import java.util.Map;
 @Validated
 public class EventsController {
     private static final Logger log = LoggerFactory.getLogger(EventsController.class);
+    private static final String NDJSON = "application/x-ndjson";
 
     //Service
     private final EventService eventService;
     private final EventAuditService eventAuditService;
     private final EventAccessPolicy eventAccessPolicy;
     private final UserContextProvider userContextProvider;
+    private final ObjectMapper objectMapper;
 
-    public EventsController(EventService eventService, EventAuditService eventAuditService, EventAccessPolicy eventAccessPolicy, UserContextProvider userContextProvider) {
+    public EventsController(EventService eventService, EventAuditService eventAuditService, EventAccessPolicy eventAccessPolicy, UserContextProvider userContextProvider, ObjectMapper objectMapper) {
         this.eventService = eventService;
         this.eventAuditService = eventAuditService;
         this.eventAccessPolicy = eventAccessPolicy;
         this.userContextProvider = userContextProvider;
+        this.objectMapper = objectMapper;
         log.info("EventsController initialized");
     }
 
@@ -97,20 +118,32 @@ public class EventsController {
 
     //Get /api/events/{id}
     @GetMapping("/{id}") // GET /api/v1/events/{id}
-    @Operation(summary = "Get event by id", description = "Returns event details; visibility depends on role (ADMIN all, EDITOR own, public PUBLISHED only).")
+    @Operation(summary = "Get event by id", description = "Returns event details; visibility depends on role (ADMIN all, EDITOR own, public PUBLISHED only). "
+        + "Carries a strong ETag (eventId + version); If-None-Match with the current tag returns 304 without loading the full event.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "OK",
             content = @Content(schema = @Schema(implementation = EventDetailDto.class))),
+        @ApiResponse(responseCode = "304", description = "Not Modified"),
         @ApiResponse(responseCode = "404", description = "Not Found",
             content = @Content(schema = @Schema(implementation = ApiErrorDto.class)))
     })
-    public ResponseEntity<EventDetailDto> getEvent(@PathVariable("id") Long eventId) {
+    public ResponseEntity<EventDetailDto> getEvent(@PathVariable("id") Long eventId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("GET /api/events/{}", eventId);
-        EventDetailDto dto = eventService.getEventDetailOrThrow(eventId);
         // Delegate visibility policy using UserContextProvider (only here for now)
         UserContext uc = userContextProvider.current();
+        if (ifNoneMatch != null && !ifNoneMatch.isBlank()) {
+            // Conditional GET: one scalar query for version + visibility; a match skips loading and mapping entirely
+            EventVersionView view = eventService.getEventVersionOrThrow(eventId);
+            eventAccessPolicy.assertCanView(accessProbe(view), java.util.Optional.ofNullable(uc.userId()), uc.admin(), uc.editor());
+            String current = ETags.strong(view.eventId(), view.version());
+            if (ETags.matches(ifNoneMatch, current)) {
+                return notModified(current);
+            }
+        }
+        EventDetailDto dto = eventService.getEventDetailOrThrow(eventId);
         eventAccessPolicy.assertCanView(dto, java.util.Optional.ofNullable(uc.userId()), uc.admin(), uc.editor());
-        return ResponseEntity.ok(dto);
+        return withETag(ResponseEntity.ok(), ETags.strong(dto.getEventId(), dto.getVersion())).body(dto);
     }
 
     //Put /api/events/{id}
@@ -127,10 +160,7 @@ public class EventsController {
     })
     public ResponseEntity<EventDetailDto> updateEvent(@PathVariable("id") Long eventId, @RequestBody @Valid UpdateEventDto dto) {
         log.info("PUT /api/events/{}", eventId);
-        UserContext uc = userContextProvider.current();
-        EventDetailDto existing = eventService.getEventDetailOrThrow(eventId);
-        eventAccessPolicy.assertCanModify(existing, java.util.Optional.ofNullable(uc.userId()), uc.admin(), uc.editor());
-        EventDetailDto updated = eventService.updateEvent(eventId, dto);
+        EventDetailDto updated = eventService.updateEvent(eventId, dto, userContextProvider.current());
         return ResponseEntity.ok(updated);
     }
 
@@ -163,10 +193,7 @@ public class EventsController {
     })
     public ResponseEntity<EventDetailDto> publishEvent(@PathVariable("id") Long eventId) {
         log.info("POST /api/events/{}/publish", eventId);
-        UserContext uc = userContextProvider.current();
-        EventDetailDto existing = eventService.getEventDetailOrThrow(eventId);
-        eventAccessPolicy.assertCanModify(existing, java.util.Optional.ofNullable(uc.userId()), uc.admin(), uc.editor());
-        EventDetailDto updated = eventService.publishEvent(eventId);
+        EventDetailDto updated = eventService.publishEvent(eventId, userContextProvider.current());
         return ResponseEntity.ok(updated);
     }
 
@@ -183,10 +210,7 @@ public class EventsController {
     })
     public ResponseEntity<EventDetailDto> unpublishEvent(@PathVariable("id") Long eventId) {
         log.info("POST /api/events/{}/unpublish", eventId);
-        UserContext uc = userContextProvider.current();
-        EventDetailDto existing = eventService.getEventDetailOrThrow(eventId);
-        eventAccessPolicy.assertCanModify(existing, java.util.Optional.ofNullable(uc.userId()), uc.admin(), uc.editor());
-        EventDetailDto updated = eventService.unpublishEvent(eventId);
+        EventDetailDto updated = eventService.unpublishEvent(eventId, userContextProvider.current());
         return ResponseEntity.ok(updated);
     }
 
@@ -203,41 +227,79 @@ public class EventsController {
     })
     public ResponseEntity<EventDetailDto> cancelEvent(@PathVariable("id") Long eventId) {
         log.info("POST /api/events/{}/cancel", eventId);
-        UserContext uc = userContextProvider.current();
-        EventDetailDto existing = eventService.getEventDetailOrThrow(eventId);
-        eventAccessPolicy.assertCanModify(existing, java.util.Optional.ofNullable(uc.userId()), uc.admin(), uc.editor());
-        EventDetailDto updated = eventService.cancelEvent(eventId);
+        EventDetailDto updated = eventService.cancelEvent(eventId, userContextProvider.current());
         return ResponseEntity.ok(updated);
     }
 
-    @Operation(summary = "List events", description = "Supports paging, sorting, and arbitrary query-string filters.")
+    @Operation(summary = "List events", description = "Supports paging, sorting, and arbitrary query-string filters. "
+        + "Passing 'cursor' (empty for the first page) switches to keyset paging: no totals, opaque next/prev cursors, 'page' ignored.")
     @GetMapping // GET /api/v1/events
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "OK",
             content = @Content(mediaType = "application/json",
-                schema = @Schema(implementation = EventPageResponse.class))),
+                schema = @Schema(oneOf = {EventPageResponse.class, EventCursorPageResponse.class}))),
+        @ApiResponse(responseCode = "304", description = "Not Modified (If-None-Match matched the weak list ETag)"),
         @ApiResponse(responseCode = "400", description = "Bad Request",
             content = @Content(schema = @Schema(implementation = ApiErrorDto.class)))
     })
-    public EventPageResponse listEvents(
+    public ResponseEntity<?> listEvents(
             @RequestParam(name = "page", required = false, defaultValue = "0") @Min(0) int page,
             @RequestParam(name = "size", required = false, defaultValue = "20") @Min(1) @Max(100) int size,
             @RequestParam(name = "sort", required = false) String sort,
+            @Parameter(description = "Opaque keyset cursor from a previous response; empty value requests the first page")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Totals: true/exact (default), false/none (hasNext only, no COUNT), approx (cached totals)")
+            @RequestParam(name = "count", required = false) String count,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @Parameter(hidden = true) @RequestParam Map<String, String> requestParams
     ) {
         Map<String, String> filters = new HashMap<>(requestParams);
         filters.remove("page");
         filters.remove("size");
         filters.remove("sort");
+        filters.remove("cursor");
+        filters.remove("count");
         String safeSort = normalizeSort(sort);
+        CountMode countMode = CountMode.fromParam(count);
         UserContext uc = userContextProvider.current();
-        Page<EventDto> pageResult = eventService.listEventsPageScoped(filters, Math.max(page, 0), Math.max(size, 1), safeSort, uc);
-        return EventPageResponse.from(pageResult);
+        // Weak tag: count + max(updatedAt) over the scoped filter set, plus the paging shape of this request.
+        // Exact pages always carry it: the stamp's count doubles as the page total, so they still run two
+        // statements. Keyset and count=false/approx pages exist to avoid a COUNT, so they only pay for the
+        // stamp query when the client asks for a conditional GET.
+        boolean countFree = cursor != null || countMode != CountMode.EXACT;
+        String etag = null;
+        Long knownTotal = null;
+        if (!countFree) {
+            EventService.ScopedListStamp stamp = eventService.listEventsCountedStampScoped(filters, uc);
+            if (stamp != null) {
+                etag = ETags.weak(stamp.stamp(), page, size, safeSort, cursor, countMode.name());
+                knownTotal = stamp.count();
+            }
+        } else if (ifNoneMatch != null) {
+            etag = ETags.weak(eventService.listEventsStampScoped(filters, uc), page, size, safeSort, cursor, countMode.name());
+        }
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        ResponseEntity.BodyBuilder ok = withETag(ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION), etag);
+        if (cursor != null) {
+            // Keyset mode: seek past the cursor row instead of OFFSET + COUNT
+            return ok.body(eventService.listEventsCursorScoped(filters, cursor, Math.max(size, 1), safeSort, uc));
+        }
+        if (countMode != CountMode.EXACT) {
+            Slice<EventDto> slice = eventService.listEventsPageScoped(filters, Math.max(page, 0), Math.max(size, 1), safeSort, uc, countMode);
+            return ok.body(EventPageResponse.from(slice, countMode));
+        }
+        Page<EventDto> pageResult = knownTotal != null
+                ? eventService.listEventsPageScoped(filters, Math.max(page, 0), Math.max(size, 1), safeSort, uc, knownTotal)
+                : eventService.listEventsPageScoped(filters, Math.max(page, 0), Math.max(size, 1), safeSort, uc);
+        return ok.body(EventPageResponse.from(pageResult));
     }
 
     private static final java.util.Set<String> ALLOWED_SORT_FIELDS = java.util.Set.of("startAt", "eventName");
 
-    private String normalizeSort(String sort) {
+    // package-private and static for the JMH benchmarks (src/jmh/java)
+    static String normalizeSort(String sort) {
         if (sort == null || sort.isBlank()) {
             return "startAt,asc"; // default
         }
@@ -258,17 +320,19 @@ public class EventsController {
 
     // Public upcoming feed (only PUBLISHED future events)
     @GetMapping("/public-upcoming") // GET /api/v1/events/public-upcoming?from=ISO&limit=10
-    @Operation(summary = "List upcoming public events", description = "Returns future PUBLISHED events starting at 'from' (Instant), limited by 'limit'.")
+    @Operation(summary = "List upcoming public events", description = "Returns future PUBLISHED events starting at 'from' (Instant), limited by 'limit'. Supports If-None-Match against a weak ETag.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "OK",
             content = @Content(mediaType = "application/json",
                 array = @ArraySchema(schema = @Schema(implementation = EventDto.class)))),
+        @ApiResponse(responseCode = "304", description = "Not Modified"),
         @ApiResponse(responseCode = "400", description = "Bad Request",
             content = @Content(schema = @Schema(implementation = ApiErrorDto.class)))
     })
-    public List<EventDto> listPublicUpcoming(
+    public ResponseEntity<List<EventDto>> listPublicUpcoming(
             @RequestParam(name = "from", required = false) Instant from,
-            @RequestParam(name = "limit", required = false, defaultValue = "10") @Min(1) @Max(100) int limit) {
+            @RequestParam(name = "limit", required = false, defaultValue = "10") @Min(1) @Max(100) int limit,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         // Accept full ISO-8601 instants (e.g., 2025-11-12T21:16:46.100Z). Spring will bind to Instant.
         // Convert to UTC LocalDateTime to match service contract.
         if (limit < 1 || limit > 100) {
@@ -276,36 +340,96 @@ public class EventsController {
         }
         Instant effectiveFrom = (from == null) ? Instant.now() : from;
         LocalDateTime start = LocalDateTime.ofInstant(effectiveFrom, ZoneOffset.UTC);
-        return eventService.listPublicUpcoming(start, limit);
+        // Only a conditional GET may fall back to the aggregate stamp query; otherwise tag only when the index
+        // answers the stamp from memory
+        String stamp = ifNoneMatch != null ? eventService.publicUpcomingStamp(start) : eventService.publicUpcomingIndexStamp(start);
+        String etag = ETags.weak(stamp, limit, from);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return withETag(ResponseEntity.ok(), etag).body(eventService.listPublicUpcoming(start, limit));
     }
 
     // GET /api/events/{id}/audits  (read-only audit trail)
     @GetMapping("/{id}/audits") // GET /api/v1/events/{id}/audits
-    @Operation(summary = "List event audits", description = "Returns recent audit records for an event; consider restricting to ADMIN/owner in production.")
+    @Operation(summary = "List event audits", description = "Returns audit records for an event, newest first, optionally filtered by actor and action. "
+        + "Passing 'cursor' (empty for the first page) returns a keyset page with an opaque next cursor instead of a bare list.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "OK",
             content = @Content(mediaType = "application/json",
-                array = @ArraySchema(schema = @Schema(implementation = EventAuditDto.class))))
+                schema = @Schema(oneOf = {EventAuditDto[].class, EventAuditCursorPageResponse.class}))),
+        @ApiResponse(responseCode = "400", description = "Bad Request (invalid cursor or limit)",
+            content = @Content(schema = @Schema(implementation = ApiErrorDto.class)))
+    })
+    public ResponseEntity<?> getEventAudits(@PathVariable("id") Long eventId,
+                                            @RequestParam(name = "limit", required = false, defaultValue = "10") @Min(1) @Max(EventAuditService.MAX_PAGE_SIZE) int limit,
+                                            @RequestParam(name = "actorUserId", required = false) Long actorUserId,
+                                            @Parameter(description = "CREATE, UPDATE or DELETE")
+                                            @RequestParam(name = "action", required = false) String action,
+                                            @Parameter(description = "Opaque keyset cursor from a previous response; empty value requests the first page")
+                                            @RequestParam(name = "cursor", required = false) String cursor) {
+        authorizeAuditAccess(eventId);
+        EventAuditCursorPageResponse page = eventAuditService.findForEvent(eventId,
+                java.util.Optional.ofNullable(actorUserId), java.util.Optional.ofNullable(action), cursor, limit);
+        if (cursor != null) {
+            // Keyset mode: seek past the cursor row over idx_event_audit_event_at
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok(page.getItems());
+    }
+
+    // GET /api/events/{id}/audits/export  (full history as NDJSON, for compliance pulls)
+    @GetMapping(value = "/{id}/audits/export", produces = NDJSON) // GET /api/v1/events/{id}/audits/export
+    @Operation(summary = "Export event audits", description = "Streams the event's full audit history, oldest first, one EventAuditDto JSON object per line.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "OK",
+            content = @Content(mediaType = NDJSON, schema = @Schema(implementation = EventAuditDto.class)))
     })
-    public ResponseEntity<java.util.List<EventAuditDto>> getEventAudits(@PathVariable("id") Long eventId,
-                                                                        @RequestParam(name = "limit", required = false, defaultValue = "10") int limit) {
-        // Protect audits to ADMIN or owner
+    public ResponseEntity<StreamingResponseBody> exportEventAudits(@PathVariable("id") Long eventId) {
+        authorizeAuditAccess(eventId);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                eventAuditService.exportForEvent(eventId, dto -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(dto));
+                        writer.write('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause(); // client went away; ends the read transaction too
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"event-" + eventId + "-audits.ndjson\"")
+                .body(body);
+    }
+
+    // Audit trail and version history are limited to ADMIN or the owner.
+    // Version/owner scalars are enough to authorize; no need to load and map the full event
+    private void authorizeAuditAccess(Long eventId) {
         UserContext uc = userContextProvider.current();
-        EventDetailDto existing = eventService.getEventDetailOrThrow(eventId);
-        eventAccessPolicy.assertCanModify(existing, java.util.Optional.ofNullable(uc.userId()), uc.admin(), uc.editor());
-        var audits = eventAuditService.getRecentForEvent(eventId, limit)
-                .stream()
-                .map(a -> {
-                    EventAuditDto dto = new EventAuditDto();
-                    dto.setId(a.getId());
-                    dto.setEventId(a.getEventId());
-                    dto.setActorUserId(a.getActorUserId());
-                    dto.setAction(a.getAction());
-                    dto.setAt(a.getAt());
-                    return dto;
-                })
-                .toList();
-        return ResponseEntity.ok(audits);
+        EventVersionView view = eventService.getEventVersionOrThrow(eventId);
+        eventAccessPolicy.assertCanModify(accessProbe(view), java.util.Optional.ofNullable(uc.userId()), uc.admin(), uc.editor());
+    }
+
+    // GET /api/events/{id}/versions/{version}  (state rebuilt from audit diffs)
+    @GetMapping("/{id}/versions/{version}") // GET /api/v1/events/{id}/versions/{version}
+    @Operation(summary = "Reconstruct an event version", description = "Replays the field-level diffs in the audit trail backwards from the current row. The description is not restorable (listed in unrestoredFields); complete=false when a version in between has no diff.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "OK",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = EventVersionStateDto.class))),
+        @ApiResponse(responseCode = "400", description = "Version outside 0..current",
+            content = @Content(schema = @Schema(implementation = ApiErrorDto.class)))
+    })
+    public ResponseEntity<EventVersionStateDto> getEventVersion(@PathVariable("id") Long eventId,
+                                                                @PathVariable("version") long version) {
+        authorizeAuditAccess(eventId);
+        return ResponseEntity.ok(eventAuditService.reconstruct(eventId, version));
     }
 
     /**
@@ -331,9 +455,12 @@ public class EventsController {
             @RequestParam(name = "eventType", required = false) String eventType,
             @RequestParam(name = "status", required = false) String status,
             @RequestParam(name = "from", required = false) String from,
-            @RequestParam(name = "to", required = false) String to
+            @RequestParam(name = "to", required = false) String to,
+            @Parameter(description = "Totals: true/exact (default), false/none (hasNext only, no COUNT), approx (cached totals)")
+            @RequestParam(name = "count", required = false) String count
     ) {
         String safeSort = normalizeSort(sort);
+        CountMode countMode = CountMode.fromParam(count);
         UserContext uc = userContextProvider.current();
         Long uid = uc.userId();
         if (uid == null) {
@@ -346,9 +473,31 @@ public class EventsController {
         if (status != null && !status.isBlank()) filters.put("status", status.trim());
         if (from != null && !from.isBlank()) filters.put("from", from.trim());
         if (to != null && !to.isBlank()) filters.put("to", to.trim());
+        if (countMode != CountMode.EXACT) {
+            Slice<EventDto> slice = eventService.listEventsByOwnerFiltered(uid, filters, Math.max(page, 0), Math.max(size, 1), safeSort, countMode);
+            return EventPageResponse.from(slice, countMode);
+        }
         Page<EventDto> pageResult = eventService.listEventsByOwnerFiltered(uid, filters, Math.max(page, 0), Math.max(size, 1), safeSort);
         return EventPageResponse.from(pageResult);
     }
 
     // Removed legacy role helpers in favor of UserContextProvider
+
+    // Conditional GET helpers
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, String etag) {
+        return etag == null ? builder : builder.eTag(etag);
+    }
+
+    // Minimal detail view carrying only what EventAccessPolicy inspects
+    private static EventDetailDto accessProbe(EventVersionView view) {
+        EventDetailDto probe = new EventDetailDto();
+        probe.setEventId(view.eventId());
+        probe.setStatus(view.status());
+        probe.setCreatedByUserId(view.createdByUserId());
+        return probe;
+    }
 }
@@ -0,0 +1,32 @@
+package com.arkvalleyevents.msse692_backend.dto.response;
+
+import java.util.List;
+
+/**
+ * Cursor-paged event audit trail (newest first): items plus an opaque next cursor.
+ * No totals are computed; a null nextCursor means this is the last page.
+ */
+public class EventAuditCursorPageResponse {
+    private List<EventAuditDto> items;
+    private int size;
+    private String nextCursor;
+
+    public List<EventAuditDto> getItems() { return items; }
+    public void setItems(List<EventAuditDto> items) { this.items = items; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return nextCursor != null; }
+
+    public static EventAuditCursorPageResponse of(List<EventAuditDto> items, int size, String nextCursor) {
+        EventAuditCursorPageResponse out = new EventAuditCursorPageResponse();
+        out.setItems(items);
+        out.setSize(size);
+        out.setNextCursor(nextCursor);
+        return out;
+    }
+}
@@ -1,6 +1,8 @@
 package com.arkvalleyevents.msse692_backend.dto.response;
 
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -12,4 +14,10 @@ public class EventAuditDto {
     private Long actorUserId;
     private String action; // CREATE, UPDATE, DELETE
     private OffsetDateTime at;
+    private Long version; // event version the change produced (UPDATE with a recorded diff only)
+    private Map<String, List<Object>> changes; // field -> [before, after]; the description shows {len, crc32} only
+    private boolean rollup; // one UTC day of rows past retention (EventAuditDaily); id, actorUserId and changes are null
+    private Map<String, Integer> actionCounts; // rollup only: rows per action that day
+    private Integer actorCount; // rollup only: distinct actors that day
+    private OffsetDateTime firstAt; // rollup only: first row of the day; at is the last
 }
@@ -0,0 +1,39 @@
+package com.arkvalleyevents.msse692_backend.dto.response;
+
+import java.util.List;
+
+/**
+ * Cursor-paged response for events (keyset mode): items plus opaque next/prev cursors.
+ * No totals are computed; a null cursor means there is nothing further in that direction.
+ */
+public class EventCursorPageResponse {
+    private List<EventDto> items;
+    private int size;
+    private String nextCursor;
+    private String prevCursor;
+
+    public List<EventDto> getItems() { return items; }
+    public void setItems(List<EventDto> items) { this.items = items; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public String getPrevCursor() { return prevCursor; }
+    public void setPrevCursor(String prevCursor) { this.prevCursor = prevCursor; }
+
+    public boolean isHasNext() { return nextCursor != null; }
+    public boolean isHasPrevious() { return prevCursor != null; }
+
+    /** Factory method mirroring EventPageResponse.from for the keyset variant. */
+    public static EventCursorPageResponse of(List<EventDto> items, int size, String nextCursor, String prevCursor) {
+        EventCursorPageResponse out = new EventCursorPageResponse();
+        out.setItems(items);
+        out.setSize(size);
+        out.setNextCursor(nextCursor);
+        out.setPrevCursor(prevCursor);
+        return out;
+    }
+}
@@ -41,6 +41,7 @@ public class EventDetailDto {
 
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version; // optimistic-lock version; basis of the strong ETag
 
     // Ownership (populated by JPA auditing)
     private Long createdByUserId;
@@ -1,7 +1,9 @@
 package com.arkvalleyevents.msse692_backend.dto.response;
 
 import java.util.List;
+import com.arkvalleyevents.msse692_backend.service.CountMode;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 /**
  * Page-wrapped response for events: items plus pagination metadata.
@@ -28,4 +30,27 @@ public class EventPageResponse {
         out.setItems(page.getContent());
         return out;
     }
+
+    /**
+     * Factory for the count-mode aware list: a plain Slice yields hasNext without totals;
+     * a Page in APPROXIMATE mode carries totals flagged as approximate.
+     */
+    public static EventPageResponse from(Slice<EventDto> slice, CountMode countMode) {
+        if (countMode == CountMode.EXACT && slice instanceof Page<EventDto> page) {
+            return from(page);
+        }
+        EventPageResponse out = new EventPageResponse();
+        PageMetadata meta = new PageMetadata();
+        meta.setNumber(slice.getNumber());
+        meta.setSize(slice.getSize());
+        meta.setHasNext(slice.hasNext());
+        if (slice instanceof Page<EventDto> page) {
+            meta.setTotalElements(page.getTotalElements());
+            meta.setTotalPages(page.getTotalPages());
+            meta.setApproximate(countMode == CountMode.APPROXIMATE);
+        }
+        out.setPage(meta);
+        out.setItems(slice.getContent());
+        return out;
+    }
 }
@@ -0,0 +1,17 @@
+package com.arkvalleyevents.msse692_backend.dto.response;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class EventVersionStateDto {
+    private Long eventId;
+    private long version;
+    private long currentVersion;
+    private Map<String, Object> fields; // audited columns as of version (see EventFieldState.FIELDS)
+    private List<String> unrestoredFields; // changed after version, but only a checksum was recorded (LOB)
+    private boolean complete; // false when a version between here and the current one has no recorded diff
+}
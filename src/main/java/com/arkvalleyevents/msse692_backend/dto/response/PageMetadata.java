@@ -1,13 +1,20 @@
 package com.arkvalleyevents.msse692_backend.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Pagination metadata describing the current page and totals.
+ * In count-free (slice) mode totals are omitted and hasNext is set instead;
+ * approximate=true marks totals taken from a cached count.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageMetadata {
     private int number;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
+    private Boolean hasNext;
+    private Boolean approximate;
 
     public int getNumber() { return number; }
     public void setNumber(int number) { this.number = number; }
@@ -15,9 +22,15 @@ public class PageMetadata {
     public int getSize() { return size; }
     public void setSize(int size) { this.size = size; }
 
-    public long getTotalElements() { return totalElements; }
-    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+
+    public Integer getTotalPages() { return totalPages; }
+    public void setTotalPages(Integer totalPages) { this.totalPages = totalPages; }
+
+    public Boolean getHasNext() { return hasNext; }
+    public void setHasNext(Boolean hasNext) { this.hasNext = hasNext; }
 
-    public int getTotalPages() { return totalPages; }
-    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+    public Boolean getApproximate() { return approximate; }
+    public void setApproximate(Boolean approximate) { this.approximate = approximate; }
 }
@@ -0,0 +1,32 @@
+package com.arkvalleyevents.msse692_backend.dto.response;
+
+import java.util.List;
+
+/**
+ * Cursor-paged admin role-request queue (keyset mode, newest first): items plus an opaque next cursor.
+ * No totals are computed; a null nextCursor means this is the last page.
+ */
+public class RoleRequestCursorPageResponse {
+    private List<RoleRequestDto> items;
+    private int size;
+    private String nextCursor;
+
+    public List<RoleRequestDto> getItems() { return items; }
+    public void setItems(List<RoleRequestDto> items) { this.items = items; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return nextCursor != null; }
+
+    public static RoleRequestCursorPageResponse of(List<RoleRequestDto> items, int size, String nextCursor) {
+        RoleRequestCursorPageResponse out = new RoleRequestCursorPageResponse();
+        out.setItems(items);
+        out.setSize(size);
+        out.setNextCursor(nextCursor);
+        return out;
+    }
+}
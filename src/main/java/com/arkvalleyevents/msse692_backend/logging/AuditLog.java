@@ -0,0 +1,127 @@
+package com.arkvalleyevents.msse692_backend.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+
+/**
+ * Structured audit lines for role changes, written to the "audit" logger (its own async appender in
+ * logback-spring.xml):
+ * <pre>audit=true event=APPROVE_REQUEST actorId=42 requesterUid=abc rolesGranted=[EDITOR] outcome=SUCCESS</pre>
+ * Usage: {@code AuditLog.event("X").with("k", v)...log()}. Values are appended straight into one builder
+ * through typed overloads, so primitives are not boxed and no varargs array or per-value string is built;
+ * when the logger is off, {@link #event} returns a shared no-op entry and nothing is allocated.
+ */
+public final class AuditLog {
+
+    public static final String LOGGER_NAME = "audit";
+
+    private static final Logger LOG = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private AuditLog() {}
+
+    public static Entry event(String name) {
+        return event(LOG, name);
+    }
+
+    static Entry event(Logger logger, String name) {
+        return logger.isInfoEnabled() ? new Entry(logger, name) : Entry.DISABLED;
+    }
+
+    /** One audit line being built; not thread-safe, finish it with {@link #log()}. */
+    public static final class Entry {
+
+        static final Entry DISABLED = new Entry();
+
+        private final Logger logger;
+        private final StringBuilder sb;
+
+        private Entry() {
+            this.logger = null;
+            this.sb = null;
+        }
+
+        private Entry(Logger logger, String name) {
+            this.logger = logger;
+            this.sb = new StringBuilder(192).append("audit=true event=").append(name);
+        }
+
+        public Entry with(String key, long value) {
+            if (sb != null) key(key).append(value);
+            return this;
+        }
+
+        public Entry with(String key, boolean value) {
+            if (sb != null) key(key).append(value);
+            return this;
+        }
+
+        public Entry with(String key, Long value) {
+            if (sb != null) {
+                if (value == null) key(key).append("null");
+                else key(key).append(value.longValue());
+            }
+            return this;
+        }
+
+        public Entry with(String key, String value) {
+            if (sb != null) key(key).append(value);
+            return this;
+        }
+
+        /** Enums, UUIDs and anything else rendered by toString(); enum constants do not allocate. */
+        public Entry with(String key, Object value) {
+            if (sb != null) key(key).append(value);
+            return this;
+        }
+
+        /**
+         * Rendered like a sorted {@code List.toString()} ("[ADMIN, EDITOR]", nulls skipped) without copying the
+         * collection: each pass appends the next-smallest value. Quadratic, which is fine for role sets.
+         */
+        public Entry with(String key, Collection<String> values) {
+            if (sb == null) return this;
+            key(key).append('[');
+            if (values != null) {
+                boolean first = true;
+                String last = null;
+                while (true) {
+                    String next = null;
+                    int copies = 0;
+                    for (String v : values) {
+                        if (v == null || (last != null && v.compareTo(last) <= 0)) continue;
+                        int cmp = next == null ? -1 : v.compareTo(next);
+                        if (cmp < 0) {
+                            next = v;
+                            copies = 1;
+                        } else if (cmp == 0) {
+                            copies++;
+                        }
+                    }
+                    if (next == null) break;
+                    for (int i = 0; i < copies; i++) {
+                        if (!first) sb.append(", ");
+                        sb.append(next);
+                        first = false;
+                    }
+                    last = next;
+                }
+            }
+            sb.append(']');
+            return this;
+        }
+
+        public void log() {
+            if (sb != null) logger.info(sb.toString());
+        }
+
+        String message() {
+            return sb == null ? null : sb.toString();
+        }
+
+        private StringBuilder key(String key) {
+            return sb.append(' ').append(key).append('=');
+        }
+    }
+}
@@ -24,11 +24,20 @@ public class AppUser {
     @Column(name = "photo_url")
     private String photoUrl;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // Write-side record of the roles; loaded only when a role change needs it. Reads use roleMask.
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "app_user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role", length = 50)
     private Set<String> roles = new HashSet<>();
 
+    // RoleMask bits of roles, kept in step by setRoles/UserRoleServiceImpl and on insert
+    @Column(name = "role_mask", nullable = false)
+    private int roleMask;
+
+    // roles_version last pushed to Firebase custom claims; written by FirebaseClaimsSyncServiceImpl only
+    @Column(name = "claims_roles_hash", length = 64)
+    private String claimsRolesHash;
+
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
@@ -37,6 +46,7 @@ public class AppUser {
 
     @PrePersist
     void onCreate() {
+        if (roleMask == 0) roleMask = RoleMask.of(roles);
         if (createdAt == null) createdAt = OffsetDateTime.now();
         if (updatedAt == null) updatedAt = createdAt;
     }
@@ -63,7 +73,16 @@ public class AppUser {
     public void setPhotoUrl(String photoUrl) { this.photoUrl = photoUrl; }
 
     public Set<String> getRoles() { return roles; }
-    public void setRoles(Set<String> roles) { this.roles = roles; }
+    public void setRoles(Set<String> roles) {
+        this.roles = roles;
+        this.roleMask = RoleMask.of(roles);
+    }
+
+    public int getRoleMask() { return roleMask; }
+    public void setRoleMask(int roleMask) { this.roleMask = roleMask; }
+
+    public String getClaimsRolesHash() { return claimsRolesHash; }
+    public void setClaimsRolesHash(String claimsRolesHash) { this.claimsRolesHash = claimsRolesHash; }
 
     public OffsetDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
@@ -3,7 +3,9 @@ package com.arkvalleyevents.msse692_backend.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.validator.constraints.URL;
 
 import java.util.HashSet;
@@ -34,6 +36,9 @@ public class Artist {
     // mappedBy = "artists" means the ownership of the relationship is on the ConcertEvent side. The Artist entity is the inverse side,
     // and the ConcertEvent entity should have a @ManyToMany field named artists that owns the relationship.
     @ManyToMany(mappedBy = "artists")
+    // Inverse side stays out of @Data equals/hashCode/toString: hashing it would initialize the lazy set
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Event> events = new HashSet<>();
 }
 
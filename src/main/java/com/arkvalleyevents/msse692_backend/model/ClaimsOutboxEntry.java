@@ -0,0 +1,34 @@
+package com.arkvalleyevents.msse692_backend.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A pending Firebase custom-claims push for one user, written in the same transaction as the role change.
+ * The row carries no roles: the dispatcher pushes whatever AppUser.roles holds when it runs, so several rows
+ * for one UID collapse into a single push.
+ */
+@Entity
+@Table(name = "claims_outbox")
+@Getter
+@Setter
+public class ClaimsOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "firebase_uid", nullable = false, length = 128)
+    private String firebaseUid;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "event_audit")
@@ -26,4 +28,9 @@ public class EventAudit {
 
     @Column(name = "at", nullable = false)
     private OffsetDateTime at = OffsetDateTime.now();
+
+    // Field-level diff written by EventChangeCodec (JSONB on Postgres, JSON on H2); null for CREATE/DELETE
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "snapshot")
+    private String snapshot;
 }
@@ -0,0 +1,60 @@
+package com.arkvalleyevents.msse692_backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One event's audit rows for one UTC day, summarized by EventAuditRetentionJob once they fall out of the
+ * retention window. The raw rows are in the compressed archive named by {@code archiveFile}.
+ */
+@Entity
+@Table(name = "event_audit_daily",
+       uniqueConstraints = @UniqueConstraint(name = "uq_event_audit_daily_event_day", columnNames = {"event_id", "audit_day"}))
+@Getter
+@Setter
+public class EventAuditDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "audit_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "create_count", nullable = false)
+    private int createCount;
+
+    @Column(name = "update_count", nullable = false)
+    private int updateCount;
+
+    @Column(name = "delete_count", nullable = false)
+    private int deleteCount;
+
+    @Column(name = "actor_count", nullable = false)
+    private int actorCount; // distinct actors that day
+
+    @Column(name = "first_at", nullable = false)
+    private OffsetDateTime firstAt;
+
+    @Column(name = "last_at", nullable = false)
+    private OffsetDateTime lastAt;
+
+    @Column(name = "archive_file")
+    private String archiveFile;
+
+    /** Rows of {@code action} that day (CREATE, UPDATE or DELETE); 0 for anything else. */
+    public int count(String action) {
+        return switch (action) {
+            case "CREATE" -> createCount;
+            case "UPDATE" -> updateCount;
+            case "DELETE" -> deleteCount;
+            default -> 0;
+        };
+    }
+}
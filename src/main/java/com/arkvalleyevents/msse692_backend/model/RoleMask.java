@@ -0,0 +1,80 @@
+package com.arkvalleyevents.msse692_backend.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bit encoding of the fixed role set (UserRoleServiceImpl.ALLOWED_ROLES) stored in app_users.role_mask.
+ * Bits are persisted: never renumber, only append.
+ */
+public final class RoleMask {
+
+    public static final int USER = 1;
+    public static final int EDITOR = 1 << 1;
+    public static final int ADMIN = 1 << 2;
+
+    private static final String[] NAMES = {"USER", "EDITOR", "ADMIN"};
+    private static final int ALL = (1 << NAMES.length) - 1;
+
+    // names(mask) for every possible mask, so reads never allocate
+    private static final Set<String>[] NAME_SETS = buildNameSets();
+
+    private RoleMask() {}
+
+    public static int bit(String role) {
+        if (role == null) return 0;
+        String r = role.trim().toUpperCase(Locale.ROOT);
+        if (r.startsWith("ROLE_")) r = r.substring(5);
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equals(r)) return 1 << i;
+        }
+        return 0;
+    }
+
+    /** Mask of the known roles in {@code roles}; unknown names are ignored. */
+    public static int of(Collection<String> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (String r : roles) mask |= bit(r);
+        }
+        return mask;
+    }
+
+    /** Immutable, sorted role names set in {@code mask}. */
+    public static Set<String> names(int mask) {
+        return NAME_SETS[mask & ALL];
+    }
+
+    /**
+     * Every stored mask value having at least one of {@code roles}: with three bits that is at most seven
+     * values, so "has any of these roles" becomes {@code role_mask IN (...)}, which a B-tree index can serve.
+     * Empty when none of the names is a known role.
+     */
+    public static List<Integer> matchingAny(Collection<String> roles) {
+        int wanted = of(roles);
+        List<Integer> out = new ArrayList<>();
+        if (wanted == 0) return out;
+        for (int m = 1; m <= ALL; m++) {
+            if ((m & wanted) != 0) out.add(m);
+        }
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String>[] buildNameSets() {
+        Set<String>[] sets = new Set[ALL + 1];
+        for (int m = 0; m <= ALL; m++) {
+            TreeSet<String> names = new TreeSet<>();
+            for (int i = 0; i < NAMES.length; i++) {
+                if ((m & (1 << i)) != 0) names.add(NAMES[i]);
+            }
+            sets[m] = Collections.unmodifiableSet(names);
+        }
+        return sets;
+    }
+}
@@ -38,7 +38,8 @@ public class RoleRequest {
     @ToString.Include
     private String requesterUid;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // LAZY: list paths batch-load roles per page (RoleRequestRepository.findRequestedRoles)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "role_request_roles", joinColumns = @JoinColumn(name = "role_request_id"))
     @Column(name = "role", length = 50, nullable = false)
     private Set<String> requestedRoles = new HashSet<>();
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.validator.constraints.URL;
 
 import java.util.HashSet;
@@ -38,6 +40,9 @@ public class Venue {
     // cascade = CascadeType.ALL ensures that any operation (like delete) on Venue will cascade to its events
     // orphanRemoval = true ensures that if an event is removed from the venue's event set, it will be deleted from the database
     @OneToMany(mappedBy = "venue", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Inverse side stays out of @Data equals/hashCode/toString: hashing it would initialize the lazy set
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     // This method defines a Set<Event> to represent the events associated with a venue using JPA/Hibernate
     private Set<Event> events = new HashSet<>();
 }
@@ -1,27 +1,97 @@
 package com.arkvalleyevents.msse692_backend.repository;
 
 import com.arkvalleyevents.msse692_backend.model.AppUser;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     Optional<AppUser> findByFirebaseUid(String firebaseUid);
     boolean existsByFirebaseUid(String firebaseUid);
 
-    @Query("SELECT DISTINCT u FROM AppUser u LEFT JOIN u.roles r " +
-           "WHERE (:text IS NULL OR (LOWER(u.email) LIKE LOWER(CONCAT('%',:text,'%')) " +
-           " OR LOWER(u.displayName) LIKE LOWER(CONCAT('%',:text,'%')) " +
-           " OR LOWER(u.firebaseUid) LIKE LOWER(CONCAT('%',:text,'%')))) " +
-           "AND (:rolesEmpty = TRUE OR r IN :roles)")
+    // WHERE clauses shared by the Page/Slice/count variants of each search. :text is a case-insensitive substring
+    // of email, display name or UID. Role filters match role_mask against the RoleMask values having any requested
+    // bit (:masks, from RoleMask.matchingAny), so they need neither the app_user_roles join nor DISTINCT
+    String TEXT_AND_ROLES_WHERE = "WHERE (:text IS NULL OR (LOWER(u.email) LIKE LOWER(CONCAT('%',:text,'%')) "
+            + " OR LOWER(u.displayName) LIKE LOWER(CONCAT('%',:text,'%')) "
+            + " OR LOWER(u.firebaseUid) LIKE LOWER(CONCAT('%',:text,'%')))) "
+            + "AND (:rolesEmpty = TRUE OR u.roleMask IN :masks)";
+
+    String IDS_AND_ROLES_WHERE = "WHERE u.id IN :ids AND (:rolesEmpty = TRUE OR u.roleMask IN :masks)";
+
+    String SEARCH_VIEW_SELECT = "SELECT new com.arkvalleyevents.msse692_backend.repository.AppUserSearchView("
+            + "u.id, u.firebaseUid, u.email, u.displayName, u.updatedAt) FROM AppUser u ";
+
+    @Query("SELECT u FROM AppUser u " + TEXT_AND_ROLES_WHERE)
     Page<AppUser> search(@Param("text") String text,
-                         @Param("roles") Set<String> roles,
+                         @Param("masks") Collection<Integer> masks,
                          @Param("rolesEmpty") boolean rolesEmpty,
                          Pageable pageable);
+
+    // Count-free variants: Slice return types fetch size+1 rows and skip the COUNT
+    @Query("SELECT u FROM AppUser u " + TEXT_AND_ROLES_WHERE)
+    Slice<AppUser> searchSlice(@Param("text") String text,
+                               @Param("masks") Collection<Integer> masks,
+                               @Param("rolesEmpty") boolean rolesEmpty,
+                               Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM AppUser u " + TEXT_AND_ROLES_WHERE)
+    long countSearch(@Param("text") String text,
+                     @Param("masks") Collection<Integer> masks,
+                     @Param("rolesEmpty") boolean rolesEmpty);
+
+    Slice<AppUser> findSliceBy(Pageable pageable);
+
+    // Role filter alone: a plain IN the planner can serve from idx_app_users_role_mask. Behind the
+    // ":rolesEmpty = TRUE OR" guard of search() it is a bind-time condition, and H2 scans instead
+    Page<AppUser> findByRoleMaskIn(Collection<Integer> masks, Pageable pageable);
+
+    Slice<AppUser> findSliceByRoleMaskIn(Collection<Integer> masks, Pageable pageable);
+
+    long countByRoleMaskIn(Collection<Integer> masks);
+
+    @Query("SELECT u.roleMask FROM AppUser u WHERE u.firebaseUid = :uid")
+    Optional<Integer> findRoleMaskByFirebaseUid(@Param("uid") String firebaseUid);
+
+    // Page fetch for ids resolved by AppUserSearchIndex: primary-key lookups plus the role filter, no LIKE scan
+    @Query("SELECT u FROM AppUser u " + IDS_AND_ROLES_WHERE)
+    Page<AppUser> searchByIds(@Param("ids") Collection<Long> ids,
+                              @Param("masks") Collection<Integer> masks,
+                              @Param("rolesEmpty") boolean rolesEmpty,
+                              Pageable pageable);
+
+    @Query("SELECT u FROM AppUser u " + IDS_AND_ROLES_WHERE)
+    Slice<AppUser> searchSliceByIds(@Param("ids") Collection<Long> ids,
+                                    @Param("masks") Collection<Integer> masks,
+                                    @Param("rolesEmpty") boolean rolesEmpty,
+                                    Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM AppUser u " + IDS_AND_ROLES_WHERE)
+    long countSearchByIds(@Param("ids") Collection<Long> ids,
+                          @Param("masks") Collection<Integer> masks,
+                          @Param("rolesEmpty") boolean rolesEmpty);
+
+    // AppUserSearchIndex loading: keyset pages by id at startup, then rows touched since the last catch-up
+    @Query(SEARCH_VIEW_SELECT + "WHERE u.id > :afterId ORDER BY u.id")
+    List<AppUserSearchView> findSearchViewsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query(SEARCH_VIEW_SELECT + "WHERE u.updatedAt >= :since ORDER BY u.updatedAt")
+    List<AppUserSearchView> findSearchViewsUpdatedSince(@Param("since") OffsetDateTime since);
+
+    // Bulk UPDATE on purpose: recording a claims push is not a user edit, so updated_at (@PreUpdate) stays put
+    @Transactional
+    @Modifying
+    @Query("UPDATE AppUser u SET u.claimsRolesHash = :hash WHERE u.id = :id")
+    int updateClaimsRolesHash(@Param("id") Long id, @Param("hash") String hash);
 }
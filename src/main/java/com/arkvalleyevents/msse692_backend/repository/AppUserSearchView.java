@@ -0,0 +1,14 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * The searchable columns of an app_users row, for (re)loading AppUserSearchIndex without materializing
+ * entities or their role collections.
+ */
+public record AppUserSearchView(Long id,
+                                String firebaseUid,
+                                String email,
+                                String displayName,
+                                OffsetDateTime updatedAt) {
+}
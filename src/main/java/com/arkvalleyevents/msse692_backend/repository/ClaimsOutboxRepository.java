@@ -0,0 +1,31 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.ClaimsOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ClaimsOutboxRepository extends JpaRepository<ClaimsOutboxEntry, Long> {
+
+    @Query("SELECT o FROM ClaimsOutboxEntry o WHERE o.nextAttemptAt <= :now ORDER BY o.id")
+    List<ClaimsOutboxEntry> findDue(@Param("now") OffsetDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ClaimsOutboxEntry o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ClaimsOutboxEntry o SET o.attempts = :attempts, o.nextAttemptAt = :next WHERE o.id IN :ids")
+    int reschedule(@Param("ids") Collection<Long> ids, @Param("attempts") int attempts, @Param("next") OffsetDateTime next);
+}
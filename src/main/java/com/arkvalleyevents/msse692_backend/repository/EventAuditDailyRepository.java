@@ -0,0 +1,33 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.EventAuditDaily;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EventAuditDailyRepository extends JpaRepository<EventAuditDaily, Long> {
+
+    /**
+     * Rollups of one event strictly before {@code before}, newest day first; with {@code action} only the days
+     * that had at least one row of it. Served by uq_event_audit_daily_event_day.
+     */
+    @Query("""
+        SELECT d FROM EventAuditDaily d
+        WHERE d.eventId = :eventId AND d.day < :before
+          AND (:action IS NULL
+               OR (:action = 'CREATE' AND d.createCount > 0)
+               OR (:action = 'UPDATE' AND d.updateCount > 0)
+               OR (:action = 'DELETE' AND d.deleteCount > 0))
+        ORDER BY d.day DESC
+        """)
+    List<EventAuditDaily> findForEvent(@Param("eventId") Long eventId, @Param("action") String action,
+                                       @Param("before") LocalDate before, Limit limit);
+
+    List<EventAuditDaily> findByEventIdOrderByDayAsc(Long eventId);
+}
@@ -5,7 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface EventAuditRepository extends JpaRepository<EventAudit, Long> {
-	java.util.List<EventAudit> findTop10ByEventIdOrderByAtDesc(Long eventId);
-	java.util.List<EventAudit> findTop50ByEventIdOrderByAtDesc(Long eventId);
+public interface EventAuditRepository extends JpaRepository<EventAudit, Long>, EventAuditRepositoryCustom {
+
+	// Rows carrying a field-level diff, for EventAuditService.reconstruct
+	java.util.List<EventAudit> findByEventIdAndSnapshotIsNotNull(Long eventId);
 }
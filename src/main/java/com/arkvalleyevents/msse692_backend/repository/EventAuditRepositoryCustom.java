@@ -0,0 +1,28 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.EventAudit;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom query fragment for EventAuditRepository: the keyset-paged audit trail and the full-history export.
+ */
+public interface EventAuditRepositoryCustom {
+
+    /**
+     * At most {@code limit} audit rows of one event, newest first ({@code at DESC, id DESC}), strictly after the
+     * ({@code afterAt}, {@code afterId}) row when given. Null filters are left out of the WHERE clause; every
+     * variant range-scans idx_event_audit_event_at. Never issues a COUNT.
+     */
+    List<EventAudit> findForEvent(Long eventId, Long actorUserId, String action,
+                                  OffsetDateTime afterAt, Long afterId, int limit);
+
+    /**
+     * Every audit row of one event, oldest first, read with a JDBC fetch size instead of materializing the list.
+     * Rows are detached as they are handed out so the persistence context stays empty. Must be consumed (and
+     * closed) inside a transaction.
+     */
+    Stream<EventAudit> streamForEvent(Long eventId);
+}
@@ -0,0 +1,70 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.EventAudit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria implementation of {@link EventAuditRepositoryCustom} (picked up by Spring Data via the Impl suffix).
+ */
+public class EventAuditRepositoryCustomImpl implements EventAuditRepositoryCustom {
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EventAudit> findForEvent(Long eventId, Long actorUserId, String action,
+                                         OffsetDateTime afterAt, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventAudit> query = cb.createQuery(EventAudit.class);
+        Root<EventAudit> root = query.from(EventAudit.class);
+        Path<OffsetDateTime> at = root.get("at");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(root.get("eventId"), eventId));
+        if (actorUserId != null) {
+            where.add(cb.equal(root.get("actorUserId"), actorUserId));
+        }
+        if (action != null) {
+            where.add(cb.equal(root.get("action"), action));
+        }
+        if (afterAt != null && afterId != null) {
+            // The redundant at <= bound keeps the seek sargable; the OR alone is not
+            where.add(cb.lessThanOrEqualTo(at, afterAt));
+            where.add(cb.or(cb.lessThan(at, afterAt),
+                    cb.and(cb.equal(at, afterAt), cb.lessThan(id, afterId))));
+        }
+        query.select(root)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(at), cb.desc(id));
+        return entityManager.createQuery(query).setMaxResults(Math.max(limit, 1)).getResultList();
+    }
+
+    @Override
+    public Stream<EventAudit> streamForEvent(Long eventId) {
+        return entityManager.createQuery(
+                        "SELECT a FROM EventAudit a WHERE a.eventId = :eventId ORDER BY a.at, a.id", EventAudit.class)
+                .setParameter("eventId", eventId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(a -> {
+                    entityManager.detach(a);
+                    return a;
+                });
+    }
+}
@@ -7,18 +7,26 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 // Extends JpaRepository and JpaSpecificationExecutor. Can add Specifications later for filtered searches.
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventRepositoryCustom {
 
     Optional<Event> findBySlug(String slug);
 
+    // Lightweight lookup for conditional GET: version plus the fields the visibility policy needs
+    @Query("SELECT new com.arkvalleyevents.msse692_backend.repository.EventVersionView(e.eventId, e.version, e.status, e.createdByUserId) " +
+           "FROM Event e WHERE e.eventId = :eventId")
+    Optional<EventVersionView> findVersionViewById(@Param("eventId") Long eventId);
+
     Page<Event> findByStartAtAfter(LocalDateTime from, Pageable pageable);
 
     List<Event> findByEventType(EventType eventType);
@@ -27,11 +35,42 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
 
     List<Event> findByEventLocationContainingIgnoreCase(String eventLocation);
 
+    // List-row projections (see EventSummaryView): same filters as the entity finders above, minus the LOB
+    String SUMMARY_COLUMNS = "e.eventId, e.slug, e.eventName, e.eventType, e.startAt, e.endAt, e.status, e.eventLocation, "
+            + "e.createdByUserId, e.lastModifiedByUserId";
+
+    String SUMMARY_SELECT = "SELECT new com.arkvalleyevents.msse692_backend.repository.EventSummaryView("
+            + SUMMARY_COLUMNS + ") FROM Event e ";
+
+    String SUMMARY_VERSION_SELECT = "SELECT new com.arkvalleyevents.msse692_backend.repository.EventSummaryVersionView("
+            + SUMMARY_COLUMNS + ", e.version, e.updatedAt) FROM Event e ";
+
+    @Query(SUMMARY_SELECT + "WHERE e.eventType = :eventType")
+    List<EventSummaryView> findSummariesByEventType(@Param("eventType") EventType eventType);
+
+    @Query(SUMMARY_SELECT + "WHERE LOWER(e.eventLocation) LIKE LOWER(CONCAT('%', :location, '%'))")
+    List<EventSummaryView> findSummariesByLocation(@Param("location") String location);
+
     Page<Event> findByStatusAndStartAtGreaterThanEqualOrderByStartAtAsc(
             EventStatus status, LocalDateTime from, Pageable pageable
     );
 
+    // Public upcoming index (PublicUpcomingIndex): initial load, and rows changed since a point in time in any status
+    @Query(SUMMARY_VERSION_SELECT + "WHERE e.status = :status AND e.startAt >= :from ORDER BY e.startAt, e.eventId")
+    List<EventSummaryVersionView> findSummaryVersionsByStatusAndStartAtFrom(@Param("status") EventStatus status,
+                                                                           @Param("from") LocalDateTime from);
+
+    @Query(SUMMARY_VERSION_SELECT + "WHERE e.updatedAt >= :since")
+    List<EventSummaryVersionView> findSummaryVersionsUpdatedSince(@Param("since") Instant since);
+
+    @Query("SELECT e.eventId FROM Event e WHERE e.status = :status AND e.startAt >= :from")
+    List<Long> findIdsByStatusAndStartAtFrom(@Param("status") EventStatus status, @Param("from") LocalDateTime from);
+
     boolean existsBySlug(String slug);
+
+    // Every slug equal to base or shaped base-*, in one round trip (slug allocation)
+    @Query("SELECT e.slug FROM Event e WHERE e.slug = :base OR e.slug LIKE CONCAT(:base, '-%')")
+    List<String> findSlugsWithBase(@Param("base") String base);
 //
 //    // Detail lookups
 //    Optional<Event> findBySlug(String slug); // unique index recommended
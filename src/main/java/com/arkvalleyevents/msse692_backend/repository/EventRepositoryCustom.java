@@ -0,0 +1,45 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.Event;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Custom query fragment for EventRepository.
+ * Runs Specification-based list queries that select {@link EventSummaryView} rows instead of entities, and
+ * offers an ORDER BY + OFFSET/LIMIT form so callers that do not need totals (keyset/slice paging) avoid the
+ * extra COUNT query Spring Data issues for Page results.
+ */
+public interface EventRepositoryCustom {
+
+    /**
+     * Page of summary rows matching {@code spec} (null = no constraint). The COUNT query is skipped when the
+     * first page is already short, the same rule Spring Data applies to findAll(spec, pageable).
+     */
+    Page<EventSummaryView> findSummaries(Specification<Event> spec, Pageable pageable);
+
+    /**
+     * Page of summary rows whose total is already known (e.g. {@link ListStamp#count()} over the same spec);
+     * runs the page query only, never a COUNT.
+     */
+    Page<EventSummaryView> findSummaries(Specification<Event> spec, Pageable pageable, long total);
+
+    /**
+     * Returns at most {@code limit} summary rows matching {@code spec} (null = no constraint),
+     * ordered by {@code sort} and skipping the first {@code offset} rows. Never issues a COUNT.
+     */
+    List<EventSummaryView> findSummariesLimited(Specification<Event> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Single aggregate row (count, max(updatedAt)) over {@code spec}; used to derive weak list ETags
+     * without loading any rows. maxUpdatedAt is null when nothing matches.
+     */
+    ListStamp stamp(Specification<Event> spec);
+
+    record ListStamp(long count, Instant maxUpdatedAt) {}
+}
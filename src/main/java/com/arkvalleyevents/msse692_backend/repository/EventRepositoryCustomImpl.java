@@ -0,0 +1,114 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link EventRepositoryCustom} (picked up by Spring Data via the Impl suffix).
+ */
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EventSummaryView> findSummaries(Specification<Event> spec, Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            List<EventSummaryView> all = summaryQuery(spec, pageable == null ? Sort.unsorted() : pageable.getSort()).getResultList();
+            return PageableExecutionUtils.getPage(all, Pageable.unpaged(), all::size);
+        }
+        TypedQuery<EventSummaryView> typed = summaryQuery(spec, pageable.getSort());
+        typed.setFirstResult(Math.toIntExact(pageable.getOffset()));
+        typed.setMaxResults(pageable.getPageSize());
+        return PageableExecutionUtils.getPage(typed.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public Page<EventSummaryView> findSummaries(Specification<Event> spec, Pageable pageable, long total) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return findSummaries(spec, pageable);
+        }
+        TypedQuery<EventSummaryView> typed = summaryQuery(spec, pageable.getSort());
+        typed.setFirstResult(Math.toIntExact(pageable.getOffset()));
+        typed.setMaxResults(pageable.getPageSize());
+        return PageableExecutionUtils.getPage(typed.getResultList(), pageable, () -> total);
+    }
+
+    @Override
+    public List<EventSummaryView> findSummariesLimited(Specification<Event> spec, Sort sort, long offset, int limit) {
+        TypedQuery<EventSummaryView> typed = summaryQuery(spec, sort);
+        typed.setFirstResult(Math.toIntExact(Math.max(offset, 0)));
+        typed.setMaxResults(Math.max(limit, 1));
+        return typed.getResultList();
+    }
+
+    @Override
+    public ListStamp stamp(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Event> root = query.from(Event.class);
+        query.multiselect(cb.count(root), cb.greatest(root.<Instant>get("updatedAt")));
+        applySpecification(spec, root, query, cb);
+        Object[] row = entityManager.createQuery(query).getSingleResult();
+        long count = row[0] == null ? 0L : ((Number) row[0]).longValue();
+        return new ListStamp(count, (Instant) row[1]);
+    }
+
+    // SELECT new EventSummaryView(...) with the same column order as the record; the LOB column is never named
+    private TypedQuery<EventSummaryView> summaryQuery(Specification<Event> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventSummaryView> query = cb.createQuery(EventSummaryView.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.construct(EventSummaryView.class,
+                root.get("eventId"),
+                root.get("slug"),
+                root.get("eventName"),
+                root.get("eventType"),
+                root.get("startAt"),
+                root.get("endAt"),
+                root.get("status"),
+                root.get("eventLocation"),
+                root.get("createdByUserId"),
+                root.get("lastModifiedByUserId")));
+        applySpecification(spec, root, query, cb);
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.count(root));
+        applySpecification(spec, root, query, cb);
+        Long total = entityManager.createQuery(query).getSingleResult();
+        return total == null ? 0L : total;
+    }
+
+    private static void applySpecification(Specification<Event> spec, Root<Event> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (spec == null) {
+            return;
+        }
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
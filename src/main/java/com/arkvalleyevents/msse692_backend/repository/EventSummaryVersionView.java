@@ -0,0 +1,31 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.model.EventType;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * {@link EventSummaryView} columns plus the entity version and updated_at, for the public upcoming index: the
+ * version orders concurrent snapshots of the same row, and updated_at feeds the same list stamp the database
+ * computes. Same column order as EventSummaryView, then version and updatedAt.
+ */
+public record EventSummaryVersionView(Long eventId,
+                                      String slug,
+                                      String eventName,
+                                      EventType eventType,
+                                      LocalDateTime startAt,
+                                      LocalDateTime endAt,
+                                      EventStatus status,
+                                      String eventLocation,
+                                      Long createdByUserId,
+                                      Long lastModifiedByUserId,
+                                      Long version,
+                                      Instant updatedAt) {
+
+    public EventSummaryView summary() {
+        return new EventSummaryView(eventId, slug, eventName, eventType, startAt, endAt, status, eventLocation,
+                createdByUserId, lastModifiedByUserId);
+    }
+}
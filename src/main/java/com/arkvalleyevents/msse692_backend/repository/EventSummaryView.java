@@ -0,0 +1,23 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.model.EventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar projection of the columns behind EventDto (list rows). Selecting this instead of the entity keeps the
+ * {@code @Lob} eventDescription, the version/audit timestamps and all relationships out of list queries, and the
+ * rows are never attached to the persistence context.
+ */
+public record EventSummaryView(Long eventId,
+                               String slug,
+                               String eventName,
+                               EventType eventType,
+                               LocalDateTime startAt,
+                               LocalDateTime endAt,
+                               EventStatus status,
+                               String eventLocation,
+                               Long createdByUserId,
+                               Long lastModifiedByUserId) {
+}
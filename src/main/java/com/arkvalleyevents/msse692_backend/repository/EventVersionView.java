@@ -0,0 +1,10 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+
+/**
+ * Scalar projection of an event's version and visibility fields (no description, no relationships).
+ * Enough to build a strong ETag and run the view policy before deciding whether to load the full entity.
+ */
+public record EventVersionView(Long eventId, Long version, EventStatus status, Long createdByUserId) {
+}
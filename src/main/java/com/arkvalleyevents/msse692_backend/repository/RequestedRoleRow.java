@@ -0,0 +1,7 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+/**
+ * One role_request_roles row, for loading the requested roles of a whole page of role requests in one query.
+ */
+public record RequestedRoleRow(String requestId, String role) {
+}
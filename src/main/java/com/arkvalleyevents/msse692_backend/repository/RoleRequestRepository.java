@@ -4,11 +4,17 @@ import com.arkvalleyevents.msse692_backend.model.RoleRequest;
 import com.arkvalleyevents.msse692_backend.model.RoleRequestStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface RoleRequestRepository extends JpaRepository<RoleRequest, String> {
+public interface RoleRequestRepository extends JpaRepository<RoleRequest, String>, RoleRequestRepositoryCustom {
 
     Page<RoleRequest> findByRequesterUid(String requesterUid, Pageable pageable);
 
@@ -16,5 +22,25 @@ public interface RoleRequestRepository extends JpaRepository<RoleRequest, String
 
     Page<RoleRequest> findByStatus(RoleRequestStatus status, Pageable pageable);
 
+    // Count-free variants for the admin queue (size+1 fetch, no COUNT)
+    Slice<RoleRequest> findSliceByRequesterUid(String requesterUid, Pageable pageable);
+
+    Slice<RoleRequest> findSliceByRequesterUidAndStatus(String requesterUid, RoleRequestStatus status, Pageable pageable);
+
+    Slice<RoleRequest> findSliceByStatus(RoleRequestStatus status, Pageable pageable);
+
+    Slice<RoleRequest> findSliceBy(Pageable pageable);
+
+    long countByRequesterUid(String requesterUid);
+
+    long countByRequesterUidAndStatus(String requesterUid, RoleRequestStatus status);
+
+    long countByStatus(RoleRequestStatus status);
+
     boolean existsByRequesterUidAndStatus(String requesterUid, RoleRequestStatus status);
+
+    // requestedRoles is LAZY; list paths load the roles of a whole page here instead of one query per row
+    @Query("SELECT new com.arkvalleyevents.msse692_backend.repository.RequestedRoleRow(r.id, role) " +
+           "FROM RoleRequest r JOIN r.requestedRoles role WHERE r.id IN :ids")
+    List<RequestedRoleRow> findRequestedRoles(@Param("ids") Collection<String> ids);
 }
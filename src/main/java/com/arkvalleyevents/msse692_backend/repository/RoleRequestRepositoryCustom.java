@@ -0,0 +1,21 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.RoleRequest;
+import com.arkvalleyevents.msse692_backend.model.RoleRequestStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Custom query fragment for RoleRequestRepository: the keyset-paged admin queue.
+ */
+public interface RoleRequestRepositoryCustom {
+
+    /**
+     * At most {@code limit} requests, newest first ({@code createdAt DESC, id DESC}), strictly after the
+     * ({@code afterCreatedAt}, {@code afterId}) row when given. Null filters are left out of the WHERE clause
+     * entirely so the status filter can range-scan idx_role_requests_status_created_at. Never issues a COUNT.
+     */
+    List<RoleRequest> findQueue(RoleRequestStatus status, String requesterUid,
+                                OffsetDateTime afterCreatedAt, String afterId, int limit);
+}
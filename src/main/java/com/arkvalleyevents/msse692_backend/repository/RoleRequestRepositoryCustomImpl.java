@@ -0,0 +1,52 @@
+package com.arkvalleyevents.msse692_backend.repository;
+
+import com.arkvalleyevents.msse692_backend.model.RoleRequest;
+import com.arkvalleyevents.msse692_backend.model.RoleRequestStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link RoleRequestRepositoryCustom} (picked up by Spring Data via the Impl suffix).
+ */
+public class RoleRequestRepositoryCustomImpl implements RoleRequestRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RoleRequest> findQueue(RoleRequestStatus status, String requesterUid,
+                                       OffsetDateTime afterCreatedAt, String afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RoleRequest> query = cb.createQuery(RoleRequest.class);
+        Root<RoleRequest> root = query.from(RoleRequest.class);
+        Path<OffsetDateTime> createdAt = root.get("createdAt");
+        Path<String> id = root.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        if (status != null) {
+            where.add(cb.equal(root.get("status"), status));
+        }
+        if (requesterUid != null) {
+            where.add(cb.equal(root.get("requesterUid"), requesterUid));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            // The redundant created_at <= bound keeps the seek sargable; the OR alone is not
+            where.add(cb.lessThanOrEqualTo(createdAt, afterCreatedAt));
+            where.add(cb.or(cb.lessThan(createdAt, afterCreatedAt),
+                    cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, afterId))));
+        }
+        query.select(root)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+        return entityManager.createQuery(query).setMaxResults(Math.max(limit, 1)).getResultList();
+    }
+}
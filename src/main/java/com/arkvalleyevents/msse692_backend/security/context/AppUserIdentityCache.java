@@ -0,0 +1,132 @@
+package com.arkvalleyevents.msse692_backend.security.context;
+
+import com.arkvalleyevents.msse692_backend.util.BoundedTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-UID memo of what AppUserUpsertFilter resolved for a token: the AppUser id and whether the user has a
+ * completed Profile, stamped with a fingerprint of the claims the filter copies (email, name, picture).
+ * While the fingerprint matches and the entry is younger than the TTL, the filter needs no queries at all.
+ *
+ * ProfileServiceImpl drops a user's entries after a profile write commits, since the completed flag may change.
+ * At {@code max-entries} the least recently seen UID is evicted.
+ */
+@Component
+public class AppUserIdentityCache {
+
+    /** What the filter needs on a hit. */
+    public record Identity(Long userId, boolean completedProfile) {}
+
+    private record Entry(long fingerprint, Identity identity) {}
+
+    private final BoundedTtlCache<String, Entry> entries;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public AppUserIdentityCache(@Value("${app.users.identity-cache.ttl:5m}") Duration ttl,
+                                @Value("${app.users.identity-cache.max-entries:10000}") int maxEntries,
+                                MeterRegistry meterRegistry) {
+        this(ttl, maxEntries, meterRegistry, System::nanoTime);
+    }
+
+    AppUserIdentityCache(Duration ttl, int maxEntries, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new BoundedTtlCache<>(maxEntries, nanoTime);
+        this.hits = Counter.builder("app.users.identity.cache.requests").tag("result", "hit")
+                .description("Authenticated requests resolved without touching app_users/profiles").register(meterRegistry);
+        this.misses = Counter.builder("app.users.identity.cache.requests").tag("result", "miss")
+                .description("Authenticated requests that ran the AppUser upsert").register(meterRegistry);
+        Gauge.builder("app.users.identity.cache.size", entries, BoundedTtlCache::size)
+                .description("UIDs currently cached").register(meterRegistry);
+        Gauge.builder("app.users.identity.cache.hit.ratio", this, AppUserIdentityCache::hitRatio)
+                .description("Hits / (hits + misses) since startup").register(meterRegistry);
+    }
+
+    /** The cached identity when the token's claims fingerprint is unchanged and the entry is fresh; counts a hit or miss. */
+    public Optional<Identity> lookup(String uid, long fingerprint) {
+        Entry e = uid == null ? null : entries.get(uid);
+        if (e != null && e.fingerprint() == fingerprint) {
+            hits.increment();
+            return Optional.of(e.identity());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * The completed-profile flag last seen for this UID, regardless of fingerprint: lets the filter skip the
+     * profile query when only the claims changed. Empty when unknown or expired.
+     */
+    public Optional<Boolean> completedProfile(String uid) {
+        Entry e = uid == null ? null : entries.get(uid);
+        return e == null ? Optional.empty() : Optional.of(e.identity().completedProfile());
+    }
+
+    public void put(String uid, long fingerprint, Long userId, boolean completedProfile) {
+        if (uid == null || userId == null) {
+            return;
+        }
+        entries.put(uid, new Entry(fingerprint, new Identity(userId, completedProfile)), entries.now() + ttlNanos);
+    }
+
+    public void invalidate(String uid) {
+        if (uid != null) {
+            entries.remove(uid);
+        }
+    }
+
+    /** Drops every entry resolving to this AppUser id (profile writes know the id, not the UID). */
+    public void invalidateUser(Long userId) {
+        if (userId != null) {
+            entries.removeIf((uid, e) -> userId.equals(e.identity().userId()));
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    double hitRatio() {
+        double h = hits.count();
+        double total = h + misses.count();
+        return total == 0 ? 0.0 : h / total;
+    }
+
+    /** 64-bit FNV-1a over the claim values with a separator, so ("ab", null) and ("a", "b") differ. */
+    public static long fingerprint(String email, String name, String picture) {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, email);
+        h = mix(h, name);
+        h = mix(h, picture);
+        return h;
+    }
+
+    private static long mix(long h, String value) {
+        if (value == null) {
+            h ^= 0xff;
+            h *= 0x100000001b3L;
+        } else {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                h ^= c & 0xff;
+                h *= 0x100000001b3L;
+                h ^= c >>> 8;
+                h *= 0x100000001b3L;
+            }
+        }
+        h ^= 0x1f; // field separator
+        h *= 0x100000001b3L;
+        return h;
+    }
+}
@@ -0,0 +1,43 @@
+package com.arkvalleyevents.msse692_backend.security.context;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Who the current request acts as, resolved once by AppUserUpsertFilter and immutable afterwards.
+ * Role flags are derived from the authorities in a single pass here, so callers (UserContextProvider,
+ * AuditorAware, the audit trail) read fields instead of scanning authorities again.
+ *
+ * @param userId AppUser id, or null when the principal has no AppUser row (e.g. non-JWT test principals)
+ * @param uid    Firebase UID, or null
+ * @param roles  role names without the ROLE_ prefix
+ */
+public record RequestIdentity(Long userId, String uid, Set<String> roles, boolean admin, boolean editor) {
+
+    public RequestIdentity {
+        roles = roles == null ? Set.of() : Set.copyOf(roles);
+    }
+
+    public static RequestIdentity of(Long userId, String uid, Collection<? extends GrantedAuthority> authorities) {
+        Set<String> roles = new LinkedHashSet<>();
+        boolean admin = false;
+        boolean editor = false;
+        if (authorities != null) {
+            for (GrantedAuthority a : authorities) {
+                String name = a == null ? null : a.getAuthority();
+                if (name == null) continue;
+                if ("ROLE_ADMIN".equals(name)) admin = true;
+                if ("ROLE_EDITOR".equals(name)) editor = true;
+                if (name.startsWith("ROLE_")) roles.add(name.substring(5));
+            }
+        }
+        return new RequestIdentity(userId, uid, roles, admin, editor);
+    }
+
+    public UserContext toUserContext() {
+        return new UserContext(userId, admin, editor);
+    }
+}
@@ -0,0 +1,94 @@
+package com.arkvalleyevents.msse692_backend.security.context;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Carries the {@link RequestIdentity} for the code running inside a request (or a task started from one).
+ *
+ * Follows the ScopedValue model: an identity is only ever bound for the extent of a block and the previous
+ * binding is restored when the block exits, normally or not, so nothing can leak into the next request a
+ * pooled thread serves. There is no setter. Work handed to another thread sees the identity only when wrapped
+ * with {@link #wrap(Runnable)} / {@link #wrap(Callable)} (RequestIdentityTaskDecorator does this for Spring's
+ * task executors), which binds the captured identity for the duration of the task.
+ *
+ * A ThreadLocal backs the binding because ScopedValue is still a preview API on Java 21; the try-with-resources
+ * {@link Binding} gives the same lexical lifetime, and the storage can be swapped once the API is final.
+ */
+public final class RequestIdentityScope {
+
+    private static final ThreadLocal<RequestIdentity> CURRENT = new ThreadLocal<>();
+
+    private RequestIdentityScope() {}
+
+    /** Restores the previous binding on close; meant for try-with-resources only. */
+    public static final class Binding implements AutoCloseable {
+        private final RequestIdentity previous;
+        private boolean closed;
+
+        private Binding(RequestIdentity previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /** Binds {@code identity} until the returned binding is closed; null binds nothing (but still restores). */
+    public static Binding bind(RequestIdentity identity) {
+        RequestIdentity previous = CURRENT.get();
+        if (identity == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(identity);
+        }
+        return new Binding(previous);
+    }
+
+    public static void run(RequestIdentity identity, Runnable action) {
+        try (Binding ignored = bind(identity)) {
+            action.run();
+        }
+    }
+
+    public static <T> T get(RequestIdentity identity, Supplier<T> action) {
+        try (Binding ignored = bind(identity)) {
+            return action.get();
+        }
+    }
+
+    public static Optional<RequestIdentity> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static Optional<Long> currentUserId() {
+        RequestIdentity id = CURRENT.get();
+        return id == null ? Optional.empty() : Optional.ofNullable(id.userId());
+    }
+
+    /** Captures the caller's identity now and binds it around {@code task} wherever it later runs. */
+    public static Runnable wrap(Runnable task) {
+        RequestIdentity captured = CURRENT.get();
+        if (captured == null) return task;
+        return () -> run(captured, task);
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        RequestIdentity captured = CURRENT.get();
+        if (captured == null) return task;
+        return () -> {
+            try (Binding ignored = bind(captured)) {
+                return task.call();
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.arkvalleyevents.msse692_backend.security.context;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propagates the submitting thread's RequestIdentity and SecurityContext into tasks run by Spring's task
+ * executors. Spring Boot applies a TaskDecorator bean to the auto-configured application executor, so
+ * {@code @Async} methods and injected executors see the same user as the request that started them.
+ */
+@Component
+public class RequestIdentityTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return new DelegatingSecurityContextRunnable(RequestIdentityScope.wrap(runnable));
+    }
+}
@@ -0,0 +1,108 @@
+package com.arkvalleyevents.msse692_backend.security.context;
+
+import com.arkvalleyevents.msse692_backend.util.BoundedTtlCache;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Authorities for the JWT roles converter (SecurityConfig).
+ *
+ * Two layers:
+ * - interned authority lists: one immutable {@code List<GrantedAuthority>} per distinct role-name list, so
+ *   requests carrying the same roles share an instance instead of allocating a new list each time;
+ * - per-UID DB roles for tokens without a {@code roles} claim, so the app_users lookup runs once per TTL
+ *   instead of on every request until the custom claim propagates.
+ *
+ * UserRoleServiceImpl invalidates a UID after a role change commits; the TTL bounds staleness for changes
+ * made outside the service. At {@code maxUids} the least recently seen UID is evicted.
+ */
+public class RoleAuthorityCache {
+
+    // Distinct role combinations are few (USER, EDITOR, ADMIN); the cap only guards against junk claims
+    private static final int MAX_INTERNED = 256;
+
+    private final Map<List<String>, List<GrantedAuthority>> interned = new ConcurrentHashMap<>();
+    private final BoundedTtlCache<String, List<GrantedAuthority>> byUid;
+    private final long ttlNanos;
+
+    public RoleAuthorityCache(Duration ttl, int maxUids) {
+        this(ttl, maxUids, System::nanoTime);
+    }
+
+    RoleAuthorityCache(Duration ttl, int maxUids, LongSupplier nanoTime) {
+        this.ttlNanos = ttl.toNanos();
+        this.byUid = new BoundedTtlCache<>(maxUids, nanoTime);
+    }
+
+    /**
+     * Shared immutable authorities for these role names (ROLE_ prefixed and upper-cased unless already prefixed;
+     * blanks dropped). The argument is used as the lookup key as-is, so a claim list costs no copy on a hit.
+     */
+    public List<GrantedAuthority> authorities(List<String> roleNames) {
+        List<GrantedAuthority> hit = interned.get(roleNames);
+        if (hit != null) {
+            return hit;
+        }
+        List<GrantedAuthority> built = toAuthorities(roleNames);
+        if (interned.size() >= MAX_INTERNED) {
+            return built;
+        }
+        // Private copy as the key: the caller's list (a JWT claim) may be mutable, and may hold nulls
+        List<GrantedAuthority> prev = interned.putIfAbsent(Collections.unmodifiableList(new ArrayList<>(roleNames)), built);
+        return prev != null ? prev : built;
+    }
+
+    /**
+     * Authorities from the database roles of {@code uid}, loaded at most once per TTL.
+     * {@code loader} returns the stored role names (empty when the user is unknown or has none); the result
+     * falls back to USER in that case, as the converter always did.
+     */
+    public List<GrantedAuthority> forUid(String uid, Function<String, Collection<String>> loader) {
+        List<GrantedAuthority> cached = byUid.get(uid);
+        if (cached != null) {
+            return cached;
+        }
+        Collection<String> stored = loader.apply(uid);
+        List<String> names = new ArrayList<>(stored == null ? List.of() : stored);
+        names.removeIf(n -> n == null);
+        names.sort(null); // stable interning key regardless of set iteration order
+        if (names.isEmpty()) {
+            names.add("USER");
+        }
+        List<GrantedAuthority> authorities = authorities(names);
+        byUid.put(uid, authorities, byUid.now() + ttlNanos);
+        return authorities;
+    }
+
+    public void invalidate(String uid) {
+        if (uid != null) {
+            byUid.remove(uid);
+        }
+    }
+
+    int uidCount() {
+        return byUid.size();
+    }
+
+    private static List<GrantedAuthority> toAuthorities(List<String> roleNames) {
+        List<GrantedAuthority> out = new ArrayList<>(roleNames.size());
+        for (String r : roleNames) {
+            if (r == null) continue;
+            String t = r.trim();
+            if (t.isEmpty()) continue;
+            out.add(new SimpleGrantedAuthority(t.startsWith("ROLE_") ? t : "ROLE_" + t.toUpperCase(Locale.ROOT)));
+        }
+        return List.copyOf(out);
+    }
+}
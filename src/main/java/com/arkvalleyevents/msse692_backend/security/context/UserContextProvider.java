@@ -1,6 +1,5 @@
 package com.arkvalleyevents.msse692_backend.security.context;
 
-import com.arkvalleyevents.msse692_backend.util.CurrentAuditor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
@@ -8,13 +7,18 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 /**
- * Provides the current user's context (id and role flags) from Spring Security.
+ * Provides the current user's context (id and role flags). Inside a request this is read from the
+ * RequestIdentity AppUserUpsertFilter bound once; outside one it falls back to scanning Spring Security.
  */
 @Component
 public class UserContextProvider {
     private static final Logger log = LoggerFactory.getLogger(UserContextProvider.class);
 
     public UserContext current() {
+        RequestIdentity bound = RequestIdentityScope.current().orElse(null);
+        if (bound != null) {
+            return bound.toUserContext();
+        }
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         boolean authPresent = auth != null;
         boolean authenticated = java.util.Optional.ofNullable(auth)
@@ -32,7 +36,7 @@ public class UserContextProvider {
                     .anyMatch(a -> "ROLE_EDITOR".equals(a));
         }
 
-        Long userId = CurrentAuditor.get().orElse(null);
+        Long userId = null; // no bound identity means no AppUser was resolved
         if (log.isDebugEnabled()) {
             log.debug("Resolved UserContext: userId={} admin={} editor={} (authPresent={} authenticated={})",
                     userId, admin, editor, authPresent, authenticated);
@@ -0,0 +1,96 @@
+package com.arkvalleyevents.msse692_backend.security.jwt;
+
+import com.arkvalleyevents.msse692_backend.util.BoundedTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Remembers tokens the delegate has already verified, keyed by the SHA-256 of the raw token, until their
+ * {@code exp}. An SPA sends the same Firebase ID token with every call for up to an hour, so repeat requests
+ * cost one hash instead of an RS256 verification plus claim parsing.
+ *
+ * Only successfully decoded (signature and validators passed) tokens are stored; failures always go to the
+ * delegate. Each entry expires at the token's {@code exp} by the cache clock; at {@code maxEntries} the least
+ * recently presented token is evicted.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final BoundedTtlCache<TokenKey, Jwt> verified;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, MeterRegistry meterRegistry) {
+        this(delegate, maxEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.verified = new BoundedTtlCache<>(maxEntries, clock::millis);
+        this.hits = Counter.builder("app.security.jwt.cache.requests").tag("result", "hit")
+                .description("Bearer tokens accepted without re-verifying the signature").register(meterRegistry);
+        this.misses = Counter.builder("app.security.jwt.cache.requests").tag("result", "miss")
+                .description("Bearer tokens verified by the JWT decoder").register(meterRegistry);
+        Gauge.builder("app.security.jwt.cache.size", verified, BoundedTtlCache::size)
+                .description("Verified tokens currently cached").register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(null);
+        }
+        TokenKey key = TokenKey.of(token);
+        Jwt cached = verified.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Jwt jwt = delegate.decode(token);
+        Instant exp = jwt.getExpiresAt();
+        if (exp != null && exp.toEpochMilli() - verified.now() > 0) {
+            verified.put(key, jwt, exp.toEpochMilli());
+        }
+        return jwt;
+    }
+
+    public void invalidateAll() {
+        verified.clear();
+    }
+
+    int size() {
+        return verified.size();
+    }
+
+    /** SHA-256 of the token; the raw bearer string is never retained as a key. */
+    private record TokenKey(long a, long b, long c, long d) {
+        static TokenKey of(String token) {
+            byte[] h;
+            try {
+                h = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 unavailable", ex);
+            }
+            return new TokenKey(longAt(h, 0), longAt(h, 8), longAt(h, 16), longAt(h, 24));
+        }
+
+        private static long longAt(byte[] b, int off) {
+            long v = 0;
+            for (int i = off; i < off + 8; i++) {
+                v = (v << 8) | (b[i] & 0xffL);
+            }
+            return v;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.arkvalleyevents.msse692_backend.security.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Builds the Firebase ID token decoder without OIDC discovery: keys come from a {@link SeededJwkSource}
+ * (local JWKS file and/or the Firebase JWKS endpoint, fetched lazily), claims are checked by the given Spring
+ * validators, and verified tokens are optionally remembered by a {@link CachingJwtDecoder}.
+ */
+public final class FirebaseJwtDecoders {
+
+    private static final Logger log = LoggerFactory.getLogger(FirebaseJwtDecoders.class);
+
+    /** Public keys for Firebase Auth ID tokens (the jwks_uri that discovery on securetoken.google.com returns). */
+    public static final String FIREBASE_JWKS_URI =
+            "https://www.googleapis.com/service_accounts/v1/jwk/securetoken@system.gserviceaccount.com";
+
+    private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration MIN_REFRESH_GAP = Duration.ofSeconds(30);
+
+    private FirebaseJwtDecoders() {}
+
+    /** Settings shared by the dev and local/prod decoders; blank jwksFile / jwksUri disable that key source. */
+    public record Settings(String jwksFile, String jwksUri, Duration refreshInterval, boolean cacheEnabled, int cacheMaxEntries) {}
+
+    public static JwtDecoder build(Settings settings, OAuth2TokenValidator<Jwt> validator, MeterRegistry meterRegistry) {
+        JWKSet seed = hasText(settings.jwksFile()) ? loadSeed(settings.jwksFile()) : null;
+        Callable<JWKSet> fetcher = hasText(settings.jwksUri()) ? httpFetcher(URI.create(settings.jwksUri())) : null;
+        SeededJwkSource keys = new SeededJwkSource(seed, fetcher, settings.refreshInterval(), MIN_REFRESH_GAP);
+        log.info("JWT decoder: {} seeded keys, refresh from {}, verified-token cache {}",
+                keys.size(), fetcher == null ? "(offline)" : settings.jwksUri(),
+                settings.cacheEnabled() ? "max " + settings.cacheMaxEntries() : "off");
+
+        NimbusJwtDecoder verifying = withKeys(keys);
+        verifying.setJwtValidator(validator);
+        return settings.cacheEnabled()
+                ? new CachingJwtDecoder(verifying, settings.cacheMaxEntries(), meterRegistry)
+                : verifying;
+    }
+
+    /** RS256 decoder over the given keys; exp/nbf/iss/aud are left to the Spring validators. */
+    public static NimbusJwtDecoder withKeys(JWKSource<SecurityContext> keys) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keys));
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+        return new NimbusJwtDecoder(processor);
+    }
+
+    static JWKSet loadSeed(String location) {
+        Resource resource = new DefaultResourceLoader().getResource(location.contains(":") ? location : "file:" + location);
+        try (InputStream in = resource.getInputStream()) {
+            return JWKSet.load(in);
+        } catch (IOException | java.text.ParseException ex) {
+            throw new IllegalStateException("Cannot read JWKS seed file " + location + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    static Callable<JWKSet> httpFetcher(URI uri) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(HTTP_TIMEOUT);
+        requestFactory.setReadTimeout(HTTP_TIMEOUT);
+        RestTemplate rest = new RestTemplate(requestFactory);
+        return () -> JWKSet.parse(rest.getForObject(uri, String.class));
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+}
@@ -0,0 +1,114 @@
+package com.arkvalleyevents.msse692_backend.security.jwt;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Signing keys for the JWT decoder, available without any network call at startup.
+ *
+ * The set is seeded from a local JWKS file when one is configured. When a fetcher is available (the Firebase
+ * JWKS endpoint) it refreshes the set every {@code refreshInterval}, and early on an unknown {@code kid}
+ * (key rotation), at most once per {@code minRefreshGap}. A failed fetch keeps the last good set, so a seeded
+ * deployment keeps verifying tokens while Google is unreachable.
+ *
+ * Refresh runs on the request thread that notices staleness; a ReentrantLock (not synchronized, which would pin a
+ * virtual thread across the HTTP call) lets other requests continue on the current set meanwhile.
+ */
+public class SeededJwkSource implements JWKSource<SecurityContext> {
+
+    private static final Logger log = LoggerFactory.getLogger(SeededJwkSource.class);
+
+    private final Callable<JWKSet> fetcher;
+    private final long refreshIntervalNanos;
+    private final long minRefreshGapNanos;
+    private final LongSupplier nanoTime;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile JWKSet current;
+    private volatile long loadedAtNanos;
+    private volatile long lastAttemptNanos;
+    private volatile boolean attempted;
+
+    /**
+     * @param seed    keys from a local JWKS file, or null
+     * @param fetcher loads the live set (HTTP), or null for offline-only
+     */
+    public SeededJwkSource(JWKSet seed, Callable<JWKSet> fetcher, Duration refreshInterval, Duration minRefreshGap) {
+        this(seed, fetcher, refreshInterval, minRefreshGap, System::nanoTime);
+    }
+
+    SeededJwkSource(JWKSet seed, Callable<JWKSet> fetcher, Duration refreshInterval, Duration minRefreshGap, LongSupplier nanoTime) {
+        if (seed == null && fetcher == null) {
+            throw new IllegalArgumentException("A JWKS seed file or a JWKS URI is required");
+        }
+        this.fetcher = fetcher;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.minRefreshGapNanos = minRefreshGap.toNanos();
+        this.nanoTime = nanoTime;
+        this.current = seed;
+        this.loadedAtNanos = nanoTime.getAsLong();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) throws KeySourceException {
+        long now = nanoTime.getAsLong();
+        if (fetcher != null && (current == null || now - loadedAtNanos >= refreshIntervalNanos)) {
+            refresh(now, current == null);
+        }
+        JWKSet set = current;
+        List<JWK> matches = set == null ? List.of() : selector.select(set);
+        if (matches.isEmpty() && fetcher != null && (!attempted || now - lastAttemptNanos >= minRefreshGapNanos)) {
+            // Unknown kid: the keys probably rotated since the seed / last fetch
+            refresh(now, true);
+            set = current;
+            matches = set == null ? List.of() : selector.select(set);
+        }
+        if (set == null) {
+            throw new KeySourceException("No JWK set available (seed missing and fetch failed)");
+        }
+        return matches;
+    }
+
+    /** Number of keys currently held, for startup logging and tests. */
+    public int size() {
+        JWKSet set = current;
+        return set == null ? 0 : set.getKeys().size();
+    }
+
+    private void refresh(long now, boolean wait) {
+        if (wait) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            return; // someone else is refreshing; use the current set
+        }
+        try {
+            if (attempted && now - lastAttemptNanos < minRefreshGapNanos) {
+                return; // another thread just did it
+            }
+            attempted = true;
+            lastAttemptNanos = nanoTime.getAsLong();
+            JWKSet fetched = fetcher.call();
+            if (fetched != null && !fetched.getKeys().isEmpty()) {
+                current = fetched;
+                loadedAtNanos = nanoTime.getAsLong();
+                log.debug("Refreshed JWK set: {} keys", fetched.getKeys().size());
+            }
+        } catch (Exception ex) {
+            log.warn("JWK set refresh failed, keeping {} cached keys: {}", size(), ex.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
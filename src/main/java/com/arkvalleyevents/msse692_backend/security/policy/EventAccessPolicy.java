@@ -1,7 +1,9 @@
 package com.arkvalleyevents.msse692_backend.security.policy;
 
 import com.arkvalleyevents.msse692_backend.dto.response.EventDetailDto;
+import com.arkvalleyevents.msse692_backend.model.Event;
 import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.security.context.UserContext;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,16 +72,35 @@ public class EventAccessPolicy {
 			log.debug("assertCanModify: dto=null userId={} admin={} editor={} → throwing 404", uid, isAdmin, isEditor);
 			throw new EntityNotFoundException("Event not found: null");
 		}
+		checkModify(dto.getEventId(), dto.getCreatedByUserId(), uid, isAdmin, isEditor);
+	}
+
+	/**
+	 * Same rule as {@link #assertCanModify(EventDetailDto, Optional, boolean, boolean)}, evaluated against the
+	 * managed entity so a command can authorize and mutate on a single load inside its transaction.
+	 */
+	public void assertCanModify(Event event, UserContext uc) {
+		Long uid = uc == null ? null : uc.userId();
+		boolean isAdmin = uc != null && uc.admin();
+		boolean isEditor = uc != null && uc.editor();
+		if (event == null) {
+			log.debug("assertCanModify: event=null userId={} admin={} editor={} → throwing 404", uid, isAdmin, isEditor);
+			throw new EntityNotFoundException("Event not found: null");
+		}
+		checkModify(event.getEventId(), event.getCreatedByUserId(), uid, isAdmin, isEditor);
+	}
+
+	private void checkModify(Long eventId, Long ownerId, Long uid, boolean isAdmin, boolean isEditor) {
 		if (isAdmin) {
-			log.debug("assertCanModify: admin=true userId={} eventId={} → allowed", uid, dto.getEventId());
+			log.debug("assertCanModify: admin=true userId={} eventId={} → allowed", uid, eventId);
 			return;
 		}
-		boolean ownerEditor = isEditor && uid != null && java.util.Objects.equals(uid, dto.getCreatedByUserId());
+		boolean ownerEditor = isEditor && uid != null && Objects.equals(uid, ownerId);
 		if (ownerEditor) {
-			log.debug("assertCanModify: editor owner match userId={} ownerId={} eventId={} → allowed", uid, dto.getCreatedByUserId(), dto.getEventId());
+			log.debug("assertCanModify: editor owner match userId={} ownerId={} eventId={} → allowed", uid, ownerId, eventId);
 			return;
 		}
-		log.debug("assertCanModify: deny userId={} admin={} editor={} ownerId={} eventId={} → throwing 404", uid, isAdmin, isEditor, dto.getCreatedByUserId(), dto.getEventId());
-		throw new EntityNotFoundException("Event not found: " + dto.getEventId());
+		log.debug("assertCanModify: deny userId={} admin={} editor={} ownerId={} eventId={} → throwing 404", uid, isAdmin, isEditor, ownerId, eventId);
+		throw new EntityNotFoundException("Event not found: " + eventId);
 	}
 }
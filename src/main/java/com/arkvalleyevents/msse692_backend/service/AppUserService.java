@@ -4,11 +4,14 @@ import com.arkvalleyevents.msse692_backend.model.AppUser;
 import com.arkvalleyevents.msse692_backend.dto.response.AppUserWithRolesDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.Optional;
 import java.util.Set;
 
 public interface AppUserService {
     AppUser getCurrentUser();
     Page<AppUserWithRolesDto> listUsers(Optional<String> q, Set<String> roles, Pageable pageable);
+    /** listUsers with an explicit count mode; NONE skips the COUNT(DISTINCT) entirely. */
+    Slice<AppUserWithRolesDto> listUsers(Optional<String> q, Set<String> roles, Pageable pageable, CountMode countMode);
     AppUserWithRolesDto getByFirebaseUid(String firebaseUid);
 }
@@ -0,0 +1,27 @@
+package com.arkvalleyevents.msse692_backend.service;
+
+import java.util.Locale;
+
+/**
+ * How list endpoints compute totals.
+ * EXACT runs the COUNT query (default, current behavior); NONE returns a Slice found by fetching size+1 rows;
+ * APPROXIMATE returns a Slice-priced page whose totals come from a short-lived cached count.
+ */
+public enum CountMode {
+    EXACT,
+    NONE,
+    APPROXIMATE;
+
+    /** Maps the {@code count} query parameter: true/exact, false/none, approx/estimate. Null or blank means EXACT. */
+    public static CountMode fromParam(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return EXACT;
+        }
+        return switch (raw.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "exact" -> EXACT;
+            case "false", "none" -> NONE;
+            case "approx", "approximate", "estimate" -> APPROXIMATE;
+            default -> throw new IllegalArgumentException("Unsupported count mode: " + raw);
+        };
+    }
+}
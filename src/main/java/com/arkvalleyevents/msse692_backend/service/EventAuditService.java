@@ -1,10 +1,46 @@
 package com.arkvalleyevents.msse692_backend.service;
 
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditCursorPageResponse;
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventVersionStateDto;
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.service.mapping.EventFieldState;
+import java.util.Optional;
+import java.util.function.Consumer;
+
 public interface EventAuditService {
+    int MAX_PAGE_SIZE = 200;
+
     void logCreate(Long eventId);
     void logUpdate(Long eventId);
+
+    /**
+     * UPDATE audit carrying a field-level diff: {@code before} is the state captured before the change,
+     * {@code after} the entity as saved. The diff is computed off the request thread.
+     */
+    void logUpdate(Long eventId, EventFieldState before, Event after);
+
     void logDelete(Long eventId);
 
     // Read-only retrieval (does not mutate DB)
-    java.util.List<com.arkvalleyevents.msse692_backend.model.EventAudit> getRecentForEvent(Long eventId, int limit);
+
+    /**
+     * One page of an event's audit trail, newest first, optionally narrowed to one actor and/or action.
+     * {@code cursor} is the nextCursor of the previous page (null or blank for the first); {@code size} is
+     * clamped to 1..{@value #MAX_PAGE_SIZE}.
+     */
+    EventAuditCursorPageResponse findForEvent(Long eventId, Optional<Long> actorUserId, Optional<String> action,
+                                              String cursor, int size);
+
+    /**
+     * The event's full audit history, oldest first, handed to {@code sink} row by row inside one read-only
+     * transaction, so memory use does not grow with the history length.
+     */
+    void exportForEvent(Long eventId, Consumer<EventAuditDto> sink);
+
+    /**
+     * The audited columns of the event as of {@code version}, rebuilt by replaying recorded diffs backwards from
+     * the current row. The description is only restored when no later change touched it.
+     */
+    EventVersionStateDto reconstruct(Long eventId, long version);
 }
@@ -2,10 +2,13 @@ package com.arkvalleyevents.msse692_backend.service;
 
 import com.arkvalleyevents.msse692_backend.dto.request.CreateEventDto;
 import com.arkvalleyevents.msse692_backend.dto.request.UpdateEventDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventCursorPageResponse;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDetailDto;
 import com.arkvalleyevents.msse692_backend.model.EventType;
+import com.arkvalleyevents.msse692_backend.repository.EventVersionView;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -31,6 +34,16 @@ public interface EventService {
     EventDetailDto unpublishEvent(Long eventId);
     EventDetailDto cancelEvent(Long eventId);
 
+    /**
+     * Caller-scoped command variants: load the event once, authorize against that entity with
+     * EventAccessPolicy (ADMIN, or EDITOR owner; otherwise EntityNotFoundException) and mutate it
+     * in the same transaction. Controllers use these instead of a separate fetch-then-authorize round trip.
+     */
+    EventDetailDto updateEvent(Long eventId, UpdateEventDto input, UserContext userContext);
+    EventDetailDto publishEvent(Long eventId, UserContext userContext);
+    EventDetailDto unpublishEvent(Long eventId, UserContext userContext);
+    EventDetailDto cancelEvent(Long eventId, UserContext userContext);
+
     /** Hard delete (or implement soft delete behind the scenes). */
     void deleteEvent(Long eventId);
 
@@ -45,6 +58,30 @@ public interface EventService {
     EventDetailDto getEventDetailOrThrow(Long eventId);
     EventDetailDto getEventBySlug(String slug);
 
+    /** Version and visibility fields only (single scalar query); throws EntityNotFoundException if missing. */
+    EventVersionView getEventVersionOrThrow(Long eventId);
+
+    /**
+     * Data stamp for the scoped list (same role defaults and filters as listEventsPageScoped):
+     * count and max(updatedAt) over the whole filtered set. Used to derive weak list ETags.
+     */
+    String listEventsStampScoped(Map<String, String> filters, UserContext userContext);
+
+    /**
+     * listEventsStampScoped together with the row count it was derived from, so an exact page can take its
+     * totals from the stamp query instead of running its own COUNT. Null when no stamp is available.
+     */
+    ScopedListStamp listEventsCountedStampScoped(Map<String, String> filters, UserContext userContext);
+
+    /** Weak list stamp and the number of rows in the filtered set it covers. */
+    record ScopedListStamp(String stamp, long count) {}
+
+    /** Data stamp for the public upcoming feed at {@code from}; in-memory when the index covers it. */
+    String publicUpcomingStamp(LocalDateTime from);
+
+    /** Same stamp as {@link #publicUpcomingStamp} when the index covers {@code from}; null instead of querying. */
+    String publicUpcomingIndexStamp(LocalDateTime from);
+
     /**
      * General list/search endpoint:
      * - filters: free-form map (e.g., type, dateFrom, dateTo, location, status)
@@ -58,6 +95,22 @@ public interface EventService {
     /** Paged list with role-aware defaults applied based on UserContext. */
     Page<EventDto> listEventsPageScoped(Map<String, String> filters, int page, int size, String sort, UserContext userContext);
 
+    /** listEventsPageScoped with the total already known (ScopedListStamp.count); issues no COUNT. */
+    Page<EventDto> listEventsPageScoped(Map<String, String> filters, int page, int size, String sort, UserContext userContext, long total);
+
+    /**
+     * listEventsPageScoped with an explicit count mode. EXACT returns the same Page as the five-argument form;
+     * NONE returns a Slice (size+1 fetch, no COUNT); APPROXIMATE returns a Page whose totals come from a cached count.
+     */
+    Slice<EventDto> listEventsPageScoped(Map<String, String> filters, int page, int size, String sort, UserContext userContext, CountMode countMode);
+
+    /**
+     * Keyset (seek) variant of listEventsPageScoped: same role defaults and filters, but pages by an opaque
+     * cursor over (sortKey, eventId) instead of OFFSET, and never issues a COUNT query.
+     * A null/blank cursor returns the first page; sort must be startAt or eventName.
+     */
+    EventCursorPageResponse listEventsCursorScoped(Map<String, String> filters, String cursor, int size, String sort, UserContext userContext);
+
     /**
      * Strict ownership listing (no role-based expansion): returns ONLY events whose createdByUserId matches ownerUserId,
      * regardless of status. Intended for "My Events" view so editors/admins don't see other published events mixed in.
@@ -70,6 +123,9 @@ public interface EventService {
      */
     Page<EventDto> listEventsByOwnerFiltered(Long ownerUserId, Map<String, String> filters, int page, int size, String sort);
 
+    /** listEventsByOwnerFiltered with an explicit count mode (see {@link CountMode}). */
+    Slice<EventDto> listEventsByOwnerFiltered(Long ownerUserId, Map<String, String> filters, int page, int size, String sort, CountMode countMode);
+
     /** Lightweight helper for “what’s coming up from time X” with a hard cap. */
     List<EventDto> listUpcoming(LocalDateTime from, int limit);
 
@@ -6,10 +6,22 @@ package com.arkvalleyevents.msse692_backend.service;
  */
 public interface FirebaseClaimsSyncService {
 
+    /** What one sync did. SKIPPED: the roles hash matches the last successful push, no remote call was made. */
+    enum Outcome { PUSHED, SKIPPED, FAILED, NOT_FOUND }
+
+    /** Totals for a multi-user sync. */
+    record SyncCounts(int pushed, int skipped, int failed) {}
+
     /**
      * Sync the roles for the user identified by firebaseUid into custom claims.
      * @param firebaseUid Firebase Authentication UID
      * @param force If true, push even if roles hash appears unchanged
      */
-    void syncUserRolesByUid(String firebaseUid, boolean force);
+    Outcome syncUserRolesByUid(String firebaseUid, boolean force);
+
+    /**
+     * Sync every user, paging through app_users. Users whose roles hash matches the last push are skipped
+     * unless force is set; a failed push does not stop the run.
+     */
+    SyncCounts syncAllUsers(boolean force);
 }
@@ -2,10 +2,12 @@ package com.arkvalleyevents.msse692_backend.service;
 
 import com.arkvalleyevents.msse692_backend.dto.request.RoleRequestCreateDto;
 import com.arkvalleyevents.msse692_backend.dto.request.RoleRequestDecisionDto;
+import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestCursorPageResponse;
 import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestDto;
 import com.arkvalleyevents.msse692_backend.model.RoleRequestStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +21,15 @@ public interface RoleRequestService {
 
     Page<RoleRequestDto> adminList(Optional<RoleRequestStatus> status, Optional<String> search, Pageable pageable);
 
+    /** adminList with an explicit count mode; NONE returns a Slice without running COUNT. */
+    Slice<RoleRequestDto> adminList(Optional<RoleRequestStatus> status, Optional<String> search, Pageable pageable, CountMode countMode);
+
+    /**
+     * Admin queue in keyset mode, newest first: seeks past {@code cursor} (null or blank = first page) instead
+     * of OFFSET, and never counts.
+     */
+    RoleRequestCursorPageResponse adminQueue(Optional<RoleRequestStatus> status, Optional<String> search, String cursor, int size);
+
     RoleRequestDto get(UUID id);
 
     RoleRequestDto approve(UUID id, String approverUid, RoleRequestDecisionDto body);
@@ -1,12 +1,19 @@
 package com.arkvalleyevents.msse692_backend.service;
 
+import com.arkvalleyevents.msse692_backend.service.FirebaseClaimsSyncService.Outcome;
+import com.arkvalleyevents.msse692_backend.service.FirebaseClaimsSyncService.SyncCounts;
+
 import java.util.Set;
 
 public interface UserRoleService {
 
     record RolesView(String firebaseUid, Set<String> roles) {}
     record RemoveRoleResult(boolean removed, String role, String uid) {}
-    record SyncResult(String uid, boolean force) {}
+    record SyncResult(String uid, boolean force, Outcome outcome) {
+        public SyncResult(String uid, boolean force) {
+            this(uid, force, null);
+        }
+    }
 
     RolesView getRoles(String uid);
 
@@ -15,4 +22,7 @@ public interface UserRoleService {
     RemoveRoleResult removeRole(String uid, String role);
 
     SyncResult syncClaims(String uid, boolean force);
+
+    /** Syncs every user's claims; without force, users whose stored roles hash is current are skipped. */
+    SyncCounts syncAllClaims(boolean force);
 }
@@ -0,0 +1,367 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.model.AppUser;
+import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
+import com.arkvalleyevents.msse692_backend.repository.AppUserSearchView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram index over the admin user search fields (email, displayName, firebaseUid), so a
+ * {@code q} of three or more characters resolves to matching user ids without the LIKE '%q%' scan of app_users.
+ *
+ * Each user gets a dense ordinal; every trigram of its lower-cased fields maps to a sorted posting list of
+ * ordinals. A query walks the shortest posting list of its trigrams, checks the others by binary search and
+ * confirms each candidate with a substring test on the stored text, so results are exact (same rows as the
+ * LIKE query) rather than trigram approximations.
+ *
+ * Misses (caller falls back to the repository): not built yet, disabled, query shorter than three characters
+ * or containing LIKE wildcards, or more than {@code max-matches} hits (an unselective query, where the scan
+ * with LIMIT stops early anyway and an IN list would not help).
+ *
+ * Freshness: AppUserUpsertFilter pushes every user it creates or changes; a catch-up poll on updated_at picks
+ * up writes from other instances. Writes are stamped with updated_at so a late, older copy never replaces a
+ * newer one. Roles are not indexed: the role filter stays a database predicate on the resolved ids, so role
+ * edits (UserRoleServiceImpl) cannot make the index stale.
+ */
+@Component
+public class AppUserSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AppUserSearchIndex.class);
+
+    public static final int MIN_QUERY_LENGTH = 3;
+    private static final char FIELD_SEPARATOR = '\u0001'; // never in a query, so a match cannot span two fields
+    private static final int LOAD_PAGE_SIZE = 5_000;
+    private static final Duration CATCH_UP_SLACK = Duration.ofSeconds(5); // commits land out of updated_at order
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] ids = new long[1024];
+    private String[] texts = new String[1024];
+    private long[] stamps = new long[1024];
+    private int count;
+
+    private final AppUserRepository appUserRepository;
+    private final boolean enabled;
+    private final int maxMatches;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter broad;
+
+    private volatile boolean ready;
+    private volatile OffsetDateTime watermark;
+
+    @Autowired
+    public AppUserSearchIndex(AppUserRepository appUserRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.users.search-index.enabled:true}") boolean enabled,
+                              @Value("${app.users.search-index.max-matches:1000}") int maxMatches) {
+        this.appUserRepository = appUserRepository;
+        this.enabled = enabled;
+        this.maxMatches = Math.max(maxMatches, 1);
+        this.hits = Counter.builder("app.users.search.index.requests").tag("result", "hit")
+                .description("Admin user searches resolved from the trigram index").register(meterRegistry);
+        this.misses = Counter.builder("app.users.search.index.requests").tag("result", "miss")
+                .description("Admin user searches the index could not answer (short query, not built)").register(meterRegistry);
+        this.broad = Counter.builder("app.users.search.index.requests").tag("result", "broad")
+                .description("Admin user searches with more than max-matches hits, left to the database").register(meterRegistry);
+        Gauge.builder("app.users.search.index.size", this, AppUserSearchIndex::size)
+                .description("Users held in the search index").register(meterRegistry);
+    }
+
+    //=========================
+    // Queries
+    //=========================
+
+    /**
+     * Ids (ascending) of users whose email, display name or Firebase UID contains {@code query}, case-insensitively.
+     * Empty when the index cannot answer; an empty list is a definite "no user matches".
+     */
+    public Optional<List<Long>> search(String query) {
+        if (!enabled || !ready || query == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        String q = query.toLowerCase(Locale.ROOT);
+        if (q.length() < MIN_QUERY_LENGTH || q.indexOf('%') >= 0 || q.indexOf('_') >= 0 || q.indexOf(FIELD_SEPARATOR) >= 0) {
+            // LIKE treats % and _ as wildcards; keep those semantics on the database path
+            misses.increment();
+            return Optional.empty();
+        }
+        long[] grams = grams(q);
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    hits.increment();
+                    return Optional.of(List.of());
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+            Postings shortest = lists[0];
+            List<Long> out = new ArrayList<>();
+            candidates:
+            for (int i = 0; i < shortest.size; i++) {
+                int ord = shortest.ordinals[i];
+                for (int j = 1; j < lists.length; j++) {
+                    if (!lists[j].contains(ord)) continue candidates;
+                }
+                if (!texts[ord].contains(q)) continue; // trigrams present but not contiguous
+                if (out.size() == maxMatches) {
+                    broad.increment();
+                    return Optional.empty();
+                }
+                out.add(ids[ord]);
+            }
+            out.sort(null); // ordinals follow load/insert order, not id order
+            hits.increment();
+            return Optional.of(out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //=========================
+    // Maintenance
+    //=========================
+
+    /** Loads every user in id-keyset pages once the application is up; searches fall back until it finishes. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            log.info("User search index disabled (app.users.search-index.enabled=false)");
+            return;
+        }
+        long start = System.nanoTime();
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        long afterId = 0L;
+        int loaded = 0;
+        while (true) {
+            List<AppUserSearchView> rows = appUserRepository.findSearchViewsAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            if (rows == null || rows.isEmpty()) break;
+            applyAll(rows);
+            loaded += rows.size();
+            afterId = rows.get(rows.size() - 1).id();
+            if (rows.size() < LOAD_PAGE_SIZE) break;
+        }
+        // Anything written while loading is re-read by the first catch-up
+        watermark = startedAt;
+        ready = true;
+        log.info("User search index built: {} users, {} trigrams in {}ms", loaded, postingsCount(), (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /** Re-reads users changed since the last pass (writes from other instances, or ones that raced the build). */
+    @Scheduled(fixedDelayString = "${app.users.search-index.refresh-interval:PT30S}",
+               initialDelayString = "${app.users.search-index.refresh-interval:PT30S}")
+    public void catchUp() {
+        OffsetDateTime since = watermark;
+        if (!enabled || since == null) {
+            return;
+        }
+        OffsetDateTime next = OffsetDateTime.now();
+        List<AppUserSearchView> rows = appUserRepository.findSearchViewsUpdatedSince(since.minus(CATCH_UP_SLACK));
+        if (rows != null && !rows.isEmpty()) {
+            applyAll(rows);
+            log.debug("User search index caught up {} users since {}", rows.size(), since);
+        }
+        watermark = next;
+    }
+
+    /** Indexes a user after its row was written (AppUserUpsertFilter). */
+    public void onSaved(AppUser user) {
+        if (!enabled || user == null || user.getId() == null) {
+            return;
+        }
+        apply(user.getId(), user.getFirebaseUid(), user.getEmail(), user.getDisplayName(), stamp(user.getUpdatedAt()));
+    }
+
+    private void applyAll(List<AppUserSearchView> rows) {
+        lock.writeLock().lock();
+        try {
+            for (AppUserSearchView r : rows) {
+                applyLocked(r.id(), text(r.firebaseUid(), r.email(), r.displayName()), stamp(r.updatedAt()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void apply(long id, String firebaseUid, String email, String displayName, long stamp) {
+        String text = text(firebaseUid, email, displayName);
+        lock.writeLock().lock();
+        try {
+            applyLocked(id, text, stamp);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Test and benchmark hook: marks a directly loaded index as complete. */
+    void markReady() {
+        ready = true;
+    }
+
+    private void applyLocked(long id, String text, long stamp) {
+        Integer existing = ordinals.get(id);
+        if (existing == null) {
+            int ord = count++;
+            if (ord == ids.length) grow();
+            ids[ord] = id;
+            texts[ord] = text;
+            stamps[ord] = stamp;
+            ordinals.put(id, ord);
+            for (long g : grams(text)) {
+                postings.computeIfAbsent(g, k -> new Postings()).add(ord);
+            }
+            return;
+        }
+        int ord = existing;
+        if (stamp < stamps[ord]) {
+            return; // older copy than the one indexed
+        }
+        stamps[ord] = stamp;
+        String old = texts[ord];
+        if (old.equals(text)) {
+            return;
+        }
+        long[] before = grams(old);
+        long[] after = grams(text);
+        for (long g : before) {
+            if (Arrays.binarySearch(after, g) < 0) {
+                Postings p = postings.get(g);
+                if (p != null && p.remove(ord) && p.size == 0) postings.remove(g);
+            }
+        }
+        for (long g : after) {
+            if (Arrays.binarySearch(before, g) < 0) {
+                postings.computeIfAbsent(g, k -> new Postings()).add(ord);
+            }
+        }
+        texts[ord] = text;
+    }
+
+    private void grow() {
+        int n = ids.length * 2;
+        ids = Arrays.copyOf(ids, n);
+        texts = Arrays.copyOf(texts, n);
+        stamps = Arrays.copyOf(stamps, n);
+    }
+
+    private int postingsCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String text(String firebaseUid, String email, String displayName) {
+        StringBuilder sb = new StringBuilder(64);
+        if (email != null) sb.append(email.toLowerCase(Locale.ROOT));
+        sb.append(FIELD_SEPARATOR);
+        if (displayName != null) sb.append(displayName.toLowerCase(Locale.ROOT));
+        sb.append(FIELD_SEPARATOR);
+        if (firebaseUid != null) sb.append(firebaseUid.toLowerCase(Locale.ROOT));
+        return sb.toString();
+    }
+
+    private static long stamp(OffsetDateTime updatedAt) {
+        return updatedAt == null ? Long.MIN_VALUE : updatedAt.toInstant().toEpochMilli();
+    }
+
+    /** Distinct trigrams of {@code s}, sorted; each packs three UTF-16 units into the low 48 bits. */
+    static long[] grams(String s) {
+        int n = s.length() - 2;
+        if (n <= 0) return new long[0];
+        long[] out = new long[n];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            char a = s.charAt(i), b = s.charAt(i + 1), c = s.charAt(i + 2);
+            if (a == FIELD_SEPARATOR || b == FIELD_SEPARATOR || c == FIELD_SEPARATOR) continue;
+            out[k++] = ((long) a << 32) | ((long) b << 16) | c;
+        }
+        long[] sorted = Arrays.copyOf(out, k);
+        Arrays.sort(sorted);
+        int d = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[d++] = sorted[i];
+        }
+        return d == sorted.length ? sorted : Arrays.copyOf(sorted, d);
+    }
+
+    /** Sorted, duplicate-free ordinals; appends are O(1) since new users get the highest ordinal. */
+    private static final class Postings {
+        int[] ordinals = new int[4];
+        int size;
+
+        void add(int ord) {
+            if (size > 0 && ordinals[size - 1] >= ord) {
+                int at = Arrays.binarySearch(ordinals, 0, size, ord);
+                if (at >= 0) return;
+                insertAt(-at - 1, ord);
+                return;
+            }
+            insertAt(size, ord);
+        }
+
+        boolean remove(int ord) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ord);
+            if (at < 0) return false;
+            System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int ord) {
+            return Arrays.binarySearch(ordinals, 0, size, ord) >= 0;
+        }
+
+        private void insertAt(int at, int ord) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+            ordinals[at] = ord;
+            size++;
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.arkvalleyevents.msse692_backend.service.impl;
 
 import com.arkvalleyevents.msse692_backend.model.AppUser;
+import com.arkvalleyevents.msse692_backend.model.RoleMask;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
 import com.arkvalleyevents.msse692_backend.security.context.UserContextProvider;
 import com.arkvalleyevents.msse692_backend.service.AppUserService;
+import com.arkvalleyevents.msse692_backend.service.CountMode;
 import com.arkvalleyevents.msse692_backend.dto.response.AppUserWithRolesDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import jakarta.persistence.EntityNotFoundException;
@@ -17,10 +22,15 @@ public class AppUserServiceImpl implements AppUserService {
 
     private final AppUserRepository appUserRepository;
     private final UserContextProvider userContextProvider;
+    private final ApproximateCountCache countCache;
+    private final AppUserSearchIndex searchIndex;
 
-    public AppUserServiceImpl(AppUserRepository appUserRepository, UserContextProvider userContextProvider) {
+    public AppUserServiceImpl(AppUserRepository appUserRepository, UserContextProvider userContextProvider,
+                              ApproximateCountCache countCache, AppUserSearchIndex searchIndex) {
         this.appUserRepository = appUserRepository;
         this.userContextProvider = userContextProvider;
+        this.countCache = countCache;
+        this.searchIndex = searchIndex;
     }
 
     @Override
@@ -34,15 +44,77 @@ public class AppUserServiceImpl implements AppUserService {
     public Page<AppUserWithRolesDto> listUsers(Optional<String> q, Set<String> roles, Pageable pageable) {
         String text = q.map(String::trim).filter(s -> !s.isEmpty()).orElse(null);
         boolean rolesEmpty = (roles == null || roles.isEmpty());
+        List<Integer> masks = roleMasks(roles);
+        if (!rolesEmpty && masks.isEmpty()) {
+            return Page.empty(pageable); // only unknown role names: nobody can match
+        }
+        Optional<List<Long>> ids = indexedMatches(text);
         Page<AppUser> page;
-        if (text == null && rolesEmpty) {
+        if (ids.isPresent()) {
+            page = ids.get().isEmpty()
+                    ? Page.empty(pageable)
+                    : appUserRepository.searchByIds(ids.get(), masks, rolesEmpty, pageable);
+        } else if (text == null && rolesEmpty) {
             page = appUserRepository.findAll(pageable);
+        } else if (text == null) {
+            page = appUserRepository.findByRoleMaskIn(masks, pageable);
         } else {
-            page = appUserRepository.search(text, roles, rolesEmpty, pageable);
+            page = appUserRepository.search(text, masks, rolesEmpty, pageable);
         }
         return page.map(this::toDto);
     }
 
+    @Override
+    public Slice<AppUserWithRolesDto> listUsers(Optional<String> q, Set<String> roles, Pageable pageable, CountMode countMode) {
+        if (countMode == null || countMode == CountMode.EXACT) {
+            return listUsers(q, roles, pageable);
+        }
+        String text = q.map(String::trim).filter(s -> !s.isEmpty()).orElse(null);
+        boolean rolesEmpty = (roles == null || roles.isEmpty());
+        List<Integer> masks = roleMasks(roles);
+        if (!rolesEmpty && masks.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        Optional<List<Long>> ids = indexedMatches(text);
+        Slice<AppUser> slice;
+        if (ids.isPresent()) {
+            slice = ids.get().isEmpty()
+                    ? new SliceImpl<>(List.of(), pageable, false)
+                    : appUserRepository.searchSliceByIds(ids.get(), masks, rolesEmpty, pageable);
+        } else if (text == null && rolesEmpty) {
+            slice = appUserRepository.findSliceBy(pageable);
+        } else if (text == null) {
+            slice = appUserRepository.findSliceByRoleMaskIn(masks, pageable);
+        } else {
+            slice = appUserRepository.searchSlice(text, masks, rolesEmpty, pageable);
+        }
+        String countKey = "users|" + text + "|" + (rolesEmpty ? "" : new java.util.TreeSet<>(roles));
+        return countCache.apply(slice.map(this::toDto), countMode, countKey, () -> {
+            if (ids.isPresent()) {
+                // Without a role filter the index already knows the total
+                return ids.get().isEmpty() || rolesEmpty ? ids.get().size() : appUserRepository.countSearchByIds(ids.get(), masks, rolesEmpty);
+            }
+            if (text == null) {
+                return rolesEmpty ? appUserRepository.count() : appUserRepository.countByRoleMaskIn(masks);
+            }
+            return appUserRepository.countSearch(text, masks, rolesEmpty);
+        });
+    }
+
+    // role_mask values having any of the requested roles. Never an empty list, so the IN clause stays valid
+    // when the filter is off (rolesEmpty short-circuits it)
+    private static List<Integer> roleMasks(Set<String> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return List.of(0);
+        }
+        return RoleMask.matchingAny(roles);
+    }
+
+    // Matching ids from the trigram index, or empty when the query must go to the LIKE path
+    private Optional<List<Long>> indexedMatches(String text) {
+        return text == null ? Optional.empty() : searchIndex.search(text);
+    }
+
     @Override
     public AppUserWithRolesDto getByFirebaseUid(String firebaseUid) {
         AppUser user = appUserRepository.findByFirebaseUid(firebaseUid)
@@ -59,7 +131,7 @@ public class AppUserServiceImpl implements AppUserService {
                 u.getPhotoUrl(),
                 u.getCreatedAt(),
                 u.getUpdatedAt(),
-                u.getRoles()
+                RoleMask.names(u.getRoleMask())
         );
     }
 }
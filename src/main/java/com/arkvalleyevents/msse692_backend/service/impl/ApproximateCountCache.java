@@ -0,0 +1,70 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.service.CountMode;
+import com.arkvalleyevents.msse692_backend.util.BoundedTtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of list totals keyed by query shape (entity + effective filters).
+ * Backs {@link CountMode#APPROXIMATE}: the page itself is always fetched as a count-free slice,
+ * and the total is taken from the cache, refreshed at most once per TTL per key.
+ */
+@Component
+public class ApproximateCountCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ApproximateCountCache.class);
+    private static final int MAX_ENTRIES = 1024;
+
+    private final BoundedTtlCache<String, Long> entries = new BoundedTtlCache<>(MAX_ENTRIES, System::nanoTime);
+    private final long ttlNanos;
+
+    public ApproximateCountCache(@Value("${app.paging.approx-count-ttl:60s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns the slice unchanged unless mode is APPROXIMATE; then wraps it in a Page whose total is
+     * cached (or exact, when this slice is the last one). The total never falls below what the slice proves exists.
+     */
+    public <T> Slice<T> apply(Slice<T> slice, CountMode mode, String key, LongSupplier exactCount) {
+        if (mode != CountMode.APPROXIMATE) {
+            return slice;
+        }
+        long seen = (slice.getPageable().isPaged() ? slice.getPageable().getOffset() : 0) + slice.getNumberOfElements();
+        long total;
+        if (!slice.hasNext() && slice.hasContent()) {
+            // Last non-empty slice: the total is known for free, so refresh the cache with it
+            total = seen;
+            record(key, total);
+        } else if (slice.hasNext()) {
+            total = Math.max(estimate(key, exactCount), seen + 1);
+        } else {
+            // Paged past the end; the offset says nothing about the real total
+            total = estimate(key, exactCount);
+        }
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    long estimate(String key, LongSupplier exactCount) {
+        Long cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long total = exactCount.getAsLong();
+        log.debug("Approximate count refreshed key='{}' total={}", key, total);
+        record(key, total);
+        return total;
+    }
+
+    void record(String key, long total) {
+        entries.put(key, total, entries.now() + ttlNanos);
+    }
+}
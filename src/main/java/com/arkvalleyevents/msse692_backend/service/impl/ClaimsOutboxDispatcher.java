@@ -0,0 +1,249 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.model.ClaimsOutboxEntry;
+import com.arkvalleyevents.msse692_backend.repository.ClaimsOutboxRepository;
+import com.arkvalleyevents.msse692_backend.service.FirebaseClaimsSyncService;
+import com.arkvalleyevents.msse692_backend.service.FirebaseClaimsSyncService.Outcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox for Firebase custom claims. Role changes call {@link #enqueue} inside their own
+ * transaction, so the row commits (or rolls back) with the roles and no request waits on Firebase.
+ *
+ * Every {@code poll-interval} the due rows (oldest first, up to {@code batch-size}) are grouped by UID and
+ * each UID is pushed once, {@code concurrency} at a time, through FirebaseClaimsSyncService: the push reads
+ * the roles as they are now, so any number of queued changes collapse into one call, and an unchanged roles
+ * hash is skipped without a call at all. Rows are deleted once pushed (or skipped, or the user is gone); a
+ * failed push reschedules them with exponential backoff until {@code max-attempts}, after which they are
+ * dropped and logged. Pushes are idempotent, so a second instance polling the same rows only costs a
+ * redundant call.
+ *
+ * Gauges: lag is the age of the oldest due row in the batch just fetched, so a poll costs only the
+ * {@code findDue} query; the pending row count is refreshed separately every {@code gauge-interval}.
+ */
+@Component
+public class ClaimsOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimsOutboxDispatcher.class);
+
+    private final ClaimsOutboxRepository repository;
+    private final FirebaseClaimsSyncService claimsSyncService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final ExecutorService pushers;
+    private final Semaphore pushPermits;
+    private final Map<Outcome, Counter> dispatched = new EnumMap<>(Outcome.class);
+    private final Counter abandoned;
+    private final Timer propagation;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public ClaimsOutboxDispatcher(ClaimsOutboxRepository repository,
+                                  FirebaseClaimsSyncService claimsSyncService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.claims.outbox.enabled:true}") boolean enabled,
+                                  @Value("${app.claims.outbox.batch-size:500}") int batchSize,
+                                  @Value("${app.claims.outbox.concurrency:4}") int concurrency,
+                                  @Value("${app.claims.outbox.max-attempts:20}") int maxAttempts,
+                                  @Value("${app.claims.outbox.initial-backoff:2s}") Duration initialBackoff,
+                                  @Value("${app.claims.outbox.max-backoff:10m}") Duration maxBackoff,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.repository = repository;
+        this.claimsSyncService = claimsSyncService;
+        this.enabled = enabled;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        // Virtual threads are never pooled: one per push, with the permits bounding concurrent Firebase calls
+        this.pushPermits = new Semaphore(Math.max(concurrency, 1));
+        this.pushers = virtualThreads
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("claims-outbox-", 0).factory())
+            : Executors.newFixedThreadPool(Math.max(concurrency, 1), Thread.ofPlatform().name("claims-outbox-", 0).daemon(true).factory());
+
+        for (Outcome o : Outcome.values()) {
+            dispatched.put(o, Counter.builder("app.claims.outbox.dispatched").tag("result", o.name().toLowerCase(Locale.ROOT))
+                .description("Outbox UIDs processed, by sync outcome").register(meterRegistry));
+        }
+        this.abandoned = Counter.builder("app.claims.outbox.dispatched").tag("result", "abandoned")
+            .description("Outbox UIDs dropped after max-attempts failed pushes").register(meterRegistry);
+        this.propagation = Timer.builder("app.claims.outbox.propagation")
+            .description("Role change commit to claims push (or skip), per UID").register(meterRegistry);
+        Gauge.builder("app.claims.outbox.pending", pending, AtomicLong::get)
+            .description("Outbox rows waiting, as of the last gauge refresh").register(meterRegistry);
+        Gauge.builder("app.claims.outbox.lag", lagMillis, v -> v.get() / 1000.0).baseUnit("seconds")
+            .description("Age of the oldest due outbox row, as of the last poll").register(meterRegistry);
+    }
+
+    //=========================
+    // Producer side
+    //=========================
+
+    /** Records that {@code firebaseUid}'s claims need a push; must join the transaction that changed the roles. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String firebaseUid) {
+        if (firebaseUid == null || firebaseUid.isBlank()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        ClaimsOutboxEntry entry = new ClaimsOutboxEntry();
+        entry.setFirebaseUid(firebaseUid);
+        entry.setCreatedAt(now);
+        entry.setNextAttemptAt(now);
+        repository.save(entry);
+    }
+
+    //=========================
+    // Consumer side
+    //=========================
+
+    @Scheduled(fixedDelayString = "${app.claims.outbox.poll-interval:PT1S}",
+               initialDelayString = "${app.claims.outbox.poll-interval:PT1S}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            dispatchDue();
+        } catch (RuntimeException ex) {
+            log.warn("Claims outbox poll failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.claims.outbox.gauge-interval:PT30S}",
+               initialDelayString = "${app.claims.outbox.gauge-interval:PT30S}")
+    public void refreshPending() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            pending.set(repository.count());
+        } catch (RuntimeException ex) {
+            log.warn("Claims outbox pending count failed: {}", ex.getMessage());
+        }
+    }
+
+    /** Processes one batch of due rows; returns the number of UIDs attempted. */
+    public int dispatchDue() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<ClaimsOutboxEntry> due = repository.findDue(now, PageRequest.of(0, batchSize));
+        Map<String, List<ClaimsOutboxEntry>> byUid = new LinkedHashMap<>();
+        OffsetDateTime oldest = null;
+        for (ClaimsOutboxEntry e : due) {
+            byUid.computeIfAbsent(e.getFirebaseUid(), k -> new ArrayList<>()).add(e);
+            if (oldest == null || e.getCreatedAt().isBefore(oldest)) oldest = e.getCreatedAt();
+        }
+        lagMillis.set(oldest == null ? 0L : Math.max(Duration.between(oldest, now).toMillis(), 0L));
+        if (!byUid.isEmpty()) {
+            List<Callable<Void>> tasks = new ArrayList<>(byUid.size());
+            for (List<ClaimsOutboxEntry> rows : byUid.values()) {
+                tasks.add(() -> {
+                    pushPermits.acquire();
+                    try {
+                        dispatch(rows);
+                    } finally {
+                        pushPermits.release();
+                    }
+                    return null;
+                });
+            }
+            try {
+                pushers.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            log.debug("Claims outbox dispatched {} rows for {} UIDs", due.size(), byUid.size());
+        }
+        return byUid.size();
+    }
+
+    private void dispatch(List<ClaimsOutboxEntry> rows) {
+        String uid = rows.get(0).getFirebaseUid();
+        List<Long> ids = new ArrayList<>(rows.size());
+        int attempts = 0;
+        OffsetDateTime oldest = rows.get(0).getCreatedAt();
+        for (ClaimsOutboxEntry e : rows) {
+            ids.add(e.getId());
+            attempts = Math.max(attempts, e.getAttempts());
+            if (e.getCreatedAt().isBefore(oldest)) oldest = e.getCreatedAt();
+        }
+
+        Outcome outcome;
+        try {
+            outcome = claimsSyncService.syncUserRolesByUid(uid, false);
+        } catch (RuntimeException ex) {
+            log.warn("Claims outbox sync threw for uid={}: {}", uid, ex.getMessage());
+            outcome = Outcome.FAILED;
+        }
+        dispatched.get(outcome).increment();
+
+        if (outcome != Outcome.FAILED) {
+            repository.deleteByIds(ids);
+            propagation.record(Duration.between(oldest, OffsetDateTime.now()));
+            return;
+        }
+        attempts++;
+        if (attempts >= maxAttempts) {
+            repository.deleteByIds(ids);
+            abandoned.increment();
+            log.error("Claims outbox giving up on uid={} after {} attempts; roles will reach Firebase on the next change or bulk sync",
+                uid, attempts);
+            return;
+        }
+        Duration delay = backoff(attempts, initialBackoff, maxBackoff);
+        // Up to 20% jitter so UIDs that failed together (Firebase outage) do not retry in lockstep
+        long jitterMillis = delay.toMillis() / 5;
+        if (jitterMillis > 0) {
+            delay = delay.plusMillis(ThreadLocalRandom.current().nextLong(jitterMillis + 1));
+        }
+        repository.reschedule(ids, attempts, OffsetDateTime.now().plus(delay));
+        log.info("Claims push failed for uid={} (attempt {}); retrying in {}ms", uid, attempts, delay.toMillis());
+    }
+
+    /** {@code initial * 2^(attempts-1)}, capped at {@code max}. */
+    static Duration backoff(int attempts, Duration initial, Duration max) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        long millis = initial.toMillis() << shift;
+        if (millis < 0 || millis > max.toMillis()) {
+            return max;
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        pushers.shutdown();
+        pushers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,59 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for an event's audit trail: at and id of the last row returned. The trail only walks
+ * forward (newest first). Layout (before URL-safe Base64): {@code v1|<at ISO-8601>|<id>}.
+ *
+ * Past the live rows the trail continues into the daily rollups (EventAuditDaily); there {@code id} is null,
+ * {@code at} is the start of the last UTC day returned, and the id slot holds {@value #ROLLUP}.
+ */
+record EventAuditCursor(OffsetDateTime at, Long id) {
+
+    private static final String VERSION = "v1";
+    private static final String ROLLUP = "d";
+
+    /** Cursor positioned before the rollup of {@code day}: the next page starts with the day before. */
+    static EventAuditCursor rollupBefore(LocalDate day) {
+        return new EventAuditCursor(day.atStartOfDay().atOffset(ZoneOffset.UTC), null);
+    }
+
+    boolean inRollups() {
+        return id == null;
+    }
+
+    LocalDate rollupDay() {
+        return at.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+    }
+
+    String encode() {
+        String raw = VERSION + '|' + at + '|' + (id == null ? ROLLUP : id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Parses a token produced by {@link #encode()}; throws IllegalArgumentException (400) when malformed. */
+    static EventAuditCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split("\\|", 3);
+        if (parts.length != 3 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            OffsetDateTime at = OffsetDateTime.parse(parts[1]);
+            return new EventAuditCursor(at, ROLLUP.equals(parts[2]) ? null : Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
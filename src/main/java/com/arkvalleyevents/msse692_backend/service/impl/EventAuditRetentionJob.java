@@ -0,0 +1,295 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Retention for event_audit. Once a calendar month (UTC) is older than {@code retention-months}, its rows are
+ * written to {@code archive-dir/event_audit-YYYY-MM.ndjson.gz} (one raw row per line, oldest first), summarized
+ * per event and day into event_audit_daily, and removed, all in one transaction per month: a failed month
+ * leaves its rows in place and is retried on the next run, overwriting the partial archive.
+ *
+ * On PostgreSQL with the V13 layout the month is a partition and is dropped as a whole; the job also creates the
+ * partitions for the current and next {@code premake-months} months so inserts never land in the default
+ * partition. Any other database (H2 in dev and tests) gets a plain range DELETE over the same rows. A
+ * transaction-scoped advisory lock keeps two instances from rolling up the same month.
+ */
+@Component
+public class EventAuditRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EventAuditRetentionJob.class);
+
+    private static final long ADVISORY_LOCK_KEY = 0x6576_6175_6469_74L; // "evaudit"
+    private static final int FETCH_SIZE = 500;
+    private static final String SELECT_MONTH =
+        "SELECT id, event_id, actor_user_id, action, at, snapshot FROM event_audit WHERE at >= ? AND at < ? ORDER BY at, id";
+    private static final String DELETE_MONTH = "DELETE FROM event_audit WHERE at >= ? AND at < ?";
+    private static final String UPDATE_DAILY =
+        "UPDATE event_audit_daily SET create_count = create_count + ?, update_count = update_count + ?, "
+            + "delete_count = delete_count + ?, actor_count = GREATEST(actor_count, ?), first_at = LEAST(first_at, ?), "
+            + "last_at = GREATEST(last_at, ?), archive_file = ? WHERE event_id = ? AND audit_day = ?";
+    private static final String INSERT_DAILY =
+        "INSERT INTO event_audit_daily (create_count, update_count, delete_count, actor_count, first_at, last_at, "
+            + "archive_file, event_id, audit_day) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int retentionMonths;
+    private final int premakeMonths;
+    private final Path archiveDir;
+    private final Counter archivedRows;
+    private final Counter rolledUpMonths;
+
+    private volatile Boolean partitioned;
+
+    public EventAuditRetentionJob(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.audit.retention.enabled:false}") boolean enabled,
+                                  @Value("${app.audit.retention.months:12}") int retentionMonths,
+                                  @Value("${app.audit.retention.premake-months:2}") int premakeMonths,
+                                  @Value("${app.audit.retention.archive-dir:audit-archive}") Path archiveDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retentionMonths = Math.max(retentionMonths, 1);
+        this.premakeMonths = Math.max(premakeMonths, 0);
+        this.archiveDir = archiveDir;
+        this.archivedRows = Counter.builder("events.audit.retention.rows")
+            .description("event_audit rows archived and rolled up").register(meterRegistry);
+        this.rolledUpMonths = Counter.builder("events.audit.retention.months")
+            .description("Months rolled up and removed from event_audit").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.audit.retention.cron:0 30 3 * * *}", zone = "UTC")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ensurePartitions(YearMonth.now(ZoneOffset.UTC));
+            rollUp(YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths));
+        } catch (RuntimeException | IOException ex) {
+            log.warn("Audit retention run failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /** Rolls up every month before {@code cutoff} that still has rows; returns the number of rows archived. */
+    public long rollUp(YearMonth cutoff) throws IOException {
+        OffsetDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(at) FROM event_audit", OffsetDateTime.class);
+        if (oldest == null) {
+            return 0;
+        }
+        Files.createDirectories(archiveDir);
+        long total = 0;
+        for (YearMonth m = YearMonth.from(oldest.withOffsetSameInstant(ZoneOffset.UTC)); m.isBefore(cutoff); m = m.plusMonths(1)) {
+            total += rollUpMonth(m);
+        }
+        return total;
+    }
+
+    /** PostgreSQL with a partitioned event_audit only: creates the monthly partitions from {@code current} on. */
+    public void ensurePartitions(YearMonth current) {
+        if (!partitioned()) {
+            return;
+        }
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth m = current.plusMonths(i);
+            try {
+                jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF event_audit FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(m), start(m), start(m.plusMonths(1))));
+            } catch (DataAccessException ex) {
+                // Typically rows for that month already sit in the default partition; inserts still succeed there
+                log.warn("Could not create audit partition {}: {}", partitionName(m), ex.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private long rollUpMonth(YearMonth month) {
+        Long rows = transactionTemplate.execute(status -> {
+            if (partitioned() && !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY))) {
+                log.info("Audit retention for {} skipped: another instance holds the lock", month);
+                return 0L;
+            }
+            OffsetDateTime from = start(month);
+            OffsetDateTime to = start(month.plusMonths(1));
+            Path archive = archiveDir.resolve("event_audit-" + month + ".ndjson.gz");
+            Path tmp = archiveDir.resolve(archive.getFileName() + ".tmp");
+            Map<DayKey, DayTotals> days = new LinkedHashMap<>();
+            long[] count = {0};
+            try (Writer out = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8)) {
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(SELECT_MONTH);
+                    ps.setFetchSize(FETCH_SIZE);
+                    ps.setObject(1, from, Types.TIMESTAMP_WITH_TIMEZONE);
+                    ps.setObject(2, to, Types.TIMESTAMP_WITH_TIMEZONE);
+                    return ps;
+                }, (RowCallbackHandler) rs -> {
+                    long eventId = rs.getLong("event_id");
+                    long actor = rs.getLong("actor_user_id");
+                    String action = rs.getString("action");
+                    OffsetDateTime at = rs.getObject("at", OffsetDateTime.class);
+                    String snapshot = rs.getString("snapshot");
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("id", rs.getLong("id"));
+                    line.put("eventId", eventId);
+                    line.put("actorUserId", actor);
+                    line.put("action", action);
+                    line.put("at", at);
+                    line.put("snapshot", snapshot == null ? null : new RawValue(snapshot));
+                    try {
+                        out.write(objectMapper.writeValueAsString(line));
+                        out.write('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    LocalDate day = at.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+                    days.computeIfAbsent(new DayKey(eventId, day), k -> new DayTotals()).add(action, actor, at);
+                    count[0]++;
+                });
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            try {
+                if (count[0] == 0) {
+                    Files.deleteIfExists(tmp);
+                } else {
+                    Files.move(tmp, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            writeDailyTotals(days, archive.getFileName().toString());
+            if (partitioned()) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+            }
+            jdbcTemplate.update(DELETE_MONTH, from, to); // default partition / unpartitioned table
+            return count[0];
+        });
+        long n = rows == null ? 0 : rows;
+        if (n > 0) {
+            archivedRows.increment(n);
+            rolledUpMonths.increment();
+            log.info("Audit retention: {} rows of {} archived and rolled up", n, month);
+        }
+        return n;
+    }
+
+    // Update-then-insert so a month that is rolled up twice (rows restored from an archive) adds to its days
+    private void writeDailyTotals(Map<DayKey, DayTotals> days, String archiveFile) {
+        if (days.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<DayKey, DayTotals>> entries = new ArrayList<>(days.entrySet());
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_DAILY, entries, entries.size(),
+            (ps, e) -> bindDaily(ps, e.getKey(), e.getValue(), archiveFile));
+        List<Map.Entry<DayKey, DayTotals>> missing = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (updated[0][i] == 0) {
+                missing.add(entries.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DAILY, missing, missing.size(),
+                (ps, e) -> bindDaily(ps, e.getKey(), e.getValue(), archiveFile));
+        }
+    }
+
+    // Same parameter order for UPDATE_DAILY and INSERT_DAILY
+    private static void bindDaily(PreparedStatement ps, DayKey key, DayTotals t, String archiveFile) throws SQLException {
+        ps.setInt(1, t.creates);
+        ps.setInt(2, t.updates);
+        ps.setInt(3, t.deletes);
+        ps.setInt(4, t.actors.size());
+        ps.setObject(5, t.firstAt, Types.TIMESTAMP_WITH_TIMEZONE);
+        ps.setObject(6, t.lastAt, Types.TIMESTAMP_WITH_TIMEZONE);
+        ps.setString(7, archiveFile);
+        ps.setLong(8, key.eventId());
+        ps.setObject(9, key.day());
+    }
+
+    private boolean partitioned() {
+        Boolean p = partitioned;
+        if (p == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            p = "PostgreSQL".equalsIgnoreCase(product) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+                    + "WHERE c.relname = 'event_audit' AND c.relnamespace = current_schema()::regnamespace)", Boolean.class));
+            partitioned = p;
+        }
+        return p;
+    }
+
+    static String partitionName(YearMonth m) {
+        return String.format("event_audit_y%04dm%02d", m.getYear(), m.getMonthValue());
+    }
+
+    private static OffsetDateTime start(YearMonth m) {
+        return m.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private record DayKey(long eventId, LocalDate day) {}
+
+    private static final class DayTotals {
+        int creates;
+        int updates;
+        int deletes;
+        final Set<Long> actors = new HashSet<>();
+        OffsetDateTime firstAt;
+        OffsetDateTime lastAt;
+
+        void add(String action, long actor, OffsetDateTime at) {
+            switch (action) {
+                case "CREATE" -> creates++;
+                case "DELETE" -> deletes++;
+                default -> updates++;
+            }
+            actors.add(actor);
+            if (firstAt == null || at.isBefore(firstAt)) firstAt = at;
+            if (lastAt == null || at.isAfter(lastAt)) lastAt = at;
+        }
+    }
+}
@@ -1,83 +1,288 @@
 package com.arkvalleyevents.msse692_backend.service.impl;
 
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditCursorPageResponse;
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventVersionStateDto;
+import com.arkvalleyevents.msse692_backend.model.Event;
 import com.arkvalleyevents.msse692_backend.model.EventAudit;
+import com.arkvalleyevents.msse692_backend.model.EventAuditDaily;
+import com.arkvalleyevents.msse692_backend.repository.EventAuditDailyRepository;
 import com.arkvalleyevents.msse692_backend.repository.EventAuditRepository;
-import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentityScope;
 import com.arkvalleyevents.msse692_backend.service.EventAuditService;
+import com.arkvalleyevents.msse692_backend.service.impl.EventAuditWriter.PendingAudit;
+import com.arkvalleyevents.msse692_backend.service.mapping.EventChangeCodec;
+import com.arkvalleyevents.msse692_backend.service.mapping.EventFieldState;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Event audit trail. The actor is the AppUser id AppUserUpsertFilter already resolved for the request
+ * (RequestIdentityScope), so recording costs no lookup.
+ *
+ * Modes ({@code app.audit.mode}):
+ * - {@code async} (default): the record is handed to EventAuditWriter once the caller's transaction commits, so
+ *   rolled-back commands leave no trail and the insert is off the request path. Rows appear within the writer's
+ *   flush interval.
+ * - {@code sync}: the row is saved inside the caller's transaction and commits or rolls back with it, for
+ *   deployments that must never see a change without its audit row.
+ * event_audit keeps no foreign key to event (V14), so an event's history, its DELETE audit included, outlives
+ * the event row in both modes.
+ *
+ * UPDATE audits from EventServiceImpl carry a field-level diff (EventChangeCodec) in event_audit.snapshot. In async
+ * mode it is computed by the writer thread; {@link #reconstruct} replays those diffs to show an earlier version.
+ *
+ * Rows past retention are replaced by per-day rollups (EventAuditRetentionJob). The trail and the export
+ * continue into them after the live rows, so callers see one history; diffs and actors of rolled-up days are
+ * only in the archive files, which makes reconstruct report complete=false across them.
+ */
 @Service
 @Transactional
 public class EventAuditServiceImpl implements EventAuditService {
 
+    private static final List<String> ROLLUP_ACTIONS = List.of("CREATE", "UPDATE", "DELETE");
+
     private final EventAuditRepository repository;
-    private final AppUserRepository appUserRepository;
+    private final EventAuditDailyRepository dailyRepository;
+    private final EventRepository eventRepository;
+    private final EventAuditWriter writer;
+    private final boolean synchronous;
 
-    public EventAuditServiceImpl(EventAuditRepository repository, AppUserRepository appUserRepository) {
+    public EventAuditServiceImpl(EventAuditRepository repository,
+                                 EventAuditDailyRepository dailyRepository,
+                                 EventRepository eventRepository,
+                                 EventAuditWriter writer,
+                                 @Value("${app.audit.mode:async}") String mode) {
         this.repository = repository;
-        this.appUserRepository = appUserRepository;
+        this.dailyRepository = dailyRepository;
+        this.eventRepository = eventRepository;
+        this.writer = writer;
+        this.synchronous = "sync".equalsIgnoreCase(mode.trim());
     }
 
     @Override
     public void logCreate(Long eventId) {
-        save(eventId, "CREATE");
+        save(eventId, "CREATE", null, null, null);
     }
 
     @Override
     public void logUpdate(Long eventId) {
-        save(eventId, "UPDATE");
+        save(eventId, "UPDATE", null, null, null);
+    }
+
+    @Override
+    public void logUpdate(Long eventId, EventFieldState before, Event after) {
+        if (before == null || after == null) {
+            logUpdate(eventId);
+            return;
+        }
+        // Column values are final now; the version is bumped by the flush, so it is read once that has happened
+        save(eventId, "UPDATE", before, EventFieldState.of(after), () -> after.getVersion() == null ? 0L : after.getVersion());
     }
 
     @Override
     public void logDelete(Long eventId) {
-        save(eventId, "DELETE");
+        save(eventId, "DELETE", null, null, null);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public java.util.List<EventAudit> getRecentForEvent(Long eventId, int limit) {
-        if (limit <= 0) limit = 10;
-        if (limit <= 10) {
-            return repository.findTop10ByEventIdOrderByAtDesc(eventId);
-        } else {
-            return repository.findTop50ByEventIdOrderByAtDesc(eventId).subList(0, Math.min(limit, 50));
+    public EventAuditCursorPageResponse findForEvent(Long eventId, Optional<Long> actorUserId, Optional<String> action,
+                                                     String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        EventAuditCursor after = (cursor == null || cursor.isBlank()) ? null : EventAuditCursor.decode(cursor);
+        String actionFilter = action.map(a -> a.trim().toUpperCase(Locale.ROOT)).filter(a -> !a.isEmpty()).orElse(null);
+        List<EventAuditDto> items = new ArrayList<>(limit);
+
+        if (after == null || !after.inRollups()) {
+            // One extra row tells whether another page exists without counting
+            List<EventAudit> rows = repository.findForEvent(eventId, actorUserId.orElse(null), actionFilter,
+                    after != null ? after.at() : null, after != null ? after.id() : null, limit + 1);
+            boolean more = rows.size() > limit;
+            List<EventAudit> window = more ? rows.subList(0, limit) : rows;
+            window.forEach(a -> items.add(toDto(a)));
+            if (more) {
+                EventAudit last = window.get(window.size() - 1);
+                return EventAuditCursorPageResponse.of(items, limit, new EventAuditCursor(last.getAt(), last.getId()).encode());
+            }
+        }
+        if (actorUserId.isPresent()) {
+            return EventAuditCursorPageResponse.of(items, limit, null); // rollups keep no per-actor rows
+        }
+
+        // Live rows are exhausted: continue with the daily rollups, all older than any live row
+        LocalDate before = after != null && after.inRollups() ? after.rollupDay() : LocalDate.now(ZoneOffset.UTC).plusDays(1);
+        int remaining = limit - items.size();
+        List<EventAuditDaily> days = dailyRepository.findForEvent(eventId, actionFilter, before, Limit.of(remaining + 1));
+        boolean more = days.size() > remaining;
+        List<EventAuditDaily> window = more ? days.subList(0, remaining) : days;
+        window.forEach(d -> items.add(toDto(d, actionFilter)));
+        String next = null;
+        if (more) {
+            next = EventAuditCursor.rollupBefore(window.isEmpty() ? before : window.get(window.size() - 1).getDay()).encode();
+        }
+        return EventAuditCursorPageResponse.of(items, limit, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportForEvent(Long eventId, Consumer<EventAuditDto> sink) {
+        // Oldest first: the rolled-up days precede every live row
+        for (EventAuditDaily d : dailyRepository.findByEventIdOrderByDayAsc(eventId)) {
+            sink.accept(toDto(d, null));
+        }
+        try (Stream<EventAudit> rows = repository.streamForEvent(eventId)) {
+            rows.forEach(a -> sink.accept(toDto(a)));
         }
     }
 
-    private void save(Long eventId, String action) {
-        Long actorId = currentAppUserId().orElse(null);
+    @Override
+    @Transactional(readOnly = true)
+    public EventVersionStateDto reconstruct(Long eventId, long version) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found: " + eventId));
+        long current = event.getVersion() == null ? 0L : event.getVersion();
+        if (version < 0 || version > current) {
+            throw new IllegalArgumentException("version must be between 0 and " + current);
+        }
+        EventFieldState state = EventFieldState.of(event);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < EventFieldState.FIELDS.size(); i++) {
+            fields.put(EventFieldState.FIELDS.get(i), state.value(i));
+        }
+
+        // Newest first; each diff turns the state at v into the state at v - 1
+        List<EventChangeCodec.Change> changes = new ArrayList<>();
+        for (EventAudit a : repository.findByEventIdAndSnapshotIsNotNull(eventId)) {
+            EventChangeCodec.Change c = EventChangeCodec.decode(a.getSnapshot());
+            if (c != null && c.version() > version && c.version() <= current) {
+                changes.add(c);
+            }
+        }
+        changes.sort(Comparator.comparingLong(EventChangeCodec.Change::version).reversed());
+
+        Set<String> unrestored = new TreeSet<>();
+        long expected = current;
+        boolean complete = true;
+        for (EventChangeCodec.Change c : changes) {
+            if (c.version() > expected) {
+                continue; // duplicate row for a version already replayed
+            }
+            if (c.version() != expected) {
+                complete = false; // versions in between left no diff (e.g. written before diffs were recorded)
+            }
+            c.fields().forEach((field, pair) -> {
+                if (EventFieldState.LOB_FIELD.equals(field)) {
+                    fields.put(field, null);
+                    unrestored.add(field);
+                } else if (fields.containsKey(field)) {
+                    fields.put(field, pair.get(0));
+                }
+            });
+            expected = c.version() - 1;
+        }
+        if (expected != version) {
+            complete = false;
+        }
+
+        EventVersionStateDto dto = new EventVersionStateDto();
+        dto.setEventId(eventId);
+        dto.setVersion(version);
+        dto.setCurrentVersion(current);
+        dto.setFields(fields);
+        dto.setUnrestoredFields(List.copyOf(unrestored));
+        dto.setComplete(complete);
+        return dto;
+    }
+
+    private void save(Long eventId, String action, EventFieldState before, EventFieldState after, LongSupplier version) {
+        Long actorId = RequestIdentityScope.currentUserId().orElse(null);
         if (actorId == null) return; // don't audit if unauthenticated
 
-        EventAudit ea = new EventAudit();
-        ea.setEventId(eventId);
-        ea.setActorUserId(actorId);
-        ea.setAction(action);
-        ea.setAt(OffsetDateTime.now());
-        repository.save(ea);
+        // Timestamp taken now, not at flush time, so the trail orders by when the change happened
+        OffsetDateTime at = OffsetDateTime.now();
+        if (synchronous) {
+            EventAudit ea = new EventAudit();
+            ea.setEventId(eventId);
+            ea.setActorUserId(actorId);
+            ea.setAction(action);
+            ea.setAt(at);
+            if (before != null) {
+                repository.flush(); // writes the event UPDATE now so its version is final
+                ea.setSnapshot(EventChangeCodec.encode(before, after, version.getAsLong()));
+            }
+            repository.save(ea);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writer.enqueue(pending(eventId, actorId, action, at, before, after, version));
+                }
+            });
+        } else {
+            writer.enqueue(pending(eventId, actorId, action, at, before, after, version));
+        }
     }
 
-    private Optional<Long> currentAppUserId() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) return Optional.empty();
-        Object p = auth.getPrincipal();
-        if (p instanceof Jwt jwt) {
-            String uid = str(jwt, "sub");
-            if (uid == null || uid.isBlank()) uid = str(jwt, "user_id");
-            if (uid != null && !uid.isBlank()) {
-                return appUserRepository.findByFirebaseUid(uid).map(u -> u.getId());
+    private static EventAuditDto toDto(EventAudit a) {
+        EventAuditDto dto = new EventAuditDto();
+        dto.setId(a.getId());
+        dto.setEventId(a.getEventId());
+        dto.setActorUserId(a.getActorUserId());
+        dto.setAction(a.getAction());
+        dto.setAt(a.getAt());
+        EventChangeCodec.Change change = EventChangeCodec.decode(a.getSnapshot());
+        if (change != null) {
+            dto.setVersion(change.version());
+            dto.setChanges(change.fields());
+        }
+        return dto;
+    }
+
+    private static EventAuditDto toDto(EventAuditDaily d, String action) {
+        EventAuditDto dto = new EventAuditDto();
+        dto.setEventId(d.getEventId());
+        dto.setAction(action);
+        dto.setAt(d.getLastAt());
+        dto.setRollup(true);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String a : ROLLUP_ACTIONS) {
+            if (d.count(a) > 0 && (action == null || action.equals(a))) {
+                counts.put(a, d.count(a));
             }
         }
-        return Optional.empty();
+        dto.setActionCounts(counts);
+        dto.setActorCount(d.getActorCount());
+        dto.setFirstAt(d.getFirstAt());
+        return dto;
     }
 
-    private static String str(Jwt jwt, String name) {
-        Object v = jwt.getClaims().get(name);
-        return v != null ? String.valueOf(v) : null;
+    private static PendingAudit pending(Long eventId, Long actorId, String action, OffsetDateTime at,
+                                        EventFieldState before, EventFieldState after, LongSupplier version) {
+        if (before == null) {
+            return new PendingAudit(eventId, actorId, action, at);
+        }
+        return new PendingAudit(eventId, actorId, action, at, before, after, version.getAsLong());
     }
 }
@@ -0,0 +1,337 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.service.mapping.EventChangeCodec;
+import com.arkvalleyevents.msse692_backend.service.mapping.EventFieldState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind for event_audit rows. EventAuditServiceImpl hands over committed audit records; a single
+ * background thread inserts them with JDBC batches of up to {@code batch-size} rows, or whatever arrived within
+ * {@code flush-interval} of the first queued record.
+ *
+ * Nothing is dropped on purpose: when the queue is full, or before start / after stop, the record is written
+ * synchronously on the calling thread instead. On shutdown the writer stops after the web server has finished
+ * in-flight requests (lower lifecycle phase) and drains the queue before the DataSource closes.
+ *
+ * Failures are told apart by what they say about the rows:
+ * - the database could not be reached (connection failure, pool timeout, lock or query timeout): the worker keeps
+ *   the batch and tries it again after a doubling back-off of up to {@code max-retry-backoff}. Only writes that
+ *   cannot wait (synchronous fallback, shutdown) give up on the first such failure and count the rows as failed;
+ * - a constraint rejected the batch: it is retried row by row so one bad row does not take its neighbours with it;
+ * - anything else (bad SQL, an error encoding the snapshot): the batch is counted as failed and logged, and the
+ *   worker carries on with the next one.
+ */
+@Component
+public class EventAuditWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EventAuditWriter.class);
+
+    static final String INSERT_SQL = "INSERT INTO event_audit (event_id, actor_user_id, action, at, snapshot) VALUES (?, ?, ?, ?, %s)";
+
+    /**
+     * One audit row as captured on the request thread. For changes, {@code before}/{@code after} are the column
+     * states around the write and {@code version} the event version it produced; the diff is computed when the
+     * row is flushed, not here.
+     */
+    public record PendingAudit(Long eventId, Long actorUserId, String action, OffsetDateTime at,
+                               EventFieldState before, EventFieldState after, long version) {
+
+        public PendingAudit(Long eventId, Long actorUserId, String action, OffsetDateTime at) {
+            this(eventId, actorUserId, action, at, null, null, 0L);
+        }
+
+        /** The event_audit.snapshot JSON, or null when no states were captured. */
+        public String snapshot() {
+            return before == null || after == null ? null : EventChangeCodec.encode(before, after, version);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<PendingAudit> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Duration shutdownTimeout;
+    private final long retryBackoffNanos;
+    private final long maxRetryBackoffNanos;
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter failed;
+    private final Counter synchronous;
+
+    private volatile boolean running;
+    private volatile String insertSql;
+    private Thread worker;
+
+    @Autowired
+    public EventAuditWriter(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                            @Value("${app.audit.batch-size:100}") int batchSize,
+                            @Value("${app.audit.flush-interval:1s}") Duration flushInterval,
+                            @Value("${app.audit.shutdown-timeout:10s}") Duration shutdownTimeout,
+                            @Value("${app.audit.retry-backoff:500ms}") Duration retryBackoff,
+                            @Value("${app.audit.max-retry-backoff:30s}") Duration maxRetryBackoff) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+        this.batchSize = Math.max(batchSize, 1);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.retryBackoffNanos = Math.max(retryBackoff.toNanos(), 1L);
+        this.maxRetryBackoffNanos = Math.max(maxRetryBackoff.toNanos(), retryBackoffNanos);
+        this.flushTimer = Timer.builder("events.audit.flush")
+                .description("Latency of one event_audit batch insert").register(meterRegistry);
+        this.written = Counter.builder("events.audit.records").tag("result", "written")
+                .description("Audit rows inserted").register(meterRegistry);
+        this.failed = Counter.builder("events.audit.records").tag("result", "failed")
+                .description("Audit rows that could not be written").register(meterRegistry);
+        this.synchronous = Counter.builder("events.audit.records.synchronous")
+                .description("Audit rows written on the caller's thread (queue full or writer stopped)").register(meterRegistry);
+        Gauge.builder("events.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit rows waiting for the background writer").register(meterRegistry);
+    }
+
+    //=========================
+    // Producer side
+    //=========================
+
+    public void enqueue(PendingAudit audit) {
+        if (audit == null) {
+            return;
+        }
+        if (!running || !queue.offer(audit)) {
+            // Backpressure by doing the work here rather than losing the row
+            synchronous.increment();
+            writeNow(List.of(audit));
+        }
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    //=========================
+    // Lifecycle
+    //=========================
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "event-audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Event audit write-behind started (capacity={}, batchSize={}, flushInterval={}ms)",
+                queue.remainingCapacity(), batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos));
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false; // new records now go straight to the database
+        try {
+            worker.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever the worker did not get to (timeout or interrupt) is written here
+        List<PendingAudit> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += batchSize) {
+            writeNow(rest.subList(i, Math.min(i + batchSize, rest.size())));
+        }
+        log.info("Event audit write-behind stopped ({} rows drained on shutdown)", rest.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server (graceful shutdown phases are DEFAULT_PHASE - 1024 / - 2048) so in-flight
+    // requests can still enqueue, and before singletons such as the DataSource are destroyed
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    //=========================
+    // Consumer side
+    //=========================
+
+    private void drainLoop() {
+        List<PendingAudit> batch = new ArrayList<>(batchSize);
+        long backoff = 0L;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (backoff > 0) {
+                    TimeUnit.NANOSECONDS.sleep(backoff);
+                }
+                if (batch.isEmpty() && !collect(batch)) {
+                    continue;
+                }
+                List<PendingAudit> rest = flush(batch);
+                if (rest.isEmpty()) {
+                    backoff = 0L;
+                } else if (running) {
+                    // Database unreachable: keep the rows and try again later rather than lose them
+                    backoff = backoff == 0 ? retryBackoffNanos : Math.min(backoff * 2, maxRetryBackoffNanos);
+                    log.warn("Database unavailable; retrying {} audit rows in {}ms",
+                            rest.size(), TimeUnit.NANOSECONDS.toMillis(backoff));
+                    List<PendingAudit> retry = new ArrayList<>(rest);
+                    batch.clear();
+                    batch.addAll(retry);
+                    continue;
+                } else {
+                    giveUp(rest); // stopping: the DataSource is about to close
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false; // later records are written by their callers
+                break; // stop() drains the queue; the rows in hand are written below
+            } catch (RuntimeException ex) {
+                // Keeps the only consumer alive: a dead worker would leave records queued until shutdown
+                failed.increment(batch.size());
+                log.error("Audit batch of {} failed; rows not written: {}", batch.size(), batch, ex);
+                batch.clear();
+                backoff = 0L;
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeNow(batch);
+        }
+    }
+
+    // Waits up to flush-interval for a first record, then gathers up to batch-size within flush-interval of it
+    private boolean collect(List<PendingAudit> batch) throws InterruptedException {
+        PendingAudit first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return false;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long left = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || left <= 0 || !running) {
+                break;
+            }
+            PendingAudit next = queue.poll(left, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return true;
+    }
+
+    // snapshot is JSONB on Postgres (Flyway) and JSON on H2 (ddl-auto); neither accepts a VARCHAR parameter as is
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            sql = String.format(INSERT_SQL, "PostgreSQL".equalsIgnoreCase(product) ? "CAST(? AS jsonb)" : "? FORMAT JSON");
+            insertSql = sql;
+        }
+        return sql;
+    }
+
+    /**
+     * Inserts the batch and returns the rows still to be written: empty unless the database could not be reached.
+     * Rows a constraint rejects, or that fail for any other database reason, are counted as failed and logged.
+     */
+    List<PendingAudit> flush(List<PendingAudit> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(insertSql(), batch, batch.size(), (ps, a) -> {
+                ps.setObject(1, a.eventId(), Types.BIGINT);
+                ps.setObject(2, a.actorUserId(), Types.BIGINT); // null is rejected by NOT NULL, row by row below
+                ps.setString(3, a.action());
+                ps.setObject(4, a.at(), Types.TIMESTAMP_WITH_TIMEZONE);
+                String snapshot = a.snapshot(); // diffed here, off the request thread
+                if (snapshot == null) {
+                    ps.setNull(5, Types.VARCHAR);
+                } else {
+                    ps.setString(5, snapshot);
+                }
+            });
+            written.increment(batch.size());
+            return List.of();
+        } catch (DataIntegrityViolationException ex) {
+            if (batch.size() == 1) {
+                failed.increment();
+                log.warn("Dropping audit row {}: {}", batch.get(0), ex.getMostSpecificCause().getMessage());
+                return List.of();
+            }
+            log.warn("Audit batch of {} rejected ({}); retrying row by row", batch.size(), ex.getMostSpecificCause().getMessage());
+            List<PendingAudit> rest = new ArrayList<>();
+            for (PendingAudit a : batch) {
+                rest.addAll(flush(List.of(a)));
+            }
+            return rest;
+        } catch (DataAccessException ex) {
+            if (isTransient(ex)) {
+                return batch;
+            }
+            failed.increment(batch.size());
+            log.error("Audit batch of {} failed; rows not written: {}", batch.size(), batch, ex);
+            return List.of();
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // For writes that cannot wait for the database to come back: on the caller's thread, or while stopping
+    private void writeNow(List<PendingAudit> rows) {
+        try {
+            List<PendingAudit> rest = flush(rows);
+            if (!rest.isEmpty()) {
+                giveUp(rest);
+            }
+        } catch (RuntimeException ex) {
+            failed.increment(rows.size());
+            log.error("Audit batch of {} failed; rows not written: {}", rows.size(), rows, ex);
+        }
+    }
+
+    private void giveUp(List<PendingAudit> rows) {
+        failed.increment(rows.size());
+        log.error("Database unavailable; {} audit rows not written: {}", rows.size(), rows);
+    }
+
+    // Connection failures and pool/lock/query timeouts say nothing about the rows themselves
+    private static boolean isTransient(DataAccessException ex) {
+        return ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException;
+    }
+}
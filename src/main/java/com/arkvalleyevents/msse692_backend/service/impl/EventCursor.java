@@ -0,0 +1,66 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for event lists: the sort key and eventId of the boundary row plus the
+ * sort it was issued for. Encoded as URL-safe Base64 so clients treat it as an opaque token.
+ *
+ * Layout (before encoding): {@code v1|<field>|<ASC|DESC>|<F|B>|<eventId>|<key>}.
+ * The key goes last so event names containing '|' survive the split.
+ */
+record EventCursor(String field, Sort.Direction direction, boolean backward, long eventId, String key) {
+
+    private static final String VERSION = "v1";
+
+    static EventCursor forward(String field, Sort.Direction direction, long eventId, String key) {
+        return new EventCursor(field, direction, false, eventId, key);
+    }
+
+    static EventCursor backward(String field, Sort.Direction direction, long eventId, String key) {
+        return new EventCursor(field, direction, true, eventId, key);
+    }
+
+    String encode() {
+        String raw = VERSION + '|' + field + '|' + direction.name() + '|' + (backward ? 'B' : 'F') + '|' + eventId + '|' + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Parses a token produced by {@link #encode()}; throws IllegalArgumentException (400) when malformed. */
+    static EventCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split("\\|", 6);
+        if (parts.length != 6 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            String field = parts[1];
+            Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+            boolean backward = "B".equals(parts[3]);
+            long eventId = Long.parseLong(parts[4]);
+            EventCursor cursor = new EventCursor(field, direction, backward, eventId, parts[5]);
+            if ("startAt".equals(field)) {
+                cursor.startAtKey(); // validate eagerly
+            } else if (!"eventName".equals(field)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    LocalDateTime startAtKey() {
+        return LocalDateTime.parse(key);
+    }
+}
@@ -2,30 +2,48 @@ package com.arkvalleyevents.msse692_backend.service.impl;
 
 import com.arkvalleyevents.msse692_backend.dto.request.CreateEventDto;
 import com.arkvalleyevents.msse692_backend.dto.request.UpdateEventDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventCursorPageResponse;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDetailDto;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
 import com.arkvalleyevents.msse692_backend.model.EventType;
+import com.arkvalleyevents.msse692_backend.service.CountMode;
 import com.arkvalleyevents.msse692_backend.service.EventService;
 import com.arkvalleyevents.msse692_backend.service.EventAuditService;
+import com.arkvalleyevents.msse692_backend.security.policy.EventAccessPolicy;
 import com.arkvalleyevents.msse692_backend.security.policy.EventListPolicy;
 import com.arkvalleyevents.msse692_backend.security.context.UserContext;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,7 +51,11 @@ import org.slf4j.LoggerFactory;
 import com.arkvalleyevents.msse692_backend.model.Event;
 import com.arkvalleyevents.msse692_backend.model.EventStatus;
 import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventRepositoryCustom.ListStamp;
+import com.arkvalleyevents.msse692_backend.repository.EventSummaryView;
+import com.arkvalleyevents.msse692_backend.repository.EventVersionView;
 
+import com.arkvalleyevents.msse692_backend.service.mapping.EventFieldState;
 import com.arkvalleyevents.msse692_backend.service.mapping.EventMapper;
 
 @Service
@@ -41,17 +63,28 @@ import com.arkvalleyevents.msse692_backend.service.mapping.EventMapper;
 public class EventServiceImpl implements EventService {
 
     private static final Logger log = LoggerFactory.getLogger(EventServiceImpl.class);
+    private static final int MAX_SLUG_ATTEMPTS = 5;
 
     private final EventRepository eventRepository;
     private final EventMapper mapper;
     private final EventAuditService auditService;
     private final EventListPolicy eventListPolicy;
+    private final ApproximateCountCache countCache;
+    private final PublicUpcomingIndex upcomingIndex;
+    private final EventAccessPolicy eventAccessPolicy;
+    private final EventSlugAllocator slugAllocator;
+    private final TransactionTemplate createTransaction;
 
-    public EventServiceImpl(EventRepository eventRepository, @Qualifier("eventMapperImpl") EventMapper mapper, EventAuditService auditService, EventListPolicy eventListPolicy) {
+    public EventServiceImpl(EventRepository eventRepository, @Qualifier("eventMapperImpl") EventMapper mapper, EventAuditService auditService, EventListPolicy eventListPolicy, ApproximateCountCache countCache, PublicUpcomingIndex upcomingIndex, EventAccessPolicy eventAccessPolicy, EventSlugAllocator slugAllocator, PlatformTransactionManager transactionManager) {
         this.eventRepository = eventRepository;
         this.mapper = mapper;
         this.auditService = auditService;
         this.eventListPolicy = eventListPolicy;
+        this.countCache = countCache;
+        this.upcomingIndex = upcomingIndex;
+        this.eventAccessPolicy = eventAccessPolicy;
+        this.slugAllocator = slugAllocator;
+        this.createTransaction = new TransactionTemplate(transactionManager);
     }
 
     //=========================
@@ -59,19 +92,35 @@ public class EventServiceImpl implements EventService {
     //=========================
 
     // Create
+    // Runs outside the class-level transaction: a unique-slug violation poisons the persistence context (and, on
+    // PostgreSQL, the transaction), so each attempt gets its own transaction and a retry starts clean.
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public EventDetailDto createEvent(CreateEventDto input) {
         log.info("Creating new event: {}", input.getEventName());
-        Event entity = mapper.toEntity(input);
-        // status already defaults to DRAFT in the entity
-        // entity.setStatus(EventStatus.DRAFT);\
-
         // Generate slug from eventName (Entity(Modal))
         String baseSlug = slugify(input.getEventName());
-        String uniqueSlug = ensureUniqueSlug(baseSlug);
-        entity.setSlug(uniqueSlug);
+        for (int attempt = 1; ; attempt++) {
+            String slug = slugAllocator.next(baseSlug);
+            try {
+                return createTransaction.execute(status -> insert(input, slug));
+            } catch (DataIntegrityViolationException ex) {
+                slugAllocator.forget(baseSlug);
+                // Only a lost race on the slug is retried; any other constraint failure is the caller's problem
+                if (attempt >= MAX_SLUG_ATTEMPTS || !eventRepository.existsBySlug(slug)) {
+                    throw ex;
+                }
+                log.warn("Slug '{}' was taken concurrently; retrying (attempt {}/{})", slug, attempt, MAX_SLUG_ATTEMPTS);
+            }
+        }
+    }
+
+    private EventDetailDto insert(CreateEventDto input, String slug) {
+        Event entity = mapper.toEntity(input);
+        // status already defaults to DRAFT in the entity
+        entity.setSlug(slug);
 
-        Event saved = eventRepository.save(entity);
+        Event saved = eventRepository.save(entity); // IDENTITY id: the INSERT (and the slug check) runs here
         auditService.logCreate(saved.getEventId());
         log.info("Event created successfully with ID={} and status={}", saved.getEventId(), saved.getStatus());
         return mapper.toDetailDto(saved); //toDetailDto defined in the mapper to return EventDetailDto and take (Event entity)
@@ -80,14 +129,24 @@ public class EventServiceImpl implements EventService {
     // Update
     @Override
     public EventDetailDto updateEvent(Long eventId, UpdateEventDto request) {
-    log.debug("Attempting to update event ID={}", eventId);
-    Event existing = eventRepository.findById(eventId)
-                .orElseThrow(() -> new EntityNotFoundException("Event not found: " + eventId));
+        log.debug("Attempting to update event ID={}", eventId);
+        return update(eventId, load(eventId), request);
+    }
+
+    @Override
+    public EventDetailDto updateEvent(Long eventId, UpdateEventDto request, UserContext userContext) {
+        log.debug("Attempting to update event ID={} (scoped)", eventId);
+        return update(eventId, loadForModify(eventId, userContext), request);
+    }
+
+    private EventDetailDto update(Long eventId, Event existing, UpdateEventDto request) {
+        EventFieldState before = EventFieldState.of(existing); // for the audit diff
         // Update the event entity with non-null fields from the request DTO
         mapper.updateEntity(existing, request); // partial update (non‑nulls)
 
         Event saved = eventRepository.save(existing);
-        auditService.logUpdate(eventId);
+        auditService.logUpdate(eventId, before, saved);
+        refreshUpcomingIndex(saved);
         log.info("Event ID={} updated successfully (status={}).", eventId, existing.getStatus());
         return mapper.toDetailDto(saved);
     }
@@ -96,17 +155,26 @@ public class EventServiceImpl implements EventService {
     @Override
     public EventDetailDto publishEvent(Long eventId) {
         log.debug("Attempting to publish event ID={}", eventId);
+        return publish(eventId, load(eventId));
+    }
 
-        Event event = load(eventId);
+    @Override
+    public EventDetailDto publishEvent(Long eventId, UserContext userContext) {
+        log.debug("Attempting to publish event ID={} (scoped)", eventId);
+        return publish(eventId, loadForModify(eventId, userContext));
+    }
 
+    private EventDetailDto publish(Long eventId, Event event) {
         if (event.getStatus() != EventStatus.DRAFT) {
             log.warn("Cannot publish event ID={} because current status is {}", eventId, event.getStatus());
             throw new IllegalStateException("Only DRAFT events can be published");
         }
 
+        EventFieldState before = EventFieldState.of(event);
         event.setStatus(EventStatus.PUBLISHED);
         Event saved = eventRepository.save(event);
-        auditService.logUpdate(eventId);
+        auditService.logUpdate(eventId, before, saved);
+        refreshUpcomingIndex(saved);
 
         log.info("Event ID={} successfully published. Previous status=DRAFT → new status={}", eventId, saved.getStatus());
         return mapper.toDetailDto(saved);
@@ -115,17 +183,26 @@ public class EventServiceImpl implements EventService {
     @Override
     public EventDetailDto unpublishEvent(Long eventId) {
         log.debug("Attempting to unpublish event ID={}", eventId);
+        return unpublish(eventId, load(eventId));
+    }
 
-        Event event = load(eventId);
+    @Override
+    public EventDetailDto unpublishEvent(Long eventId, UserContext userContext) {
+        log.debug("Attempting to unpublish event ID={} (scoped)", eventId);
+        return unpublish(eventId, loadForModify(eventId, userContext));
+    }
 
+    private EventDetailDto unpublish(Long eventId, Event event) {
         if (event.getStatus() != EventStatus.PUBLISHED) {
             log.warn("Cannot unpublish event ID={} because current status is {}", eventId, event.getStatus());
             throw new IllegalStateException("Only PUBLISHED events can be unpublished");
         }
 
+        EventFieldState before = EventFieldState.of(event);
         event.setStatus(EventStatus.UNPUBLISHED);
         Event saved = eventRepository.save(event);
-        auditService.logUpdate(eventId);
+        auditService.logUpdate(eventId, before, saved);
+        refreshUpcomingIndex(saved);
 
         log.info("Event ID={} successfully unpublished. Previous status=PUBLISHED → new status={}", eventId, saved.getStatus());
         return mapper.toDetailDto(saved);
@@ -134,18 +211,29 @@ public class EventServiceImpl implements EventService {
     @Override
     public EventDetailDto cancelEvent(Long eventId) {
         log.debug("Attempting to cancel event ID={}", eventId);
-        Event event = load(eventId);
+        return cancel(eventId, load(eventId));
+    }
 
+    @Override
+    public EventDetailDto cancelEvent(Long eventId, UserContext userContext) {
+        log.debug("Attempting to cancel event ID={} (scoped)", eventId);
+        return cancel(eventId, loadForModify(eventId, userContext));
+    }
+
+    private EventDetailDto cancel(Long eventId, Event event) {
         if (event.getStatus() == EventStatus.CANCELLED) {
             log.warn("Event ID={} is already cancelled.", eventId);
             throw new IllegalStateException("Event is already cancelled");
         }
 
+        EventStatus previous = event.getStatus();
+        EventFieldState before = EventFieldState.of(event);
         event.setStatus(EventStatus.CANCELLED);
         Event saved = eventRepository.save(event);
-        auditService.logUpdate(eventId);
+        auditService.logUpdate(eventId, before, saved);
+        refreshUpcomingIndex(saved);
 
-        log.info("Event ID={} successfully cancelled. Previous status={} → new status={}", eventId, event.getStatus(), saved.getStatus());
+        log.info("Event ID={} successfully cancelled. Previous status={} → new status={}", eventId, previous, saved.getStatus());
         return mapper.toDetailDto(saved);
     }
 
@@ -159,6 +247,7 @@ public class EventServiceImpl implements EventService {
 
         auditService.logDelete(eventId);
         eventRepository.deleteById(eventId);
+        afterCommit(() -> upcomingIndex.onDeleted(eventId));
         log.info("Event ID={} deleted.", eventId);
     }
 
@@ -181,6 +270,7 @@ public class EventServiceImpl implements EventService {
         @Transactional(readOnly = true)
         public EventDetailDto getEventDetailOrThrow(Long eventId) {
         log.debug("Fetching event by ID={} (strict)", eventId);
+        // EventDetailDto maps no associations, so this is one statement (EventReadPathStatementCountTest)
         Event e = eventRepository.findById(eventId)
             .orElseThrow(() -> new EntityNotFoundException("Event not found: " + eventId));
         log.info("Event retrieved successfully (ID={}, status={})", e.getEventId(), e.getStatus());
@@ -197,6 +287,46 @@ public class EventServiceImpl implements EventService {
         return mapper.toDetailDto(event);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EventVersionView getEventVersionOrThrow(Long eventId) {
+        log.debug("Fetching event version by ID={}", eventId);
+        return eventRepository.findVersionViewById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found: " + eventId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String listEventsStampScoped(Map<String, String> filters, UserContext userContext) {
+        ScopedListStamp stamp = listEventsCountedStampScoped(filters, userContext);
+        return stamp == null ? null : stamp.stamp();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ScopedListStamp listEventsCountedStampScoped(Map<String, String> filters, UserContext userContext) {
+        Map<String, String> scoped = eventListPolicy.applyListDefaults(filters, userContext);
+        ListStamp stamp = eventRepository.stamp(buildSpecification(scoped));
+        if (stamp == null) {
+            return null;
+        }
+        // Scope hash keeps two callers with coincidentally equal count/updatedAt from sharing a tag
+        return new ScopedListStamp(formatStamp(stamp) + "-" + Integer.toHexString(new TreeMap<>(scoped).hashCode()), stamp.count());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String publicUpcomingStamp(LocalDateTime from) {
+        // Index and database stamps share one format, so a tag is the same whichever instance computed it
+        ListStamp stamp = upcomingIndex.stamp(from).orElseGet(() -> eventRepository.stamp(publicUpcomingSpecification(from)));
+        return stamp == null ? null : formatStamp(stamp);
+    }
+
+    @Override
+    public String publicUpcomingIndexStamp(LocalDateTime from) {
+        return upcomingIndex.stamp(from).map(EventServiceImpl::formatStamp).orElse(null);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<EventDto> listEvents(Map<String, String> filters, int page, int size, String sort) {
@@ -236,16 +366,89 @@ public class EventServiceImpl implements EventService {
         Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), parseSort(sort));
         log.debug("Listing events (scoped) with filters={}, page={}, size={}, sort='{}'", scoped, page, size, sort);
 
-        Specification<Event> spec = buildSpecification(scoped);
-        Page<Event> pageResult = (spec == null)
-                ? eventRepository.findAll(pageable)
-                : eventRepository.findAll(spec, pageable);
+        // Summary projection: list rows never read the eventDescription LOB
+        Page<EventSummaryView> pageResult = eventRepository.findSummaries(buildSpecification(scoped), pageable);
 
         Page<EventDto> dtoPage = pageResult.map(mapper::toDto);
         log.info("Listed {} events (scoped) of total {} (page={}, size={})", dtoPage.getNumberOfElements(), dtoPage.getTotalElements(), page, size);
         return dtoPage;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventDto> listEventsPageScoped(Map<String, String> filters, int page, int size, String sort, UserContext userContext, long total) {
+        Map<String, String> scoped = eventListPolicy.applyListDefaults(filters, userContext);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), parseSort(sort));
+        log.debug("Listing events (scoped, known total {}) with filters={}, page={}, size={}, sort='{}'", total, scoped, page, size, sort);
+
+        Page<EventDto> dtoPage = eventRepository.findSummaries(buildSpecification(scoped), pageable, total).map(mapper::toDto);
+        log.info("Listed {} events (scoped) of total {} (page={}, size={})", dtoPage.getNumberOfElements(), dtoPage.getTotalElements(), page, size);
+        return dtoPage;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<EventDto> listEventsPageScoped(Map<String, String> filters, int page, int size, String sort, UserContext userContext, CountMode countMode) {
+        if (countMode == null || countMode == CountMode.EXACT) {
+            return listEventsPageScoped(filters, page, size, sort, userContext);
+        }
+        Map<String, String> scoped = eventListPolicy.applyListDefaults(filters, userContext);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), parseSort(sort));
+        log.debug("Listing events (scoped, count={}) with filters={}, page={}, size={}, sort='{}'", countMode, scoped, page, size, sort);
+        Slice<EventDto> result = findSlice(buildSpecification(scoped), scoped, pageable, countMode);
+        log.info("Listed {} events (scoped, count={}, hasNext={}) (page={}, size={})", result.getNumberOfElements(), countMode, result.hasNext(), page, size);
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventCursorPageResponse listEventsCursorScoped(Map<String, String> filters, String cursor, int size, String sort, UserContext userContext) {
+        Map<String, String> scoped = eventListPolicy.applyListDefaults(filters, userContext);
+        int limit = Math.max(size, 1);
+        Sort.Order order = keysetOrder(sort);
+        EventCursor after = (cursor == null || cursor.isBlank()) ? null : EventCursor.decode(cursor);
+        if (after != null && (!after.field().equals(order.getProperty()) || after.direction() != order.getDirection())) {
+            throw new IllegalArgumentException("Cursor does not match sort: " + sort);
+        }
+        boolean backward = after != null && after.backward();
+        // Walking backwards scans the index in the opposite direction, then flips the window for display
+        Sort.Direction scan = backward ? flip(order.getDirection()) : order.getDirection();
+        Sort seekSort = Sort.by(scan, order.getProperty()).and(Sort.by(scan, "eventId"));
+        log.debug("Listing events (keyset) with filters={}, size={}, sort='{}', backward={}", scoped, limit, sort, backward);
+
+        Specification<Event> spec = buildSpecification(scoped);
+        if (after != null) {
+            Specification<Event> seek = seekSpecification(after, scan);
+            spec = (spec == null) ? seek : spec.and(seek);
+        }
+        // Fetch one extra row to learn whether another page exists without counting
+        List<EventSummaryView> rows = eventRepository.findSummariesLimited(spec, seekSort, 0, limit + 1);
+        boolean more = rows.size() > limit;
+        List<EventSummaryView> window = new ArrayList<>(more ? rows.subList(0, limit) : rows);
+        if (backward) {
+            Collections.reverse(window);
+        }
+
+        String next = null;
+        String prev = null;
+        if (!window.isEmpty()) {
+            EventSummaryView first = window.get(0);
+            EventSummaryView last = window.get(window.size() - 1);
+            boolean hasNext = backward || more;
+            boolean hasPrev = backward ? more : after != null;
+            if (hasNext) {
+                next = EventCursor.forward(order.getProperty(), order.getDirection(), last.eventId(), sortKey(last, order.getProperty())).encode();
+            }
+            if (hasPrev) {
+                prev = EventCursor.backward(order.getProperty(), order.getDirection(), first.eventId(), sortKey(first, order.getProperty())).encode();
+            }
+        }
+
+        List<EventDto> items = window.stream().map(mapper::toDto).toList();
+        log.info("Listed {} events (keyset, size={}, hasNext={}, hasPrev={})", items.size(), limit, next != null, prev != null);
+        return EventCursorPageResponse.of(items, limit, next, prev);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<EventDto> listEventsByOwner(Long ownerUserId, int page, int size, String sort) {
@@ -281,6 +484,24 @@ public class EventServiceImpl implements EventService {
         return dtoPage;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<EventDto> listEventsByOwnerFiltered(Long ownerUserId, Map<String, String> filters, int page, int size, String sort, CountMode countMode) {
+        if (countMode == null || countMode == CountMode.EXACT) {
+            return listEventsByOwnerFiltered(ownerUserId, filters, page, size, sort);
+        }
+        if (ownerUserId == null) {
+            throw new IllegalArgumentException("ownerUserId cannot be null for strict ownership listing");
+        }
+        Map<String, String> effective = new java.util.HashMap<>(filters == null ? java.util.Map.of() : filters);
+        effective.put("createdByUserId", String.valueOf(ownerUserId));
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), parseSort(sort));
+        log.debug("Listing owner events (filtered, count={}) ownerUserId={}, filters={}, page={}, size={}, sort='{}'", countMode, ownerUserId, effective, page, size, sort);
+        Slice<EventDto> result = findSlice(buildSpecification(effective), effective, pageable, countMode);
+        log.info("Listed {} owner-filtered events (count={}, hasNext={}) (page={}, size={})", result.getNumberOfElements(), countMode, result.hasNext(), page, size);
+        return result;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<EventDto> listUpcoming(LocalDateTime from, int limit) {
@@ -297,10 +518,16 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional(readOnly = true)
     public List<EventDto> listPublicUpcoming(LocalDateTime from, int limit) {
-        Pageable pageable = PageRequest.of(0, Math.max(limit, 1), Sort.by(Sort.Direction.ASC, "startAt"));
         log.debug("Listing PUBLIC upcoming events from {} (limit={})", from, limit);
-        Page<Event> events = eventRepository.findByStatusAndStartAtGreaterThanEqualOrderByStartAtAsc(EventStatus.PUBLISHED, from, pageable);
-        List<EventDto> dtos = events.getContent().stream().map(mapper::toDto).toList();
+        Optional<List<EventDto>> indexed = upcomingIndex.find(from, limit);
+        if (indexed.isPresent()) {
+            log.debug("Served {} PUBLIC upcoming events from index (from={})", indexed.get().size(), from);
+            return indexed.get();
+        }
+        // eventId tie-break matches the index order for events sharing a start time
+        Sort order = Sort.by(Sort.Direction.ASC, "startAt").and(Sort.by(Sort.Direction.ASC, "eventId"));
+        List<EventSummaryView> rows = eventRepository.findSummariesLimited(publicUpcomingSpecification(from), order, 0, Math.max(limit, 1));
+        List<EventDto> dtos = rows.stream().map(mapper::toDto).toList();
         log.info("Retrieved {} PUBLIC upcoming events (from={})", dtos.size(), from);
         return dtos;
     }
@@ -318,8 +545,7 @@ public class EventServiceImpl implements EventService {
     @Transactional(readOnly = true)
     public List<EventDto> getEventsByType(EventType eventType) {
         log.debug("Fetching events by type='{}'", eventType);
-        List<Event> events = eventRepository.findByEventType(eventType);
-        List<EventDto> dtos = events.stream().map(mapper::toDto).toList();
+        List<EventDto> dtos = eventRepository.findSummariesByEventType(eventType).stream().map(mapper::toDto).toList();
         log.info("Retrieved {} events of type='{}'", dtos.size(), eventType);
         return dtos;
     }
@@ -358,8 +584,7 @@ public class EventServiceImpl implements EventService {
     @Transactional(readOnly = true)
     public List<EventDto> getEventsByLocation(String location) {
         log.debug("Fetching events by location containing '{}'", location);
-        List<Event> events = eventRepository.findByEventLocationContainingIgnoreCase(location);
-        List<EventDto> dtos = events.stream().map(mapper::toDto).toList();
+        List<EventDto> dtos = eventRepository.findSummariesByLocation(location).stream().map(mapper::toDto).toList();
 
         log.info("Retrieved {} events matching location='{}'", dtos.size(), location);
         return dtos;
@@ -384,7 +609,46 @@ public class EventServiceImpl implements EventService {
                 .orElseThrow(() -> new EntityNotFoundException("Event not found: " + eventId));
     }
 
-    private Sort parseSort(String sort) {
+    // One SELECT: the row that is authorized is the managed instance the command mutates (denial is a 404)
+    private Event loadForModify(Long eventId, UserContext userContext) {
+        Event event = load(eventId);
+        eventAccessPolicy.assertCanModify(event, userContext);
+        return event;
+    }
+
+    private static Specification<Event> publicUpcomingSpecification(LocalDateTime from) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("status"), EventStatus.PUBLISHED),
+                cb.greaterThanOrEqualTo(root.<LocalDateTime>get("startAt"), from));
+    }
+
+    private static String formatStamp(ListStamp stamp) {
+        if (stamp.maxUpdatedAt() == null) {
+            return "c" + stamp.count() + "-u0";
+        }
+        return "c" + stamp.count() + "-u" + stamp.maxUpdatedAt().getEpochSecond() + "." + stamp.maxUpdatedAt().getNano();
+    }
+
+    // Index updates run after commit so a rolled-back command never leaks into the public feed
+    private void refreshUpcomingIndex(Event saved) {
+        afterCommit(() -> upcomingIndex.onSaved(mapper.toSummaryVersionView(saved)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // package-private and static so the JMH benchmarks (src/jmh/java) can drive the request hot path directly
+    static Sort parseSort(String sort) {
         if (sort == null || sort.isBlank()) {
             return Sort.unsorted();
         }
@@ -401,7 +665,66 @@ public class EventServiceImpl implements EventService {
         return Sort.by(Sort.Direction.ASC, s);
     }
 
-    private Specification<Event> buildSpecification(Map<String, String> filters) {
+    // Fetches size+1 rows at the page offset so hasNext is known without a COUNT; APPROXIMATE adds a cached total
+    private Slice<EventDto> findSlice(Specification<Event> spec, Map<String, String> effectiveFilters, Pageable pageable, CountMode countMode) {
+        List<EventSummaryView> rows = eventRepository.findSummariesLimited(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<EventDto> content = (hasNext ? rows.subList(0, pageable.getPageSize()) : rows).stream().map(mapper::toDto).toList();
+        Slice<EventDto> slice = new SliceImpl<>(content, pageable, hasNext);
+        String countKey = "events|" + new TreeMap<>(effectiveFilters);
+        return countCache.apply(slice, countMode, countKey,
+                () -> (spec == null) ? eventRepository.count() : eventRepository.count(spec));
+    }
+
+    //=========================
+    // Keyset helpers
+    //=========================
+
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("startAt", "eventName");
+
+    private Sort.Order keysetOrder(String sort) {
+        Sort parsed = parseSort(sort);
+        Sort.Order order = parsed.isSorted() ? parsed.iterator().next() : Sort.Order.asc("startAt");
+        if (!KEYSET_SORT_FIELDS.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Unsupported sort field for cursor paging: " + order.getProperty());
+        }
+        return order;
+    }
+
+    private static Sort.Direction flip(Sort.Direction direction) {
+        return direction.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    private static String sortKey(EventSummaryView e, String field) {
+        return "startAt".equals(field) ? String.valueOf(e.startAt()) : e.eventName();
+    }
+
+    // (key, id) strictly after the cursor row in scan order; eventId breaks ties between equal keys
+    private Specification<Event> seekSpecification(EventCursor after, Sort.Direction scan) {
+        boolean ascending = scan.isAscending();
+        long lastId = after.eventId();
+        if ("startAt".equals(after.field())) {
+            LocalDateTime key = after.startAtKey();
+            return (root, query, cb) -> seek(cb, root.<LocalDateTime>get("startAt"), key, root.<Long>get("eventId"), lastId, ascending);
+        }
+        String key = after.key();
+        return (root, query, cb) -> seek(cb, root.<String>get("eventName"), key, root.<Long>get("eventId"), lastId, ascending);
+    }
+
+    // Row-value comparison (key, event_id) > (value, lastId) (or < when descending), spelled out because JPA
+    // Criteria has no tuple compare. The leading key >= / <= conjunct is implied by the OR and never changes the
+    // result; it is there only to give the planner a range start on the (.., key, event_id) indexes, which the OR
+    // alone does not (EventQueryPlanTest.publicCursor_firstAndSeekPages checks the seek page uses an index)
+    private static <Y extends Comparable<? super Y>> Predicate seek(CriteriaBuilder cb, Path<Y> key, Y value, Path<Long> id, long lastId, boolean ascending) {
+        if (ascending) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(id, lastId))));
+        }
+        return cb.and(cb.lessThanOrEqualTo(key, value),
+                cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(id, lastId))));
+    }
+
+    static Specification<Event> buildSpecification(Map<String, String> filters) {
         if (filters == null || filters.isEmpty()) {
             return null; // no constraints; let repository use simple findAll(pageable)
         }
@@ -486,7 +809,7 @@ public class EventServiceImpl implements EventService {
     // Slug generation helpers
     // =========================
 
-    private String slugify(String title) {
+    static String slugify(String title) {
         if (title == null || title.isBlank()) return null;
         return title
                 .trim()
@@ -495,13 +818,4 @@ public class EventServiceImpl implements EventService {
                 .replaceAll("\\s+", "-");        // replace spaces with hyphens
     }
 
-    private String ensureUniqueSlug(String baseSlug) {
-        String slug = baseSlug;
-        int counter = 1;
-        while (eventRepository.findBySlug(slug).isPresent()) {
-            slug = baseSlug + "-" + counter++;
-        }
-        return slug;
-    }
-
 }
\ No newline at end of file
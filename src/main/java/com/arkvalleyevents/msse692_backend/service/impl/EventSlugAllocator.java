@@ -0,0 +1,90 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out slug candidates for new events: {@code base}, then {@code base-1}, {@code base-2}, ...
+ *
+ * The first request for a base runs one query for every slug sharing it and continues after the highest
+ * numeric suffix (gaps left by deleted events are not reused). The result seeds a per-base counter, so
+ * later creates in this JVM need no query at all. Candidates are not reservations: the unique constraint on
+ * event.slug is the arbiter, and a caller that collides (another instance, or a stale counter) calls
+ * {@link #forget} and asks again, which re-reads the database.
+ */
+@Component
+public class EventSlugAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSlugAllocator.class);
+    private static final int MAX_BASES = 10_000;
+    private static final String FALLBACK_BASE = "event";
+
+    // Highest suffix handed out or seen per base: -1 = base unused, 0 = bare base taken
+    private final Map<String, AtomicInteger> highest = new ConcurrentHashMap<>();
+
+    private final EventRepository eventRepository;
+
+    public EventSlugAllocator(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /** Next candidate slug for {@code baseSlug}; blank bases fall back to "event". */
+    public String next(String baseSlug) {
+        String base = (baseSlug == null || baseSlug.isBlank()) ? FALLBACK_BASE : baseSlug;
+        AtomicInteger counter = highest.get(base);
+        if (counter == null) {
+            if (highest.size() >= MAX_BASES) {
+                highest.clear(); // counters are only hints; dropping them costs one query per base
+            }
+            AtomicInteger seeded = new AtomicInteger(highestUsedSuffix(base));
+            // A concurrent seed may already have handed out candidates; keep whichever is further along
+            counter = highest.merge(base, seeded, (current, fresh) -> current.get() >= fresh.get() ? current : fresh);
+        }
+        int n = counter.incrementAndGet();
+        return n == 0 ? base : base + "-" + n;
+    }
+
+    /** Drops the counter for a base after a collision so the next candidate is computed from the database. */
+    public void forget(String baseSlug) {
+        if (baseSlug != null && highest.remove(baseSlug) != null) {
+            log.debug("Slug counter for '{}' discarded after a collision", baseSlug);
+        }
+    }
+
+    private int highestUsedSuffix(String base) {
+        List<String> used = eventRepository.findSlugsWithBase(base);
+        int max = -1;
+        for (String slug : used) {
+            if (slug.equals(base)) {
+                max = Math.max(max, 0);
+            } else if (slug.length() > base.length() + 1) {
+                Integer suffix = numericSuffix(slug.substring(base.length() + 1));
+                if (suffix != null) {
+                    max = Math.max(max, suffix);
+                }
+            }
+        }
+        return max;
+    }
+
+    // "12" -> 12; anything else (other words after the base, leading zeros, overflow) is not ours
+    private static Integer numericSuffix(String s) {
+        if (s.length() > 9 || s.charAt(0) == '0') {
+            return null;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        return Integer.parseInt(s);
+    }
+}
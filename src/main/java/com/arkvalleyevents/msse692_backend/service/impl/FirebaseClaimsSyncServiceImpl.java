@@ -1,9 +1,13 @@
 package com.arkvalleyevents.msse692_backend.service.impl;
 
 import com.arkvalleyevents.msse692_backend.model.AppUser;
+import com.arkvalleyevents.msse692_backend.model.RoleMask;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
 import com.arkvalleyevents.msse692_backend.service.FirebaseClaimsSyncService;
 import com.google.firebase.auth.FirebaseAuth;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -11,36 +15,86 @@ import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class FirebaseClaimsSyncServiceImpl implements FirebaseClaimsSyncService {
 
     private static final Logger log = LoggerFactory.getLogger(FirebaseClaimsSyncServiceImpl.class);
 
+    private static final int BULK_PAGE_SIZE = 200;
+
     private final AppUserRepository appUserRepository;
     private final FirebaseAuth firebaseAuth;
+    private final Counter pushed;
+    private final Counter skipped;
+    private final Counter failed;
 
-    public FirebaseClaimsSyncServiceImpl(AppUserRepository appUserRepository, FirebaseAuth firebaseAuth) {
+    @Autowired
+    public FirebaseClaimsSyncServiceImpl(AppUserRepository appUserRepository, FirebaseAuth firebaseAuth, MeterRegistry meterRegistry) {
         this.appUserRepository = appUserRepository;
         this.firebaseAuth = firebaseAuth;
+        this.pushed = outcomeCounter(meterRegistry, "pushed");
+        this.skipped = outcomeCounter(meterRegistry, "skipped");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+    }
+
+    public FirebaseClaimsSyncServiceImpl(AppUserRepository appUserRepository, FirebaseAuth firebaseAuth) {
+        this(appUserRepository, firebaseAuth, new SimpleMeterRegistry());
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String result) {
+        return Counter.builder("app.claims.sync").tag("result", result)
+            .description("Firebase custom-claims syncs by outcome").register(registry);
     }
 
+    // Not transactional: the user read and the hash write are short transactions of their own, so no connection
+    // is held while Firebase is called (roles come from role_mask, so the detached entity needs no lazy load)
     @Override
-    @Transactional(readOnly = true)
-    public void syncUserRolesByUid(String firebaseUid, boolean force) {
+    public Outcome syncUserRolesByUid(String firebaseUid, boolean force) {
         if (firebaseUid == null || firebaseUid.isBlank()) {
             log.warn("Refusing to sync roles: firebaseUid is null/blank");
-            return;
+            return Outcome.NOT_FOUND;
         }
         Optional<AppUser> opt = appUserRepository.findByFirebaseUid(firebaseUid);
         if (opt.isEmpty()) {
             log.warn("Cannot sync claims: AppUser not found for UID {}", firebaseUid);
-            return;
+            return Outcome.NOT_FOUND;
         }
-        AppUser user = opt.get();
-        Set<String> roles = user.getRoles() == null ? Set.of() : user.getRoles();
+        return sync(opt.get(), force);
+    }
+
+    // No surrounding transaction: each page read and each hash write commits on its own, so a long run never
+    // holds a connection across the Firebase round trips
+    @Override
+    public SyncCounts syncAllUsers(boolean force) {
+        int p = 0, s = 0, f = 0;
+        Pageable page = PageRequest.of(0, BULK_PAGE_SIZE, Sort.by("id"));
+        while (true) {
+            Slice<AppUser> users = appUserRepository.findSliceBy(page);
+            for (AppUser u : users) {
+                switch (sync(u, force)) {
+                    case PUSHED -> p++;
+                    case SKIPPED -> s++;
+                    case FAILED -> f++;
+                    default -> { }
+                }
+            }
+            if (!users.hasNext()) break;
+            page = users.nextPageable();
+        }
+        log.info("Bulk claims sync finished: pushed={} skipped={} failed={} force={}", p, s, f, force);
+        return new SyncCounts(p, s, f);
+    }
+
+    private Outcome sync(AppUser user, boolean force) {
+        String firebaseUid = user.getFirebaseUid();
+        Set<String> roles = RoleMask.names(user.getRoleMask());
         if (log.isDebugEnabled()) {
             log.debug("Preparing claim sync: uid={}, rawRoles={} (size={})", firebaseUid, roles, roles.size());
         }
@@ -65,6 +119,11 @@ public class FirebaseClaimsSyncServiceImpl implements FirebaseClaimsSyncService
         if (log.isDebugEnabled()) {
             log.debug("Normalized roles for uid={} => {} (size={}), hash={}", firebaseUid, normalized, normalized.size(), rolesHash);
         }
+        if (!force && rolesHash.equals(user.getClaimsRolesHash())) {
+            log.debug("Skipping claims push: uid={} hash={} matches last push", firebaseUid, rolesHash);
+            skipped.increment();
+            return Outcome.SKIPPED;
+        }
 
         Map<String, Object> claims = new HashMap<>();
         claims.put("roles", normalized);
@@ -72,8 +131,6 @@ public class FirebaseClaimsSyncServiceImpl implements FirebaseClaimsSyncService
 
         long t0 = System.nanoTime();
         try {
-            // NOTE: Admin SDK does not provide existing custom claims directly for arbitrary user without extra fetch;
-            // for now we always push unless future optimization stores last pushed hash in DB.
             log.info("Syncing roles to Firebase claims: uid={} roles={} hash={} force={}", firebaseUid, normalized, rolesHash, force);
             firebaseAuth.setCustomUserClaims(firebaseUid, claims);
             long ms = (System.nanoTime() - t0) / 1_000_000L;
@@ -82,7 +139,15 @@ public class FirebaseClaimsSyncServiceImpl implements FirebaseClaimsSyncService
             long ms = (System.nanoTime() - t0) / 1_000_000L;
             log.error("Failed to set custom claims: uid={} roles={} hash={} durationMs={} error={}",
                 firebaseUid, normalized, rolesHash, ms, e.getMessage(), e);
+            failed.increment();
+            return Outcome.FAILED;
+        }
+        // Only a successful push is recorded, so a failure is retried by the next non-forced sync
+        if (user.getId() != null) {
+            appUserRepository.updateClaimsRolesHash(user.getId(), rolesHash);
         }
+        pushed.increment();
+        return Outcome.PUSHED;
     }
 
     private String hash(List<String> roles) {
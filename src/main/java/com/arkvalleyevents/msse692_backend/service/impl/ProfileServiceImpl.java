@@ -7,11 +7,14 @@ import com.arkvalleyevents.msse692_backend.model.ProfileType;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
 import com.arkvalleyevents.msse692_backend.repository.ProfileRepository;
 import com.arkvalleyevents.msse692_backend.service.ProfileService;
+import com.arkvalleyevents.msse692_backend.security.context.AppUserIdentityCache;
 import com.arkvalleyevents.msse692_backend.security.context.UserContextProvider;
 import com.arkvalleyevents.msse692_backend.service.mapping.ProfileMapper;
 import jakarta.transaction.Transactional;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 @Service
@@ -21,12 +24,14 @@ public class ProfileServiceImpl implements ProfileService {
     private final AppUserRepository appUserRepository;
     private final UserContextProvider userContextProvider;
     private final ProfileMapper profileMapper;
+    private final AppUserIdentityCache identityCache;
 
-    public ProfileServiceImpl(ProfileRepository profileRepository, AppUserRepository appUserRepository, UserContextProvider userContextProvider, ProfileMapper profileMapper) {
+    public ProfileServiceImpl(ProfileRepository profileRepository, AppUserRepository appUserRepository, UserContextProvider userContextProvider, ProfileMapper profileMapper, AppUserIdentityCache identityCache) {
         this.profileRepository = profileRepository;
         this.appUserRepository = appUserRepository;
         this.userContextProvider = userContextProvider;
         this.profileMapper = profileMapper;
+        this.identityCache = identityCache;
     }
 
     @Override
@@ -48,6 +53,7 @@ public class ProfileServiceImpl implements ProfileService {
             trimDisplayName(p);
             enforceVenueLocationRule(p, request);
             updateCompletedFlag(p);
+            evictIdentity(user.getId());
             return profileRepository.saveAndFlush(p);
         } else {
             Profile p = profileMapper.toEntity(request);
@@ -55,6 +61,7 @@ public class ProfileServiceImpl implements ProfileService {
             trimDisplayName(p);
             enforceVenueLocationRule(p, request);
             updateCompletedFlag(p);
+            evictIdentity(user.getId());
             return profileRepository.saveAndFlush(p);
         }
     }
@@ -80,6 +87,7 @@ public class ProfileServiceImpl implements ProfileService {
             trimDisplayName(p);
             enforceVenueLocationRule(p, request);
             updateCompletedFlag(p);
+            evictIdentity(userId);
             return profileRepository.saveAndFlush(p);
         } else {
             Profile p = profileMapper.toEntity(request);
@@ -87,10 +95,25 @@ public class ProfileServiceImpl implements ProfileService {
             trimDisplayName(p);
             enforceVenueLocationRule(p, request);
             updateCompletedFlag(p);
+            evictIdentity(userId);
             return profileRepository.saveAndFlush(p);
         }
     }
 
+    // AppUserUpsertFilter caches the completed-profile flag per user; drop it once this write is visible
+    private void evictIdentity(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    identityCache.invalidateUser(userId);
+                }
+            });
+        } else {
+            identityCache.invalidateUser(userId);
+        }
+    }
+
     private void trimDisplayName(Profile p) {
         if (StringUtils.hasText(p.getDisplayName())) {
             p.setDisplayName(p.getDisplayName().trim());
@@ -130,6 +153,7 @@ public class ProfileServiceImpl implements ProfileService {
         trimDisplayName(p);
         enforceVenueLocationRule(p, request);
         updateCompletedFlag(p);
+        evictIdentity(userId);
         return profileRepository.saveAndFlush(p);
     }
 
@@ -148,6 +172,7 @@ public class ProfileServiceImpl implements ProfileService {
         trimDisplayName(existing);
         enforceVenueLocationRule(existing, request);
         updateCompletedFlag(existing);
+        evictIdentity(userId);
         return profileRepository.saveAndFlush(existing);
     }
 
@@ -160,6 +185,7 @@ public class ProfileServiceImpl implements ProfileService {
         trimDisplayName(existing);
         enforceVenueLocationRule(existing, request);
         updateCompletedFlag(existing);
+        evictIdentity(userId);
         return profileRepository.saveAndFlush(existing);
     }
 
@@ -169,6 +195,7 @@ public class ProfileServiceImpl implements ProfileService {
         Profile existing = profileRepository.findByUserId(userId)
             .orElseThrow(() -> new IllegalStateException("PROFILE_NOT_FOUND"));
         profileRepository.delete(existing);
+        evictIdentity(userId);
     }
 
     // ===== Explicit CRUD methods =====
@@ -186,6 +213,7 @@ public class ProfileServiceImpl implements ProfileService {
         trimDisplayName(p);
         enforceVenueLocationRule(p, request);
         updateCompletedFlag(p);
+        evictIdentity(userId);
         return profileRepository.saveAndFlush(p);
     }
 
@@ -207,6 +235,7 @@ public class ProfileServiceImpl implements ProfileService {
         trimDisplayName(existing);
         enforceVenueLocationRule(existing, request);
         updateCompletedFlag(existing);
+        evictIdentity(userId);
         return profileRepository.saveAndFlush(existing);
     }
 
@@ -220,6 +249,7 @@ public class ProfileServiceImpl implements ProfileService {
         trimDisplayName(existing);
         enforceVenueLocationRule(existing, request);
         updateCompletedFlag(existing);
+        evictIdentity(userId);
         return profileRepository.saveAndFlush(existing);
     }
 
@@ -230,5 +260,6 @@ public class ProfileServiceImpl implements ProfileService {
         Profile existing = profileRepository.findByUserId(userId)
             .orElseThrow(() -> new IllegalStateException("PROFILE_NOT_FOUND"));
         profileRepository.delete(existing);
+        evictIdentity(userId);
     }
 }
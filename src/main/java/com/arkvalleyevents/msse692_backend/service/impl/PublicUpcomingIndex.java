@@ -0,0 +1,338 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventRepositoryCustom.ListStamp;
+import com.arkvalleyevents.msse692_backend.repository.EventSummaryVersionView;
+import com.arkvalleyevents.msse692_backend.service.mapping.EventMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process index of PUBLISHED events ordered by (startAt, eventId) that serves the public upcoming feed
+ * without touching the database.
+ *
+ * Coverage: every PUBLISHED event with startAt at or after {@code horizon}. The horizon is set when the index
+ * is built and advanced by the eviction job; a query starting before it (or before the first build) is a miss
+ * and the caller falls back to the repository. EventServiceImpl pushes snapshots after each command commits.
+ * Snapshots carry the entity version so a late, older write (e.g. the startup load racing a command) never
+ * overwrites a newer one.
+ *
+ * Reads: each indexed event is mapped to its EventDto once, when it is written, and never modified afterwards.
+ * Queries are answered from an unmodifiable ordered list of those DTOs that is rebuilt only after the index
+ * changes, so a hit allocates no rows; callers share the list and its elements and must not mutate them.
+ *
+ * Stamps: {@link #stamp} is the database's list stamp (count and max updated_at of the covered rows) computed
+ * from memory, so an ETag built from it matches the one any instance, warm or cold, would build for that data.
+ *
+ * Freshness across instances: local commands are applied immediately; a catch-up poll re-reads rows whose
+ * updated_at moved since the last pass (writes made on other instances) and drops indexed ids that are no
+ * longer PUBLISHED and upcoming in the database (deletes, which updated_at cannot show). Another instance's
+ * change is therefore visible here within {@code refresh-interval}.
+ */
+@Component
+public class PublicUpcomingIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicUpcomingIndex.class);
+
+    record Key(LocalDateTime startAt, long eventId) {}
+
+    private static final Duration CATCH_UP_SLACK = Duration.ofSeconds(5); // commits land out of updated_at order
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::startAt).thenComparingLong(Key::eventId);
+
+    // live=false entries are tombstones remembering the version of a removal until the next eviction pass
+    private record Entry(Key key, Long version, boolean live) {}
+
+    private record Row(EventDto dto, Instant updatedAt) {}
+
+    // Ordered copy of byTime as of one generation; keys[i] is the key of rows.get(i), and maxUpdatedFrom[i] the
+    // latest updatedAt among rows i..end
+    private record View(long generation, Key[] keys, List<EventDto> rows, Instant[] maxUpdatedFrom) {
+
+        int indexOf(LocalDateTime from) {
+            int at = Arrays.binarySearch(keys, new Key(from, Long.MIN_VALUE), ORDER);
+            return at >= 0 ? at : -(at + 1);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Key, Row> byTime = new ConcurrentSkipListMap<>(ORDER);
+    private final ConcurrentHashMap<Long, Entry> byId = new ConcurrentHashMap<>();
+    // Bumped before and after every change to byTime, so a view built while a change was in flight is never reused
+    private final AtomicLong generation = new AtomicLong();
+    private volatile View view;
+
+    private final EventRepository eventRepository;
+    private final EventMapper mapper;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile LocalDateTime horizon; // null until the first build completes
+    private volatile Instant watermark; // updated_at already applied by rebuild/catch-up
+
+    @Autowired
+    public PublicUpcomingIndex(EventRepository eventRepository,
+                               @Qualifier("eventMapperImpl") EventMapper mapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.events.upcoming-index.enabled:true}") boolean enabled) {
+        this(eventRepository, mapper, meterRegistry, enabled, Clock.systemUTC());
+    }
+
+    PublicUpcomingIndex(EventRepository eventRepository, EventMapper mapper, MeterRegistry meterRegistry, boolean enabled, Clock clock) {
+        this.eventRepository = eventRepository;
+        this.mapper = mapper;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.hits = Counter.builder("events.upcoming.index.requests").tag("result", "hit")
+                .description("Public upcoming queries served from the in-memory index").register(meterRegistry);
+        this.misses = Counter.builder("events.upcoming.index.requests").tag("result", "miss")
+                .description("Public upcoming queries that fell back to the database").register(meterRegistry);
+        Gauge.builder("events.upcoming.index.size", byTime, ConcurrentSkipListMap::size)
+                .description("PUBLISHED upcoming events held in the index").register(meterRegistry);
+    }
+
+    //=========================
+    // Queries
+    //=========================
+
+    /**
+     * Upcoming PUBLISHED events starting at or after {@code from}, ascending, capped at {@code limit}.
+     * Empty when the index cannot answer (not built yet, disabled, or {@code from} is before the horizon).
+     */
+    public Optional<List<EventDto>> find(LocalDateTime from, int limit) {
+        LocalDateTime covered = horizon;
+        if (!enabled || covered == null || from == null || from.isBefore(covered)) {
+            misses.increment();
+            return Optional.empty();
+        }
+        View current = view();
+        int start = current.indexOf(from);
+        int end = (int) Math.min(current.rows().size(), (long) start + Math.max(limit, 1));
+        hits.increment();
+        return Optional.of(start == 0 && end == current.rows().size() ? current.rows() : current.rows().subList(start, end));
+    }
+
+    public int size() {
+        return byTime.size();
+    }
+
+    /**
+     * Count and max updatedAt of the entries at or after {@code from}: what {@code EventRepository.stamp} returns
+     * for the same query (the count shrinks as events start, even before eviction runs).
+     * Empty under the same conditions that make {@link #find} miss. Does not count as a hit or miss.
+     */
+    public Optional<ListStamp> stamp(LocalDateTime from) {
+        LocalDateTime covered = horizon;
+        if (!enabled || covered == null || from == null || from.isBefore(covered)) {
+            return Optional.empty();
+        }
+        View current = view();
+        int start = current.indexOf(from);
+        int remaining = current.rows().size() - start;
+        return Optional.of(new ListStamp(remaining, remaining == 0 ? null : current.maxUpdatedFrom()[start]));
+    }
+
+    //=========================
+    // Maintenance
+    //=========================
+
+    /** Rebuilds from the database once the application is up. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            log.info("Public upcoming index disabled (app.events.upcoming-index.enabled=false)");
+            return;
+        }
+        LocalDateTime from = now();
+        Instant startedAt = clock.instant();
+        List<EventSummaryVersionView> published = eventRepository.findSummaryVersionsByStatusAndStartAtFrom(EventStatus.PUBLISHED, from);
+        int loaded = 0;
+        if (published != null) {
+            for (EventSummaryVersionView row : published) {
+                upsert(row, from);
+                loaded++;
+            }
+        }
+        horizon = from;
+        // Anything written while loading is re-read by the first catch-up
+        watermark = startedAt;
+        log.info("Public upcoming index built: {} events from {}", loaded, from);
+    }
+
+    /** Drops events that have started and advances the horizon; also clears removal tombstones. */
+    @Scheduled(fixedDelayString = "${app.events.upcoming-index.evict-interval:PT1M}",
+               initialDelayString = "${app.events.upcoming-index.evict-interval:PT1M}")
+    public void evictPast() {
+        if (!enabled || horizon == null) {
+            return;
+        }
+        LocalDateTime cutoff = now();
+        int before = byTime.size();
+        // Advance the horizon first so concurrent readers asking for earlier times fall back to the database
+        horizon = cutoff;
+        changing(() -> byTime.headMap(new Key(cutoff, Long.MIN_VALUE), false).clear());
+        byId.entrySet().removeIf(en -> !en.getValue().live() || en.getValue().key().startAt().isBefore(cutoff));
+        log.debug("Public upcoming index evicted {} past events (cutoff={}, size={})", before - byTime.size(), cutoff, byTime.size());
+    }
+
+    /**
+     * Re-reads events changed since the last pass and removes indexed events the database no longer has as
+     * PUBLISHED and upcoming. Two queries per pass, neither loading entities: summary rows by updated_at
+     * (usually none) and the upcoming PUBLISHED ids.
+     */
+    @Scheduled(fixedDelayString = "${app.events.upcoming-index.refresh-interval:PT30S}",
+               initialDelayString = "${app.events.upcoming-index.refresh-interval:PT30S}")
+    public void catchUp() {
+        Instant since = watermark;
+        LocalDateTime from = horizon;
+        if (!enabled || since == null || from == null) {
+            return;
+        }
+        Instant next = clock.instant();
+
+        // Removals first, against a snapshot taken before the id query: an entry replaced by a local write
+        // meanwhile is a different Entry instance and is left alone
+        Map<Long, Entry> before = new HashMap<>();
+        byId.forEach((id, e) -> {
+            if (e.live() && !e.key().startAt().isBefore(from)) before.put(id, e);
+        });
+        Set<Long> inDb = new HashSet<>(eventRepository.findIdsByStatusAndStartAtFrom(EventStatus.PUBLISHED, from));
+        AtomicInteger removed = new AtomicInteger();
+        for (Map.Entry<Long, Entry> en : before.entrySet()) {
+            if (inDb.contains(en.getKey())) continue;
+            Entry seen = en.getValue();
+            byId.computeIfPresent(en.getKey(), (id, cur) -> {
+                if (cur != seen) return cur;
+                changing(() -> byTime.remove(cur.key()));
+                removed.incrementAndGet();
+                return new Entry(cur.key(), cur.version(), false);
+            });
+        }
+
+        List<EventSummaryVersionView> changed = eventRepository.findSummaryVersionsUpdatedSince(since.minus(CATCH_UP_SLACK));
+        if (changed != null) {
+            for (EventSummaryVersionView row : changed) {
+                upsert(row, from);
+            }
+        }
+        watermark = next;
+        if (removed.get() > 0 || (changed != null && !changed.isEmpty())) {
+            log.debug("Public upcoming index caught up: {} changed, {} removed since {}",
+                    changed == null ? 0 : changed.size(), removed.get(), since);
+        }
+    }
+
+    /** Applies the committed state of an event: indexed when PUBLISHED and not yet started, removed otherwise. */
+    public void onSaved(EventSummaryVersionView snapshot) {
+        if (!enabled || snapshot == null || snapshot.eventId() == null) {
+            return;
+        }
+        LocalDateTime covered = horizon;
+        upsert(snapshot, covered == null ? now() : covered);
+    }
+
+    public void onDeleted(Long eventId) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        byId.compute(eventId, (id, prev) -> {
+            if (prev != null && prev.live()) {
+                changing(() -> byTime.remove(prev.key()));
+            }
+            // Deleted rows never come back; a max-version tombstone blocks any in-flight stale load
+            return new Entry(prev == null ? null : prev.key(), Long.MAX_VALUE, false);
+        });
+    }
+
+    private void upsert(EventSummaryVersionView row, LocalDateTime from) {
+        boolean eligible = row.status() == EventStatus.PUBLISHED
+                && row.startAt() != null
+                && !row.startAt().isBefore(from);
+        Key key = row.startAt() == null ? null : new Key(row.startAt(), row.eventId());
+        Row stored = eligible ? new Row(mapper.toDto(row.summary()), row.updatedAt()) : null;
+        Long version = row.version();
+        byId.compute(row.eventId(), (id, prev) -> {
+            if (prev != null && isStale(version, prev.version())) {
+                return prev;
+            }
+            if (prev != null && prev.live()) {
+                changing(() -> byTime.remove(prev.key()));
+            }
+            if (eligible) {
+                changing(() -> byTime.put(key, stored));
+                return new Entry(key, version, true);
+            }
+            return new Entry(key, version, false);
+        });
+    }
+
+    private void changing(Runnable change) {
+        generation.incrementAndGet();
+        change.run();
+        generation.incrementAndGet();
+    }
+
+    // Rebuilt at most once per generation; concurrent rebuilds are harmless (a stale one fails the check next time)
+    private View view() {
+        long gen = generation.get();
+        View current = view;
+        if (current != null && current.generation() == gen) {
+            return current;
+        }
+        List<Key> keys = new ArrayList<>(byTime.size());
+        List<Row> rows = new ArrayList<>(byTime.size());
+        byTime.forEach((k, row) -> {
+            keys.add(k);
+            rows.add(row);
+        });
+        Instant[] maxUpdatedFrom = new Instant[rows.size()];
+        Instant max = null;
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            Instant t = rows.get(i).updatedAt();
+            if (t != null && (max == null || t.isAfter(max))) max = t;
+            maxUpdatedFrom[i] = max;
+        }
+        View built = new View(gen, keys.toArray(new Key[0]), rows.stream().map(Row::dto).toList(), maxUpdatedFrom);
+        view = built;
+        return built;
+    }
+
+    private static boolean isStale(Long incoming, Long current) {
+        return incoming != null && current != null && incoming < current;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+}
@@ -0,0 +1,40 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the admin role-request queue: createdAt and id of the last row returned.
+ * The queue only walks forward (newest first), so unlike EventCursor there is no field, direction or
+ * backward flag. Layout (before URL-safe Base64): {@code v1|<createdAt ISO-8601>|<id>}.
+ */
+record RoleRequestCursor(OffsetDateTime createdAt, String id) {
+
+    private static final String VERSION = "v1";
+
+    String encode() {
+        String raw = VERSION + '|' + createdAt + '|' + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Parses a token produced by {@link #encode()}; throws IllegalArgumentException (400) when malformed. */
+    static RoleRequestCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split("\\|", 3);
+        if (parts.length != 3 || !VERSION.equals(parts[0]) || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return new RoleRequestCursor(OffsetDateTime.parse(parts[1]), parts[2]);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
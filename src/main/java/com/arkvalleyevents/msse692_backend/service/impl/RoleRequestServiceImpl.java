@@ -2,11 +2,15 @@ package com.arkvalleyevents.msse692_backend.service.impl;
 
 import com.arkvalleyevents.msse692_backend.dto.request.RoleRequestCreateDto;
 import com.arkvalleyevents.msse692_backend.dto.request.RoleRequestDecisionDto;
+import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestCursorPageResponse;
 import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestDto;
+import com.arkvalleyevents.msse692_backend.logging.AuditLog;
 import com.arkvalleyevents.msse692_backend.model.RoleRequest;
 import com.arkvalleyevents.msse692_backend.model.RoleRequestStatus;
+import com.arkvalleyevents.msse692_backend.repository.RequestedRoleRow;
 import com.arkvalleyevents.msse692_backend.repository.RoleRequestRepository;
 import com.arkvalleyevents.msse692_backend.security.context.UserContextProvider;
+import com.arkvalleyevents.msse692_backend.service.CountMode;
 import com.arkvalleyevents.msse692_backend.service.RoleRequestService;
 import com.arkvalleyevents.msse692_backend.service.UserRoleService;
 import jakarta.persistence.EntityNotFoundException;
@@ -15,17 +19,22 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,13 +46,16 @@ public class RoleRequestServiceImpl implements RoleRequestService {
     private final RoleRequestRepository repository;
     private final UserRoleService userRoleService;
     private final UserContextProvider userContextProvider;
+    private final ApproximateCountCache countCache;
 
     public RoleRequestServiceImpl(RoleRequestRepository repository,
                                   UserRoleService userRoleService,
-                                  UserContextProvider userContextProvider) {
+                                  UserContextProvider userContextProvider,
+                                  ApproximateCountCache countCache) {
         this.repository = repository;
         this.userRoleService = userRoleService;
         this.userContextProvider = userContextProvider;
+        this.countCache = countCache;
     }
 
     @Override
@@ -55,7 +67,8 @@ public class RoleRequestServiceImpl implements RoleRequestService {
         // Guard: only one PENDING per requester (service-level; DB partial index can come later)
         boolean alreadyPending = repository.existsByRequesterUidAndStatus(requesterUid, RoleRequestStatus.PENDING);
         if (alreadyPending) {
-            audit("DUPLICATE_REQUEST_BLOCKED", "requesterUid", requesterUid, "roles", normalizedRoles, "outcome", "FAILURE", "error", "ALREADY_PENDING");
+            AuditLog.event("DUPLICATE_REQUEST_BLOCKED").with("requesterUid", requesterUid).with("roles", normalizedRoles)
+                    .with("outcome", "FAILURE").with("error", "ALREADY_PENDING").log();
             throw new IllegalStateException("Existing PENDING role request for requesterUid=" + requesterUid);
         }
 
@@ -68,7 +81,10 @@ public class RoleRequestServiceImpl implements RoleRequestService {
 
         RoleRequest saved = repository.save(entity);
         Long actorId = userContextProvider.current().userId();
-        audit("CREATE_REQUEST", "actorId", actorId, "requesterUid", requesterUid, "requestId", saved.getId(), "roles", saved.getRequestedRoles(), "reasonLen", saved.getReason() != null ? saved.getReason().length() : 0, "status", saved.getStatus(), "outcome", "SUCCESS", "version", saved.getVersion());
+        AuditLog.event("CREATE_REQUEST").with("actorId", actorId).with("requesterUid", requesterUid)
+                .with("requestId", saved.getId()).with("roles", saved.getRequestedRoles())
+                .with("reasonLen", saved.getReason() != null ? saved.getReason().length() : 0)
+                .with("status", saved.getStatus()).with("outcome", "SUCCESS").with("version", saved.getVersion()).log();
         return toDto(saved);
     }
 
@@ -80,7 +96,7 @@ public class RoleRequestServiceImpl implements RoleRequestService {
         Page<RoleRequest> page = status
                 .map(s -> repository.findByRequesterUidAndStatus(requesterUid, s, pageable))
                 .orElseGet(() -> repository.findByRequesterUid(requesterUid, pageable));
-        List<RoleRequestDto> content = page.getContent().stream().map(this::toDto).collect(Collectors.toList());
+        List<RoleRequestDto> content = toDtos(page.getContent());
         return new PageImpl<>(content, pageable, page.getTotalElements());
     }
 
@@ -103,7 +119,9 @@ public class RoleRequestServiceImpl implements RoleRequestService {
         entity.setDecidedAt(OffsetDateTime.now());
         RoleRequest saved = repository.save(entity);
         Long actorId = userContextProvider.current().userId();
-        audit("CANCEL_REQUEST", "actorId", actorId, "requesterUid", requesterUid, "requestId", id, "from", fromStatus, "to", saved.getStatus(), "outcome", "SUCCESS", "version", saved.getVersion());
+        AuditLog.event("CANCEL_REQUEST").with("actorId", actorId).with("requesterUid", requesterUid).with("requestId", id)
+                .with("from", fromStatus).with("to", saved.getStatus()).with("outcome", "SUCCESS")
+                .with("version", saved.getVersion()).log();
         return toDto(saved);
     }
 
@@ -122,12 +140,63 @@ public class RoleRequestServiceImpl implements RoleRequestService {
         } else {
             page = repository.findAll(pageable);
         }
-        List<RoleRequestDto> content = page.getContent().stream().map(this::toDto).collect(Collectors.toList());
+        List<RoleRequestDto> content = toDtos(page.getContent());
         Long actorId = userContextProvider.current().userId();
         log.info("role-request adminList: actorId={} status={} search={} returned={} page={} total={}", actorId, status.orElse(null), search.orElse(null), content.size(), pageable, page.getTotalElements());
         return new PageImpl<>(content, pageable, page.getTotalElements());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<RoleRequestDto> adminList(Optional<RoleRequestStatus> status, Optional<String> search, Pageable pageable, CountMode countMode) {
+        if (countMode == null || countMode == CountMode.EXACT) {
+            return adminList(status, search, pageable);
+        }
+        if (pageable == null) throw new IllegalArgumentException("pageable is required");
+        Slice<RoleRequest> slice;
+        LongSupplier exactCount;
+        if (search.isPresent() && status.isPresent()) {
+            slice = repository.findSliceByRequesterUidAndStatus(search.get(), status.get(), pageable);
+            exactCount = () -> repository.countByRequesterUidAndStatus(search.get(), status.get());
+        } else if (search.isPresent()) {
+            slice = repository.findSliceByRequesterUid(search.get(), pageable);
+            exactCount = () -> repository.countByRequesterUid(search.get());
+        } else if (status.isPresent()) {
+            slice = repository.findSliceByStatus(status.get(), pageable);
+            exactCount = () -> repository.countByStatus(status.get());
+        } else {
+            slice = repository.findSliceBy(pageable);
+            exactCount = repository::count;
+        }
+        String countKey = "role-requests|" + status.orElse(null) + "|" + search.orElse(null);
+        Map<String, List<String>> roles = requestedRoles(slice.getContent());
+        Slice<RoleRequestDto> result = countCache.apply(slice.map(r -> toDto(r, roles.get(r.getId()))), countMode, countKey, exactCount);
+        Long actorId = userContextProvider.current().userId();
+        log.info("role-request adminList: actorId={} status={} search={} returned={} page={} count={} hasNext={}", actorId, status.orElse(null), search.orElse(null), result.getNumberOfElements(), pageable, countMode, result.hasNext());
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RoleRequestCursorPageResponse adminQueue(Optional<RoleRequestStatus> status, Optional<String> search, String cursor, int size) {
+        int limit = Math.max(size, 1);
+        RoleRequestCursor after = (cursor == null || cursor.isBlank()) ? null : RoleRequestCursor.decode(cursor);
+        // One extra row tells whether another page exists without counting
+        List<RoleRequest> rows = repository.findQueue(status.orElse(null), search.orElse(null),
+                after != null ? after.createdAt() : null, after != null ? after.id() : null, limit + 1);
+        boolean more = rows.size() > limit;
+        List<RoleRequest> window = more ? rows.subList(0, limit) : rows;
+        String next = null;
+        if (more) {
+            RoleRequest last = window.get(window.size() - 1);
+            next = new RoleRequestCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        List<RoleRequestDto> items = toDtos(window);
+        Long actorId = userContextProvider.current().userId();
+        log.info("role-request adminQueue: actorId={} status={} search={} returned={} size={} hasNext={}", actorId, status.orElse(null), search.orElse(null), items.size(), limit, next != null);
+        return RoleRequestCursorPageResponse.of(items, limit, next);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public RoleRequestDto get(UUID id) {
@@ -154,11 +223,15 @@ public class RoleRequestServiceImpl implements RoleRequestService {
         entity.setDecidedAt(OffsetDateTime.now());
         RoleRequest saved = repository.save(entity);
 
-        // Apply roles to user and sync claims via existing service
+        // Apply roles to user; addRoles queues the claims push in this transaction (claims outbox)
         userRoleService.addRoles(saved.getRequesterUid(), saved.getRequestedRoles());
-        // userRoleService itself logs and performs claims sync; we only log decision here
+        // userRoleService itself logs the role change; we only log decision here
         Long actorId = userContextProvider.current().userId();
-        audit("APPROVE_REQUEST", "actorId", actorId, "approverUid", approverUid, "requesterUid", saved.getRequesterUid(), "requestId", id, "rolesGranted", saved.getRequestedRoles(), "from", fromStatus, "to", saved.getStatus(), "noteLen", saved.getApproverNote() != null ? saved.getApproverNote().length() : 0, "outcome", "SUCCESS", "version", saved.getVersion());
+        AuditLog.event("APPROVE_REQUEST").with("actorId", actorId).with("approverUid", approverUid)
+                .with("requesterUid", saved.getRequesterUid()).with("requestId", id).with("rolesGranted", saved.getRequestedRoles())
+                .with("from", fromStatus).with("to", saved.getStatus())
+                .with("noteLen", saved.getApproverNote() != null ? saved.getApproverNote().length() : 0)
+                .with("outcome", "SUCCESS").with("version", saved.getVersion()).log();
         return toDto(saved);
     }
 
@@ -179,7 +252,11 @@ public class RoleRequestServiceImpl implements RoleRequestService {
         entity.setDecidedAt(OffsetDateTime.now());
         RoleRequest saved = repository.save(entity);
         Long actorId = userContextProvider.current().userId();
-        audit("REJECT_REQUEST", "actorId", actorId, "approverUid", approverUid, "requesterUid", saved.getRequesterUid(), "requestId", id, "from", fromStatus, "to", saved.getStatus(), "noteLen", saved.getApproverNote() != null ? saved.getApproverNote().length() : 0, "outcome", "SUCCESS", "version", saved.getVersion());
+        AuditLog.event("REJECT_REQUEST").with("actorId", actorId).with("approverUid", approverUid)
+                .with("requesterUid", saved.getRequesterUid()).with("requestId", id)
+                .with("from", fromStatus).with("to", saved.getStatus())
+                .with("noteLen", saved.getApproverNote() != null ? saved.getApproverNote().length() : 0)
+                .with("outcome", "SUCCESS").with("version", saved.getVersion()).log();
         return toDto(saved);
     }
 
@@ -207,11 +284,37 @@ public class RoleRequestServiceImpl implements RoleRequestService {
     }
 
     private RoleRequestDto toDto(RoleRequest entity) {
+        return toDto(entity, entity.getRequestedRoles());
+    }
+
+    // Page of DTOs with the roles of every row loaded by one IN query (2 statements per page, whatever the size)
+    private List<RoleRequestDto> toDtos(List<RoleRequest> entities) {
+        Map<String, List<String>> roles = requestedRoles(entities);
+        List<RoleRequestDto> out = new ArrayList<>(entities.size());
+        for (RoleRequest e : entities) {
+            out.add(toDto(e, roles.get(e.getId())));
+        }
+        return out;
+    }
+
+    private Map<String, List<String>> requestedRoles(List<RoleRequest> entities) {
+        if (entities.isEmpty()) {
+            return Map.of();
+        }
+        List<String> ids = entities.stream().map(RoleRequest::getId).toList();
+        Map<String, List<String>> byId = new HashMap<>();
+        for (RequestedRoleRow row : repository.findRequestedRoles(ids)) {
+            byId.computeIfAbsent(row.requestId(), k -> new ArrayList<>()).add(row.role());
+        }
+        return byId;
+    }
+
+    private RoleRequestDto toDto(RoleRequest entity, Collection<String> roles) {
         RoleRequestDto dto = new RoleRequestDto();
         dto.setId(entity.getId());
         dto.setRequesterUid(entity.getRequesterUid());
         // stable ordering for deterministic tests / UI
-        List<String> sortedRoles = entity.getRequestedRoles() == null ? new ArrayList<>() : entity.getRequestedRoles().stream()
+        List<String> sortedRoles = roles == null ? new ArrayList<>() : roles.stream()
                 .sorted(Comparator.naturalOrder())
                 .collect(Collectors.toList());
         dto.setRequestedRoles(sortedRoles);
@@ -241,31 +344,4 @@ public class RoleRequestServiceImpl implements RoleRequestService {
             throw new IllegalArgumentException(name + " is required");
         }
     }
-
-    private void audit(String event, Object... kv) {
-        StringBuilder sb = new StringBuilder("audit=true event=").append(event);
-        for (int i = 0; i + 1 < kv.length; i += 2) {
-            Object key = kv[i];
-            Object val = kv[i + 1];
-            if (key == null) continue;
-            sb.append(' ').append(key).append('=');
-            if (val == null) {
-                sb.append("null");
-            } else if (val instanceof Iterable<?>) {
-                String joined = ((Iterable<?>) val).iterator().hasNext() ?
-                        toSortedList((Iterable<?>) val).toString() : "[]";
-                sb.append(joined);
-            } else {
-                sb.append(val);
-            }
-        }
-        log.info(sb.toString());
-    }
-
-    private List<String> toSortedList(Iterable<?> it) {
-        List<String> list = new ArrayList<>();
-        for (Object o : it) if (o != null) list.add(o.toString());
-        list.sort(Comparator.naturalOrder());
-        return list;
-    }
 }
@@ -1,15 +1,20 @@
 package com.arkvalleyevents.msse692_backend.service.impl;
 
+import com.arkvalleyevents.msse692_backend.logging.AuditLog;
 import com.arkvalleyevents.msse692_backend.model.AppUser;
+import com.arkvalleyevents.msse692_backend.model.RoleMask;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
+import com.arkvalleyevents.msse692_backend.security.context.RoleAuthorityCache;
 import com.arkvalleyevents.msse692_backend.security.context.UserContextProvider;
 import com.arkvalleyevents.msse692_backend.service.FirebaseClaimsSyncService;
+import com.arkvalleyevents.msse692_backend.service.FirebaseClaimsSyncService.Outcome;
+import com.arkvalleyevents.msse692_backend.service.FirebaseClaimsSyncService.SyncCounts;
 import com.arkvalleyevents.msse692_backend.service.UserRoleService;
 import jakarta.persistence.EntityNotFoundException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.HashSet;
 import java.util.Locale;
@@ -20,27 +25,32 @@ import java.util.stream.Collectors;
 @Service
 public class UserRoleServiceImpl implements UserRoleService {
 
-    private static final Logger log = LoggerFactory.getLogger(UserRoleServiceImpl.class);
-
     private static final Set<String> ALLOWED_ROLES = Set.of("USER", "EDITOR", "ADMIN");
 
     private final AppUserRepository appUserRepository;
     private final FirebaseClaimsSyncService claimsSyncService;
     private final UserContextProvider userContextProvider;
+    private final RoleAuthorityCache roleAuthorityCache;
+    private final ClaimsOutboxDispatcher claimsOutbox;
 
     public UserRoleServiceImpl(AppUserRepository appUserRepository,
                                FirebaseClaimsSyncService claimsSyncService,
-                               UserContextProvider userContextProvider) {
+                               UserContextProvider userContextProvider,
+                               RoleAuthorityCache roleAuthorityCache,
+                               ClaimsOutboxDispatcher claimsOutbox) {
         this.appUserRepository = appUserRepository;
         this.claimsSyncService = claimsSyncService;
         this.userContextProvider = userContextProvider;
+        this.roleAuthorityCache = roleAuthorityCache;
+        this.claimsOutbox = claimsOutbox;
     }
 
     @Override
     @Transactional(readOnly = true)
     public RolesView getRoles(String uid) {
         AppUser user = getUserOr404(uid);
-        return new RolesView(user.getFirebaseUid(), user.getRoles());
+        // role_mask mirrors app_user_roles, so this needs no collection load
+        return new RolesView(user.getFirebaseUid(), RoleMask.names(user.getRoleMask()));
     }
 
     @Override
@@ -58,12 +68,16 @@ public class UserRoleServiceImpl implements UserRoleService {
         roles.addAll(normalized);
         user.setRoles(roles);
         appUserRepository.save(user);
+        evictCachedRoles(user.getFirebaseUid());
 
         Long actorId = userContextProvider.current().userId();
-        audit("ADMIN_ADD_ROLES", "actorId", actorId, "targetUid", uid, "added", normalized, "resulting", roles, "outcome", "SUCCESS");
+        AuditLog.event("ADMIN_ADD_ROLES").with("actorId", actorId).with("targetUid", uid)
+            .with("added", normalized).with("resulting", roles).with("outcome", "SUCCESS").log();
 
-        claimsSyncService.syncUserRolesByUid(user.getFirebaseUid(), true);
-        return new RolesView(user.getFirebaseUid(), user.getRoles());
+        // Pushed after commit by ClaimsOutboxDispatcher; re-adding roles the user already has leaves the hash
+        // unchanged and costs no Firebase call
+        claimsOutbox.enqueue(user.getFirebaseUid());
+        return new RolesView(user.getFirebaseUid(), RoleMask.names(user.getRoleMask()));
     }
 
     @Override
@@ -78,25 +92,55 @@ public class UserRoleServiceImpl implements UserRoleService {
         AppUser user = getUserOr404(uid);
         boolean removed = user.getRoles() != null && user.getRoles().remove(normalized);
         if (removed) {
+            user.setRoleMask(RoleMask.of(user.getRoles()));
             appUserRepository.save(user);
+            evictCachedRoles(user.getFirebaseUid());
             Long actorId = userContextProvider.current().userId();
-            audit("ADMIN_REMOVE_ROLE", "actorId", actorId, "targetUid", uid, "removed", normalized, "resulting", user.getRoles(), "outcome", "SUCCESS");
-            claimsSyncService.syncUserRolesByUid(user.getFirebaseUid(), true);
+            AuditLog.event("ADMIN_REMOVE_ROLE").with("actorId", actorId).with("targetUid", uid)
+                .with("removed", normalized).with("resulting", user.getRoles()).with("outcome", "SUCCESS").log();
+            claimsOutbox.enqueue(user.getFirebaseUid());
         } else {
             Long actorId = userContextProvider.current().userId();
-            audit("ADMIN_REMOVE_ROLE", "actorId", actorId, "targetUid", uid, "removed", normalized, "outcome", "NOT_PRESENT");
+            AuditLog.event("ADMIN_REMOVE_ROLE").with("actorId", actorId).with("targetUid", uid)
+                .with("removed", normalized).with("outcome", "NOT_PRESENT").log();
         }
         return new RemoveRoleResult(removed, normalized, uid);
     }
 
+    // Synchronous on purpose (the admin wants the outcome) but outside a transaction, so no connection is held
+    // across the Firebase call
     @Override
-    @Transactional(readOnly = true)
     public SyncResult syncClaims(String uid, boolean force) {
         AppUser user = getUserOr404(uid);
         Long actorId = userContextProvider.current().userId();
-        audit("ADMIN_SYNC_CLAIMS", "actorId", actorId, "targetUid", uid, "force", force, "outcome", "SUCCESS");
-        claimsSyncService.syncUserRolesByUid(user.getFirebaseUid(), force);
-        return new SyncResult(user.getFirebaseUid(), force);
+        Outcome outcome = claimsSyncService.syncUserRolesByUid(user.getFirebaseUid(), force);
+        AuditLog.event("ADMIN_SYNC_CLAIMS").with("actorId", actorId).with("targetUid", uid)
+            .with("force", force).with("outcome", outcome).log();
+        return new SyncResult(user.getFirebaseUid(), force, outcome);
+    }
+
+    @Override
+    public SyncCounts syncAllClaims(boolean force) {
+        Long actorId = userContextProvider.current().userId();
+        SyncCounts counts = claimsSyncService.syncAllUsers(force);
+        AuditLog.event("ADMIN_SYNC_ALL_CLAIMS").with("actorId", actorId).with("force", force)
+            .with("pushed", counts.pushed()).with("skipped", counts.skipped()).with("failed", counts.failed()).log();
+        return counts;
+    }
+
+    // Tokens without a roles claim resolve through RoleAuthorityCache; evict once the new roles are committed
+    // (RoleRequestServiceImpl.approve grants through addRoles, so approvals land here too)
+    private void evictCachedRoles(String uid) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    roleAuthorityCache.invalidate(uid);
+                }
+            });
+        } else {
+            roleAuthorityCache.invalidate(uid);
+        }
     }
 
     private AppUser getUserOr404(String uid) {
@@ -120,29 +164,4 @@ public class UserRoleServiceImpl implements UserRoleService {
             throw new IllegalArgumentException("Unknown roles: " + unknown + ". Allowed: " + ALLOWED_ROLES);
         }
     }
-
-    private void audit(String event, Object... kv) {
-        StringBuilder sb = new StringBuilder("audit=true event=").append(event);
-        for (int i = 0; i + 1 < kv.length; i += 2) {
-            Object key = kv[i];
-            Object val = kv[i + 1];
-            if (key == null) continue;
-            sb.append(' ').append(key).append('=');
-            if (val == null) {
-                sb.append("null");
-            } else if (val instanceof Iterable<?>) {
-                sb.append(toSortedList((Iterable<?>) val));
-            } else {
-                sb.append(val);
-            }
-        }
-        log.info(sb.toString());
-    }
-
-    private java.util.List<String> toSortedList(Iterable<?> it) {
-        java.util.List<String> list = new java.util.ArrayList<>();
-        for (Object o : it) if (o != null) list.add(o.toString());
-        list.sort(java.util.Comparator.naturalOrder());
-        return list;
-    }
 }
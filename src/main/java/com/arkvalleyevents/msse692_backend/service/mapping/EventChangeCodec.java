@@ -0,0 +1,128 @@
+package com.arkvalleyevents.msse692_backend.service.mapping;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Compact field-level diff stored in event_audit.snapshot:
+ * <pre>{"v":7,"d":{"status":["DRAFT","PUBLISHED"],"eventDescription":[{"len":120,"crc32":"1c291ca3"},{"len":96,"crc32":"0b7e04d1"}]}}</pre>
+ * {@code v} is the event version the change produced; {@code d} holds [before, after] for changed columns only.
+ * The description LOB is never written, just its length and CRC-32, so a diff can say that it changed but
+ * not restore it.
+ */
+public final class EventChangeCodec {
+
+    private static final ObjectMapper READER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {};
+
+    /** A decoded snapshot: the resulting version and field -> [before, after]. */
+    public record Change(long version, Map<String, List<Object>> fields) {}
+
+    private EventChangeCodec() {}
+
+    /** Diff of {@code before} -> {@code after} at {@code version}; unchanged columns are left out. */
+    public static String encode(EventFieldState before, EventFieldState after, long version) {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append("{\"v\":").append(version).append(",\"d\":{");
+        boolean first = true;
+        for (int i = 0; i < EventFieldState.FIELDS.size(); i++) {
+            Object b = before.value(i);
+            Object a = after.value(i);
+            if (b == a || Objects.equals(b, a)) {
+                continue;
+            }
+            if (!first) sb.append(',');
+            first = false;
+            appendString(sb, EventFieldState.FIELDS.get(i));
+            sb.append(":[");
+            if (i == EventFieldState.LOB_INDEX) {
+                appendLobMarker(sb, (String) b);
+                sb.append(',');
+                appendLobMarker(sb, (String) a);
+            } else {
+                appendValue(sb, b);
+                sb.append(',');
+                appendValue(sb, a);
+            }
+            sb.append(']');
+        }
+        return sb.append("}}").toString();
+    }
+
+    /** Parses a snapshot written by {@link #encode}; null when the row has none or it is not a diff. */
+    @SuppressWarnings("unchecked")
+    public static Change decode(String snapshot) {
+        if (snapshot == null || snapshot.isBlank()) {
+            return null;
+        }
+        try {
+            Map<String, Object> root = READER.readValue(snapshot, MAP);
+            if (!(root.get("v") instanceof Number v) || !(root.get("d") instanceof Map<?, ?> d)) {
+                return null;
+            }
+            Map<String, List<Object>> fields = new LinkedHashMap<>();
+            ((Map<String, Object>) d).forEach((k, pair) -> {
+                if (pair instanceof List<?> l && l.size() == 2) {
+                    fields.put(k, (List<Object>) l);
+                }
+            });
+            return new Change(v.longValue(), Collections.unmodifiableMap(fields));
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private static void appendLobMarker(StringBuilder sb, String lob) {
+        if (lob == null) {
+            sb.append("null");
+            return;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(lob.getBytes(StandardCharsets.UTF_8));
+        sb.append("{\"len\":").append(lob.length()).append(",\"crc32\":\"");
+        String hex = Long.toHexString(crc.getValue());
+        for (int i = hex.length(); i < 8; i++) sb.append('0');
+        sb.append(hex).append("\"}");
+    }
+
+    private static void appendValue(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Number n) {
+            sb.append(n);
+        } else {
+            appendString(sb, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,44 @@
+package com.arkvalleyevents.msse692_backend.service.mapping;
+
+import com.arkvalleyevents.msse692_backend.model.Event;
+
+import java.util.List;
+
+/**
+ * The audited columns of one event row at a point in time. Capturing it on the request thread costs a few short
+ * strings (the description LOB is held by reference, never copied); comparing two states and serializing the
+ * difference happens later on the audit writer thread (EventChangeCodec).
+ *
+ * Values are held in their JSON form: strings, numbers or null. Join-table state (artists, image URLs) and the
+ * audit-maintained columns (updated_at, last_modified_by, version) are not part of it.
+ */
+public record EventFieldState(Object[] values) {
+
+    /** Column names, in {@link #values()} order. */
+    public static final List<String> FIELDS = List.of(
+            "slug", "eventName", "eventType", "startAt", "endAt", "eventLocation", "eventDescription", "status", "venueId");
+
+    /** Fields whose values are never written to a snapshot, only their length and checksum. */
+    public static final String LOB_FIELD = "eventDescription";
+
+    static final int LOB_INDEX = FIELDS.indexOf(LOB_FIELD);
+
+    public static EventFieldState of(Event e) {
+        return new EventFieldState(new Object[] {
+                e.getSlug(),
+                e.getEventName(),
+                e.getEventType() == null ? null : e.getEventType().name(),
+                e.getStartAt() == null ? null : e.getStartAt().toString(),
+                e.getEndAt() == null ? null : e.getEndAt().toString(),
+                e.getEventLocation(),
+                e.getEventDescription(),
+                e.getStatus() == null ? null : e.getStatus().name(),
+                // Identifier getter: does not initialize a lazy venue proxy
+                e.getVenue() == null ? null : e.getVenue().getVenueId()
+        });
+    }
+
+    public Object value(int index) {
+        return values[index];
+    }
+}
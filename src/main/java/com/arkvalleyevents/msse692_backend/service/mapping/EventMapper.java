@@ -5,6 +5,8 @@ import com.arkvalleyevents.msse692_backend.dto.request.UpdateEventDto;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDetailDto;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
 import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.repository.EventSummaryVersionView;
+import com.arkvalleyevents.msse692_backend.repository.EventSummaryView;
 import org.mapstruct.*;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -66,6 +68,19 @@ public interface EventMapper {
     })
     EventDto toDto(Event src);
 
+    // ---------- Projection row -> summary DTO (list queries that skip the LOB) ----------
+    @Mappings({
+            @Mapping(target = "type", source = "eventType"),
+            @Mapping(target = "typeDisplayName",
+                    expression = "java(src.eventType() != null ? src.eventType().getTypeDisplayName() : null)"),
+            @Mapping(target = "statusDisplayName",
+                    expression = "java(src.status() != null ? src.status().getStatusDisplayName() : null)")
+    })
+    EventDto toDto(EventSummaryView src);
+
+    // ---------- Entity -> projection row (post-commit snapshot for the public upcoming index) ----------
+    EventSummaryVersionView toSummaryVersionView(Event src);
+
          // ---------- To detail DTO ----------
         @Mappings({
             @Mapping(target = "type", source = "eventType"),
@@ -0,0 +1,87 @@
+package com.arkvalleyevents.msse692_backend.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded map whose entries expire at a time chosen by the caller on each put.
+ * When a put goes over the bound the least recently used entry is evicted, so a burst of new keys only pushes
+ * out the coldest ones. Expired entries are dropped when read and otherwise age out through LRU order.
+ *
+ * Times are plain longs in the units of the supplied clock ({@code System::nanoTime}, {@code Clock::millis})
+ * and compared as {@code now - expiresAt}, which is safe for nanoTime wrap-around. Thread-safe: one lock
+ * around an access-ordered LinkedHashMap, held only for the map operation itself.
+ */
+public final class BoundedTtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    private final LinkedHashMap<K, Entry<V>> map;
+    private final LongSupplier clock;
+
+    public BoundedTtlCache(int maxEntries, LongSupplier clock) {
+        int max = Math.max(maxEntries, 1);
+        this.clock = clock;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > max;
+            }
+        };
+    }
+
+    /** Current time of this cache's clock, for computing {@code expiresAt}. */
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    /** The live value for {@code key}, or null when absent or expired (an expired entry is removed). */
+    public V get(K key) {
+        long now = clock.getAsLong();
+        synchronized (map) {
+            Entry<V> e = map.get(key);
+            if (e == null) {
+                return null;
+            }
+            if (now - e.expiresAt() >= 0) {
+                map.remove(key);
+                return null;
+            }
+            return e.value();
+        }
+    }
+
+    public void put(K key, V value, long expiresAt) {
+        synchronized (map) {
+            map.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    public void remove(K key) {
+        synchronized (map) {
+            map.remove(key);
+        }
+    }
+
+    /** Removes every entry, live or expired, whose key and value match. Linear in the cache size. */
+    public void removeIf(BiPredicate<? super K, ? super V> filter) {
+        synchronized (map) {
+            map.entrySet().removeIf(en -> filter.test(en.getKey(), en.getValue().value()));
+        }
+    }
+
+    public void clear() {
+        synchronized (map) {
+            map.clear();
+        }
+    }
+
+    /** Entries held, including expired ones not yet read or evicted. */
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.arkvalleyevents.msse692_backend.util;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for entity tags on event resources.
+ * Strong tags identify one event revision ({@code "<eventId>-v<version>"}); weak tags identify a list
+ * result by a data stamp plus the request shape (paging/sort params) that selected it.
+ */
+public final class ETags {
+
+    private ETags() {}
+
+    /** Strong ETag for a single event revision, or null when the version is unknown. */
+    public static String strong(Long eventId, Long version) {
+        if (eventId == null || version == null) {
+            return null;
+        }
+        return "\"" + eventId + "-v" + version + "\"";
+    }
+
+    /** Weak ETag from a data stamp and the request parameters that shape the body; null when stamp is null. */
+    public static String weak(String stamp, Object... requestShape) {
+        if (stamp == null) {
+            return null;
+        }
+        return "W/\"" + stamp + "-" + Integer.toHexString(Arrays.hashCode(requestShape)) + "\"";
+    }
+
+    /**
+     * If-None-Match evaluation (RFC 9110 weak comparison): true when the header lists {@code etag} or is "*".
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        String target = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*") || opaque(c).equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
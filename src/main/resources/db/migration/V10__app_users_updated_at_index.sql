@@ -0,0 +1,6 @@
+-- V10__app_users_updated_at_index.sql
+-- AppUserSearchIndex catches up with writes made by other instances by polling
+-- app_users WHERE updated_at >= ? ORDER BY updated_at; without this index every poll scans the table.
+
+CREATE INDEX IF NOT EXISTS idx_app_users_updated_at
+    ON app_users (updated_at);
@@ -0,0 +1,19 @@
+-- V11__app_users_role_mask.sql
+-- Denormalized role bitmask (RoleMask: USER=1, EDITOR=2, ADMIN=4) so role filters and authority lookups read
+-- one app_users column instead of joining app_user_roles. app_user_roles stays the write-side record;
+-- UserRoleServiceImpl updates both in the same transaction.
+
+ALTER TABLE app_users
+    ADD COLUMN IF NOT EXISTS role_mask INT NOT NULL DEFAULT 0;
+
+-- Backfill from the existing role rows (case-insensitive, duplicates counted once; unknown roles ignored)
+UPDATE app_users u
+SET role_mask = COALESCE((
+    SELECT SUM(CASE r.role WHEN 'USER' THEN 1 WHEN 'EDITOR' THEN 2 WHEN 'ADMIN' THEN 4 ELSE 0 END)
+    FROM (SELECT DISTINCT user_id, UPPER(role) AS role FROM app_user_roles) r
+    WHERE r.user_id = u.id
+), 0);
+
+-- "Has any of these roles" is role_mask IN (<matching masks>); id trails for the default id-ordered pages
+CREATE INDEX IF NOT EXISTS idx_app_users_role_mask
+    ON app_users (role_mask, id);
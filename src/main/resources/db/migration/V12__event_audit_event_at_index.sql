@@ -0,0 +1,9 @@
+-- V12__event_audit_event_at_index.sql
+-- Audit history per event is read newest first and keyset-paged on (at, id)
+-- (EventAuditRepositoryCustom.findForEvent): event_id = ? [AND at/id seek] ORDER BY at DESC, id DESC.
+-- With this index the page comes back already ordered and LIMIT stops early; the compliance export walks
+-- the same index backwards. Leading event_id also serves fk_event_audit_event, so the V4 index is redundant.
+
+CREATE INDEX IF NOT EXISTS idx_event_audit_event_at
+    ON event_audit (event_id, at DESC, id DESC);
+DROP INDEX IF EXISTS idx_event_audit_event_id;
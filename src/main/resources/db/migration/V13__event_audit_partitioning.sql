@@ -0,0 +1,70 @@
+-- V13__event_audit_partitioning.sql
+-- event_audit becomes a range-partitioned table with one partition per calendar month (UTC), so the
+-- retention job (EventAuditRetentionJob) can drop a whole month instead of DELETE-ing it row by row, and
+-- inserts only maintain the indexes of the current month. Rows older than the retention window are
+-- archived to compressed files and summarized per event and day in event_audit_daily.
+--
+-- PostgreSQL cannot partition an existing table in place: the data is copied into the new table once here.
+-- The primary key must include the partition key, hence (id, at); ids still come from the same sequence.
+
+-- 1. Move the current table aside (index and pkey names are schema-wide, so they move too)
+ALTER TABLE event_audit RENAME TO event_audit_unpartitioned;
+ALTER TABLE event_audit_unpartitioned RENAME CONSTRAINT event_audit_pkey TO event_audit_unpartitioned_pkey;
+ALTER INDEX idx_event_audit_event_at RENAME TO idx_event_audit_unpartitioned_event_at;
+ALTER INDEX idx_event_audit_actor_user_id RENAME TO idx_event_audit_unpartitioned_actor_user_id;
+
+-- 2. Partitioned table with the same columns
+CREATE TABLE event_audit (
+    id BIGINT NOT NULL DEFAULT nextval('event_audit_id_seq'),
+    event_id BIGINT NOT NULL,
+    actor_user_id BIGINT NOT NULL,
+    action VARCHAR(20) NOT NULL, -- CREATE, UPDATE, DELETE
+    at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    snapshot JSONB,              -- field-level diff (EventChangeCodec)
+    CONSTRAINT event_audit_pkey PRIMARY KEY (id, at),
+    CONSTRAINT fk_event_audit_event FOREIGN KEY (event_id) REFERENCES event (event_id) ON DELETE CASCADE,
+    CONSTRAINT fk_event_audit_actor FOREIGN KEY (actor_user_id) REFERENCES app_users (id)
+) PARTITION BY RANGE (at);
+ALTER SEQUENCE event_audit_id_seq OWNED BY event_audit.id;
+
+-- Catches rows outside every monthly partition (the job creates months ahead, so normally empty)
+CREATE TABLE event_audit_default PARTITION OF event_audit DEFAULT;
+
+-- 3. Monthly partitions from the oldest existing row through two months ahead, named event_audit_yYYYYmMM
+DO $$
+DECLARE
+    m DATE := date_trunc('month', COALESCE((SELECT MIN(at) FROM event_audit_unpartitioned), NOW()) AT TIME ZONE 'UTC')::date;
+    last_month DATE := (date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '2 months')::date;
+BEGIN
+    WHILE m <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF event_audit FOR VALUES FROM (%L) TO (%L)',
+                       'event_audit_' || to_char(m, '"y"YYYY"m"MM'),
+                       m::timestamp AT TIME ZONE 'UTC',
+                       (m + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- 4. Partitioned indexes (created on every partition, present and future)
+CREATE INDEX idx_event_audit_event_at ON event_audit (event_id, at DESC, id DESC);
+CREATE INDEX idx_event_audit_actor_user_id ON event_audit (actor_user_id);
+
+-- 5. Copy the rows and drop the old table
+INSERT INTO event_audit (id, event_id, actor_user_id, action, at, snapshot)
+SELECT id, event_id, actor_user_id, action, at, snapshot FROM event_audit_unpartitioned;
+DROP TABLE event_audit_unpartitioned;
+
+-- 6. Per-event daily rollups of rows past retention; raw rows live on in the archive file named here
+CREATE TABLE event_audit_daily (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    audit_day DATE NOT NULL,           -- UTC day
+    create_count INTEGER NOT NULL,
+    update_count INTEGER NOT NULL,
+    delete_count INTEGER NOT NULL,
+    actor_count INTEGER NOT NULL,      -- distinct actors that day
+    first_at TIMESTAMPTZ NOT NULL,
+    last_at TIMESTAMPTZ NOT NULL,
+    archive_file VARCHAR(255),
+    CONSTRAINT uq_event_audit_daily_event_day UNIQUE (event_id, audit_day)
+);
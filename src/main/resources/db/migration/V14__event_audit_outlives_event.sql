@@ -0,0 +1,8 @@
+-- V14__event_audit_outlives_event.sql
+-- The audit trail has to outlive the event it describes. With ON DELETE CASCADE every event delete removed
+-- the event's history, including the DELETE audit written in the same transaction, so a deleted event left
+-- no record at all. event_audit.event_id now stays a plain reference like event_audit_daily.event_id, and
+-- audits for a delete can be written after commit like every other action (EventAuditServiceImpl).
+-- Dropping the constraint on the partitioned parent drops it from every partition.
+
+ALTER TABLE event_audit DROP CONSTRAINT IF EXISTS fk_event_audit_event;
@@ -0,0 +1,23 @@
+-- V7__event_listing_indexes.sql
+-- Composite indexes matching the event list access paths in EventServiceImpl (buildSpecification,
+-- keyset cursor, public upcoming feed, owner lists). Each trails with the sort key so the filtered rows
+-- come back already ordered and LIMIT can stop early; event_id is the keyset tie-break.
+-- Plain SQL (no opclasses, no CONCURRENTLY) so the same script runs on H2 for EventQueryPlanTest.
+
+-- Public / USER lists, upcoming feed and cursor paging: status = ? [AND start_at range] ORDER BY start_at, event_id
+CREATE INDEX IF NOT EXISTS idx_event_status_start_at
+    ON event (status, start_at, event_id);
+
+-- EDITOR "my events": created_by = ? [AND status = ?] ORDER BY start_at.
+-- Leading created_by also serves the fk_event_created_by lookups, so the V4 single-column index is redundant.
+CREATE INDEX IF NOT EXISTS idx_event_created_by_start_at
+    ON event (created_by, start_at, event_id);
+DROP INDEX IF EXISTS idx_event_created_by;
+
+-- Type lists (getEventsByType, eventType filter without status)
+CREATE INDEX IF NOT EXISTS idx_event_type_start_at
+    ON event (event_type, start_at);
+
+-- ADMIN date-range lists, listUpcoming and getEventsByDate: start_at range with no status filter
+CREATE INDEX IF NOT EXISTS idx_event_start_at
+    ON event (start_at, event_id);
@@ -0,0 +1,7 @@
+-- V8__app_user_claims_hash.sql
+-- Last roles_version hash successfully pushed to Firebase custom claims for the user.
+-- FirebaseClaimsSyncServiceImpl skips setCustomUserClaims when the current roles hash matches (unless forced).
+-- NULL means never pushed (or pushed before this column existed), so the first sync after deploy pushes once.
+
+ALTER TABLE app_users
+    ADD COLUMN IF NOT EXISTS claims_roles_hash VARCHAR(64);
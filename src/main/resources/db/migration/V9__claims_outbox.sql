@@ -0,0 +1,16 @@
+-- V9__claims_outbox.sql
+-- Transactional outbox for Firebase custom-claims propagation. UserRoleServiceImpl inserts a row in the same
+-- transaction as the role change; ClaimsOutboxDispatcher pushes due rows (coalesced per UID) and deletes them,
+-- or pushes next_attempt_at out with exponential backoff when the push fails.
+
+CREATE TABLE IF NOT EXISTS claims_outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    firebase_uid    VARCHAR(128) NOT NULL,
+    created_at      TIMESTAMPTZ NOT NULL,             -- commit-side enqueue time; lag is measured from here
+    attempts        INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ NOT NULL
+);
+
+-- Dispatcher poll: next_attempt_at <= now() ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_claims_outbox_next_attempt
+    ON claims_outbox (next_attempt_at, id);
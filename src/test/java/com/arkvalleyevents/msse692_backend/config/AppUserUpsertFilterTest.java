@@ -8,16 +8,27 @@ import com.arkvalleyevents.msse692_backend.model.AppUser;
 import com.arkvalleyevents.msse692_backend.model.Profile;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
 import com.arkvalleyevents.msse692_backend.repository.ProfileRepository;
+import com.arkvalleyevents.msse692_backend.security.context.AppUserIdentityCache;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentity;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentityScope;
+import com.arkvalleyevents.msse692_backend.service.impl.AppUserSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 
@@ -32,7 +43,7 @@ class AppUserUpsertFilterTest {
     void setUp() {
         appUserRepository = mock(AppUserRepository.class);
         profileRepository = mock(ProfileRepository.class);
-        filter = new AppUserUpsertFilter(appUserRepository, profileRepository);
+        filter = new AppUserUpsertFilter(appUserRepository, profileRepository, newCache(), mock(AppUserSearchIndex.class));
         // Ensure clean SecurityContext
         SecurityContextHolder.clearContext();
     }
@@ -147,4 +158,113 @@ class AppUserUpsertFilterTest {
         AppUser updated = captor.getValue();
         assertEquals("NewName", updated.getDisplayName(), "displayName should update when profile not completed");
     }
+
+    @Test
+    void unchangedClaims_secondRequestRunsNoQueries() throws Exception {
+        AppUser existing = existingUser(20L, "uid-5", "c@d.com", "Cara", "pic");
+        when(appUserRepository.findByFirebaseUid("uid-5")).thenReturn(Optional.of(existing));
+        when(profileRepository.findByUserId(20L)).thenReturn(Optional.empty());
+
+        runFilterWithJwt("uid-5", "c@d.com", "Cara", "pic");
+        runFilterWithJwt("uid-5", "c@d.com", "Cara", "pic");
+
+        verify(appUserRepository, times(1)).findByFirebaseUid("uid-5");
+        verify(profileRepository, times(1)).findByUserId(20L);
+        verify(appUserRepository, never()).save(any(AppUser.class));
+    }
+
+    @Test
+    void changedClaims_reloadUserButReuseCachedProfileFlag() throws Exception {
+        AppUser existing = existingUser(21L, "uid-6", "e@f.com", "Eve", "pic");
+        when(appUserRepository.findByFirebaseUid("uid-6")).thenReturn(Optional.of(existing));
+        Profile prof = new Profile();
+        prof.setCompleted(true);
+        when(profileRepository.findByUserId(21L)).thenReturn(Optional.of(prof));
+        when(appUserRepository.save(any(AppUser.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        runFilterWithJwt("uid-6", "e@f.com", "Eve", "pic");
+        runFilterWithJwt("uid-6", "e@f.com", "Eve Renamed", "newpic");
+
+        verify(appUserRepository, times(2)).findByFirebaseUid("uid-6");
+        verify(profileRepository, times(1)).findByUserId(21L);
+        ArgumentCaptor<AppUser> captor = ArgumentCaptor.forClass(AppUser.class);
+        verify(appUserRepository, times(1)).save(captor.capture());
+        assertEquals("Eve", captor.getValue().getDisplayName(), "cached completed flag still protects displayName");
+        assertEquals("newpic", captor.getValue().getPhotoUrl());
+    }
+
+    @Test
+    void invalidatedUser_isResolvedFromDatabaseAgain() throws Exception {
+        AppUserIdentityCache cache = newCache();
+        filter = new AppUserUpsertFilter(appUserRepository, profileRepository, cache, mock(AppUserSearchIndex.class));
+        AppUser existing = existingUser(22L, "uid-7", "g@h.com", "Gus", "pic");
+        when(appUserRepository.findByFirebaseUid("uid-7")).thenReturn(Optional.of(existing));
+        when(profileRepository.findByUserId(22L)).thenReturn(Optional.empty());
+
+        runFilterWithJwt("uid-7", "g@h.com", "Gus", "pic");
+        cache.invalidateUser(22L);
+        runFilterWithJwt("uid-7", "g@h.com", "Gus", "pic");
+
+        verify(appUserRepository, times(2)).findByFirebaseUid("uid-7");
+        verify(profileRepository, times(2)).findByUserId(22L);
+    }
+
+    @Test
+    void identityIsBoundForTheChain_andClearedEvenWhenTheChainThrows() throws Exception {
+        AppUser existing = existingUser(23L, "uid-8", "i@j.com", "Ivy", "pic");
+        when(appUserRepository.findByFirebaseUid("uid-8")).thenReturn(Optional.of(existing));
+        when(profileRepository.findByUserId(23L)).thenReturn(Optional.empty());
+        Jwt jwt = Jwt.withTokenValue("tkn").header("alg", "none")
+            .claim("sub", "uid-8").claim("email", "i@j.com").claim("name", "Ivy").claim("picture", "pic")
+            .build();
+        Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn(jwt);
+        when(auth.isAuthenticated()).thenReturn(true);
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_EDITOR"))).when(auth).getAuthorities();
+        SecurityContextHolder.getContext().setAuthentication(auth);
+
+        AtomicReference<RequestIdentity> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            seen.set(RequestIdentityScope.current().orElse(null));
+            throw new IOException("client went away");
+        };
+        assertThrows(IOException.class, () -> filter.doFilterInternal(
+            mock(HttpServletRequest.class), mock(HttpServletResponse.class), chain));
+
+        assertEquals(new RequestIdentity(23L, "uid-8", Set.of("EDITOR"), false, true), seen.get());
+        assertTrue(RequestIdentityScope.current().isEmpty(), "identity must not leak to the next request on this thread");
+    }
+
+    @Test
+    void createdAndChangedUsers_areIndexedForSearch_unchangedOnesAreNot() throws Exception {
+        AppUserSearchIndex index = mock(AppUserSearchIndex.class);
+        filter = new AppUserUpsertFilter(appUserRepository, profileRepository, newCache(), index);
+        when(appUserRepository.save(any(AppUser.class))).thenAnswer(inv -> inv.getArgument(0));
+        AppUser existing = existingUser(24L, "uid-9", "k@l.com", "Kim", "pic");
+        when(appUserRepository.findByFirebaseUid("uid-9")).thenReturn(Optional.of(existing));
+        when(profileRepository.findByUserId(24L)).thenReturn(Optional.empty());
+        when(appUserRepository.findByFirebaseUid("uid-10")).thenReturn(Optional.empty());
+
+        runFilterWithJwt("uid-9", "k@l.com", "Kim", "pic");       // unchanged: no write, nothing to index
+        verify(index, never()).onSaved(any());
+        runFilterWithJwt("uid-9", "kim@l.com", "Kim", "pic");     // email changed
+        verify(index).onSaved(existing);
+        runFilterWithJwt("uid-10", "n@o.com", "Ned", "pic");      // created
+        verify(index, times(2)).onSaved(any(AppUser.class));
+    }
+
+    private static AppUserIdentityCache newCache() {
+        return new AppUserIdentityCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
+    }
+
+    private static AppUser existingUser(Long id, String uid, String email, String name, String picture) {
+        AppUser u = new AppUser();
+        u.setId(id);
+        u.setFirebaseUid(uid);
+        u.setEmail(email);
+        u.setDisplayName(name);
+        u.setPhotoUrl(picture);
+        u.setRoles(new HashSet<>());
+        return u;
+    }
 }
@@ -0,0 +1,20 @@
+package com.arkvalleyevents.msse692_backend.config;
+
+import com.arkvalleyevents.msse692_backend.security.context.AppUserIdentityCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * The identity cache AppUserUpsertFilter needs, for @WebMvcTest slices (which scan the filter but not the
+ * cache, and have no MeterRegistry). Import it next to the repository and search-index mocks.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class AppUserUpsertFilterTestConfig {
+
+    @Bean
+    AppUserIdentityCache appUserIdentityCache() {
+        return new AppUserIdentityCache(Duration.ofMinutes(5), 10_000, new SimpleMeterRegistry());
+    }
+}
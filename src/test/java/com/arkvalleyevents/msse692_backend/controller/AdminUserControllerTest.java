@@ -9,6 +9,9 @@ import static org.hamcrest.Matchers.containsString;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository; // retained for filters
 import com.arkvalleyevents.msse692_backend.service.RoleRequestService;
 import com.arkvalleyevents.msse692_backend.service.UserRoleService;
+import com.arkvalleyevents.msse692_backend.service.AppUserService;
+import com.arkvalleyevents.msse692_backend.service.impl.AppUserSearchIndex;
+import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestCursorPageResponse;
 import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestDto;
 import com.arkvalleyevents.msse692_backend.model.RoleRequestStatus;
 import org.springframework.data.domain.PageImpl;
@@ -36,7 +39,8 @@ import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(AdminUserController.class)
 @AutoConfigureMockMvc
-@Import(com.arkvalleyevents.msse692_backend.config.SecurityConfig.class)
+@Import({com.arkvalleyevents.msse692_backend.config.SecurityConfig.class,
+    com.arkvalleyevents.msse692_backend.config.AppUserUpsertFilterTestConfig.class})
 @ActiveProfiles("dev")
 @TestPropertySource(properties = {
     "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://test-issuer"
@@ -53,6 +57,9 @@ class AdminUserControllerTest {
     @MockitoBean
     private ProfileRepository profileRepository; // required by AppUserUpsertFilter
 
+    @MockitoBean
+    private AppUserSearchIndex appUserSearchIndex; // required by AppUserUpsertFilter
+
     @MockitoBean
     private FirebaseClaimsSyncService claimsSyncService;
 
@@ -65,6 +72,9 @@ class AdminUserControllerTest {
     @MockitoBean
     private UserRoleService userRoleService;
 
+    @MockitoBean
+    private AppUserService appUserService; // AdminUserController's user list
+
     @MockitoBean
     private JwtDecoder jwtDecoder; // override real decoder to avoid network calls in dev profile
 
@@ -179,6 +189,22 @@ class AdminUserControllerTest {
         verify(userRoleService).syncClaims(uid, true);
     }
 
+    @Test
+    void syncAllRolesClaims_returnsCounts() throws Exception {
+        when(userRoleService.syncAllClaims(false)).thenReturn(new FirebaseClaimsSyncService.SyncCounts(3, 10, 1));
+
+        mockMvc.perform(post("/api/v1/admin/users/claims/sync")
+                .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                        .jwt(j -> j.claim("sub", "admin-1"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pushed").value(3))
+            .andExpect(jsonPath("$.skipped").value(10))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.force").value(false));
+
+        verify(userRoleService).syncAllClaims(false);
+    }
+
     @Test
     void operations_onUnknownUser_return404() throws Exception {
         String jwtUid = "jwt-known";
@@ -221,6 +247,25 @@ class AdminUserControllerTest {
             .andExpect(jsonPath("$.content[0].status").value("Pending"));
         }
 
+        @Test
+        void adminList_withCursor_usesKeysetQueue() throws Exception {
+        String id = java.util.UUID.randomUUID().toString();
+        RoleRequestDto dto = makeDto(id, "req-1", RoleRequestStatus.PENDING);
+        when(roleRequestService.adminQueue(any(), any(), eq(""), eq(5)))
+            .thenReturn(RoleRequestCursorPageResponse.of(java.util.List.of(dto), 5, "next-token"));
+
+        mockMvc.perform(get("/api/v1/admin/users/roles/requests")
+            .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))
+                .jwt(j -> j.claim("sub", "admin-user")))
+            .param("size", "5")
+            .param("cursor", ""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value(id))
+            .andExpect(jsonPath("$.nextCursor").value("next-token"))
+            .andExpect(jsonPath("$.hasNext").value(true));
+        verify(roleRequestService, never()).adminList(any(), any(), any(Pageable.class));
+        }
+
         @Test
         void adminDetail_returnsRequest() throws Exception {
         String id = java.util.UUID.randomUUID().toString();
@@ -4,11 +4,13 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.arkvalleyevents.msse692_backend.config.AppUserUpsertFilterTestConfig;
 import com.arkvalleyevents.msse692_backend.model.AppUser;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
 import com.arkvalleyevents.msse692_backend.repository.ProfileRepository;
  
 import com.arkvalleyevents.msse692_backend.service.AppUserService;
+import com.arkvalleyevents.msse692_backend.service.impl.AppUserSearchIndex;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -23,6 +26,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(AppUserController.class)
 @AutoConfigureMockMvc
+@Import(AppUserUpsertFilterTestConfig.class)
 @SuppressWarnings("null")
 class AppUserControllerTest {
 
@@ -35,6 +39,9 @@ class AppUserControllerTest {
     @MockitoBean
     private ProfileRepository profileRepository; // required by AppUserUpsertFilter
 
+    @MockitoBean
+    private AppUserSearchIndex appUserSearchIndex; // required by AppUserUpsertFilter
+
     @MockitoBean
     private AppUserService appUserService;
 
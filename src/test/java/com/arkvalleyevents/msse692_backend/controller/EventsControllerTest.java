@@ -2,6 +2,9 @@ package com.arkvalleyevents.msse692_backend.controller;
 
 
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -11,9 +14,11 @@ import com.arkvalleyevents.msse692_backend.service.EventService;
 import com.arkvalleyevents.msse692_backend.service.EventAuditService;
 import com.arkvalleyevents.msse692_backend.dto.request.CreateEventDto;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDetailDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditCursorPageResponse;
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditDto;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventVersionStateDto;
 import com.arkvalleyevents.msse692_backend.model.EventStatus;
-import com.arkvalleyevents.msse692_backend.model.EventAudit;
 import com.arkvalleyevents.msse692_backend.dto.request.UpdateEventDto;
 import com.arkvalleyevents.msse692_backend.security.policy.EventAccessPolicy;
 import com.arkvalleyevents.msse692_backend.security.context.UserContextProvider;
@@ -25,11 +30,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import static org.mockito.Mockito.*;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.Optional;
+
 class EventsControllerTest {
 
   @Mock
@@ -46,7 +55,8 @@ class EventsControllerTest {
     MockitoAnnotations.openMocks(this);
     EventAccessPolicy policy = new EventAccessPolicy();
     when(userContextProvider.current()).thenReturn(new UserContext(10L, true, false));
-    EventsController controller = new EventsController(eventService, eventAuditService, policy, userContextProvider);
+    EventsController controller = new EventsController(eventService, eventAuditService, policy, userContextProvider,
+        Jackson2ObjectMapperBuilder.json().build());
     mockMvc = MockMvcBuilders.standaloneSetup(controller)
         .setControllerAdvice(new RestExceptionHandler())
         .build();
@@ -87,11 +97,7 @@ class EventsControllerTest {
   dto.setEventName("Updated Event");
   dto.setCreatedByUserId(10L); // original creator remains
   dto.setLastModifiedByUserId(11L); // modified by another user
-    EventDetailDto existing = new EventDetailDto();
-    existing.setEventId(2L);
-    existing.setCreatedByUserId(10L);
-    when(eventService.getEventDetailOrThrow(2L)).thenReturn(existing);
-  when(eventService.updateEvent(eq(2L), any(UpdateEventDto.class))).thenReturn(dto);
+  when(eventService.updateEvent(eq(2L), any(UpdateEventDto.class), any(UserContext.class))).thenReturn(dto);
 
   mockMvc.perform(put("/api/v1/events/2").contentType(MediaType.APPLICATION_JSON_VALUE)
       .content("""
@@ -108,30 +114,30 @@ class EventsControllerTest {
     .andExpect(jsonPath("$.eventName").value("Updated Event"))
     .andExpect(jsonPath("$.createdByUserId").value(10L))
     .andExpect(jsonPath("$.lastModifiedByUserId").value(11L));
+    // Authorization happens inside the command on its single load; no separate detail fetch
+    verify(eventService, never()).getEventDetailOrThrow(anyLong());
     }
 
   @Test
   void getEventAudits_returnsRecentActionsOrderedAndLimited() throws Exception {
-    EventDetailDto existing = new EventDetailDto();
-    existing.setEventId(99L);
-    existing.setCreatedByUserId(10L);
-    when(eventService.getEventDetailOrThrow(99L)).thenReturn(existing);
-    EventAudit older = new EventAudit();
+    when(eventService.getEventVersionOrThrow(99L))
+        .thenReturn(new com.arkvalleyevents.msse692_backend.repository.EventVersionView(99L, 0L, EventStatus.DRAFT, 10L));
+    EventAuditDto older = new EventAuditDto();
     older.setId(1L);
     older.setEventId(99L);
     older.setActorUserId(7L);
     older.setAction("CREATE");
     older.setAt(java.time.OffsetDateTime.now().minusMinutes(5));
 
-    EventAudit newer = new EventAudit();
+    EventAuditDto newer = new EventAuditDto();
     newer.setId(2L);
     newer.setEventId(99L);
     newer.setActorUserId(8L);
     newer.setAction("UPDATE");
     newer.setAt(java.time.OffsetDateTime.now());
 
-    when(eventAuditService.getRecentForEvent(eq(99L), anyInt()))
-        .thenReturn(java.util.List.of(newer, older));
+    when(eventAuditService.findForEvent(99L, Optional.empty(), Optional.empty(), null, 2))
+        .thenReturn(EventAuditCursorPageResponse.of(java.util.List.of(newer, older), 2, "next"));
 
   mockMvc.perform(get("/api/v1/events/99/audits").param("limit", "2"))
         .andExpect(status().isOk())
@@ -141,20 +147,93 @@ class EventsControllerTest {
         .andExpect(jsonPath("$[1].id").value(1L))
         .andExpect(jsonPath("$[1].action").value("CREATE"))
         .andExpect(jsonPath("$[1].actorUserId").value(7L));
+    verify(eventService, never()).getEventDetailOrThrow(anyLong());
+  }
+
+  @Test
+  void getEventAudits_withCursor_returnsKeysetPageAndPassesFilters() throws Exception {
+    when(eventService.getEventVersionOrThrow(99L))
+        .thenReturn(new com.arkvalleyevents.msse692_backend.repository.EventVersionView(99L, 3L, EventStatus.PUBLISHED, 10L));
+    EventAuditDto audit = new EventAuditDto();
+    audit.setId(5L);
+    audit.setAction("UPDATE");
+    when(eventAuditService.findForEvent(99L, Optional.of(8L), Optional.of("UPDATE"), "abc", 50))
+        .thenReturn(EventAuditCursorPageResponse.of(java.util.List.of(audit), 50, "def"));
+
+    mockMvc.perform(get("/api/v1/events/99/audits")
+            .param("limit", "50").param("actorUserId", "8").param("action", "UPDATE").param("cursor", "abc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].id").value(5L))
+        .andExpect(jsonPath("$.nextCursor").value("def"))
+        .andExpect(jsonPath("$.hasNext").value(true));
+  }
+
+  @Test
+  void exportEventAudits_streamsOneJsonObjectPerLine() throws Exception {
+    when(eventService.getEventVersionOrThrow(99L))
+        .thenReturn(new com.arkvalleyevents.msse692_backend.repository.EventVersionView(99L, 3L, EventStatus.PUBLISHED, 10L));
+    doAnswer(inv -> {
+      java.util.function.Consumer<EventAuditDto> sink = inv.getArgument(1);
+      for (long id = 1; id <= 3; id++) {
+        EventAuditDto dto = new EventAuditDto();
+        dto.setId(id);
+        dto.setAction(id == 1 ? "CREATE" : "UPDATE");
+        sink.accept(dto);
+      }
+      return null;
+    }).when(eventAuditService).exportForEvent(eq(99L), any());
+
+    MvcResult started = mockMvc.perform(get("/api/v1/events/99/audits/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    String body = mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertEquals(3, lines.length);
+    assertTrue(lines[0].startsWith("{\"id\":1,") && lines[0].contains("\"action\":\"CREATE\""), lines[0]);
+    assertTrue(lines[2].startsWith("{\"id\":3,"), lines[2]);
+  }
+
+  @Test
+  void getEventVersion_authorizesThenReconstructs() throws Exception {
+    when(eventService.getEventVersionOrThrow(99L))
+        .thenReturn(new com.arkvalleyevents.msse692_backend.repository.EventVersionView(99L, 3L, EventStatus.PUBLISHED, 10L));
+    EventVersionStateDto state = new EventVersionStateDto();
+    state.setEventId(99L);
+    state.setVersion(2L);
+    state.setCurrentVersion(3L);
+    state.setFields(java.util.Map.of("status", "DRAFT"));
+    state.setUnrestoredFields(java.util.List.of());
+    state.setComplete(true);
+    when(eventAuditService.reconstruct(99L, 2L)).thenReturn(state);
+
+    mockMvc.perform(get("/api/v1/events/99/versions/2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.fields.status").value("DRAFT"))
+        .andExpect(jsonPath("$.complete").value(true));
+  }
+
+  @Test
+  void getEventVersion_outOfRange_isBadRequest() throws Exception {
+    when(eventService.getEventVersionOrThrow(99L))
+        .thenReturn(new com.arkvalleyevents.msse692_backend.repository.EventVersionView(99L, 3L, EventStatus.PUBLISHED, 10L));
+    when(eventAuditService.reconstruct(99L, 9L)).thenThrow(new IllegalArgumentException("version must be between 0 and 3"));
+
+    mockMvc.perform(get("/api/v1/events/99/versions/9"))
+        .andExpect(status().isBadRequest());
   }
 
   // ===== New status transition & public feed tests =====
 
   @Test
   void publishEvent_returnsPublishedStatus() throws Exception {
-    EventDetailDto existing = new EventDetailDto();
-    existing.setEventId(50L);
-    existing.setCreatedByUserId(10L);
-    when(eventService.getEventDetailOrThrow(50L)).thenReturn(existing);
     EventDetailDto dto = new EventDetailDto();
     dto.setEventId(50L);
     dto.setStatus(EventStatus.PUBLISHED);
-    when(eventService.publishEvent(50L)).thenReturn(dto);
+    when(eventService.publishEvent(eq(50L), any(UserContext.class))).thenReturn(dto);
 
     mockMvc.perform(post("/api/v1/events/50/publish"))
         .andExpect(status().isOk())
@@ -164,11 +243,7 @@ class EventsControllerTest {
 
   @Test
   void publishEvent_illegalState_conflict() throws Exception {
-    EventDetailDto existing = new EventDetailDto();
-    existing.setEventId(51L);
-    existing.setCreatedByUserId(10L);
-    when(eventService.getEventDetailOrThrow(51L)).thenReturn(existing);
-    when(eventService.publishEvent(51L)).thenThrow(new IllegalStateException("Only DRAFT events can be published"));
+    when(eventService.publishEvent(eq(51L), any(UserContext.class))).thenThrow(new IllegalStateException("Only DRAFT events can be published"));
 
     mockMvc.perform(post("/api/v1/events/51/publish"))
         .andExpect(status().isConflict())
@@ -177,14 +252,10 @@ class EventsControllerTest {
 
   @Test
   void unpublishEvent_returnsUnpublishedStatus() throws Exception {
-    EventDetailDto existing = new EventDetailDto();
-    existing.setEventId(60L);
-    existing.setCreatedByUserId(10L);
-    when(eventService.getEventDetailOrThrow(60L)).thenReturn(existing);
     EventDetailDto dto = new EventDetailDto();
     dto.setEventId(60L);
     dto.setStatus(EventStatus.UNPUBLISHED);
-    when(eventService.unpublishEvent(60L)).thenReturn(dto);
+    when(eventService.unpublishEvent(eq(60L), any(UserContext.class))).thenReturn(dto);
 
     mockMvc.perform(post("/api/v1/events/60/unpublish"))
         .andExpect(status().isOk())
@@ -193,14 +264,10 @@ class EventsControllerTest {
 
   @Test
   void cancelEvent_returnsCancelledStatus() throws Exception {
-    EventDetailDto existing = new EventDetailDto();
-    existing.setEventId(70L);
-    existing.setCreatedByUserId(10L);
-    when(eventService.getEventDetailOrThrow(70L)).thenReturn(existing);
     EventDetailDto dto = new EventDetailDto();
     dto.setEventId(70L);
     dto.setStatus(EventStatus.CANCELLED);
-    when(eventService.cancelEvent(70L)).thenReturn(dto);
+    when(eventService.cancelEvent(eq(70L), any(UserContext.class))).thenReturn(dto);
 
     mockMvc.perform(post("/api/v1/events/70/cancel"))
         .andExpect(status().isOk())
@@ -245,6 +312,180 @@ class EventsControllerTest {
     org.junit.jupiter.api.Assertions.assertFalse(filters.containsKey("sort"));
   }
 
+  @Test
+  void listEvents_withCursor_delegatesToKeysetService() throws Exception {
+    EventDto dto = new EventDto();
+    dto.setEventId(7L);
+    when(eventService.listEventsCursorScoped(anyMap(), anyString(), anyInt(), anyString(), any(UserContext.class)))
+        .thenReturn(com.arkvalleyevents.msse692_backend.dto.response.EventCursorPageResponse.of(java.util.List.of(dto), 5, "next-token", null));
+
+    mockMvc.perform(get("/api/v1/events")
+            .param("cursor", "")
+            .param("size", "5")
+            .param("status", "PUBLISHED"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].eventId").value(7L))
+        .andExpect(jsonPath("$.nextCursor").value("next-token"))
+        .andExpect(jsonPath("$.hasNext").value(true))
+        .andExpect(jsonPath("$.hasPrevious").value(false));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<java.util.Map<String,String>> capFilters = (ArgumentCaptor<java.util.Map<String,String>>) (ArgumentCaptor<?>) ArgumentCaptor.forClass(java.util.Map.class);
+    verify(eventService).listEventsCursorScoped(capFilters.capture(), eq(""), eq(5), eq("startAt,asc"), any(UserContext.class));
+    org.junit.jupiter.api.Assertions.assertFalse(capFilters.getValue().containsKey("cursor"));
+    verify(eventService, never()).listEventsPageScoped(anyMap(), anyInt(), anyInt(), anyString(), any(UserContext.class));
+    // No If-None-Match: the count + max(updatedAt) stamp query is skipped and the page carries no tag
+    verify(eventService, never()).listEventsStampScoped(anyMap(), any(UserContext.class));
+  }
+
+  @Test
+  void listEvents_withCursorAndIfNoneMatch_stampsAndCanReturn304() throws Exception {
+    when(eventService.listEventsStampScoped(anyMap(), any(UserContext.class))).thenReturn("c3-u100.0-abc");
+    when(eventService.listEventsCursorScoped(anyMap(), anyString(), anyInt(), anyString(), any(UserContext.class)))
+        .thenReturn(com.arkvalleyevents.msse692_backend.dto.response.EventCursorPageResponse.of(java.util.List.of(), 5, null, null));
+
+    String etag = mockMvc.perform(get("/api/v1/events").param("cursor", "").param("size", "5").header("If-None-Match", "W/\"stale\""))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/api/v1/events").param("cursor", "").param("size", "5").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+    verify(eventService, times(1)).listEventsCursorScoped(anyMap(), anyString(), anyInt(), anyString(), any(UserContext.class));
+  }
+
+  @Test
+  void listEvents_countFalse_returnsSliceMetadataWithoutTotals() throws Exception {
+    EventDto dto = new EventDto();
+    dto.setEventId(9L);
+    org.springframework.data.domain.Slice<EventDto> slice = new org.springframework.data.domain.SliceImpl<>(
+        java.util.List.of(dto), org.springframework.data.domain.PageRequest.of(0, 1), true);
+    when(eventService.listEventsPageScoped(anyMap(), anyInt(), anyInt(), anyString(), any(UserContext.class),
+        eq(com.arkvalleyevents.msse692_backend.service.CountMode.NONE))).thenReturn(slice);
+
+    mockMvc.perform(get("/api/v1/events")
+            .param("size", "1")
+            .param("count", "false"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].eventId").value(9L))
+        .andExpect(jsonPath("$.page.hasNext").value(true))
+        .andExpect(jsonPath("$.page.totalElements").doesNotExist())
+        .andExpect(header().doesNotExist("ETag"));
+
+    verify(eventService, never()).listEventsPageScoped(anyMap(), anyInt(), anyInt(), anyString(), any(UserContext.class));
+    verify(eventService, never()).listEventsStampScoped(anyMap(), any(UserContext.class));
+  }
+
+  @Test
+  void listEvents_unknownCountMode_returns400() throws Exception {
+    mockMvc.perform(get("/api/v1/events").param("count", "maybe"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getEvent_returnsStrongETagFromVersion() throws Exception {
+    EventDetailDto dto = new EventDetailDto();
+    dto.setEventId(5L);
+    dto.setStatus(EventStatus.PUBLISHED);
+    dto.setVersion(3L);
+    when(eventService.getEventDetailOrThrow(5L)).thenReturn(dto);
+
+    mockMvc.perform(get("/api/v1/events/5"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"5-v3\""))
+        .andExpect(jsonPath("$.eventId").value(5L));
+
+    verify(eventService, never()).getEventVersionOrThrow(anyLong());
+  }
+
+  @Test
+  void getEvent_ifNoneMatchCurrent_returns304WithoutLoadingDetail() throws Exception {
+    when(eventService.getEventVersionOrThrow(5L))
+        .thenReturn(new com.arkvalleyevents.msse692_backend.repository.EventVersionView(5L, 3L, EventStatus.PUBLISHED, 10L));
+
+    mockMvc.perform(get("/api/v1/events/5").header("If-None-Match", "\"5-v3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"5-v3\""))
+        .andExpect(content().string(""));
+
+    verify(eventService, never()).getEventDetailOrThrow(anyLong());
+  }
+
+  @Test
+  void getEvent_ifNoneMatchStale_returnsFullBody() throws Exception {
+    when(eventService.getEventVersionOrThrow(5L))
+        .thenReturn(new com.arkvalleyevents.msse692_backend.repository.EventVersionView(5L, 4L, EventStatus.PUBLISHED, 10L));
+    EventDetailDto dto = new EventDetailDto();
+    dto.setEventId(5L);
+    dto.setStatus(EventStatus.PUBLISHED);
+    dto.setVersion(4L);
+    when(eventService.getEventDetailOrThrow(5L)).thenReturn(dto);
+
+    mockMvc.perform(get("/api/v1/events/5").header("If-None-Match", "\"5-v3\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"5-v4\""));
+  }
+
+  @Test
+  void getEvent_ifNoneMatchOnHiddenEvent_returns404NotNotModified() throws Exception {
+    when(userContextProvider.current()).thenReturn(new UserContext(null, false, false));
+    when(eventService.getEventVersionOrThrow(6L))
+        .thenReturn(new com.arkvalleyevents.msse692_backend.repository.EventVersionView(6L, 1L, EventStatus.DRAFT, 10L));
+
+    mockMvc.perform(get("/api/v1/events/6").header("If-None-Match", "\"6-v1\""))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void listEvents_ifNoneMatchCurrent_returns304WithoutListing() throws Exception {
+    when(eventService.listEventsCountedStampScoped(anyMap(), any(UserContext.class)))
+        .thenReturn(new com.arkvalleyevents.msse692_backend.service.EventService.ScopedListStamp("c3-u100.0-abc", 3L));
+    when(eventService.listEventsPageScoped(anyMap(), anyInt(), anyInt(), anyString(), any(UserContext.class), anyLong()))
+        .thenReturn(new PageImpl<>(java.util.List.of()));
+
+    String etag = mockMvc.perform(get("/api/v1/events").param("size", "5"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andReturn().getResponse().getHeader("ETag");
+    org.junit.jupiter.api.Assertions.assertTrue(etag.startsWith("W/"));
+
+    mockMvc.perform(get("/api/v1/events").param("size", "5").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+    // different paging shape → different tag
+    mockMvc.perform(get("/api/v1/events").param("size", "6").header("If-None-Match", etag))
+        .andExpect(status().isOk());
+
+    // The stamp's count is the page total: no second COUNT through the five-argument form
+    verify(eventService, times(2)).listEventsPageScoped(anyMap(), anyInt(), anyInt(), anyString(), any(UserContext.class), eq(3L));
+    verify(eventService, never()).listEventsPageScoped(anyMap(), anyInt(), anyInt(), anyString(), any(UserContext.class));
+    verify(eventService, never()).listEventsStampScoped(anyMap(), any(UserContext.class));
+  }
+
+  @Test
+  void listPublicUpcoming_ifNoneMatchCurrent_returns304() throws Exception {
+    when(eventService.publicUpcomingIndexStamp(any(java.time.LocalDateTime.class))).thenReturn("i7-2");
+    when(eventService.publicUpcomingStamp(any(java.time.LocalDateTime.class))).thenReturn("i7-2");
+
+    String etag = mockMvc.perform(get("/api/v1/events/public-upcoming").param("limit", "5"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/api/v1/events/public-upcoming").param("limit", "5").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+    verify(eventService, times(1)).listPublicUpcoming(any(java.time.LocalDateTime.class), eq(5));
+  }
+
+  @Test
+  void listPublicUpcoming_indexMissWithoutIfNoneMatch_skipsStampQueryAndTag() throws Exception {
+    when(eventService.publicUpcomingIndexStamp(any(java.time.LocalDateTime.class))).thenReturn(null);
+    when(eventService.listPublicUpcoming(any(java.time.LocalDateTime.class), eq(5))).thenReturn(java.util.List.of());
+
+    mockMvc.perform(get("/api/v1/events/public-upcoming").param("limit", "5"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("ETag"));
+    verify(eventService, never()).publicUpcomingStamp(any());
+  }
+
   @Test
   void listEvents_unsupportedSort_returns400InvalidArgument() throws Exception {
     mockMvc.perform(get("/api/v1/events")
@@ -26,6 +26,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.junit.jupiter.api.BeforeEach;
 
 @WebMvcTest(ProfileController.class)
+@org.springframework.context.annotation.Import(com.arkvalleyevents.msse692_backend.config.AppUserUpsertFilterTestConfig.class)
 @AutoConfigureMockMvc // enable security filters so jwt() request post processor populates SecurityContext
 @SuppressWarnings("null")
 class ProfileControllerTest {
@@ -44,6 +45,8 @@ class ProfileControllerTest {
     private AppUserRepository appUserRepository;
     @MockitoBean
     private ProfileRepository profileRepository;
+    @MockitoBean
+    private com.arkvalleyevents.msse692_backend.service.impl.AppUserSearchIndex appUserSearchIndex;
 
     @BeforeEach
     void defaultMapperSetup() {
@@ -0,0 +1,156 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.dto.response.AppUserWithRolesDto;
+import com.arkvalleyevents.msse692_backend.model.AppUser;
+import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
+import com.arkvalleyevents.msse692_backend.service.AppUserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Before/after for the admin user list filtered by role: the previous JPQL (LEFT JOIN app_user_roles + DISTINCT,
+ * COUNT(DISTINCT), roles collection read per row for the DTO) vs role_mask IN (...) through AppUserService.
+ * Reports statements and mean latency per page. Opt-in:
+ *
+ *   mvn test -Dtest=AppUserRoleFilterBenchmarkTest -Dbench.load=true
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // Statistics are global: a background outbox poll would land in the exact counts below
+    "app.claims.outbox.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class AppUserRoleFilterBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AppUserRoleFilterBenchmarkTest.class);
+
+    private static final int USERS = Integer.getInteger("bench.users", 5000);
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP = 10;
+    private static final int ROUNDS = 50;
+
+    private static final String OLD_QUERY = "SELECT DISTINCT u FROM AppUser u LEFT JOIN u.roles r WHERE r IN :roles ORDER BY u.id";
+    private static final String OLD_COUNT = "SELECT COUNT(DISTINCT u) FROM AppUser u LEFT JOIN u.roles r WHERE r IN :roles";
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+    @Autowired
+    private AppUserService appUserService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void seed() {
+        assumeTrue(Boolean.getBoolean("bench.load"), "set -Dbench.load=true to run the role filter benchmark");
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        // ddl-auto does not create V11's index; without it the mask filter is measured as a full scan
+        transactionTemplate.executeWithoutResult(tx -> entityManager.createNativeQuery(
+                "CREATE INDEX IF NOT EXISTS idx_app_users_role_mask ON app_users (role_mask, id)").executeUpdate());
+        if (appUserRepository.count() >= USERS) {
+            return;
+        }
+        List<AppUser> batch = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            AppUser u = new AppUser();
+            u.setFirebaseUid("bench-role-" + i);
+            u.setEmail("bench" + i + "@example.com");
+            u.setDisplayName("Bench " + i);
+            Set<String> roles = new HashSet<>(Set.of("USER"));
+            if (i % 10 == 0) roles.add("EDITOR");
+            if (i % 50 == 0) roles.add("ADMIN");
+            u.setRoles(roles);
+            batch.add(u);
+            if (batch.size() == 500) {
+                appUserRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        appUserRepository.saveAll(batch);
+    }
+
+    @Test
+    void maskFilter_usesFewerStatementsThanRoleJoin() {
+        Set<String> wanted = Set.of("EDITOR", "ADMIN");
+        PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+
+        Supplier<List<Long>> joinPage = () -> transactionTemplate.execute(tx -> {
+            List<AppUser> rows = entityManager.createQuery(OLD_QUERY, AppUser.class)
+                    .setParameter("roles", wanted).setMaxResults(PAGE_SIZE).getResultList();
+            entityManager.createQuery(OLD_COUNT, Long.class).setParameter("roles", wanted).getSingleResult();
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (AppUser u : rows) {
+                u.getRoles().size(); // what toDto used to read
+                ids.add(u.getId());
+            }
+            entityManager.clear();
+            return ids;
+        });
+        Supplier<List<Long>> maskPage = () -> appUserService.listUsers(Optional.empty(), wanted, page)
+                .map(AppUserWithRolesDto::id).getContent();
+
+        assertEquals(joinPage.get(), maskPage.get(), "both filters must return the same page");
+
+        long joinStatements = statementsPerPage(joinPage);
+        long maskStatements = statementsPerPage(maskPage);
+        double joinMs = meanMillis(joinPage);
+        double maskMs = meanMillis(maskPage);
+
+        log.info("Role-filtered user page ({} users, {} per page): statements join={} mask={}; mean ms join={} mask={}",
+                USERS, PAGE_SIZE, joinStatements, maskStatements, String.format("%.3f", joinMs), String.format("%.3f", maskMs));
+        assertEquals(2, maskStatements, "mask filter is one page query plus one count");
+        assertTrue(maskStatements < joinStatements, "join=" + joinStatements + " mask=" + maskStatements);
+    }
+
+    private long statementsPerPage(Supplier<List<Long>> loader) {
+        stats.clear();
+        loader.get();
+        return stats.getPrepareStatementCount();
+    }
+
+    private static double meanMillis(Supplier<List<Long>> loader) {
+        for (int i = 0; i < WARMUP; i++) {
+            loader.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            loader.get();
+        }
+        return (System.nanoTime() - start) / 1e6 / ROUNDS;
+    }
+}
@@ -0,0 +1,37 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every SQL string Hibernate prepares, unchanged. Registered by class name through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}, hence the static buffer.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> CAPTURED = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (CAPTURED) {
+            CAPTURED.add(sql);
+        }
+        return sql;
+    }
+
+    public static void clear() {
+        synchronized (CAPTURED) {
+            CAPTURED.clear();
+        }
+    }
+
+    public static List<String> drain() {
+        synchronized (CAPTURED) {
+            List<String> out = List.copyOf(CAPTURED);
+            CAPTURED.clear();
+            return out;
+        }
+    }
+}
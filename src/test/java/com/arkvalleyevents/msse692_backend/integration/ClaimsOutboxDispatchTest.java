@@ -0,0 +1,155 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.model.AppUser;
+import com.arkvalleyevents.msse692_backend.model.ClaimsOutboxEntry;
+import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
+import com.arkvalleyevents.msse692_backend.repository.ClaimsOutboxRepository;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentity;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentityScope;
+import com.arkvalleyevents.msse692_backend.service.UserRoleService;
+import com.arkvalleyevents.msse692_backend.service.impl.ClaimsOutboxDispatcher;
+import com.google.firebase.auth.FirebaseAuth;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Claims outbox on real H2 with a fake FirebaseAuth: role changes only write outbox rows in their transaction,
+ * the dispatcher pushes once per UID with the latest roles, and failed pushes are retried after a backoff.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "app.claims.outbox.poll-interval=PT1H", // the tests drive dispatchDue() themselves
+    "app.claims.outbox.initial-backoff=400ms"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ClaimsOutboxDispatchTest {
+
+    @TestConfiguration
+    static class FakeFirebase {
+        @Bean
+        FakeFirebaseAuth fakeFirebaseAuth() {
+            return new FakeFirebaseAuth();
+        }
+
+        @Bean
+        @Primary
+        FirebaseAuth fakeFirebaseAuthClient(FakeFirebaseAuth fake) {
+            return fake.auth();
+        }
+    }
+
+    @Autowired
+    private FakeFirebaseAuth firebase;
+    @Autowired
+    private UserRoleService userRoleService;
+    @Autowired
+    private ClaimsOutboxDispatcher dispatcher;
+    @Autowired
+    private ClaimsOutboxRepository outboxRepository;
+    @Autowired
+    private AppUserRepository appUserRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RequestIdentityScope.Binding admin;
+
+    @BeforeEach
+    void bindAdmin() {
+        admin = RequestIdentityScope.bind(new RequestIdentity(1L, "admin-uid", Set.of("ADMIN"), true, false));
+    }
+
+    @AfterEach
+    void unbind() {
+        admin.close();
+    }
+
+    @Test
+    void changesAreQueued_thenPushedOncePerUidWithLatestRoles() {
+        user("uid-a");
+        userRoleService.addRoles("uid-a", Set.of("EDITOR"));
+        userRoleService.addRoles("uid-a", Set.of("ADMIN"));
+        userRoleService.removeRole("uid-a", "EDITOR");
+
+        assertEquals(3, outboxRepository.count());
+        assertEquals(0, firebase.calls("uid-a"), "no Firebase call inside the role-change transactions");
+
+        assertEquals(1, dispatcher.dispatchDue());
+        assertEquals(1, firebase.calls("uid-a"));
+        assertEquals(List.of("ADMIN", "USER"), firebase.claims("uid-a").get("roles"));
+        assertEquals(0, outboxRepository.count());
+        assertNotNull(appUserRepository.findByFirebaseUid("uid-a").orElseThrow().getClaimsRolesHash());
+
+        // A no-op change is queued but dedups against the stored hash
+        userRoleService.addRoles("uid-a", Set.of("ADMIN"));
+        dispatcher.dispatchDue();
+        assertEquals(1, firebase.calls("uid-a"));
+        assertEquals(0, outboxRepository.count());
+        assertEquals(1, meterRegistry.get("app.claims.outbox.dispatched").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void rolledBackRoleChange_leavesNoOutboxRow() {
+        user("uid-r");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRoleService.addRoles("uid-r", Set.of("EDITOR"));
+            status.setRollbackOnly();
+        });
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void failedPush_isRescheduledWithBackoff_thenDelivered() throws InterruptedException {
+        user("uid-b");
+        firebase.failNext("uid-b", 2);
+        userRoleService.addRoles("uid-b", Set.of("EDITOR"));
+
+        dispatcher.dispatchDue();
+        assertEquals(1, firebase.calls("uid-b"));
+        ClaimsOutboxEntry row = outboxRepository.findAll().get(0);
+        assertEquals(1, row.getAttempts());
+        assertTrue(row.getNextAttemptAt().isAfter(OffsetDateTime.now()), "retry must wait for the backoff");
+        assertEquals(0, dispatcher.dispatchDue(), "nothing due before the backoff elapses");
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (outboxRepository.count() > 0) {
+            assertTrue(System.nanoTime() < deadline, "outbox not drained within 10s");
+            Thread.sleep(50);
+            dispatcher.dispatchDue();
+        }
+        assertEquals(3, firebase.calls("uid-b"));
+        assertEquals(List.of("EDITOR", "USER"), firebase.claims("uid-b").get("roles"));
+        assertEquals(2, meterRegistry.get("app.claims.outbox.dispatched").tag("result", "failed").counter().count());
+        assertEquals(1, meterRegistry.get("app.claims.outbox.dispatched").tag("result", "pushed").counter().count());
+    }
+
+    private void user(String uid) {
+        AppUser u = new AppUser();
+        u.setFirebaseUid(uid);
+        u.setRoles(new HashSet<>(Set.of("USER")));
+        appUserRepository.save(u);
+    }
+}
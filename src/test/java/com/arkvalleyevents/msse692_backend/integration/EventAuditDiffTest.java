@@ -0,0 +1,102 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.dto.request.UpdateEventDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventVersionStateDto;
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.repository.EventAuditRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentity;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentityScope;
+import com.arkvalleyevents.msse692_backend.service.EventAuditService;
+import com.arkvalleyevents.msse692_backend.service.EventService;
+import com.arkvalleyevents.msse692_backend.service.mapping.EventChangeCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Field-level diffs on real H2 through the async writer: each event command leaves a diff in event_audit.snapshot
+ * and replaying them rebuilds earlier versions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "app.audit.flush-interval=50ms"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventAuditDiffTest {
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventAuditService auditService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventAuditRepository auditRepository;
+
+    @Test
+    void commandsRecordDiffs_andReconstructReplaysThem() throws Exception {
+        Event e = new Event();
+        e.setSlug("audit-diff");
+        e.setEventName("Original name");
+        e.setStartAt(LocalDateTime.now().plusDays(7));
+        e.setEndAt(LocalDateTime.now().plusDays(7).plusHours(2));
+        e.setEventDescription("First description");
+        e.setStatus(EventStatus.DRAFT);
+        Long id = eventRepository.save(e).getEventId();
+        long v0 = eventRepository.findById(id).orElseThrow().getVersion();
+
+        try (RequestIdentityScope.Binding ignored =
+                 RequestIdentityScope.bind(new RequestIdentity(7L, "uid-7", Set.of("ADMIN"), true, false))) {
+            UpdateEventDto rename = new UpdateEventDto();
+            rename.setEventName("Renamed");
+            rename.setEventDescription("Second description");
+            eventService.updateEvent(id, rename);
+            eventService.publishEvent(id);
+        }
+        await(() -> auditRepository.findByEventIdAndSnapshotIsNotNull(id).size() == 2);
+
+        List<EventChangeCodec.Change> changes = auditRepository.findByEventIdAndSnapshotIsNotNull(id).stream()
+                .map(a -> EventChangeCodec.decode(a.getSnapshot()))
+                .sorted(java.util.Comparator.comparingLong(EventChangeCodec.Change::version))
+                .toList();
+        assertEquals(List.of(v0 + 1, v0 + 2), changes.stream().map(EventChangeCodec.Change::version).toList());
+        assertEquals(Set.of("eventName", "eventDescription"), changes.get(0).fields().keySet());
+        assertEquals(List.of("DRAFT", "PUBLISHED"), changes.get(1).fields().get("status"));
+
+        EventVersionStateDto original = auditService.reconstruct(id, v0);
+        assertTrue(original.isComplete());
+        assertEquals("Original name", original.getFields().get("eventName"));
+        assertEquals("DRAFT", original.getFields().get("status"));
+        assertEquals(List.of("eventDescription"), original.getUnrestoredFields());
+
+        EventVersionStateDto renamed = auditService.reconstruct(id, v0 + 1);
+        assertEquals("Renamed", renamed.getFields().get("eventName"));
+        assertEquals("DRAFT", renamed.getFields().get("status"));
+        assertEquals("Second description", renamed.getFields().get("eventDescription"));
+
+        assertThrows(IllegalArgumentException.class, () -> auditService.reconstruct(id, v0 + 3));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(25);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditCursorPageResponse;
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditDto;
+import com.arkvalleyevents.msse692_backend.model.EventAudit;
+import com.arkvalleyevents.msse692_backend.repository.EventAuditRepository;
+import com.arkvalleyevents.msse692_backend.service.EventAuditService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Audit trail queries on real H2: keyset pages past 50 rows with filters, one statement per page, and the
+ * streamed export in chronological order.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // Statistics are global: a background outbox poll would land in the exact counts below
+    "app.claims.outbox.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventAuditQueryTest {
+
+    private static final long EVENT_ID = 9_001L;
+    private static final int AUDITS = 120;
+
+    @Autowired
+    private EventAuditService auditService;
+    @Autowired
+    private EventAuditRepository repository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void seed() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        if (!repository.findForEvent(EVENT_ID, null, null, null, null, 1).isEmpty()) {
+            return;
+        }
+        OffsetDateTime base = OffsetDateTime.parse("2025-11-20T18:00:00Z");
+        List<EventAudit> rows = new ArrayList<>();
+        for (int i = 0; i < AUDITS; i++) {
+            EventAudit a = new EventAudit();
+            a.setEventId(EVENT_ID);
+            a.setActorUserId(i % 3 == 0 ? 7L : 8L);
+            a.setAction(i == 0 ? "CREATE" : "UPDATE");
+            // Triples share a timestamp so the id tie-breaker is exercised
+            a.setAt(base.plusSeconds(i / 3));
+            rows.add(a);
+        }
+        repository.saveAll(rows);
+    }
+
+    @Test
+    void walkingTheTrail_visitsEveryAuditOnceNewestFirst_inOneStatementPerPagePlusOneRollupLookup() {
+        List<EventAuditDto> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        stats.clear();
+        do {
+            EventAuditCursorPageResponse page = auditService.findForEvent(EVENT_ID, Optional.empty(), Optional.empty(), cursor, 11);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // One keyset query per page; the page where the live rows run out also reads event_audit_daily,
+        // since rolled-up days continue the trail
+        assertEquals(pages + 1, stats.getPrepareStatementCount(), "no COUNT, no per-row loads");
+        assertEquals(AUDITS, seen.size());
+        assertEquals(AUDITS, seen.stream().map(EventAuditDto::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            EventAuditDto prev = seen.get(i - 1);
+            EventAuditDto cur = seen.get(i);
+            assertTrue(cur.getAt().isBefore(prev.getAt())
+                    || (cur.getAt().isEqual(prev.getAt()) && cur.getId() < prev.getId()), "newest first at " + i);
+        }
+    }
+
+    @Test
+    void filters_narrowByActorAndAction() {
+        EventAuditCursorPageResponse page = auditService.findForEvent(EVENT_ID, Optional.of(7L), Optional.of("update"), null, 200);
+        assertEquals(AUDITS / 3 - 1, page.getItems().size());
+        assertTrue(page.getItems().stream().allMatch(a -> a.getActorUserId() == 7L && "UPDATE".equals(a.getAction())));
+        assertFalse(page.isHasNext());
+    }
+
+    @Test
+    void export_streamsFullHistoryOldestFirst() {
+        List<Long> ids = new ArrayList<>();
+        auditService.exportForEvent(EVENT_ID, a -> ids.add(a.getId()));
+        assertEquals(AUDITS, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids, "oldest first (ids were assigned in at order)");
+    }
+}
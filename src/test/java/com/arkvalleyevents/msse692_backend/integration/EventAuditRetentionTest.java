@@ -0,0 +1,130 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditCursorPageResponse;
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditDto;
+import com.arkvalleyevents.msse692_backend.model.EventAudit;
+import com.arkvalleyevents.msse692_backend.model.EventAuditDaily;
+import com.arkvalleyevents.msse692_backend.repository.EventAuditDailyRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventAuditRepository;
+import com.arkvalleyevents.msse692_backend.service.EventAuditService;
+import com.arkvalleyevents.msse692_backend.service.impl.EventAuditRetentionJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Audit retention on H2 (the non-partitioned fallback): a month past retention is archived to a gzip NDJSON
+ * file, summarized per event and day, and deleted; the trail and the export then span live rows and rollups.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "app.audit.retention.archive-dir=${java.io.tmpdir}/ave-audit-retention-test"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventAuditRetentionTest {
+
+    private static final long EVENT_ID = 9_100L;
+
+    @Autowired
+    private EventAuditRetentionJob job;
+    @Autowired
+    private EventAuditService auditService;
+    @Autowired
+    private EventAuditRepository repository;
+    @Autowired
+    private EventAuditDailyRepository dailyRepository;
+
+    private static EventAudit audit(String action, long actor, OffsetDateTime at) {
+        EventAudit a = new EventAudit();
+        a.setEventId(EVENT_ID);
+        a.setActorUserId(actor);
+        a.setAction(action);
+        a.setAt(at);
+        return a;
+    }
+
+    @Test
+    void oldMonthIsArchivedRolledUpAndRemoved_andReadsSpanBoth() throws Exception {
+        YearMonth old = YearMonth.now(ZoneOffset.UTC).minusMonths(14);
+        OffsetDateTime day1 = old.atDay(3).atTime(9, 0).atOffset(ZoneOffset.UTC);
+        OffsetDateTime day2 = old.atDay(20).atTime(23, 30).atOffset(ZoneOffset.UTC);
+        OffsetDateTime recent = OffsetDateTime.now(ZoneOffset.UTC).minusDays(1);
+        repository.saveAll(List.of(
+                audit("CREATE", 7L, day1),
+                audit("UPDATE", 7L, day1.plusMinutes(5)),
+                audit("UPDATE", 8L, day1.plusHours(2)),
+                audit("UPDATE", 8L, day2),
+                audit("UPDATE", 7L, recent),
+                audit("UPDATE", 8L, recent.plusMinutes(1))));
+
+        long archived = job.rollUp(YearMonth.now(ZoneOffset.UTC).minusMonths(12));
+
+        assertEquals(4, archived);
+        assertEquals(2, repository.findForEvent(EVENT_ID, null, null, null, null, 10).size(), "recent rows stay live");
+
+        List<EventAuditDaily> days = dailyRepository.findByEventIdOrderByDayAsc(EVENT_ID);
+        assertEquals(List.of(day1.toLocalDate(), day2.toLocalDate()), days.stream().map(EventAuditDaily::getDay).toList());
+        EventAuditDaily first = days.get(0);
+        assertEquals(1, first.getCreateCount());
+        assertEquals(2, first.getUpdateCount());
+        assertEquals(2, first.getActorCount());
+        assertTrue(day1.isEqual(first.getFirstAt()));
+        assertTrue(day1.plusHours(2).isEqual(first.getLastAt()));
+
+        Path archive = Path.of(System.getProperty("java.io.tmpdir"), "ave-audit-retention-test", "event_audit-" + old + ".ndjson.gz");
+        assertEquals("event_audit-" + old + ".ndjson.gz", first.getArchiveFile());
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            in.lines().filter(l -> l.contains("\"eventId\":" + EVENT_ID)).forEach(lines::add);
+        }
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).contains("\"action\":\"CREATE\""), lines.get(0));
+
+        // The trail walks the live rows, then the rolled-up days, newest first
+        List<EventAuditDto> trail = new ArrayList<>();
+        String cursor = "";
+        do {
+            EventAuditCursorPageResponse page = auditService.findForEvent(EVENT_ID, Optional.empty(), Optional.empty(), cursor, 2);
+            trail.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(List.of(false, false, true, true), trail.stream().map(EventAuditDto::isRollup).toList());
+        assertEquals(Map.of("UPDATE", 1), trail.get(2).getActionCounts());
+        assertEquals(Map.of("CREATE", 1, "UPDATE", 2), trail.get(3).getActionCounts());
+
+        List<EventAuditDto> createsOnly = auditService.findForEvent(EVENT_ID, Optional.empty(), Optional.of("CREATE"), null, 10).getItems();
+        assertEquals(1, createsOnly.size());
+        assertEquals(Map.of("CREATE", 1), createsOnly.get(0).getActionCounts());
+
+        List<EventAuditDto> exported = new ArrayList<>();
+        auditService.exportForEvent(EVENT_ID, exported::add);
+        assertEquals(List.of(true, true, false, false), exported.stream().map(EventAuditDto::isRollup).toList());
+
+        // Nothing left to roll up: a second run is a no-op
+        assertEquals(0, job.rollUp(YearMonth.now(ZoneOffset.UTC).minusMonths(12)));
+        assertEquals(2, dailyRepository.findByEventIdOrderByDayAsc(EVENT_ID).size());
+    }
+}
@@ -0,0 +1,101 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.repository.EventAuditRepository;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentity;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentityScope;
+import com.arkvalleyevents.msse692_backend.service.EventAuditService;
+import com.arkvalleyevents.msse692_backend.service.impl.EventAuditWriter;
+import com.arkvalleyevents.msse692_backend.service.impl.EventAuditWriter.PendingAudit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Audit write-behind on real H2: records reach event_audit only for committed transactions, in batches,
+ * and whatever is still queued at shutdown is written before the writer stops.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "app.audit.batch-size=10",
+    "app.audit.flush-interval=200ms"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class EventAuditWriteBehindTest {
+
+    @Autowired
+    private EventAuditService auditService;
+    @Autowired
+    private EventAuditWriter writer;
+    @Autowired
+    private EventAuditRepository auditRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void committedChangesAreAudited_rolledBackOnesAreNot() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try (RequestIdentityScope.Binding ignored =
+                 RequestIdentityScope.bind(new RequestIdentity(7L, "uid-7", Set.of("USER"), false, false))) {
+            tx.executeWithoutResult(status -> {
+                auditService.logUpdate(100L);
+                status.setRollbackOnly();
+            });
+            tx.executeWithoutResult(status -> auditService.logCreate(200L));
+        }
+
+        // The writer is FIFO: once the committed record is visible, the rolled-back one would be too
+        await(() -> auditRepository.count() == 1);
+        assertTrue(auditRepository.findForEvent(100L, null, null, null, null, 10).isEmpty());
+        var rows = auditRepository.findForEvent(200L, null, null, null, null, 10);
+        assertEquals(1, rows.size());
+        assertEquals(7L, rows.get(0).getActorUserId());
+        assertEquals("CREATE", rows.get(0).getAction());
+    }
+
+    @Test
+    void unauthenticatedChangesAreNotAudited() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> auditService.logCreate(300L));
+        assertEquals(0, writer.depth());
+        assertEquals(0, auditRepository.count());
+    }
+
+    @Test
+    void stop_drainsQueuedRecordsInBatches() {
+        int records = 25;
+        for (int i = 0; i < records; i++) {
+            writer.enqueue(new PendingAudit(400L + i, 7L, "UPDATE", OffsetDateTime.now()));
+        }
+        writer.stop();
+
+        assertEquals(0, writer.depth());
+        assertEquals(records, auditRepository.count());
+        long flushes = meterRegistry.get("events.audit.flush").timer().count();
+        assertTrue(flushes >= 3 && flushes < records, "expected batched inserts, got " + flushes + " flushes");
+        assertEquals(records, meterRegistry.get("events.audit.records").tag("result", "written").counter().count());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(25);
+        }
+    }
+}
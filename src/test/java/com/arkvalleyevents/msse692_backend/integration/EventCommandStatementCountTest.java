@@ -0,0 +1,123 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.dto.response.EventDetailDto;
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.security.context.UserContext;
+import com.arkvalleyevents.msse692_backend.security.policy.EventAccessPolicy;
+import com.arkvalleyevents.msse692_backend.service.EventService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement-count check for event commands on real H2: the controller's old fetch-then-authorize-then-command
+ * sequence against the caller-scoped command that authorizes on its own load.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // Statistics are global: a background outbox poll would land in the exact counts below
+    "app.claims.outbox.enabled=false"
+})
+class EventCommandStatementCountTest {
+
+    private static final Long OWNER_ID = 42L;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventAccessPolicy eventAccessPolicy;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics stats;
+    private final List<Long> seeded = new ArrayList<>();
+
+    @BeforeEach
+    void enableStatistics() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+    }
+
+    // Slugs are unique per test, so removing the seeded rows is all the isolation the cached context needs
+    @AfterEach
+    void removeSeededEvents() {
+        eventRepository.deleteAllById(seeded);
+        seeded.clear();
+    }
+
+    @Test
+    void scopedPublish_readsTheRowOnce_whereFetchThenCommandReadsItTwice() {
+        Long legacyId = seedDraft("legacy-publish").getEventId();
+        Long scopedId = seedDraft("scoped-publish").getEventId();
+        UserContext owner = new UserContext(OWNER_ID, false, true);
+
+        // Previous controller flow: detail fetch + policy, then the command loads the row again
+        stats.clear();
+        EventDetailDto existing = eventService.getEventDetailOrThrow(legacyId);
+        eventAccessPolicy.assertCanModify(existing, Optional.of(OWNER_ID), false, true);
+        eventService.publishEvent(legacyId);
+        long legacyLoads = stats.getEntityLoadCount();
+        long legacyStatements = stats.getPrepareStatementCount();
+
+        stats.clear();
+        EventDetailDto published = eventService.publishEvent(scopedId, owner);
+        long scopedLoads = stats.getEntityLoadCount();
+        long scopedStatements = stats.getPrepareStatementCount();
+
+        assertEquals(EventStatus.PUBLISHED, published.getStatus());
+        assertEquals(2, legacyLoads);
+        assertEquals(1, scopedLoads, "scoped command should load the event exactly once");
+        // Legacy: SELECT (detail) + SELECT (command) + UPDATE; scoped: one SELECT + the same UPDATE
+        assertEquals(3, legacyStatements, "legacy statements");
+        assertEquals(2, scopedStatements, "scoped statements");
+    }
+
+    @Test
+    void scopedPublish_nonOwnerEditor_isDeniedWithoutWriting() {
+        Event seeded = seedDraft("not-yours");
+
+        stats.clear();
+        assertThrows(EntityNotFoundException.class,
+                () -> eventService.publishEvent(seeded.getEventId(), new UserContext(7L, false, true)));
+
+        assertEquals(1, stats.getEntityLoadCount());
+        assertEquals(0, stats.getEntityUpdateCount());
+        assertEquals(EventStatus.DRAFT, eventRepository.findById(seeded.getEventId()).orElseThrow().getStatus());
+    }
+
+    private Event seedDraft(String slug) {
+        Event e = new Event();
+        e.setSlug(slug);
+        e.setEventName("Statement count " + slug);
+        e.setStartAt(LocalDateTime.now().plusDays(7));
+        e.setEndAt(LocalDateTime.now().plusDays(7).plusHours(2));
+        e.setStatus(EventStatus.DRAFT);
+        e.setCreatedByUserId(OWNER_ID);
+        Event saved = eventRepository.save(e);
+        seeded.add(saved.getEventId());
+        return saved;
+    }
+}
@@ -0,0 +1,137 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.security.context.UserContext;
+import com.arkvalleyevents.msse692_backend.service.EventService;
+import com.arkvalleyevents.msse692_backend.service.mapping.EventMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Before/after comparison for one list page over events with large descriptions:
+ * entity query + EventMapper.toDto (previous path) vs the EventSummaryView projection used by
+ * listEventsPageScoped now. Reports LOB bytes materialized and bytes allocated per page on the calling thread.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventListProjectionBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventListProjectionBenchmarkTest.class);
+
+    private static final int EVENTS = 40;
+    private static final int PAGE_SIZE = 20;
+    private static final int DESCRIPTION_CHARS = 32 * 1024;
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    @Qualifier("eventMapperImpl")
+    private EventMapper mapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void seed() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        if (eventRepository.count() >= EVENTS) {
+            return;
+        }
+        String description = "x".repeat(DESCRIPTION_CHARS);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < EVENTS; i++) {
+            Event e = new Event();
+            e.setSlug("bench-" + i);
+            e.setEventName("Bench " + i);
+            e.setStartAt(start.plusHours(i));
+            e.setEndAt(start.plusHours(i + 1));
+            e.setStatus(EventStatus.PUBLISHED);
+            e.setEventDescription(description);
+            eventRepository.save(e);
+        }
+    }
+
+    @Test
+    void summaryProjection_readsNoLob_andAllocatesFarLessPerPage() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "per-thread allocation counter not available");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        UserContext admin = new UserContext(1L, true, false);
+        PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.ASC, "startAt"));
+
+        Supplier<List<EventDto>> entityPage = () -> {
+            Page<Event> rows = eventRepository.findAll(page);
+            return rows.map(mapper::toDto).getContent();
+        };
+        Supplier<List<EventDto>> projectionPage = () ->
+                eventService.listEventsPageScoped(Map.of(), 0, PAGE_SIZE, "startAt,asc", admin).getContent();
+
+        // LOB bytes materialized: every entity row carries its description; projection rows carry none
+        stats.clear();
+        Page<Event> loaded = eventRepository.findAll(page);
+        long entityLobBytes = loaded.getContent().stream()
+                .mapToLong(e -> e.getEventDescription() == null ? 0 : e.getEventDescription().length() * 2L)
+                .sum();
+        stats.clear();
+        assertEquals(PAGE_SIZE, projectionPage.get().size());
+        assertEquals(0, stats.getEntityLoadCount(), "projection page must not materialize Event entities");
+
+        long before = allocatedPerPage(threads, entityPage);
+        long after = allocatedPerPage(threads, projectionPage);
+
+        log.info("Event list page ({} rows, {}-char descriptions): LOB bytes read entity={} projection=0; allocated/page entity={} projection={}",
+                PAGE_SIZE, DESCRIPTION_CHARS, entityLobBytes, before, after);
+        assertTrue(entityLobBytes >= (long) PAGE_SIZE * DESCRIPTION_CHARS);
+        assertTrue(after * 2 < before, "projection should allocate well under half: entity=" + before + " projection=" + after);
+    }
+
+    private static long allocatedPerPage(com.sun.management.ThreadMXBean threads, Supplier<List<EventDto>> pageLoader) {
+        long tid = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(PAGE_SIZE, pageLoader.get().size());
+        }
+        long start = threads.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < ROUNDS; i++) {
+            pageLoader.get();
+        }
+        return (threads.getThreadAllocatedBytes(tid) - start) / ROUNDS;
+    }
+}
@@ -0,0 +1,196 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.dto.response.EventCursorPageResponse;
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.model.EventType;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.security.context.UserContext;
+import com.arkvalleyevents.msse692_backend.service.EventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EXPLAIN harness for the event list queries. Each test drives a real EventService call, captures the SQL
+ * Hibernate emits for the event table, and runs EXPLAIN on it against H2 in PostgreSQL mode with the V7 indexes
+ * applied. A plan that reads the whole table (tableScan, or an index walked with no condition) fails the test.
+ *
+ * Shapes deliberately not covered, because they read the table by design or H2 cannot plan them like Postgres:
+ * unfiltered ADMIN lists and getAllEvents (no predicate), EDITOR ownerOrPublished (created_by = ? OR status = ?,
+ * a BitmapOr over two V7 indexes on Postgres), location substring search (leading wildcard) and the slug prefix
+ * probe on create (once per base per JVM, see EventSlugAllocator).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.datasource.url=jdbc:h2:mem:event-plans;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.arkvalleyevents.msse692_backend.integration.CapturingStatementInspector",
+    "app.events.upcoming-index.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventQueryPlanTest {
+
+    private static final int EVENTS = 300;
+    private static final long OWNERS = 10;
+    private static final String V7 = "db/migration/V7__event_listing_indexes.sql";
+
+    private static final Pattern EVENT_SELECT = Pattern.compile("^\\s*select\\b.*\\bfrom event\\s", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    // H2 annotates each table with the access path: /* PUBLIC.EVENT.tableScan */ or /* PUBLIC.IDX_X: COND */
+    private static final Pattern TABLE_SCAN = Pattern.compile("\\.tableScan\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern UNCONDITIONED_INDEX = Pattern.compile("/\\*\\s*\"?PUBLIC\"?\\.\"?\\w+\"?\\s*\\*/", Pattern.CASE_INSENSITIVE);
+
+    private static final UserContext ADMIN = new UserContext(1L, true, false);
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+
+    @BeforeEach
+    void seedAndIndex() throws SQLException {
+        new ResourceDatabasePopulator(new ClassPathResource(V7)).execute(dataSource);
+        if (eventRepository.count() < EVENTS) {
+            EventStatus[] statuses = EventStatus.values();
+            EventType[] types = EventType.values();
+            List<Event> rows = new ArrayList<>(EVENTS);
+            for (int i = 0; i < EVENTS; i++) {
+                Event e = new Event();
+                e.setSlug("plan-" + i);
+                e.setEventName("Plan " + i);
+                e.setEventType(types[i % types.length]);
+                e.setStartAt(base.plusHours(i));
+                e.setEndAt(base.plusHours(i + 2));
+                e.setStatus(statuses[i % statuses.length]);
+                e.setEventLocation("Salida, CO");
+                e.setCreatedByUserId(1 + (i % OWNERS));
+                rows.add(e);
+            }
+            eventRepository.saveAll(rows);
+            try (Connection c = dataSource.getConnection(); Statement st = c.createStatement()) {
+                st.execute("ANALYZE");
+            }
+        }
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void publicList_byStartAt_andByName() {
+        assertIndexed(() -> eventService.listEventsPageScoped(Map.of(), 0, 5, "startAt,asc", null));
+        assertIndexed(() -> eventService.listEventsPageScoped(Map.of(), 0, 5, "eventName,asc", null));
+    }
+
+    @Test
+    void adminList_statusTypeAndDateRange() {
+        Map<String, String> filters = Map.of(
+                "status", "PUBLISHED",
+                "eventType", EventType.values()[0].name(),
+                "from", base.toString(),
+                "to", base.plusDays(5).toString());
+        assertIndexed(() -> eventService.listEventsPageScoped(filters, 0, 5, "startAt,asc", ADMIN));
+    }
+
+    @Test
+    void adminList_dateRangeOnly() {
+        Map<String, String> filters = Map.of("from", base.plusDays(2).toString(), "to", base.plusDays(4).toString());
+        assertIndexed(() -> eventService.listEventsPageScoped(filters, 0, 5, "startAt,asc", ADMIN));
+    }
+
+    @Test
+    void ownerLists_withAndWithoutStatus() {
+        assertIndexed(() -> eventService.listEventsByOwner(3L, 0, 5, "startAt,asc"));
+        assertIndexed(() -> eventService.listEventsByOwnerFiltered(3L, Map.of("status", "DRAFT"), 0, 5, "startAt,asc"));
+    }
+
+    @Test
+    void publicCursor_firstAndSeekPages() {
+        EventCursorPageResponse first = eventService.listEventsCursorScoped(Map.of(), null, 5, "startAt,asc", null);
+        assertNotNull(first.getNextCursor());
+        assertIndexedCaptured();
+        assertIndexed(() -> eventService.listEventsCursorScoped(Map.of(), first.getNextCursor(), 5, "startAt,asc", null));
+    }
+
+    @Test
+    void publicUpcoming_databaseFallback_andStamps() {
+        assertIndexed(() -> eventService.listPublicUpcoming(base.plusDays(3), 10));
+        assertIndexed(() -> eventService.publicUpcomingStamp(base.plusDays(3)));
+        assertIndexed(() -> eventService.listEventsStampScoped(Map.of(), null));
+    }
+
+    @Test
+    void typeDateAndUpcomingFinders() {
+        assertIndexed(() -> eventService.getEventsByType(EventType.values()[0]));
+        assertIndexed(() -> eventService.getEventsByDate(LocalDate.from(base.plusDays(2))));
+        assertIndexed(() -> eventService.listUpcoming(base.plusDays(10), 5));
+    }
+
+    // =========================
+    // Harness
+    // =========================
+
+    private void assertIndexed(Runnable call) {
+        CapturingStatementInspector.clear();
+        call.run();
+        assertIndexedCaptured();
+    }
+
+    private void assertIndexedCaptured() {
+        List<String> selects = CapturingStatementInspector.drain().stream()
+                .filter(sql -> EVENT_SELECT.matcher(sql).find())
+                .toList();
+        assertFalse(selects.isEmpty(), "call emitted no SELECT against the event table");
+        for (String sql : selects) {
+            String plan = explain(sql);
+            assertFalse(TABLE_SCAN.matcher(plan).find(), () -> "full table scan:\n" + sql + "\n--> " + plan);
+            assertFalse(UNCONDITIONED_INDEX.matcher(plan).find(), () -> "full index scan:\n" + sql + "\n--> " + plan);
+        }
+    }
+
+    // Parameters are left as placeholders (bound to NULL): H2 picks the access path at prepare time from the
+    // predicate shape, much like a Postgres generic plan, and EXPLAIN never evaluates them.
+    private String explain(String sql) {
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("EXPLAIN " + sql)) {
+            int params = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= params; i++) {
+                ps.setObject(i, null);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("EXPLAIN failed for: " + sql, ex);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.model.Artist;
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.model.Venue;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.security.context.UserContext;
+import com.arkvalleyevents.msse692_backend.service.EventService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exact statement counts (Hibernate statistics, real H2) for the event read paths.
+ * Fails if a mapper or DTO change starts walking lazy associations row by row.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // Statistics are global: a background outbox poll would land in the exact counts below
+    "app.claims.outbox.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class EventReadPathStatementCountTest {
+
+    private static final int EVENTS = 10;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics stats;
+    private TransactionTemplate tx;
+    private Long firstEventId;
+    private String firstSlug;
+
+    @BeforeEach
+    void seed() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Venue hall = venue("Hall");
+            Venue park = venue("Park");
+            Artist band = artist("Band");
+            Artist duo = artist("Duo");
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            for (int i = 0; i < EVENTS; i++) {
+                Event e = new Event();
+                e.setSlug("plan-" + i);
+                e.setEventName("Plan " + i);
+                e.setStartAt(start.plusHours(i));
+                e.setEndAt(start.plusHours(i + 1));
+                e.setStatus(EventStatus.PUBLISHED);
+                e.setEventDescription("Description " + i);
+                e.setVenue(i % 2 == 0 ? hall : park);
+                e.getArtists().add(band);
+                e.getArtists().add(duo);
+                e.getImageUrls().add("https://img.example.com/" + i + "/a.jpg");
+                e.getImageUrls().add("https://img.example.com/" + i + "/b.jpg");
+                entityManager.persist(e);
+                if (i == 0) {
+                    firstEventId = e.getEventId();
+                    firstSlug = e.getSlug();
+                }
+            }
+        });
+    }
+
+    @Test
+    void detailById_isOneStatement() {
+        stats.clear();
+        eventService.getEventDetailOrThrow(firstEventId);
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void detailBySlug_isOneStatement() {
+        stats.clear();
+        eventService.getEventBySlug(firstSlug);
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void listPage_isSelectPlusCount_andLoadsNoEntities() {
+        stats.clear();
+        eventService.listEventsPageScoped(Map.of(), 0, 5, "startAt,asc", new UserContext(1L, true, false));
+        assertEquals(2, stats.getPrepareStatementCount());
+        assertEquals(0, stats.getEntityLoadCount());
+    }
+
+    @Test
+    void stampedListPage_isStampPlusSelect_withTheStampCountAsTotal() {
+        UserContext admin = new UserContext(1L, true, false);
+        stats.clear();
+        EventService.ScopedListStamp stamp = eventService.listEventsCountedStampScoped(Map.of(), admin);
+        var page = eventService.listEventsPageScoped(Map.of(), 0, 5, "startAt,asc", admin, stamp.count());
+        assertEquals(2, stats.getPrepareStatementCount());
+        assertEquals(EVENTS, page.getTotalElements());
+    }
+
+    @Test
+    void entityList_batchesLazyAssociationsInsteadOfOneQueryPerRow() {
+        tx.executeWithoutResult(status -> {
+            stats.clear();
+            List<Event> rows = eventRepository.findAll(Sort.by("startAt"));
+            assertEquals(EVENTS, rows.size());
+            for (Event e : rows) {
+                assertNotNull(e.getVenue().getName());
+                assertEquals(2, e.getArtists().size());
+                assertEquals(2, e.getImageUrls().size());
+            }
+            // list + one batch each for venues, artists and image URLs (hibernate.default_batch_fetch_size);
+            // one query per row would be 1 + 3 * EVENTS
+            assertEquals(4, stats.getPrepareStatementCount());
+        });
+    }
+
+    private Venue venue(String name) {
+        Venue v = new Venue();
+        v.setName(name);
+        v.setAddress(name + " Street");
+        entityManager.persist(v);
+        return v;
+    }
+
+    private Artist artist(String name) {
+        Artist a = new Artist();
+        a.setName(name);
+        a.setGenre("Folk");
+        entityManager.persist(a);
+        return a;
+    }
+}
@@ -0,0 +1,104 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.dto.request.CreateEventDto;
+import com.arkvalleyevents.msse692_backend.dto.response.EventDetailDto;
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Same-title event creation under contention on real H2: every create must succeed with a distinct slug,
+ * and a slug taken behind the allocator's back (another instance) must be retried, not surfaced.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class EventSlugConcurrencyTest {
+
+    private static final int CREATES = 300;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void parallelSameTitleCreates_allSucceedWithDistinctSlugs() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EventDetailDto>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CREATES; i++) {
+                Callable<EventDetailDto> create = () -> {
+                    start.await();
+                    return eventService.createEvent(dto("Open Mic Night"));
+                };
+                futures.add(pool.submit(create));
+            }
+            start.countDown();
+
+            Set<String> slugs = new HashSet<>();
+            for (Future<EventDetailDto> f : futures) {
+                slugs.add(f.get(60, TimeUnit.SECONDS).getSlug());
+            }
+
+            assertEquals(CREATES, slugs.size(), "every create must get its own slug");
+            assertTrue(slugs.contains("open-mic-night"));
+            assertTrue(slugs.stream().allMatch(s -> s.equals("open-mic-night") || s.matches("open-mic-night-\\d+")));
+            assertEquals(CREATES, eventRepository.findSlugsWithBase("open-mic-night").size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void slugTakenOutsideTheAllocator_isRetried() {
+        assertEquals("jazz-jam", eventService.createEvent(dto("Jazz Jam")).getSlug());
+
+        // Another instance claims the next suffix; this JVM's counter does not know about it
+        Event foreign = new Event();
+        foreign.setSlug("jazz-jam-1");
+        foreign.setEventName("Jazz Jam");
+        foreign.setStartAt(LocalDateTime.now().plusDays(3));
+        foreign.setEndAt(LocalDateTime.now().plusDays(3).plusHours(2));
+        eventRepository.save(foreign);
+
+        assertEquals("jazz-jam-2", eventService.createEvent(dto("Jazz Jam")).getSlug());
+    }
+
+    private static CreateEventDto dto(String name) {
+        CreateEventDto dto = new CreateEventDto();
+        dto.setEventName(name);
+        dto.setStartAt(Instant.now().plus(7, ChronoUnit.DAYS));
+        dto.setEndAt(Instant.now().plus(7, ChronoUnit.DAYS).plus(2, ChronoUnit.HOURS));
+        dto.setEventLocation("Salida, CO");
+        return dto;
+    }
+}
@@ -0,0 +1,61 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * In-memory stand-in for the Firebase custom-claims endpoint: records the last claims set per UID and the
+ * number of calls, and can be told to fail the next N calls for a UID. {@link #auth()} is the FirebaseAuth
+ * to register as a bean (FirebaseAuth is final, so it is an inline mock with this class as its behaviour).
+ */
+final class FakeFirebaseAuth {
+
+    private final Map<String, Map<String, Object>> claims = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> failuresLeft = new ConcurrentHashMap<>();
+    private final FirebaseAuth auth = mock(FirebaseAuth.class);
+
+    FakeFirebaseAuth() {
+        try {
+            doAnswer(inv -> {
+                String uid = inv.getArgument(0);
+                Map<String, Object> value = inv.getArgument(1);
+                calls.computeIfAbsent(uid, k -> new AtomicInteger()).incrementAndGet();
+                AtomicInteger failures = failuresLeft.get(uid);
+                if (failures != null && failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Simulated Firebase outage for " + uid);
+                }
+                claims.put(uid, Map.copyOf(value));
+                return null;
+            }).when(auth).setCustomUserClaims(anyString(), any());
+        } catch (FirebaseAuthException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    FirebaseAuth auth() {
+        return auth;
+    }
+
+    void failNext(String uid, int times) {
+        failuresLeft.put(uid, new AtomicInteger(times));
+    }
+
+    int calls(String uid) {
+        AtomicInteger n = calls.get(uid);
+        return n == null ? 0 : n.get();
+    }
+
+    Map<String, Object> claims(String uid) {
+        return claims.get(uid);
+    }
+}
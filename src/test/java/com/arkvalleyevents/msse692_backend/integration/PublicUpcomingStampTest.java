@@ -0,0 +1,85 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventRepositoryCustom.ListStamp;
+import com.arkvalleyevents.msse692_backend.service.EventService;
+import com.arkvalleyevents.msse692_backend.service.impl.PublicUpcomingIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The public upcoming index answers stamps from memory; they must equal what the database computes for the
+ * same rows, or the ETag would depend on which instance (warm or cold) served the request.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update"
+})
+class PublicUpcomingStampTest {
+
+    // Far enough ahead that rows other tests write straight through the repository never fall in the window
+    private static final LocalDateTime FROM = LocalDateTime.of(2090, 1, 1, 0, 0);
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private PublicUpcomingIndex upcomingIndex;
+
+    private final List<Long> seeded = new ArrayList<>();
+
+    @AfterEach
+    void removeSeededEvents() {
+        seeded.forEach(eventService::deleteEvent);
+        seeded.clear();
+    }
+
+    @Test
+    void indexStampAfterLocalWrites_equalsTheDatabaseStamp() {
+        Long first = seedDraft("stamp-first", FROM.plusMonths(1));
+        Long second = seedDraft("stamp-second", FROM.plusMonths(2));
+        eventService.publishEvent(first);
+        eventService.publishEvent(second);
+
+        assertEquals(2, upcomingIndex.stamp(FROM).orElseThrow().count());
+        assertEquals(databaseStamp(), upcomingIndex.stamp(FROM).orElseThrow());
+
+        eventService.unpublishEvent(first);
+        assertEquals(databaseStamp(), upcomingIndex.stamp(FROM).orElseThrow());
+    }
+
+    private ListStamp databaseStamp() {
+        Specification<Event> window = (root, query, cb) -> cb.and(
+                cb.equal(root.get("status"), EventStatus.PUBLISHED),
+                cb.greaterThanOrEqualTo(root.<LocalDateTime>get("startAt"), FROM));
+        return eventRepository.stamp(window);
+    }
+
+    private Long seedDraft(String slug, LocalDateTime startAt) {
+        Event e = new Event();
+        e.setSlug(slug);
+        e.setEventName("Stamp " + slug);
+        e.setStartAt(startAt);
+        e.setEndAt(startAt.plusHours(2));
+        e.setStatus(EventStatus.DRAFT);
+        Long id = eventRepository.save(e).getEventId();
+        seeded.add(id);
+        return id;
+    }
+}
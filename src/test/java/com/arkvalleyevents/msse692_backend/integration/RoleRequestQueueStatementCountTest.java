@@ -0,0 +1,116 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestCursorPageResponse;
+import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestDto;
+import com.arkvalleyevents.msse692_backend.model.RoleRequest;
+import com.arkvalleyevents.msse692_backend.model.RoleRequestStatus;
+import com.arkvalleyevents.msse692_backend.repository.RoleRequestRepository;
+import com.arkvalleyevents.msse692_backend.service.RoleRequestService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement counts (Hibernate statistics, real H2) for the admin role-request queue: requestedRoles are loaded
+ * for the whole page in one IN query, so the count must not grow with the page size.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // Statistics are global: a background outbox poll would land in the exact counts below
+    "app.claims.outbox.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class RoleRequestQueueStatementCountTest {
+
+    private static final int REQUESTS = 60;
+
+    @Autowired
+    private RoleRequestService roleRequestService;
+    @Autowired
+    private RoleRequestRepository repository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void seed() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        if (repository.count() >= REQUESTS) {
+            return;
+        }
+        OffsetDateTime base = OffsetDateTime.parse("2025-11-20T18:00:00Z");
+        List<RoleRequest> rows = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            RoleRequest r = new RoleRequest();
+            r.setRequesterUid("queue-user-" + i);
+            r.setRequestedRoles(new HashSet<>(Set.of("EDITOR")));
+            r.setStatus(RoleRequestStatus.PENDING);
+            // Pairs share a timestamp so the id tie-breaker is exercised
+            r.setCreatedAt(base.plusMinutes(i / 2));
+            rows.add(r);
+        }
+        repository.saveAll(rows);
+    }
+
+    @Test
+    void keysetPage_isTwoStatements_forAnyPageSize() {
+        for (int size : new int[] {1, 10, 50}) {
+            stats.clear();
+            RoleRequestCursorPageResponse page = roleRequestService.adminQueue(Optional.of(RoleRequestStatus.PENDING), Optional.empty(), "", size);
+            assertEquals(size, page.getItems().size());
+            assertTrue(page.getItems().stream().allMatch(d -> d.getRequestedRoles().equals(List.of("EDITOR"))));
+            assertEquals(2, stats.getPrepareStatementCount(), "page query + one roles IN query at size " + size);
+        }
+    }
+
+    @Test
+    void offsetPage_isThreeStatements_forAnyPageSize() {
+        for (int size : new int[] {1, 10, 50}) {
+            stats.clear();
+            roleRequestService.adminList(Optional.of(RoleRequestStatus.PENDING), Optional.empty(),
+                    PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+            assertEquals(3, stats.getPrepareStatementCount(), "page query + count + one roles IN query at size " + size);
+        }
+    }
+
+    @Test
+    void walkingTheQueue_visitsEveryRequestOnceNewestFirst() {
+        List<RoleRequestDto> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            RoleRequestCursorPageResponse page = roleRequestService.adminQueue(Optional.empty(), Optional.empty(), cursor, 7);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(REQUESTS, seen.size());
+        assertEquals(REQUESTS, seen.stream().map(RoleRequestDto::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).getCreatedAt().isAfter(seen.get(i - 1).getCreatedAt()), "newest first");
+        }
+    }
+}
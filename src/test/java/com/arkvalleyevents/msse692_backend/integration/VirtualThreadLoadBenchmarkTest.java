@@ -0,0 +1,169 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.Msse692BackendApplication;
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Closed-loop load test of GET /api/v1/events, platform-thread Tomcat (default) vs virtual threads, each in its
+ * own application on a random port with the same H2 data and Hikari pool size. Reports throughput and p50/p99.
+ *
+ * Opt-in because it takes about a minute:
+ * {@code mvn test -Dtest=VirtualThreadLoadBenchmarkTest -Dbench.load=true [-Dbench.clients=400 -Dbench.seconds=20]}
+ *
+ * Numbers are only comparable on the same machine; H2 in memory barely blocks, so the gap grows against a real
+ * Postgres where each request waits on the network.
+ */
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadBenchmarkTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("bench.clients", 400);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 20);
+    private static final int WARMUP_SECONDS = 5;
+    private static final String BASIC = "Basic " + Base64.getEncoder().encodeToString("bench:bench".getBytes(StandardCharsets.UTF_8));
+
+    record Result(String mode, long requests, long errors, double perSecond, double p50Ms, double p99Ms) {}
+
+    @Test
+    void listEvents_platformVsVirtualThreads() throws Exception {
+        assumeTrue(Boolean.getBoolean("bench.load"), "set -Dbench.load=true to run the load benchmark");
+
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info("GET /api/v1/events, {} clients, {}s: ", CLIENTS, SECONDS);
+        for (Result r : List.of(platform, virtual)) {
+            log.info("  {} threads: {} req ({} errors), {} req/s, p50 {} ms, p99 {} ms", r.mode(), r.requests(), r.errors(),
+                    String.format("%.0f", r.perSecond()), String.format("%.1f", r.p50Ms()), String.format("%.1f", r.p99Ms()));
+        }
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(Msse692BackendApplication.class)
+                .profiles("test")
+                .properties(
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.hikari.maximum-pool-size=10",
+                    "spring.flyway.enabled=false",
+                    "spring.jpa.hibernate.ddl-auto=update",
+                    "spring.jpa.show-sql=false",
+                    "spring.security.user.name=bench",
+                    "spring.security.user.password={noop}bench",
+                    "spring.threads.virtual.enabled=" + virtualThreads,
+                    "logging.level.root=WARN")
+                .run()) {
+            seed(app.getBean(EventRepository.class));
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/events?size=20&sort=startAt,asc");
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clients)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+                HttpRequest request = HttpRequest.newBuilder(uri).header("Authorization", BASIC)
+                        .timeout(Duration.ofSeconds(30)).GET().build();
+
+                load(http, request, clients, WARMUP_SECONDS, new AtomicLong());
+                AtomicLong errors = new AtomicLong();
+                long[] latencies = load(http, request, clients, SECONDS, errors);
+                Arrays.sort(latencies);
+                return new Result(mode, latencies.length, errors.get(), latencies.length / (double) SECONDS,
+                        percentileMs(latencies, 0.50), percentileMs(latencies, 0.99));
+            }
+        }
+    }
+
+    /** Each client sends its next request as soon as the previous one completes, until the deadline. */
+    private static long[] load(HttpClient http, HttpRequest request, ExecutorService clients, int seconds, AtomicLong errors)
+            throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            futures.add(clients.submit(() -> {
+                long[] samples = new long[1024];
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) errors.incrementAndGet();
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (n == samples.length) samples = Arrays.copyOf(samples, n * 2);
+                    samples[n++] = System.nanoTime() - t0;
+                }
+                return Arrays.copyOf(samples, n);
+            }));
+        }
+        List<long[]> all = new ArrayList<>(CLIENTS);
+        int total = 0;
+        for (Future<long[]> f : futures) {
+            long[] s = f.get(seconds + 60L, TimeUnit.SECONDS);
+            all.add(s);
+            total += s.length;
+        }
+        long[] merged = new long[total];
+        int pos = 0;
+        for (long[] s : all) {
+            System.arraycopy(s, 0, merged, pos, s.length);
+            pos += s.length;
+        }
+        return merged;
+    }
+
+    private static double percentileMs(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(idx, 0)] / 1_000_000.0;
+    }
+
+    private static void seed(EventRepository events) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Event> batch = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Event e = new Event();
+            e.setSlug("load-" + i);
+            e.setEventName("Load " + i);
+            e.setStartAt(start.plusHours(i));
+            e.setEndAt(start.plusHours(i + 1));
+            e.setStatus(EventStatus.PUBLISHED);
+            batch.add(e);
+        }
+        events.saveAll(batch);
+    }
+}
@@ -0,0 +1,140 @@
+package com.arkvalleyevents.msse692_backend.integration;
+
+import com.arkvalleyevents.msse692_backend.config.ConnectionPermitDataSource;
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.security.context.UserContext;
+import com.arkvalleyevents.msse692_backend.service.EventService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Event read paths on virtual threads: many more concurrent callers than pooled connections must all succeed
+ * with checkouts capped at the pool size, and none of our own synchronized methods may show up in a
+ * jdk.VirtualThreadPinned stack. Pinning inside third-party code (driver, pool) is logged, not failed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.threads.virtual.enabled=true",
+    "spring.datasource.hikari.maximum-pool-size=4"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class VirtualThreadPinningTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningTest.class);
+
+    private static final String OUR_PACKAGE = "com.arkvalleyevents.";
+    private static final int CALLERS = 200;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void concurrentReads_stayWithinPool_andDoNotPinOnOurMonitors() throws Exception {
+        ConnectionPermitDataSource permits = assertInstanceOf(ConnectionPermitDataSource.class, dataSource);
+        assertEquals(4, permits.getMaxPermits());
+        Long eventId = seed();
+        UserContext anonymous = new UserContext(null, false, false);
+
+        Path jfr = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < CALLERS; i++) {
+                    futures.add(callers.submit(() -> {
+                        eventService.listEventsPageScoped(Map.of(), 0, 10, "startAt,asc", anonymous);
+                        eventService.getEventDetailOrThrow(eventId);
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get(60, TimeUnit.SECONDS);
+                }
+            }
+
+            recording.stop();
+            recording.dump(jfr);
+        }
+
+        List<String> ours = new ArrayList<>();
+        int thirdParty = 0;
+        for (RecordedEvent e : RecordingFile.readAllEvents(jfr)) {
+            List<RecordedFrame> frames = e.getStackTrace() == null ? List.of() : e.getStackTrace().getFrames();
+            boolean oursPinned = false;
+            for (RecordedFrame f : frames) {
+                String type = f.getMethod().getType().getName();
+                if (type.startsWith(OUR_PACKAGE) && Modifier.isSynchronized(f.getMethod().getModifiers())) {
+                    ours.add(type + "." + f.getMethod().getName());
+                    oursPinned = true;
+                }
+            }
+            if (!oursPinned) {
+                thirdParty++;
+                if (thirdParty <= 3 && !frames.isEmpty()) {
+                    log.info("Pinned outside our code at {}.{} ({} ms)", frames.get(0).getMethod().getType().getName(),
+                            frames.get(0).getMethod().getName(), e.getDuration().toMillis());
+                }
+            }
+        }
+        Files.deleteIfExists(jfr);
+
+        log.info("{} callers on virtual threads: peak connections {} of {}, pinned events outside our code {}",
+                CALLERS, permits.peakInUse(), permits.getMaxPermits(), thirdParty);
+        assertTrue(ours.isEmpty(), "virtual threads pinned in our synchronized methods: " + ours);
+        assertTrue(permits.peakInUse() <= permits.getMaxPermits());
+        assertEquals(0, permits.timeouts());
+        assertEquals(permits.getMaxPermits(), permits.availablePermits(), "every permit returned");
+    }
+
+    private Long seed() {
+        Long first = null;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 20; i++) {
+            Event e = new Event();
+            e.setSlug("vt-" + i);
+            e.setEventName("VT " + i);
+            e.setStartAt(start.plusHours(i));
+            e.setEndAt(start.plusHours(i + 1));
+            e.setStatus(EventStatus.PUBLISHED);
+            e = eventRepository.save(e);
+            if (first == null) first = e.getEventId();
+        }
+        return first;
+    }
+}
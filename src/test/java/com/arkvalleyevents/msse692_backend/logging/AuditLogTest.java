@@ -0,0 +1,67 @@
+package com.arkvalleyevents.msse692_backend.logging;
+
+import com.arkvalleyevents.msse692_backend.model.RoleRequestStatus;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditLogTest {
+
+    private static Logger logger(boolean enabled) {
+        Logger logger = mock(Logger.class);
+        when(logger.isInfoEnabled()).thenReturn(enabled);
+        return logger;
+    }
+
+    @Test
+    void writesTypedValuesInCallOrder() {
+        Logger logger = logger(true);
+        UUID id = UUID.fromString("00000000-0000-0000-0000-000000000007");
+
+        AuditLog.event(logger, "APPROVE_REQUEST")
+                .with("actorId", Long.valueOf(42L))
+                .with("requestId", id)
+                .with("rolesGranted", Set.of("EDITOR"))
+                .with("to", RoleRequestStatus.APPROVED) // toString(), as before
+                .with("noteLen", 0)
+                .with("force", true)
+                .with("version", (Long) null)
+                .with("outcome", "SUCCESS")
+                .log();
+
+        verify(logger).info("audit=true event=APPROVE_REQUEST actorId=42 requestId=" + id
+                + " rolesGranted=[EDITOR] to=Approved noteLen=0 force=true version=null outcome=SUCCESS");
+    }
+
+    @Test
+    void collections_renderSortedWithoutNulls_likeTheSortedListTheServicesUsedToBuild() {
+        List<String> roles = new ArrayList<>(Arrays.asList("USER", null, "ADMIN", "EDITOR", "ADMIN"));
+        AuditLog.Entry entry = AuditLog.event(logger(true), "E")
+                .with("roles", roles)
+                .with("none", List.of())
+                .with("missing", (Set<String>) null);
+
+        assertEquals("audit=true event=E roles=[ADMIN, ADMIN, EDITOR, USER] none=[] missing=[]", entry.message());
+        assertEquals(5, roles.size(), "the input is not copied or reordered");
+    }
+
+    @Test
+    void disabledLogger_returnsSharedNoOpEntry() {
+        Logger logger = logger(false);
+
+        AuditLog.Entry entry = AuditLog.event(logger, "CREATE_REQUEST");
+        entry.with("actorId", 1L).with("roles", Set.of("EDITOR")).log();
+
+        assertSame(AuditLog.Entry.DISABLED, entry);
+        assertNull(entry.message());
+        verify(logger, never()).info(anyString());
+    }
+}
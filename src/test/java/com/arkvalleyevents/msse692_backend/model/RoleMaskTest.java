@@ -0,0 +1,42 @@
+package com.arkvalleyevents.msse692_backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleMaskTest {
+
+    @Test
+    void of_normalizesNamesAndIgnoresUnknown() {
+        assertEquals(RoleMask.USER | RoleMask.ADMIN, RoleMask.of(List.of("user", " ROLE_ADMIN ", "ADMIN", "OWNER")));
+        assertEquals(0, RoleMask.of(null));
+        assertEquals(0, RoleMask.of(Set.of()));
+    }
+
+    @Test
+    void names_roundTripsEveryMask() {
+        for (int m = 0; m <= 7; m++) {
+            assertEquals(m, RoleMask.of(RoleMask.names(m)));
+        }
+        assertEquals(List.of("ADMIN", "EDITOR", "USER"), List.copyOf(RoleMask.names(7)));
+        assertSame(RoleMask.names(3), RoleMask.names(3), "name sets are shared, not rebuilt per call");
+        assertThrows(UnsupportedOperationException.class, () -> RoleMask.names(1).add("ADMIN"));
+    }
+
+    @Test
+    void matchingAny_listsEveryMaskSharingABit() {
+        assertEquals(List.of(4, 5, 6, 7), RoleMask.matchingAny(Set.of("ADMIN")));
+        assertEquals(List.of(2, 3, 4, 5, 6, 7), RoleMask.matchingAny(Set.of("EDITOR", "ADMIN")));
+        assertTrue(RoleMask.matchingAny(Set.of("OWNER")).isEmpty());
+    }
+
+    @Test
+    void setRoles_keepsMaskInStep() {
+        AppUser u = new AppUser();
+        u.setRoles(new java.util.HashSet<>(Set.of("EDITOR", "USER")));
+        assertEquals(RoleMask.USER | RoleMask.EDITOR, u.getRoleMask());
+    }
+}
@@ -0,0 +1,63 @@
+package com.arkvalleyevents.msse692_backend.security.context;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppUserIdentityCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AppUserIdentityCache cache = new AppUserIdentityCache(Duration.ofSeconds(60), 2, registry, clock::get);
+
+    @Test
+    void hitOnlyWhileFingerprintMatchesAndFresh() {
+        long fp = AppUserIdentityCache.fingerprint("a@b.com", "Al", "pic");
+        cache.put("uid-1", fp, 10L, true);
+
+        assertEquals(10L, cache.lookup("uid-1", fp).orElseThrow().userId());
+        assertTrue(cache.lookup("uid-1", AppUserIdentityCache.fingerprint("a@b.com", "Al", "pic2")).isEmpty());
+        assertEquals(Boolean.TRUE, cache.completedProfile("uid-1").orElseThrow(), "flag survives a claims change");
+
+        clock.addAndGet(Duration.ofSeconds(61).toNanos());
+        assertTrue(cache.lookup("uid-1", fp).isEmpty());
+        assertTrue(cache.completedProfile("uid-1").isEmpty());
+    }
+
+    @Test
+    void hitRatioAndCountersAreExported() {
+        long fp = AppUserIdentityCache.fingerprint(null, null, null);
+        cache.lookup("uid-2", fp);
+        cache.put("uid-2", fp, 11L, false);
+        cache.lookup("uid-2", fp);
+        cache.lookup("uid-2", fp);
+
+        assertEquals(2.0, registry.get("app.users.identity.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get("app.users.identity.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(2.0 / 3.0, registry.get("app.users.identity.cache.hit.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void boundedAndInvalidatedByUserId() {
+        cache.put("uid-a", 1L, 1L, false);
+        cache.put("uid-b", 2L, 2L, false);
+        cache.lookup("uid-a", 1L);
+        cache.put("uid-c", 3L, 3L, false); // over the bound: the least recently seen UID goes
+        assertEquals(2, cache.size());
+        assertTrue(cache.completedProfile("uid-b").isEmpty());
+        assertTrue(cache.lookup("uid-a", 1L).isPresent());
+
+        cache.invalidateUser(3L);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void fingerprintSeparatesFields() {
+        assertNotEquals(AppUserIdentityCache.fingerprint("ab", null, null), AppUserIdentityCache.fingerprint("a", "b", null));
+        assertNotEquals(AppUserIdentityCache.fingerprint("", null, null), AppUserIdentityCache.fingerprint(null, null, null));
+    }
+}
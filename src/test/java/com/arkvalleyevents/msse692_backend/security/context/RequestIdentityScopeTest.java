@@ -0,0 +1,76 @@
+package com.arkvalleyevents.msse692_backend.security.context;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestIdentityScopeTest {
+
+    private static final RequestIdentity ALICE = new RequestIdentity(1L, "uid-a", Set.of("USER"), false, false);
+    private static final RequestIdentity BOB = new RequestIdentity(2L, "uid-b", Set.of("ADMIN"), true, false);
+
+    @Test
+    void of_derivesRoleFlagsInOnePass() {
+        RequestIdentity id = RequestIdentity.of(5L, "uid-5",
+                List.of(new SimpleGrantedAuthority("ROLE_EDITOR"), new SimpleGrantedAuthority("ROLE_USER"),
+                        new SimpleGrantedAuthority("SCOPE_read")));
+
+        assertTrue(id.editor());
+        assertFalse(id.admin());
+        assertEquals(Set.of("EDITOR", "USER"), id.roles());
+        assertEquals(new UserContext(5L, false, true), id.toUserContext());
+    }
+
+    @Test
+    void binding_isRestoredOnExit_evenWhenTheBlockThrows() {
+        assertTrue(RequestIdentityScope.current().isEmpty());
+        try (RequestIdentityScope.Binding outer = RequestIdentityScope.bind(ALICE)) {
+            assertThrows(IllegalStateException.class, () -> RequestIdentityScope.run(BOB, () -> {
+                assertEquals(Optional.of(2L), RequestIdentityScope.currentUserId());
+                throw new IllegalStateException("boom");
+            }));
+            assertEquals(Optional.of(ALICE), RequestIdentityScope.current());
+        }
+        assertTrue(RequestIdentityScope.current().isEmpty());
+    }
+
+    @Test
+    void wrappedTasks_seeTheSubmittersIdentity_plainTasksDoNot() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try (RequestIdentityScope.Binding ignored = RequestIdentityScope.bind(ALICE)) {
+            assertEquals(Optional.of(ALICE),
+                    pool.submit(RequestIdentityScope.wrap(RequestIdentityScope::current)).get(5, TimeUnit.SECONDS));
+            assertEquals(Optional.empty(),
+                    pool.submit(() -> RequestIdentityScope.current()).get(5, TimeUnit.SECONDS));
+            // The pooled thread is left clean after a wrapped task
+            pool.submit(RequestIdentityScope.wrap(() -> { })).get(5, TimeUnit.SECONDS);
+            assertEquals(Optional.empty(),
+                    pool.submit(() -> RequestIdentityScope.current()).get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void taskDecorator_propagatesIdentity() throws Exception {
+        RequestIdentityTaskDecorator decorator = new RequestIdentityTaskDecorator();
+        AtomicReference<Optional<RequestIdentity>> seen = new AtomicReference<>();
+        Runnable decorated;
+        try (RequestIdentityScope.Binding ignored = RequestIdentityScope.bind(BOB)) {
+            decorated = decorator.decorate(() -> seen.set(RequestIdentityScope.current()));
+        }
+        Thread t = new Thread(decorated);
+        t.start();
+        t.join(5_000);
+        assertEquals(Optional.of(BOB), seen.get());
+    }
+}
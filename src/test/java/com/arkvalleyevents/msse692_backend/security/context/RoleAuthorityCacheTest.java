@@ -0,0 +1,63 @@
+package com.arkvalleyevents.msse692_backend.security.context;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleAuthorityCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final RoleAuthorityCache cache = new RoleAuthorityCache(Duration.ofMinutes(5), 100, clock::get);
+
+    @Test
+    void identicalRoleLists_shareOneImmutableInstance() {
+        List<GrantedAuthority> first = cache.authorities(new ArrayList<>(List.of("editor", "USER")));
+        List<GrantedAuthority> second = cache.authorities(List.of("editor", "USER"));
+
+        assertSame(first, second);
+        assertEquals(List.of("ROLE_EDITOR", "ROLE_USER"), first.stream().map(GrantedAuthority::getAuthority).toList());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(null));
+    }
+
+    @Test
+    void mutatingTheCallersList_doesNotCorruptTheKey() {
+        List<String> claim = new ArrayList<>(List.of("ADMIN"));
+        List<GrantedAuthority> admin = cache.authorities(claim);
+        claim.set(0, "USER");
+
+        assertSame(admin, cache.authorities(List.of("ADMIN")));
+        assertEquals("ROLE_USER", cache.authorities(claim).get(0).getAuthority());
+    }
+
+    @Test
+    void dbRoles_loadedOncePerTtl_untilInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.forUid("uid-1", uid -> { loads.incrementAndGet(); return Set.of("EDITOR"); });
+        List<GrantedAuthority> cached = cache.forUid("uid-1", uid -> { loads.incrementAndGet(); return Set.of("EDITOR"); });
+        assertEquals(1, loads.get());
+        assertEquals("ROLE_EDITOR", cached.get(0).getAuthority());
+
+        cache.invalidate("uid-1");
+        cache.forUid("uid-1", uid -> { loads.incrementAndGet(); return Set.of("EDITOR", "ADMIN"); });
+        assertEquals(2, loads.get());
+
+        clock.addAndGet(Duration.ofMinutes(6).toNanos());
+        cache.forUid("uid-1", uid -> { loads.incrementAndGet(); return Set.of(); });
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void unknownUser_fallsBackToUser() {
+        List<GrantedAuthority> out = cache.forUid("uid-new", uid -> List.of());
+        assertEquals(List.of("ROLE_USER"), out.stream().map(GrantedAuthority::getAuthority).toList());
+        assertEquals(1, cache.uidCount());
+    }
+}
@@ -0,0 +1,145 @@
+package com.arkvalleyevents.msse692_backend.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingJwtDecoderTest {
+
+    private static RSAKey key;
+    private static NimbusJwtDecoder verifying;
+
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final JwtDecoder counting = token -> {
+        verifications.incrementAndGet();
+        return verifying.decode(token);
+    };
+    private final MutableClock clock = new MutableClock(Instant.now());
+
+    @BeforeAll
+    static void keys() throws JOSEException {
+        key = new RSAKeyGenerator(2048).keyID("k1").generate();
+        verifying = FirebaseJwtDecoders.withKeys(new ImmutableJWKSet<>(new JWKSet(key.toPublicJWK())));
+    }
+
+    @Test
+    void repeatToken_isVerifiedOnce() throws Exception {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 100, new SimpleMeterRegistry(), clock);
+        String token = sign("uid-1", clock.instant().plusSeconds(3600));
+
+        Jwt first = decoder.decode(token);
+        Jwt second = decoder.decode(token);
+
+        assertSame(first, second);
+        assertEquals("uid-1", second.getSubject());
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void cachedToken_isRejectedOnceExpired() throws Exception {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 100, new SimpleMeterRegistry(), clock);
+        String token = sign("uid-2", clock.instant().plusSeconds(60));
+        decoder.decode(token);
+
+        clock.advance(Duration.ofSeconds(61));
+        // Past exp (by the cache clock) the entry is dropped and the delegate verifies the token again
+        decoder.decode(token);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void badSignature_isNeverCached() throws Exception {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 100, new SimpleMeterRegistry(), clock);
+        RSAKey other = new RSAKeyGenerator(2048).keyID("k1").generate();
+        String forged = sign(other, "uid-3", clock.instant().plusSeconds(3600));
+
+        assertThrows(JwtException.class, () -> decoder.decode(forged));
+        assertThrows(JwtException.class, () -> decoder.decode(forged));
+        assertEquals(2, verifications.get());
+        assertEquals(0, decoder.size());
+    }
+
+    @Test
+    void full_evictsTheLeastRecentlyPresentedToken() throws Exception {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 2, new SimpleMeterRegistry(), clock);
+        String a = sign("a", clock.instant().plusSeconds(3600));
+        String b = sign("b", clock.instant().plusSeconds(3600));
+        decoder.decode(a);
+        decoder.decode(b);
+        decoder.decode(a);
+
+        decoder.decode(sign("c", clock.instant().plusSeconds(3600)));
+        assertEquals(2, decoder.size());
+        assertEquals(3, verifications.get());
+
+        decoder.decode(a);
+        assertEquals(3, verifications.get(), "recently used token kept");
+        decoder.decode(b);
+        assertEquals(4, verifications.get(), "coldest token evicted");
+    }
+
+    private static String sign(String subject, Instant exp) throws JOSEException {
+        return sign(key, subject, exp);
+    }
+
+    private static String sign(RSAKey signingKey, String subject, Instant exp) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .issueTime(Date.from(exp.minusSeconds(3600)))
+                .expirationTime(Date.from(exp))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
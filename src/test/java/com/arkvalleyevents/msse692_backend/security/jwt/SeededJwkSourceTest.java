@@ -0,0 +1,75 @@
+package com.arkvalleyevents.msse692_backend.security.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeededJwkSourceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void seededKeys_needNoFetch() throws Exception {
+        RSAKey k1 = new RSAKeyGenerator(2048).keyID("k1").generate();
+        AtomicInteger fetches = new AtomicInteger();
+        SeededJwkSource source = source(new JWKSet(k1.toPublicJWK()), () -> {
+            fetches.incrementAndGet();
+            return new JWKSet(k1.toPublicJWK());
+        });
+
+        assertEquals(1, source.get(selector("k1"), null).size());
+        assertEquals(0, fetches.get());
+    }
+
+    @Test
+    void unknownKid_refetchesOnce_withinTheGap() throws Exception {
+        RSAKey k1 = new RSAKeyGenerator(2048).keyID("k1").generate();
+        RSAKey k2 = new RSAKeyGenerator(2048).keyID("k2").generate();
+        AtomicInteger fetches = new AtomicInteger();
+        SeededJwkSource source = source(new JWKSet(k1.toPublicJWK()), () -> {
+            fetches.incrementAndGet();
+            return new JWKSet(java.util.List.of(k1.toPublicJWK(), k2.toPublicJWK()));
+        });
+
+        assertEquals(1, source.get(selector("k2"), null).size(), "rotated key found after refetch");
+        assertTrue(source.get(selector("nope"), null).isEmpty());
+        assertEquals(1, fetches.get(), "a junk kid must not trigger another fetch inside the gap");
+    }
+
+    @Test
+    void failedFetch_keepsTheSeed() throws Exception {
+        RSAKey k1 = new RSAKeyGenerator(2048).keyID("k1").generate();
+        SeededJwkSource source = source(new JWKSet(k1.toPublicJWK()), () -> {
+            throw new java.io.IOException("offline");
+        });
+        clock.addAndGet(Duration.ofHours(2).toNanos()); // stale: triggers a refresh attempt
+
+        assertEquals(1, source.get(selector("k1"), null).size());
+    }
+
+    @Test
+    void neitherSeedNorFetcher_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SeededJwkSource(null, null, Duration.ofHours(1), Duration.ofSeconds(30)));
+    }
+
+    private SeededJwkSource source(JWKSet seed, Callable<JWKSet> fetcher) {
+        return new SeededJwkSource(seed, fetcher, Duration.ofHours(1), Duration.ofSeconds(30), clock::get);
+    }
+
+    private static JWKSelector selector(String kid) {
+        return new JWKSelector(JWKMatcher.forJWSHeader(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build()));
+    }
+}
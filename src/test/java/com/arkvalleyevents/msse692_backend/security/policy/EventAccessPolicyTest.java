@@ -1,7 +1,9 @@
 package com.arkvalleyevents.msse692_backend.security.policy;
 
 import com.arkvalleyevents.msse692_backend.dto.response.EventDetailDto;
+import com.arkvalleyevents.msse692_backend.model.Event;
 import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.security.context.UserContext;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -63,4 +65,19 @@ class EventAccessPolicyTest {
         assertDoesNotThrow(() -> policy.assertCanView(publishedOwnedBy20, Optional.empty(), false, false));
         assertDoesNotThrow(() -> policy.assertCanView(draftOwnedBy10, Optional.of(10L), false, true));
     }
+
+    @Test
+    void assertCanModify_entity_appliesSameRulesAsDto() {
+        Event entity = new Event();
+        entity.setEventId(1L);
+        entity.setStatus(EventStatus.PUBLISHED);
+        entity.setCreatedByUserId(10L);
+
+        assertDoesNotThrow(() -> policy.assertCanModify(entity, new UserContext(999L, true, false)));
+        assertDoesNotThrow(() -> policy.assertCanModify(entity, new UserContext(10L, false, true)));
+        assertThrows(EntityNotFoundException.class, () -> policy.assertCanModify(entity, new UserContext(11L, false, true)));
+        // Published does not imply modifiable for plain users
+        assertThrows(EntityNotFoundException.class, () -> policy.assertCanModify(entity, new UserContext(10L, false, false)));
+        assertThrows(EntityNotFoundException.class, () -> policy.assertCanModify((Event) null, new UserContext(10L, true, false)));
+    }
 }
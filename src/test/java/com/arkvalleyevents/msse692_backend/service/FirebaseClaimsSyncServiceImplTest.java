@@ -1,5 +1,6 @@
 package com.arkvalleyevents.msse692_backend.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 import com.arkvalleyevents.msse692_backend.model.AppUser;
@@ -8,6 +9,7 @@ import com.arkvalleyevents.msse692_backend.service.impl.FirebaseClaimsSyncServic
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -15,6 +17,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 /**
  * Unit tests for FirebaseClaimsSyncServiceImpl focusing on claim map composition
@@ -99,4 +104,67 @@ class FirebaseClaimsSyncServiceImplTest {
         verify(firebaseAuth).setCustomUserClaims(eq("uidErr"), any());
         // No assertion on logs; absence of thrown exception is success criteria.
     }
+
+    @Test
+    @DisplayName("Skips the remote call when the stored hash matches and force is false")
+    void syncSkipsWhenHashUnchanged() throws FirebaseAuthException {
+        AppUser u = user(7L, "uidSame", "EDITOR");
+        when(appUserRepository.findByFirebaseUid("uidSame")).thenReturn(Optional.of(u));
+
+        // First push stores the hash
+        assertEquals(FirebaseClaimsSyncService.Outcome.PUSHED, service.syncUserRolesByUid("uidSame", false));
+        ArgumentCaptor<String> hashCap = ArgumentCaptor.forClass(String.class);
+        verify(appUserRepository).updateClaimsRolesHash(eq(7L), hashCap.capture());
+        u.setClaimsRolesHash(hashCap.getValue());
+
+        assertEquals(FirebaseClaimsSyncService.Outcome.SKIPPED, service.syncUserRolesByUid("uidSame", false));
+        verify(firebaseAuth, times(1)).setCustomUserClaims(eq("uidSame"), any());
+
+        // force always pushes
+        assertEquals(FirebaseClaimsSyncService.Outcome.PUSHED, service.syncUserRolesByUid("uidSame", true));
+        verify(firebaseAuth, times(2)).setCustomUserClaims(eq("uidSame"), any());
+    }
+
+    @Test
+    @DisplayName("A failed push does not record the hash")
+    void syncFailureLeavesHash() throws FirebaseAuthException {
+        AppUser u = user(8L, "uidFail", "ADMIN");
+        when(appUserRepository.findByFirebaseUid("uidFail")).thenReturn(Optional.of(u));
+        doThrow(new RuntimeException("Simulated failure"))
+            .when(firebaseAuth).setCustomUserClaims(anyString(), any());
+
+        assertEquals(FirebaseClaimsSyncService.Outcome.FAILED, service.syncUserRolesByUid("uidFail", false));
+        verify(appUserRepository, never()).updateClaimsRolesHash(any(), any());
+    }
+
+    @Test
+    @DisplayName("Bulk sync pages through users and counts outcomes")
+    void syncAllCountsOutcomes() throws FirebaseAuthException {
+        AppUser pushed = user(1L, "uidP", "USER");
+        AppUser skipped = user(2L, "uidS", "USER");
+        AppUser failed = user(3L, "uidF", "EDITOR");
+        // Learn the USER-only hash from a first push
+        when(appUserRepository.findByFirebaseUid("uidS")).thenReturn(Optional.of(skipped));
+        service.syncUserRolesByUid("uidS", true);
+        ArgumentCaptor<String> hashCap = ArgumentCaptor.forClass(String.class);
+        verify(appUserRepository).updateClaimsRolesHash(eq(2L), hashCap.capture());
+        skipped.setClaimsRolesHash(hashCap.getValue());
+
+        doThrow(new RuntimeException("Simulated failure"))
+            .when(firebaseAuth).setCustomUserClaims(eq("uidF"), any());
+        when(appUserRepository.findSliceBy(any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(pushed, skipped, failed), PageRequest.of(0, 200), false));
+
+        FirebaseClaimsSyncService.SyncCounts counts = service.syncAllUsers(false);
+
+        assertEquals(new FirebaseClaimsSyncService.SyncCounts(1, 1, 1), counts);
+    }
+
+    private static AppUser user(Long id, String uid, String role) {
+        AppUser u = new AppUser();
+        u.setId(id);
+        u.setFirebaseUid(uid);
+        u.setRoles(new HashSet<>(Set.of(role)));
+        return u;
+    }
 }
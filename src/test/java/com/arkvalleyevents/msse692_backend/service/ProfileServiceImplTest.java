@@ -6,6 +6,7 @@ import com.arkvalleyevents.msse692_backend.model.Profile;
 import com.arkvalleyevents.msse692_backend.model.ProfileType;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
 import com.arkvalleyevents.msse692_backend.repository.ProfileRepository;
+import com.arkvalleyevents.msse692_backend.security.context.AppUserIdentityCache;
 import com.arkvalleyevents.msse692_backend.security.context.UserContextProvider;
 import com.arkvalleyevents.msse692_backend.service.impl.ProfileServiceImpl;
 import com.arkvalleyevents.msse692_backend.service.mapping.ProfileMapper;
@@ -32,6 +33,7 @@ class ProfileServiceImplTest {
     @Mock private AppUserRepository appUserRepository;
     @Mock private UserContextProvider userContextProvider;
     @Mock private ProfileMapper profileMapper;
+    @Mock private AppUserIdentityCache identityCache;
 
     @InjectMocks private ProfileServiceImpl service;
 
@@ -284,6 +286,7 @@ class ProfileServiceImplTest {
         service.deleteProfileForUser(uid);
 
         verify(profileRepository).delete(existing);
+        verify(identityCache).invalidateUser(uid);
     }
 
     // -------- helpers --------
@@ -2,12 +2,15 @@ package com.arkvalleyevents.msse692_backend.service;
 
 import com.arkvalleyevents.msse692_backend.dto.request.RoleRequestCreateDto;
 import com.arkvalleyevents.msse692_backend.dto.request.RoleRequestDecisionDto;
+import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestCursorPageResponse;
 import com.arkvalleyevents.msse692_backend.dto.response.RoleRequestDto;
 import com.arkvalleyevents.msse692_backend.model.RoleRequest;
 import com.arkvalleyevents.msse692_backend.model.RoleRequestStatus;
+import com.arkvalleyevents.msse692_backend.repository.RequestedRoleRow;
 import com.arkvalleyevents.msse692_backend.repository.RoleRequestRepository;
 import com.arkvalleyevents.msse692_backend.security.context.UserContext;
 import com.arkvalleyevents.msse692_backend.security.context.UserContextProvider;
+import com.arkvalleyevents.msse692_backend.service.impl.ApproximateCountCache;
 import com.arkvalleyevents.msse692_backend.service.impl.RoleRequestServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,8 +18,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +45,8 @@ class RoleRequestServiceImplTest {
     private UserRoleService userRoleService;
     @Mock
     private UserContextProvider userContextProvider;
+    @Spy
+    private ApproximateCountCache countCache = new ApproximateCountCache(Duration.ofSeconds(60));
 
     @InjectMocks
     private RoleRequestServiceImpl service;
@@ -172,4 +184,82 @@ class RoleRequestServiceImplTest {
         assertEquals(RoleRequestStatus.REJECTED, dto.getStatus());
         assertEquals("adminUID", dto.getApproverUid());
     }
+
+    @Test
+    void adminList_countNone_returnsSliceWithoutCounting() {
+        Pageable pageable = PageRequest.of(0, 1);
+        RoleRequest pending = new RoleRequest();
+        pending.setId(UUID.randomUUID().toString());
+        pending.setRequesterUid("userABC");
+        pending.setStatus(RoleRequestStatus.PENDING);
+        when(repository.findSliceByStatus(RoleRequestStatus.PENDING, pageable))
+                .thenReturn(new SliceImpl<>(List.of(pending), pageable, true));
+
+        Slice<RoleRequestDto> result = service.adminList(Optional.of(RoleRequestStatus.PENDING), Optional.empty(), pageable, CountMode.NONE);
+
+        assertEquals(1, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+        assertFalse(result instanceof Page);
+        verify(repository, never()).findByStatus(any(), any());
+        verify(repository, never()).countByStatus(any());
+    }
+
+    @Test
+    void adminList_countApproximate_countsOncePerTtl() {
+        Pageable pageable = PageRequest.of(0, 1);
+        RoleRequest pending = new RoleRequest();
+        pending.setId(UUID.randomUUID().toString());
+        pending.setRequesterUid("userABC");
+        pending.setStatus(RoleRequestStatus.PENDING);
+        when(repository.findSliceByStatus(RoleRequestStatus.PENDING, pageable))
+                .thenReturn(new SliceImpl<>(List.of(pending), pageable, true));
+        when(repository.countByStatus(RoleRequestStatus.PENDING)).thenReturn(42L);
+
+        Slice<RoleRequestDto> first = service.adminList(Optional.of(RoleRequestStatus.PENDING), Optional.empty(), pageable, CountMode.APPROXIMATE);
+        Slice<RoleRequestDto> second = service.adminList(Optional.of(RoleRequestStatus.PENDING), Optional.empty(), pageable, CountMode.APPROXIMATE);
+
+        assertEquals(42L, ((Page<RoleRequestDto>) first).getTotalElements());
+        assertEquals(42L, ((Page<RoleRequestDto>) second).getTotalElements());
+        verify(repository, times(1)).countByStatus(RoleRequestStatus.PENDING);
+    }
+
+    @Test
+    void adminQueue_fetchesSizePlusOne_andSeeksPastTheCursorRow() {
+        OffsetDateTime t0 = OffsetDateTime.parse("2025-11-20T18:00:00Z");
+        RoleRequest a = queued("c", t0.plusMinutes(2));
+        RoleRequest b = queued("b", t0.plusMinutes(1));
+        RoleRequest c = queued("a", t0);
+        when(repository.findQueue(RoleRequestStatus.PENDING, null, null, null, 3)).thenReturn(List.of(a, b, c));
+        when(repository.findRequestedRoles(List.of("c", "b")))
+                .thenReturn(List.of(new RequestedRoleRow("c", "EDITOR"), new RequestedRoleRow("b", "EDITOR")));
+
+        RoleRequestCursorPageResponse first = service.adminQueue(Optional.of(RoleRequestStatus.PENDING), Optional.empty(), null, 2);
+
+        assertEquals(List.of("c", "b"), first.getItems().stream().map(RoleRequestDto::getId).toList());
+        assertEquals(List.of("EDITOR"), first.getItems().get(0).getRequestedRoles());
+        assertTrue(first.isHasNext());
+
+        when(repository.findQueue(RoleRequestStatus.PENDING, null, b.getCreatedAt(), "b", 3)).thenReturn(List.of(c));
+        when(repository.findRequestedRoles(List.of("a"))).thenReturn(List.of());
+        RoleRequestCursorPageResponse second = service.adminQueue(Optional.of(RoleRequestStatus.PENDING), Optional.empty(), first.getNextCursor(), 2);
+
+        assertEquals(List.of("a"), second.getItems().stream().map(RoleRequestDto::getId).toList());
+        assertFalse(second.isHasNext());
+        verify(repository, never()).countByStatus(any());
+    }
+
+    @Test
+    void adminQueue_rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.adminQueue(Optional.empty(), Optional.empty(), "not-a-cursor", 10));
+    }
+
+    private static RoleRequest queued(String id, OffsetDateTime createdAt) {
+        RoleRequest r = new RoleRequest();
+        r.setId(id);
+        r.setRequesterUid("user-" + id);
+        r.setStatus(RoleRequestStatus.PENDING);
+        r.setCreatedAt(createdAt);
+        return r;
+    }
 }
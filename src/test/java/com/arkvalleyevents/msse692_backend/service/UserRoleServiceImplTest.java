@@ -2,8 +2,10 @@ package com.arkvalleyevents.msse692_backend.service;
 
 import com.arkvalleyevents.msse692_backend.model.AppUser;
 import com.arkvalleyevents.msse692_backend.repository.AppUserRepository;
+import com.arkvalleyevents.msse692_backend.security.context.RoleAuthorityCache;
 import com.arkvalleyevents.msse692_backend.security.context.UserContext;
 import com.arkvalleyevents.msse692_backend.security.context.UserContextProvider;
+import com.arkvalleyevents.msse692_backend.service.impl.ClaimsOutboxDispatcher;
 import com.arkvalleyevents.msse692_backend.service.impl.UserRoleServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +29,10 @@ class UserRoleServiceImplTest {
     private FirebaseClaimsSyncService firebaseClaimsSyncService;
     @Mock
     private UserContextProvider userContextProvider;
+    @Mock
+    private RoleAuthorityCache roleAuthorityCache;
+    @Mock
+    private ClaimsOutboxDispatcher claimsOutbox;
 
     @InjectMocks
     private UserRoleServiceImpl service;
@@ -48,11 +54,13 @@ class UserRoleServiceImplTest {
     }
 
     @Test
-    void addRoles_successAddsAndSyncs() {
+    void addRoles_successAddsAndQueuesSync() {
         var result = service.addRoles("uid-xyz", Set.of("editor"));
         assertTrue(result.roles().contains("EDITOR"));
         verify(appUserRepository).save(any(AppUser.class));
-        verify(firebaseClaimsSyncService).syncUserRolesByUid("uid-xyz", true);
+        verify(claimsOutbox).enqueue("uid-xyz");
+        verifyNoInteractions(firebaseClaimsSyncService);
+        verify(roleAuthorityCache).invalidate("uid-xyz");
     }
 
     @Test
@@ -62,14 +70,14 @@ class UserRoleServiceImplTest {
     }
 
     @Test
-    void removeRole_successRemovesAndSyncs() {
+    void removeRole_successRemovesAndQueuesSync() {
         // Ensure role present first
         service.addRoles("uid-xyz", Set.of("EDITOR"));
-        reset(firebaseClaimsSyncService); // isolate remove call sync
+        reset(claimsOutbox); // isolate remove call sync
         var result = service.removeRole("uid-xyz", "editor");
         assertTrue(result.removed());
         verify(appUserRepository, atLeastOnce()).save(any(AppUser.class));
-        verify(firebaseClaimsSyncService).syncUserRolesByUid("uid-xyz", true);
+        verify(claimsOutbox).enqueue("uid-xyz");
     }
 
     @Test
@@ -77,7 +85,9 @@ class UserRoleServiceImplTest {
         var result = service.removeRole("uid-xyz", "EDITOR"); // not present initially
         assertFalse(result.removed());
         verify(appUserRepository, never()).save(any());
+        verify(roleAuthorityCache, never()).invalidate(any());
         verify(firebaseClaimsSyncService, never()).syncUserRolesByUid(any(), anyBoolean());
+        verify(claimsOutbox, never()).enqueue(any());
     }
 
     @Test
@@ -85,4 +95,20 @@ class UserRoleServiceImplTest {
         service.syncClaims("uid-xyz", true);
         verify(firebaseClaimsSyncService).syncUserRolesByUid("uid-xyz", true);
     }
+
+    @Test
+    void syncClaims_reportsOutcome() {
+        when(firebaseClaimsSyncService.syncUserRolesByUid("uid-xyz", false)).thenReturn(FirebaseClaimsSyncService.Outcome.SKIPPED);
+        var result = service.syncClaims("uid-xyz", false);
+        assertEquals(FirebaseClaimsSyncService.Outcome.SKIPPED, result.outcome());
+    }
+
+    @Test
+    void syncAllClaims_returnsCounts() {
+        when(firebaseClaimsSyncService.syncAllUsers(false)).thenReturn(new FirebaseClaimsSyncService.SyncCounts(2, 5, 1));
+        var counts = service.syncAllClaims(false);
+        assertEquals(2, counts.pushed());
+        assertEquals(5, counts.skipped());
+        assertEquals(1, counts.failed());
+    }
 }
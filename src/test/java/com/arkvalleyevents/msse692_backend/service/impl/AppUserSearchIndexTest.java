@@ -0,0 +1,76 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppUserSearchIndexTest {
+
+    private AppUserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AppUserSearchIndex(null, new SimpleMeterRegistry(), true, 3);
+        index.apply(1L, "uidAlpha001", "ann.smith@example.com", "Ann Smith", 1);
+        index.apply(2L, "uidBravo002", "bob@smithy.org", "Bob Jones", 1);
+        index.apply(3L, "uidCharlie03", "carol@example.com", "Carol Blacksmith", 1);
+        index.markReady();
+    }
+
+    @Test
+    void substringMatchesAnyField_caseInsensitive() {
+        assertEquals(Optional.of(List.of(1L, 2L, 3L)), index.search("SMITH"));
+        assertEquals(Optional.of(List.of(1L, 3L)), index.search("example.com"));
+        assertEquals(Optional.of(List.of(2L)), index.search("bravo0"));
+        assertEquals(Optional.of(List.of(3L)), index.search("carol b"));
+    }
+
+    @Test
+    void trigramsPresentButNotContiguous_doNotMatch() {
+        index.apply(9L, "uid9", "abcd@x.io", "Xbcy", 1);
+        // Both "abc" and "bcy" are indexed for user 9, but the text never contains "abcy"
+        assertEquals(Optional.of(List.of()), index.search("abcy"));
+        assertEquals(Optional.of(List.of()), index.search("zzz"));
+    }
+
+    @Test
+    void shortOrWildcardQueries_andUnbuiltIndex_fallBack() {
+        assertTrue(index.search("sm").isEmpty());
+        assertTrue(index.search("smi%th").isEmpty());
+        assertTrue(index.search("a_n").isEmpty());
+        AppUserSearchIndex cold = new AppUserSearchIndex(null, new SimpleMeterRegistry(), true, 10);
+        cold.apply(1L, "u", "smith@x.com", null, 1);
+        assertTrue(cold.search("smith").isEmpty(), "not ready until the build completes");
+    }
+
+    @Test
+    void moreMatchesThanTheCap_fallBack() {
+        index.apply(4L, "uidDelta04", "dave@example.com", "Dave Smith", 1);
+        assertTrue(index.search("smith").isEmpty());
+        assertEquals(Optional.of(List.of(1L, 3L, 4L)), index.search("example"));
+    }
+
+    @Test
+    void update_replacesOldText_andOlderCopiesAreIgnored() {
+        index.apply(2L, "uidBravo002", "bob@jones.org", "Bob Jones", 5);
+        assertEquals(Optional.of(List.of(1L, 3L)), index.search("smith"));
+        assertEquals(Optional.of(List.of(2L)), index.search("jones.org"));
+
+        // A catch-up row read before the update must not bring the old email back
+        index.apply(2L, "uidBravo002", "bob@smithy.org", "Bob Jones", 4);
+        assertEquals(Optional.of(List.of(2L)), index.search("jones.org"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void grams_areDistinctSortedAndSkipFieldSeparators() {
+        long[] g = AppUserSearchIndex.grams("aaaa\u0001bbb");
+        assertEquals(2, g.length);
+        assertTrue(g[0] < g[1]);
+    }
+}
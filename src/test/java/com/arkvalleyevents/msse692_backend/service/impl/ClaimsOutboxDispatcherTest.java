@@ -0,0 +1,26 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClaimsOutboxDispatcherTest {
+
+    private static final Duration INITIAL = Duration.ofSeconds(2);
+    private static final Duration MAX = Duration.ofMinutes(10);
+
+    @Test
+    void backoff_doublesPerAttempt() {
+        assertEquals(Duration.ofSeconds(2), ClaimsOutboxDispatcher.backoff(1, INITIAL, MAX));
+        assertEquals(Duration.ofSeconds(4), ClaimsOutboxDispatcher.backoff(2, INITIAL, MAX));
+        assertEquals(Duration.ofSeconds(64), ClaimsOutboxDispatcher.backoff(6, INITIAL, MAX));
+    }
+
+    @Test
+    void backoff_isCapped() {
+        assertEquals(MAX, ClaimsOutboxDispatcher.backoff(10, INITIAL, MAX));
+        assertEquals(MAX, ClaimsOutboxDispatcher.backoff(1_000, INITIAL, MAX));
+    }
+}
@@ -0,0 +1,196 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditCursorPageResponse;
+import com.arkvalleyevents.msse692_backend.dto.response.EventAuditDto;
+import com.arkvalleyevents.msse692_backend.model.EventAudit;
+import com.arkvalleyevents.msse692_backend.model.EventAuditDaily;
+import com.arkvalleyevents.msse692_backend.repository.EventAuditDailyRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventAuditRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentity;
+import com.arkvalleyevents.msse692_backend.security.context.RequestIdentityScope;
+import com.arkvalleyevents.msse692_backend.service.EventAuditService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventAuditServiceImplTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.parse("2025-11-20T18:00:00Z");
+
+    @Mock
+    private EventAuditRepository repository;
+    @Mock
+    private EventAuditDailyRepository dailyRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private EventAuditWriter writer;
+
+    private EventAuditServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EventAuditServiceImpl(repository, dailyRepository, eventRepository, writer, "async");
+    }
+
+    private static EventAudit audit(long id, OffsetDateTime at, String action) {
+        EventAudit a = new EventAudit();
+        a.setId(id);
+        a.setEventId(99L);
+        a.setActorUserId(7L);
+        a.setAction(action);
+        a.setAt(at);
+        return a;
+    }
+
+    @Test
+    void logDelete_goesThroughWriteBehind_likeEveryOtherAction() {
+        try (RequestIdentityScope.Binding ignored =
+                 RequestIdentityScope.bind(new RequestIdentity(7L, "uid-7", Set.of("ADMIN"), true, false))) {
+            service.logDelete(99L); // no FK to event (V14): the row may outlive the event it describes
+            service.logUpdate(99L);
+        }
+
+        verify(writer).enqueue(argThat(p -> p.eventId() == 99L && "DELETE".equals(p.action()) && p.actorUserId() == 7L));
+        verify(writer).enqueue(argThat(p -> "UPDATE".equals(p.action())));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void findForEvent_fetchesOneExtraRow_andEncodesCursorFromLastReturned() {
+        List<EventAudit> rows = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            rows.add(audit(10 - i, T0.minusMinutes(i), "UPDATE"));
+        }
+        when(repository.findForEvent(99L, null, null, null, null, 4)).thenReturn(rows);
+
+        EventAuditCursorPageResponse page = service.findForEvent(99L, Optional.empty(), Optional.empty(), "", 3);
+
+        assertEquals(List.of(10L, 9L, 8L), page.getItems().stream().map(EventAuditDto::getId).toList());
+        assertTrue(page.isHasNext());
+        EventAuditCursor next = EventAuditCursor.decode(page.getNextCursor());
+        assertEquals(8L, next.id());
+        assertTrue(T0.minusMinutes(2).isEqual(next.at()));
+    }
+
+    @Test
+    void findForEvent_seeksPastCursor_withNormalizedFiltersAndClampedSize() {
+        String cursor = new EventAuditCursor(T0, 8L).encode();
+        when(repository.findForEvent(eq(99L), eq(7L), eq("UPDATE"), eq(T0), eq(8L), eq(EventAuditService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of(audit(5L, T0.minusHours(1), "UPDATE")));
+
+        EventAuditCursorPageResponse page = service.findForEvent(99L, Optional.of(7L), Optional.of(" update "), cursor, 10_000);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(EventAuditService.MAX_PAGE_SIZE, page.getSize());
+        assertNull(page.getNextCursor());
+        assertFalse(page.isHasNext());
+    }
+
+    @Test
+    void findForEvent_mapsRecordedDiff() {
+        EventAudit a = audit(5L, T0, "UPDATE");
+        a.setSnapshot("{\"v\":3,\"d\":{\"status\":[\"DRAFT\",\"PUBLISHED\"]}}");
+        when(repository.findForEvent(99L, null, null, null, null, 11)).thenReturn(List.of(a, audit(4L, T0, "CREATE")));
+
+        List<EventAuditDto> items = service.findForEvent(99L, Optional.empty(), Optional.empty(), null, 10).getItems();
+
+        assertEquals(3L, items.get(0).getVersion());
+        assertEquals(List.of("DRAFT", "PUBLISHED"), items.get(0).getChanges().get("status"));
+        assertNull(items.get(1).getVersion());
+        assertNull(items.get(1).getChanges());
+    }
+
+    private static EventAuditDaily day(LocalDate d, int creates, int updates) {
+        EventAuditDaily daily = new EventAuditDaily();
+        daily.setEventId(99L);
+        daily.setDay(d);
+        daily.setCreateCount(creates);
+        daily.setUpdateCount(updates);
+        daily.setActorCount(2);
+        daily.setFirstAt(d.atStartOfDay().atOffset(ZoneOffset.UTC));
+        daily.setLastAt(d.atTime(23, 0).atOffset(ZoneOffset.UTC));
+        return daily;
+    }
+
+    @Test
+    void findForEvent_continuesIntoDailyRollups_onceLiveRowsRunOut() {
+        LocalDate d1 = LocalDate.of(2024, 3, 9);
+        LocalDate d2 = LocalDate.of(2024, 3, 2);
+        when(repository.findForEvent(99L, null, null, null, null, 4)).thenReturn(List.of(audit(10L, T0, "UPDATE")));
+        when(dailyRepository.findForEvent(eq(99L), isNull(), eq(LocalDate.now(ZoneOffset.UTC).plusDays(1)), eq(Limit.of(3))))
+                .thenReturn(List.of(day(d1, 0, 4), day(d2, 1, 2), day(d2.minusDays(1), 0, 1)));
+
+        EventAuditCursorPageResponse page = service.findForEvent(99L, Optional.empty(), Optional.empty(), null, 3);
+
+        assertEquals(3, page.getItems().size());
+        assertFalse(page.getItems().get(0).isRollup());
+        EventAuditDto rollup = page.getItems().get(2);
+        assertTrue(rollup.isRollup());
+        assertNull(rollup.getId());
+        assertEquals(java.util.Map.of("CREATE", 1, "UPDATE", 2), rollup.getActionCounts());
+        assertEquals(2, rollup.getActorCount());
+        EventAuditCursor next = EventAuditCursor.decode(page.getNextCursor());
+        assertTrue(next.inRollups());
+        assertEquals(d2, next.rollupDay());
+
+        // Next page seeks the rollups only; the live query is not repeated
+        when(dailyRepository.findForEvent(eq(99L), isNull(), eq(d2), eq(Limit.of(4))))
+                .thenReturn(List.of(day(d2.minusDays(1), 0, 1)));
+        EventAuditCursorPageResponse second = service.findForEvent(99L, Optional.empty(), Optional.empty(), page.getNextCursor(), 3);
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasNext());
+        verify(repository, times(1)).findForEvent(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void findForEvent_actorFilter_neverReadsRollups() {
+        when(repository.findForEvent(99L, 7L, null, null, null, 11)).thenReturn(List.of(audit(10L, T0, "UPDATE")));
+
+        EventAuditCursorPageResponse page = service.findForEvent(99L, Optional.of(7L), Optional.empty(), null, 10);
+
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasNext());
+        verifyNoInteractions(dailyRepository);
+    }
+
+    @Test
+    void findForEvent_invalidCursor_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findForEvent(99L, Optional.empty(), Optional.empty(), "not-a-cursor", 10));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void exportForEvent_handsEveryRowToSinkInOrder_andClosesTheStream() {
+        when(dailyRepository.findByEventIdOrderByDayAsc(99L)).thenReturn(List.of(day(LocalDate.of(2024, 1, 5), 1, 0)));
+        List<Long> closed = new ArrayList<>();
+        Stream<EventAudit> rows = Stream.of(audit(1L, T0, "CREATE"), audit(2L, T0.plusMinutes(1), "UPDATE"))
+                .onClose(() -> closed.add(99L));
+        when(repository.streamForEvent(99L)).thenReturn(rows);
+
+        List<Long> seen = new ArrayList<>();
+        service.exportForEvent(99L, dto -> seen.add(dto.isRollup() ? -1L : dto.getId()));
+
+        assertEquals(List.of(-1L, 1L, 2L), seen, "rolled-up days first, then live rows oldest first");
+        assertEquals(List.of(99L), closed);
+    }
+}
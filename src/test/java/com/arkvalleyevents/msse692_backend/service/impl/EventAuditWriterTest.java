@@ -0,0 +1,148 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.service.impl.EventAuditWriter.PendingAudit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Failure handling of the audit write-behind against a mocked JdbcTemplate: outages are waited out,
+ * constraint violations are isolated row by row, and nothing kills the worker thread.
+ */
+class EventAuditWriterTest {
+
+    private JdbcTemplate jdbc;
+    private MeterRegistry meterRegistry;
+    private EventAuditWriter writer;
+    private final List<List<Long>> attempts = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbc = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new EventAuditWriter(jdbc, meterRegistry, 100, 10, Duration.ofMillis(20), Duration.ofSeconds(5),
+                Duration.ofMillis(10), Duration.ofMillis(40));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void unreachableDatabase_keepsTheBatchAndRetriesAfterBackoff() throws Exception {
+        onBatch(new CannotGetJdbcConnectionException("pool timeout"),
+                new CannotGetJdbcConnectionException("pool timeout"),
+                null);
+        writer.start();
+        for (long id = 1; id <= 3; id++) {
+            writer.enqueue(audit(id, 7L));
+        }
+
+        await(() -> written() == 3);
+        assertEquals(0, failed());
+        assertEquals(3, attempts.size());
+        assertEquals(attempts.get(0), attempts.get(2), "the same rows are tried again");
+    }
+
+    @Test
+    void constraintViolation_retriesRowByRow_andDropsOnlyTheBadRow() throws Exception {
+        when(jdbc.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(inv -> {
+                    Collection<PendingAudit> rows = inv.getArgument(1);
+                    record(rows);
+                    if (rows.stream().anyMatch(a -> a.eventId() == 2L)) {
+                        throw new DataIntegrityViolationException("fk_event_audit_actor");
+                    }
+                    return new int[0][];
+                });
+        writer.start();
+        for (long id = 1; id <= 3; id++) {
+            writer.enqueue(audit(id, 7L));
+        }
+
+        await(() -> written() + failed() == 3);
+        assertEquals(2, written());
+        assertEquals(1, failed());
+    }
+
+    @Test
+    void unexpectedError_countsTheBatchAsFailed_andKeepsTheWorkerAlive() throws Exception {
+        onBatch(new IllegalStateException("snapshot encoding failed"), null);
+        writer.start();
+        writer.enqueue(audit(1L, 7L));
+        await(() -> failed() == 1);
+
+        writer.enqueue(audit(2L, 7L));
+        await(() -> written() == 1);
+        assertTrue(writer.isRunning());
+        assertEquals(List.of(2L), attempts.get(attempts.size() - 1));
+    }
+
+    @Test
+    void synchronousWrite_givesUpOnOutage_insteadOfBlockingTheCaller() {
+        onBatch(new CannotGetJdbcConnectionException("connection refused"));
+        writer.enqueue(audit(1L, 7L)); // not started: written on this thread
+
+        assertEquals(1, attempts.size());
+        assertEquals(1, failed());
+        assertEquals(1, meterRegistry.get("events.audit.records.synchronous").counter().count());
+    }
+
+    // Each call records the rows it was given, then throws the next non-null failure or succeeds
+    private void onBatch(RuntimeException... outcomes) {
+        List<RuntimeException> left = new ArrayList<>(Arrays.asList(outcomes));
+        when(jdbc.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(inv -> {
+                    record(inv.getArgument(1));
+                    RuntimeException next = left.isEmpty() ? null : left.remove(0);
+                    if (next != null) {
+                        throw next;
+                    }
+                    return new int[0][];
+                });
+    }
+
+    private void record(Collection<PendingAudit> rows) {
+        attempts.add(rows.stream().map(PendingAudit::eventId).toList());
+    }
+
+    private double written() {
+        return meterRegistry.get("events.audit.records").tag("result", "written").counter().count();
+    }
+
+    private double failed() {
+        return meterRegistry.get("events.audit.records").tag("result", "failed").counter().count();
+    }
+
+    private static PendingAudit audit(Long eventId, Long actorId) {
+        return new PendingAudit(eventId, actorId, "UPDATE", OffsetDateTime.now());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.arkvalleyevents.msse692_backend.service.impl;
 
+import com.arkvalleyevents.msse692_backend.dto.response.EventCursorPageResponse;
 import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
 import com.arkvalleyevents.msse692_backend.model.Event;
 import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventSummaryView;
 import com.arkvalleyevents.msse692_backend.security.context.UserContext;
+import com.arkvalleyevents.msse692_backend.security.policy.EventAccessPolicy;
 import com.arkvalleyevents.msse692_backend.security.policy.EventListPolicy;
+import com.arkvalleyevents.msse692_backend.service.CountMode;
 import com.arkvalleyevents.msse692_backend.service.EventAuditService;
 import com.arkvalleyevents.msse692_backend.service.mapping.EventMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,12 +19,25 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -29,6 +46,7 @@ class EventServiceImplListScopedTest {
     @Mock private EventRepository eventRepository;
     @Mock private EventMapper eventMapper;
     @Mock private EventAuditService eventAuditService;
+    @Mock private PublicUpcomingIndex upcomingIndex;
 
     private EventListPolicy eventListPolicy;
     private EventServiceImpl service;
@@ -37,25 +55,27 @@ class EventServiceImplListScopedTest {
     void setup() {
         MockitoAnnotations.openMocks(this);
         eventListPolicy = new EventListPolicy();
-        service = new EventServiceImpl(eventRepository, eventMapper, eventAuditService, eventListPolicy);
+        service = new EventServiceImpl(eventRepository, eventMapper, eventAuditService, eventListPolicy,
+                new ApproximateCountCache(Duration.ofSeconds(60)), upcomingIndex, new EventAccessPolicy(),
+                new EventSlugAllocator(eventRepository), mock(PlatformTransactionManager.class));
     }
 
     @Test
     void adminWithEmptyFilters_usesPageableOnly() {
-        when(eventRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(eventRepository.findSummaries(isNull(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
 
         UserContext admin = new UserContext(1L, true, false);
         Page<EventDto> result = service.listEventsPageScoped(Map.of(), 0, 10, "startAt,asc", admin);
 
         assertEquals(0, result.getTotalElements());
-        verify(eventRepository, times(1)).findAll(any(Pageable.class));
+        verify(eventRepository, times(1)).findSummaries(isNull(), any(Pageable.class));
         verify(eventRepository, never()).findAll(ArgumentMatchers.<Specification<Event>>any(), any(Pageable.class));
     }
 
     @Test
     void editorWithEmptyFilters_usesSpecification() {
-        Event e = new Event();
-        when(eventRepository.findAll(ArgumentMatchers.<Specification<Event>>any(), any(Pageable.class)))
+        EventSummaryView e = event(1L, LocalDateTime.of(2030, 1, 1, 10, 0));
+        when(eventRepository.findSummaries(ArgumentMatchers.<Specification<Event>>notNull(), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(e)));
         when(eventMapper.toDto(e)).thenReturn(new EventDto());
 
@@ -63,20 +83,145 @@ class EventServiceImplListScopedTest {
         Page<EventDto> result = service.listEventsPageScoped(Map.of(), 0, 10, "startAt,asc", editor);
 
         assertEquals(1, result.getTotalElements());
-        verify(eventRepository, times(1)).findAll(ArgumentMatchers.<Specification<Event>>any(), any(Pageable.class));
-        verify(eventRepository, never()).findAll(any(Pageable.class));
+        verify(eventRepository, times(1)).findSummaries(ArgumentMatchers.<Specification<Event>>notNull(), any(Pageable.class));
+        // List pages select the summary projection; entities (and their LOB) are never loaded
+        verify(eventRepository, never()).findAll(ArgumentMatchers.<Specification<Event>>any(), any(Pageable.class));
+        verify(eventMapper, never()).toDto(any(Event.class));
     }
 
     @Test
     void publicUser_defaultsToPublished_usesSpecification() {
-        when(eventRepository.findAll(ArgumentMatchers.<Specification<Event>>any(), any(Pageable.class)))
+        when(eventRepository.findSummaries(ArgumentMatchers.<Specification<Event>>notNull(), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of()));
 
         UserContext user = new UserContext(null, false, false);
         Page<EventDto> result = service.listEventsPageScoped(Map.of(), 0, 5, "startAt,asc", user);
 
         assertEquals(0, result.getTotalElements());
-        verify(eventRepository, times(1)).findAll(ArgumentMatchers.<Specification<Event>>any(), any(Pageable.class));
-        verify(eventRepository, never()).findAll(any(Pageable.class));
+        verify(eventRepository, times(1)).findSummaries(ArgumentMatchers.<Specification<Event>>notNull(), any(Pageable.class));
+        verify(eventRepository, never()).findSummaries(isNull(), any(Pageable.class));
+    }
+
+    @Test
+    void countNone_fetchesSizePlusOneAtOffset_andNeverCounts() {
+        EventSummaryView a = event(1L, LocalDateTime.of(2030, 1, 1, 10, 0));
+        EventSummaryView b = event(2L, LocalDateTime.of(2030, 1, 2, 10, 0));
+        EventSummaryView c = event(3L, LocalDateTime.of(2030, 1, 3, 10, 0));
+        when(eventRepository.findSummariesLimited(any(), any(Sort.class), anyLong(), anyInt())).thenReturn(List.of(a, b, c));
+        when(eventMapper.toDto(any(EventSummaryView.class))).thenReturn(new EventDto());
+
+        UserContext user = new UserContext(null, false, false);
+        Slice<EventDto> result = service.listEventsPageScoped(Map.of(), 2, 2, "startAt,asc", user, CountMode.NONE);
+
+        assertEquals(2, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+        assertFalse(result instanceof Page);
+        verify(eventRepository).findSummariesLimited(any(), eq(Sort.by(Sort.Direction.ASC, "startAt")), eq(4L), eq(3));
+        verify(eventRepository, never()).count(ArgumentMatchers.<Specification<Event>>any());
+        verify(eventRepository, never()).findAll(ArgumentMatchers.<Specification<Event>>any(), any(Pageable.class));
+    }
+
+    @Test
+    void countApproximate_cachesTotalAcrossRequests() {
+        EventSummaryView a = event(1L, LocalDateTime.of(2030, 1, 1, 10, 0));
+        EventSummaryView b = event(2L, LocalDateTime.of(2030, 1, 2, 10, 0));
+        when(eventRepository.findSummariesLimited(any(), any(Sort.class), anyLong(), anyInt())).thenReturn(List.of(a, b));
+        when(eventRepository.count(ArgumentMatchers.<Specification<Event>>any())).thenReturn(57L);
+        when(eventMapper.toDto(any(EventSummaryView.class))).thenReturn(new EventDto());
+
+        UserContext user = new UserContext(null, false, false);
+        Slice<EventDto> first = service.listEventsPageScoped(Map.of(), 0, 1, "startAt,asc", user, CountMode.APPROXIMATE);
+        Slice<EventDto> second = service.listEventsPageScoped(Map.of(), 3, 1, "startAt,asc", user, CountMode.APPROXIMATE);
+
+        assertEquals(57L, ((Page<EventDto>) first).getTotalElements());
+        assertEquals(57L, ((Page<EventDto>) second).getTotalElements());
+        verify(eventRepository, times(1)).count(ArgumentMatchers.<Specification<Event>>any());
+    }
+
+    @Test
+    void countExact_delegatesToPagedQuery() {
+        when(eventRepository.findSummaries(isNull(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        UserContext admin = new UserContext(1L, true, false);
+        Slice<EventDto> result = service.listEventsPageScoped(Map.of(), 0, 10, "startAt,asc", admin, CountMode.EXACT);
+
+        assertTrue(result instanceof Page);
+        verify(eventRepository, never()).findSummariesLimited(any(), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    void cursorFirstPage_fetchesSizePlusOne_andIssuesNextCursorOnly() {
+        EventSummaryView a = event(1L, LocalDateTime.of(2030, 1, 1, 10, 0));
+        EventSummaryView b = event(2L, LocalDateTime.of(2030, 1, 2, 10, 0));
+        EventSummaryView c = event(3L, LocalDateTime.of(2030, 1, 3, 10, 0));
+        when(eventRepository.findSummariesLimited(any(), any(Sort.class), anyLong(), anyInt())).thenReturn(List.of(a, b, c));
+        when(eventMapper.toDto(any(EventSummaryView.class))).thenReturn(new EventDto());
+
+        UserContext admin = new UserContext(1L, true, false);
+        EventCursorPageResponse result = service.listEventsCursorScoped(Map.of(), "", 2, "startAt,asc", admin);
+
+        assertEquals(2, result.getItems().size());
+        assertNotNull(result.getNextCursor());
+        assertNull(result.getPrevCursor());
+        verify(eventRepository).findSummariesLimited(any(), eq(Sort.by(Sort.Direction.ASC, "startAt").and(Sort.by(Sort.Direction.ASC, "eventId"))), eq(0L), eq(3));
+        verify(eventRepository, never()).findSummaries(any(), any(Pageable.class));
+
+        EventCursor next = EventCursor.decode(result.getNextCursor());
+        assertEquals(2L, next.eventId());
+        assertEquals(b.startAt(), next.startAtKey());
+    }
+
+    @Test
+    void cursorNextPage_lastPage_hasPrevButNoNext() {
+        EventSummaryView c = event(3L, LocalDateTime.of(2030, 1, 3, 10, 0));
+        when(eventRepository.findSummariesLimited(any(), any(Sort.class), anyLong(), anyInt())).thenReturn(List.of(c));
+        when(eventMapper.toDto(any(EventSummaryView.class))).thenReturn(new EventDto());
+        String token = EventCursor.forward("startAt", Sort.Direction.ASC, 2L, "2030-01-02T10:00").encode();
+
+        UserContext admin = new UserContext(1L, true, false);
+        EventCursorPageResponse result = service.listEventsCursorScoped(Map.of(), token, 2, "startAt,asc", admin);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+        assertNotNull(result.getPrevCursor());
+        EventCursor prev = EventCursor.decode(result.getPrevCursor());
+        assertEquals(3L, prev.eventId());
+        assertEquals(true, prev.backward());
+    }
+
+    @Test
+    void cursorBackward_scansReversedOrder() {
+        EventSummaryView a = event(1L, LocalDateTime.of(2030, 1, 1, 10, 0));
+        when(eventRepository.findSummariesLimited(any(), any(Sort.class), anyLong(), anyInt())).thenReturn(List.of(a));
+        when(eventMapper.toDto(any(EventSummaryView.class))).thenReturn(new EventDto());
+        String token = EventCursor.backward("startAt", Sort.Direction.ASC, 2L, "2030-01-02T10:00").encode();
+
+        UserContext admin = new UserContext(1L, true, false);
+        EventCursorPageResponse result = service.listEventsCursorScoped(Map.of(), token, 2, "startAt,asc", admin);
+
+        verify(eventRepository).findSummariesLimited(any(), eq(Sort.by(Sort.Direction.DESC, "startAt").and(Sort.by(Sort.Direction.DESC, "eventId"))), eq(0L), eq(3));
+        assertNull(result.getPrevCursor());
+        assertNotNull(result.getNextCursor());
+    }
+
+    @Test
+    void cursorIssuedForDifferentSort_isRejected() {
+        String token = EventCursor.forward("eventName", Sort.Direction.ASC, 2L, "Jazz Night").encode();
+        UserContext admin = new UserContext(1L, true, false);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.listEventsCursorScoped(Map.of(), token, 2, "startAt,asc", admin));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void malformedCursor_isRejected() {
+        UserContext admin = new UserContext(1L, true, false);
+        assertThrows(IllegalArgumentException.class,
+                () -> service.listEventsCursorScoped(Map.of(), "not-a-cursor", 2, "startAt,asc", admin));
+    }
+
+    private static EventSummaryView event(Long id, LocalDateTime startAt) {
+        return new EventSummaryView(id, "event-" + id, "Event " + id, null, startAt, null, null, null, null, null);
     }
 }
@@ -8,7 +8,11 @@ import com.arkvalleyevents.msse692_backend.model.Event;
 import com.arkvalleyevents.msse692_backend.model.EventStatus;
 import com.arkvalleyevents.msse692_backend.model.EventType;
 import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventSummaryView;
+import com.arkvalleyevents.msse692_backend.security.context.UserContext;
+import com.arkvalleyevents.msse692_backend.security.policy.EventAccessPolicy;
 import com.arkvalleyevents.msse692_backend.service.EventAuditService;
+import com.arkvalleyevents.msse692_backend.service.mapping.EventFieldState;
 import com.arkvalleyevents.msse692_backend.service.mapping.EventMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,11 +22,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -41,6 +48,10 @@ class EventServiceImplTest {
     @Mock private EventRepository eventRepository;
     @Mock private EventMapper mapper;
     @Mock private EventAuditService auditService;
+    @Mock private PublicUpcomingIndex upcomingIndex;
+    @Spy private EventAccessPolicy accessPolicy = new EventAccessPolicy();
+    @Mock private EventSlugAllocator slugAllocator;
+    @Mock private PlatformTransactionManager transactionManager;
 
     @InjectMocks private EventServiceImpl service;
 
@@ -73,10 +84,8 @@ class EventServiceImplTest {
     @Test
     void createEvent_generatesUniqueSlug_andLogsCreate() {
         when(mapper.toEntity(newEventDto)).thenReturn(mappedNewEntity);
-        // First slug taken, first increment taken, second increment available -> expect -2
-        when(eventRepository.findBySlug("spring-bash-2025")).thenReturn(Optional.of(new Event()));
-        when(eventRepository.findBySlug("spring-bash-2025-1")).thenReturn(Optional.of(new Event()));
-        when(eventRepository.findBySlug("spring-bash-2025-2")).thenReturn(Optional.empty());
+        // Allocator has seen spring-bash-2025 and -1 in use -> hands out -2
+        when(slugAllocator.next("spring-bash-2025")).thenReturn("spring-bash-2025-2");
 
         Event saved = new Event();
         saved.setEventId(42L);
@@ -100,6 +109,39 @@ class EventServiceImplTest {
         assertEquals("spring-bash-2025-2", eventCaptor.getValue().getSlug());
 
         verify(auditService).logCreate(42L);
+        verify(eventRepository, never()).findBySlug(anyString());
+    }
+
+    @Test
+    void createEvent_slugTakenConcurrently_retriesWithFreshCandidate() {
+        when(mapper.toEntity(newEventDto)).thenReturn(new Event(), mappedNewEntity);
+        when(slugAllocator.next("spring-bash-2025")).thenReturn("spring-bash-2025-3", "spring-bash-2025-4");
+        Event saved = new Event();
+        saved.setEventId(43L);
+        when(eventRepository.save(any(Event.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint on slug"))
+                .thenReturn(saved);
+        when(eventRepository.existsBySlug("spring-bash-2025-3")).thenReturn(true);
+        when(mapper.toDetailDto(saved)).thenReturn(new EventDetailDto());
+
+        service.createEvent(newEventDto);
+
+        verify(slugAllocator).forget("spring-bash-2025");
+        verify(eventRepository, times(2)).save(eventCaptor.capture());
+        assertEquals("spring-bash-2025-4", eventCaptor.getAllValues().get(1).getSlug());
+        verify(auditService, times(1)).logCreate(43L);
+    }
+
+    @Test
+    void createEvent_otherConstraintViolation_isNotRetried() {
+        when(mapper.toEntity(newEventDto)).thenReturn(mappedNewEntity);
+        when(slugAllocator.next("spring-bash-2025")).thenReturn("spring-bash-2025");
+        when(eventRepository.save(any(Event.class))).thenThrow(new DataIntegrityViolationException("end_at not null"));
+        when(eventRepository.existsBySlug("spring-bash-2025")).thenReturn(false);
+
+        assertThrows(DataIntegrityViolationException.class, () -> service.createEvent(newEventDto));
+        verify(eventRepository, times(1)).save(any(Event.class));
+        verify(auditService, never()).logCreate(anyLong());
     }
 
     @Test
@@ -124,7 +166,7 @@ class EventServiceImplTest {
         assertEquals(EventStatus.PUBLISHED, result.getStatus());
         verify(eventRepository).save(eventCaptor.capture());
         assertEquals(EventStatus.PUBLISHED, eventCaptor.getValue().getStatus());
-        verify(auditService).logUpdate(1L);
+        verify(auditService).logUpdate(eq(1L), any(EventFieldState.class), any(Event.class));
     }
 
     @Test
@@ -136,7 +178,46 @@ class EventServiceImplTest {
 
         assertThrows(IllegalStateException.class, () -> service.publishEvent(5L));
         verify(eventRepository, never()).save(any());
-        verify(auditService, never()).logUpdate(anyLong());
+        verify(auditService, never()).logUpdate(anyLong(), any(), any());
+    }
+
+    @Test
+    void publishEvent_scoped_ownerEditor_authorizesAndMutatesOnSingleLoad() {
+        Event existing = new Event();
+        existing.setEventId(3L);
+        existing.setStatus(EventStatus.DRAFT);
+        existing.setCreatedByUserId(42L);
+        when(eventRepository.findById(3L)).thenReturn(Optional.of(existing));
+        when(eventRepository.save(existing)).thenReturn(existing);
+        EventDetailDto dto = new EventDetailDto();
+        dto.setStatus(EventStatus.PUBLISHED);
+        when(mapper.toDetailDto(existing)).thenReturn(dto);
+
+        EventDetailDto result = service.publishEvent(3L, new UserContext(42L, false, true));
+
+        assertEquals(EventStatus.PUBLISHED, result.getStatus());
+        verify(eventRepository, times(1)).findById(3L);
+        verify(accessPolicy).assertCanModify(existing, new UserContext(42L, false, true));
+        ArgumentCaptor<EventFieldState> before = ArgumentCaptor.forClass(EventFieldState.class);
+        verify(auditService).logUpdate(eq(3L), before.capture(), same(existing));
+        assertEquals("DRAFT", before.getValue().value(EventFieldState.FIELDS.indexOf("status")), "state captured before the change");
+    }
+
+    @Test
+    void updateEvent_scoped_nonOwnerEditor_hiddenAsNotFound_andNothingWritten() {
+        Event existing = new Event();
+        existing.setEventId(4L);
+        existing.setCreatedByUserId(42L);
+        when(eventRepository.findById(4L)).thenReturn(Optional.of(existing));
+
+        UpdateEventDto patch = new UpdateEventDto();
+        patch.setEventName("Hijacked");
+
+        assertThrows(EntityNotFoundException.class,
+                () -> service.updateEvent(4L, patch, new UserContext(7L, false, true)));
+        verify(mapper, never()).updateEntity(any(Event.class), any(UpdateEventDto.class));
+        verify(eventRepository, never()).save(any());
+        verify(auditService, never()).logUpdate(anyLong(), any(), any());
     }
 
     @Test
@@ -158,7 +239,7 @@ class EventServiceImplTest {
 
         EventDetailDto result = service.unpublishEvent(2L);
         assertEquals(EventStatus.UNPUBLISHED, result.getStatus());
-        verify(auditService).logUpdate(2L);
+        verify(auditService).logUpdate(eq(2L), any(EventFieldState.class), any(Event.class));
     }
 
     @Test
@@ -191,7 +272,7 @@ class EventServiceImplTest {
 
         EventDetailDto result = service.cancelEvent(3L);
         assertEquals(EventStatus.CANCELLED, result.getStatus());
-        verify(auditService).logUpdate(3L);
+        verify(auditService).logUpdate(eq(3L), any(EventFieldState.class), any(Event.class));
     }
 
     @Test
@@ -235,7 +316,7 @@ class EventServiceImplTest {
         EventDetailDto result = service.updateEvent(11L, patch);
 
         assertEquals("New name", result.getEventName());
-        verify(auditService).logUpdate(11L);
+        verify(auditService).logUpdate(eq(11L), any(EventFieldState.class), any(Event.class));
     }
 
     @Test
@@ -341,8 +422,8 @@ class EventServiceImplTest {
 
     @Test
     void getEventsByType_mapsList() {
-        Event e1 = new Event(); e1.setEventId(1L);
-        when(eventRepository.findByEventType(EventType.CONCERT)).thenReturn(List.of(e1));
+        EventSummaryView e1 = summary(1L);
+        when(eventRepository.findSummariesByEventType(EventType.CONCERT)).thenReturn(List.of(e1));
         EventDto d1 = new EventDto(); d1.setEventId(1L);
         when(mapper.toDto(e1)).thenReturn(d1);
 
@@ -377,8 +458,8 @@ class EventServiceImplTest {
 
     @Test
     void getEventsByLocation_filtersAndMaps() {
-        Event e1 = new Event(); e1.setEventId(1L);
-        when(eventRepository.findByEventLocationContainingIgnoreCase("salida"))
+        EventSummaryView e1 = summary(1L);
+        when(eventRepository.findSummariesByLocation("salida"))
                 .thenReturn(List.of(e1));
         EventDto d1 = new EventDto(); d1.setEventId(1L);
         when(mapper.toDto(e1)).thenReturn(d1);
@@ -387,4 +468,8 @@ class EventServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getEventId());
     }
-}
\ No newline at end of file
+
+    private static EventSummaryView summary(Long id) {
+        return new EventSummaryView(id, "event-" + id, "Event " + id, EventType.CONCERT, null, null, EventStatus.PUBLISHED, null, null, null);
+    }
+}
@@ -4,19 +4,23 @@ import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
 import com.arkvalleyevents.msse692_backend.model.Event;
 import com.arkvalleyevents.msse692_backend.model.EventStatus;
 import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventRepositoryCustom.ListStamp;
+import com.arkvalleyevents.msse692_backend.repository.EventSummaryView;
 import com.arkvalleyevents.msse692_backend.service.EventAuditService;
 import com.arkvalleyevents.msse692_backend.service.mapping.EventMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -28,17 +32,17 @@ class EventServicePublicUpcomingTest {
     @Mock private EventRepository eventRepository;
     @Mock private EventMapper mapper;
     @Mock private EventAuditService auditService;
+    @Mock private PublicUpcomingIndex upcomingIndex;
 
     @InjectMocks private EventServiceImpl service;
 
     @Test
     void listPublicUpcoming_filtersPublished_andSortsAscending() {
         LocalDateTime now = LocalDateTime.now();
-        Event e1 = new Event(); e1.setEventId(1L); e1.setStatus(EventStatus.PUBLISHED); e1.setStartAt(now.plusHours(2));
-        Event e2 = new Event(); e2.setEventId(2L); e2.setStatus(EventStatus.PUBLISHED); e2.setStartAt(now.plusHours(3));
-        Page<Event> page = new PageImpl<>(List.of(e1, e2));
-        when(eventRepository.findByStatusAndStartAtGreaterThanEqualOrderByStartAtAsc(eq(EventStatus.PUBLISHED), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(page);
+        EventSummaryView e1 = summary(1L, now.plusHours(2));
+        EventSummaryView e2 = summary(2L, now.plusHours(3));
+        when(eventRepository.findSummariesLimited(ArgumentMatchers.<Specification<Event>>notNull(), any(Sort.class), eq(0L), eq(5)))
+                .thenReturn(List.of(e1, e2));
         EventDto d1 = new EventDto(); d1.setEventId(1L); d1.setStatus(EventStatus.PUBLISHED);
         EventDto d2 = new EventDto(); d2.setEventId(2L); d2.setStatus(EventStatus.PUBLISHED);
         when(mapper.toDto(e1)).thenReturn(d1);
@@ -49,16 +53,48 @@ class EventServicePublicUpcomingTest {
         assertEquals(1L, result.get(0).getEventId());
         assertEquals(2L, result.get(1).getEventId());
         assertTrue(result.stream().allMatch(r -> r.getStatus() == EventStatus.PUBLISHED));
+        verify(eventRepository).findSummariesLimited(any(),
+                eq(Sort.by(Sort.Direction.ASC, "startAt").and(Sort.by(Sort.Direction.ASC, "eventId"))), eq(0L), eq(5));
     }
 
     @Test
     void listPublicUpcoming_emptyWhenNone() {
         LocalDateTime now = LocalDateTime.now();
-        Page<Event> page = new PageImpl<>(List.of());
-        when(eventRepository.findByStatusAndStartAtGreaterThanEqualOrderByStartAtAsc(eq(EventStatus.PUBLISHED), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(page);
+        when(eventRepository.findSummariesLimited(any(), any(Sort.class), anyLong(), anyInt()))
+                .thenReturn(List.of());
         List<EventDto> result = service.listPublicUpcoming(now, 3);
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void listPublicUpcoming_servedFromIndex_skipsRepository() {
+        LocalDateTime now = LocalDateTime.now();
+        EventDto d1 = new EventDto(); d1.setEventId(1L); d1.setStatus(EventStatus.PUBLISHED);
+        when(upcomingIndex.find(now, 5)).thenReturn(Optional.of(List.of(d1)));
+
+        List<EventDto> result = service.listPublicUpcoming(now, 5);
+
+        assertEquals(1, result.size());
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void publicUpcomingStamp_isTheSameWhetherTheIndexOrTheDatabaseAnswers() {
+        LocalDateTime now = LocalDateTime.now();
+        ListStamp data = new ListStamp(2, Instant.parse("2030-06-01T12:00:00.123456Z"));
+        when(upcomingIndex.stamp(now)).thenReturn(Optional.of(data));
+        String fromIndex = service.publicUpcomingStamp(now);
+        assertEquals(fromIndex, service.publicUpcomingIndexStamp(now));
+        verifyNoInteractions(eventRepository);
+
+        when(upcomingIndex.stamp(now)).thenReturn(Optional.empty());
+        when(eventRepository.stamp(ArgumentMatchers.<Specification<Event>>notNull())).thenReturn(data);
+        assertEquals(fromIndex, service.publicUpcomingStamp(now));
+        assertNull(service.publicUpcomingIndexStamp(now));
+    }
+
+    private static EventSummaryView summary(Long id, LocalDateTime startAt) {
+        return new EventSummaryView(id, "event-" + id, "Event " + id, null, startAt, null, EventStatus.PUBLISHED, null, null, null);
+    }
 }
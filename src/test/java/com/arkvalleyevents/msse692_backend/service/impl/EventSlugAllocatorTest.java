@@ -0,0 +1,62 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventSlugAllocatorTest {
+
+    @Mock private EventRepository eventRepository;
+
+    private EventSlugAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new EventSlugAllocator(eventRepository);
+    }
+
+    @Test
+    void unusedBase_isHandedOutBare_thenSuffixed_withOneQuery() {
+        when(eventRepository.findSlugsWithBase("open-mic-night")).thenReturn(List.of());
+
+        assertEquals("open-mic-night", allocator.next("open-mic-night"));
+        assertEquals("open-mic-night-1", allocator.next("open-mic-night"));
+        assertEquals("open-mic-night-2", allocator.next("open-mic-night"));
+        verify(eventRepository, times(1)).findSlugsWithBase("open-mic-night");
+    }
+
+    @Test
+    void continuesAfterHighestNumericSuffix_ignoringOtherSlugsSharingThePrefix() {
+        when(eventRepository.findSlugsWithBase("open-mic-night")).thenReturn(List.of(
+                "open-mic-night", "open-mic-night-2", "open-mic-night-17", "open-mic-night-special", "open-mic-night-007"));
+
+        assertEquals("open-mic-night-18", allocator.next("open-mic-night"));
+    }
+
+    @Test
+    void forget_reseedsFromDatabase() {
+        when(eventRepository.findSlugsWithBase("jazz")).thenReturn(List.of("jazz"), List.of("jazz", "jazz-1", "jazz-5"));
+
+        assertEquals("jazz-1", allocator.next("jazz"));
+        allocator.forget("jazz");
+
+        assertEquals("jazz-6", allocator.next("jazz"));
+        verify(eventRepository, times(2)).findSlugsWithBase("jazz");
+    }
+
+    @Test
+    void blankBase_fallsBackToEvent() {
+        when(eventRepository.findSlugsWithBase("event")).thenReturn(List.of());
+
+        assertEquals("event", allocator.next(""));
+    }
+}
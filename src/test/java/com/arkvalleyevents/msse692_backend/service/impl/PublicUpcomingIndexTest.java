@@ -0,0 +1,248 @@
+package com.arkvalleyevents.msse692_backend.service.impl;
+
+import com.arkvalleyevents.msse692_backend.dto.response.EventDto;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.repository.EventRepository;
+import com.arkvalleyevents.msse692_backend.repository.EventRepositoryCustom.ListStamp;
+import com.arkvalleyevents.msse692_backend.repository.EventSummaryVersionView;
+import com.arkvalleyevents.msse692_backend.repository.EventSummaryView;
+import com.arkvalleyevents.msse692_backend.service.mapping.EventMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublicUpcomingIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    @Mock private EventRepository eventRepository;
+    @Mock private EventMapper mapper;
+
+    private SimpleMeterRegistry registry;
+    private MutableClock clock;
+    private PublicUpcomingIndex index;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        index = new PublicUpcomingIndex(eventRepository, mapper, registry, true, clock);
+        lenient().when(mapper.toDto(any(EventSummaryView.class))).thenAnswer(inv -> dto(inv.getArgument(0)));
+    }
+
+    @Test
+    void beforeBuild_everyQueryIsAMiss() {
+        assertTrue(index.find(NOW, 5).isEmpty());
+        assertEquals(1.0, registry.get("events.upcoming.index.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void rebuild_servesPublishedInStartOrder_andCountsHits() {
+        EventSummaryVersionView late = row(2L, NOW.plusDays(2), 0L);
+        EventSummaryVersionView early = row(1L, NOW.plusDays(1), 0L);
+        when(eventRepository.findSummaryVersionsByStatusAndStartAtFrom(EventStatus.PUBLISHED, NOW))
+                .thenReturn(List.of(early, late));
+
+        index.rebuild();
+        Optional<List<EventDto>> result = index.find(NOW, 10);
+
+        assertTrue(result.isPresent());
+        assertEquals(List.of(1L, 2L), result.get().stream().map(EventDto::getEventId).toList());
+        assertEquals(1.0, registry.get("events.upcoming.index.requests").tag("result", "hit").counter().count());
+        assertEquals(2.0, registry.get("events.upcoming.index.size").gauge().value());
+        // from before the horizon cannot be answered from memory
+        assertTrue(index.find(NOW.minusHours(1), 10).isEmpty());
+    }
+
+    @Test
+    void onSaved_unpublishRemoves_andStaleVersionIsIgnored() {
+        when(eventRepository.findSummaryVersionsByStatusAndStartAtFrom(any(), any())).thenReturn(List.of());
+        index.rebuild();
+
+        EventSummaryVersionView published = row(5L, NOW.plusDays(1), 1L);
+        index.onSaved(published);
+        assertEquals(1, index.size());
+
+        index.onSaved(row(5L, NOW.plusDays(1), EventStatus.UNPUBLISHED, 2L));
+        assertEquals(0, index.size());
+
+        // An older snapshot arriving late must not resurrect the event
+        index.onSaved(published);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void onSaved_startAtChange_reordersEntry() {
+        when(eventRepository.findSummaryVersionsByStatusAndStartAtFrom(any(), any())).thenReturn(List.of());
+        index.rebuild();
+        index.onSaved(row(1L, NOW.plusDays(1), 0L));
+        index.onSaved(row(2L, NOW.plusDays(2), 0L));
+
+        index.onSaved(row(1L, NOW.plusDays(3), 1L));
+
+        List<EventDto> result = index.find(NOW, 10).orElseThrow();
+        assertEquals(List.of(2L, 1L), result.stream().map(EventDto::getEventId).toList());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void onDeleted_removesEntry() {
+        when(eventRepository.findSummaryVersionsByStatusAndStartAtFrom(any(), any())).thenReturn(List.of());
+        index.rebuild();
+        index.onSaved(row(1L, NOW.plusDays(1), 0L));
+
+        index.onDeleted(1L);
+
+        assertEquals(0, index.size());
+        assertTrue(index.find(NOW, 10).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void evictPast_dropsStartedEvents_andAdvancesHorizon() {
+        when(eventRepository.findSummaryVersionsByStatusAndStartAtFrom(any(), any())).thenReturn(List.of());
+        index.rebuild();
+        index.onSaved(row(1L, NOW.plusMinutes(30), 0L));
+        index.onSaved(row(2L, NOW.plusDays(1), 0L));
+
+        clock.set(NOW.plusHours(1).toInstant(ZoneOffset.UTC));
+        index.evictPast();
+
+        assertEquals(1, index.size());
+        assertTrue(index.find(NOW, 10).isEmpty());
+        assertEquals(List.of(2L), index.find(NOW.plusHours(1), 10).orElseThrow().stream().map(EventDto::getEventId).toList());
+    }
+
+    @Test
+    void catchUp_appliesOtherInstancesChanges_andDropsRowsGoneFromTheDatabase() {
+        EventSummaryVersionView kept = row(1L, NOW.plusDays(1), 0L);
+        EventSummaryVersionView deleted = row(2L, NOW.plusDays(2), 0L);
+        EventSummaryVersionView unpublished = row(3L, NOW.plusDays(3), 0L);
+        when(eventRepository.findSummaryVersionsByStatusAndStartAtFrom(any(), any()))
+                .thenReturn(List.of(kept, deleted, unpublished));
+        index.rebuild();
+
+        // Elsewhere: 2 deleted, 3 unpublished, 4 published
+        EventSummaryVersionView nowDraft = row(3L, NOW.plusDays(3), EventStatus.DRAFT, 1L);
+        EventSummaryVersionView added = row(4L, NOW.plusDays(4), 1L);
+        when(eventRepository.findIdsByStatusAndStartAtFrom(EventStatus.PUBLISHED, NOW)).thenReturn(List.of(1L, 4L));
+        when(eventRepository.findSummaryVersionsUpdatedSince(any(Instant.class))).thenReturn(List.of(nowDraft, added));
+
+        clock.set(NOW.plusSeconds(30).toInstant(ZoneOffset.UTC));
+        index.catchUp();
+
+        assertEquals(List.of(1L, 4L), index.find(NOW, 10).orElseThrow().stream().map(EventDto::getEventId).toList());
+        // The next pass only asks for rows changed since this one (less the slack)
+        index.catchUp();
+        verify(eventRepository).findSummaryVersionsUpdatedSince(NOW.minusSeconds(5).toInstant(ZoneOffset.UTC));
+        verify(eventRepository).findSummaryVersionsUpdatedSince(NOW.plusSeconds(25).toInstant(ZoneOffset.UTC));
+    }
+
+    @Test
+    void catchUp_beforeBuild_doesNothing() {
+        index.catchUp();
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void hitsShareOneUnmodifiableList_untilTheIndexChanges() {
+        when(eventRepository.findSummaryVersionsByStatusAndStartAtFrom(any(), any())).thenReturn(List.of());
+        index.rebuild();
+        index.onSaved(row(1L, NOW.plusDays(1), 0L));
+        index.onSaved(row(2L, NOW.plusDays(2), 0L));
+
+        List<EventDto> first = index.find(NOW, 10).orElseThrow();
+        assertSame(first, index.find(NOW, 10).orElseThrow());
+        assertSame(first.get(1), index.find(NOW.plusDays(2), 10).orElseThrow().get(0));
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new EventDto()));
+        verify(mapper, times(2)).toDto(any(EventSummaryView.class));
+
+        index.onSaved(row(3L, NOW.plusDays(3), 0L));
+        List<EventDto> second = index.find(NOW, 10).orElseThrow();
+        assertNotSame(first, second);
+        assertEquals(List.of(1L, 2L, 3L), second.stream().map(EventDto::getEventId).toList());
+        assertEquals(List.of(1L, 2L), first.stream().map(EventDto::getEventId).toList());
+    }
+
+    @Test
+    void stamp_isTheDatabaseListStamp_ofTheCoveredEntries() {
+        Instant t1 = NOW.minusDays(3).toInstant(ZoneOffset.UTC);
+        Instant t2 = NOW.minusDays(2).toInstant(ZoneOffset.UTC);
+        List<EventSummaryVersionView> rows = List.of(row(1L, NOW.plusDays(1), EventStatus.PUBLISHED, 0L, t2),
+                row(2L, NOW.plusDays(2), EventStatus.PUBLISHED, 0L, t1));
+        when(eventRepository.findSummaryVersionsByStatusAndStartAtFrom(any(), any())).thenReturn(rows);
+        index.rebuild();
+
+        assertEquals(new ListStamp(2, t2), index.stamp(NOW).orElseThrow());
+        assertEquals(new ListStamp(1, t1), index.stamp(NOW.plusDays(1).plusMinutes(1)).orElseThrow());
+        assertEquals(new ListStamp(0, null), index.stamp(NOW.plusDays(3)).orElseThrow());
+
+        // Another instance (or this one after a restart) holding the same rows stamps them identically
+        PublicUpcomingIndex other = new PublicUpcomingIndex(eventRepository, mapper, new SimpleMeterRegistry(), true, clock);
+        other.rebuild();
+        assertEquals(index.stamp(NOW), other.stamp(NOW));
+    }
+
+    @Test
+    void stamp_changesWhenAnEntryChanges_evenIfTheCountDoesNot() {
+        Instant t1 = NOW.minusDays(1).toInstant(ZoneOffset.UTC);
+        when(eventRepository.findSummaryVersionsByStatusAndStartAtFrom(any(), any())).thenReturn(List.of());
+        index.rebuild();
+        index.onSaved(row(1L, NOW.plusDays(1), EventStatus.PUBLISHED, 0L, t1));
+        ListStamp before = index.stamp(NOW).orElseThrow();
+
+        Instant retitled = NOW.toInstant(ZoneOffset.UTC);
+        index.onSaved(row(1L, NOW.plusDays(1), EventStatus.PUBLISHED, 1L, retitled));
+
+        assertEquals(new ListStamp(1, retitled), index.stamp(NOW).orElseThrow());
+        assertNotEquals(before, index.stamp(NOW).orElseThrow());
+    }
+
+    private static EventSummaryVersionView row(Long id, LocalDateTime startAt, Long version) {
+        return row(id, startAt, EventStatus.PUBLISHED, version);
+    }
+
+    private static EventSummaryVersionView row(Long id, LocalDateTime startAt, EventStatus status, Long version) {
+        return row(id, startAt, status, version, NOW.minusDays(1).toInstant(ZoneOffset.UTC));
+    }
+
+    private static EventSummaryVersionView row(Long id, LocalDateTime startAt, EventStatus status, Long version, Instant updatedAt) {
+        return new EventSummaryVersionView(id, "event-" + id, "Event " + id, null, startAt, null, status, null, null, null,
+                version, updatedAt);
+    }
+
+    private static EventDto dto(EventSummaryView v) {
+        EventDto d = new EventDto();
+        d.setEventId(v.eventId());
+        d.setEventName(v.eventName());
+        d.setStatus(v.status());
+        d.setStartAt(v.startAt());
+        return d;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) { this.instant = instant; }
+
+        void set(Instant instant) { this.instant = instant; }
+
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+        @Override public Instant instant() { return instant; }
+    }
+}
@@ -0,0 +1,74 @@
+package com.arkvalleyevents.msse692_backend.service.mapping;
+
+import com.arkvalleyevents.msse692_backend.model.Event;
+import com.arkvalleyevents.msse692_backend.model.EventStatus;
+import com.arkvalleyevents.msse692_backend.model.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventChangeCodecTest {
+
+    private static Event event() {
+        Event e = new Event();
+        e.setSlug("river-fest");
+        e.setEventName("River Fest");
+        e.setEventType(EventType.CONCERT);
+        e.setStartAt(LocalDateTime.of(2025, 7, 4, 19, 0));
+        e.setEndAt(LocalDateTime.of(2025, 7, 4, 22, 0));
+        e.setEventLocation("Riverside Park");
+        e.setEventDescription("Live music on the river.");
+        e.setStatus(EventStatus.DRAFT);
+        return e;
+    }
+
+    @Test
+    void encode_writesOnlyChangedColumns() {
+        Event e = event();
+        EventFieldState before = EventFieldState.of(e);
+        e.setStatus(EventStatus.PUBLISHED);
+        e.setEventName("River \"Fest\"");
+
+        String json = EventChangeCodec.encode(before, EventFieldState.of(e), 4L);
+
+        assertEquals("{\"v\":4,\"d\":{\"eventName\":[\"River Fest\",\"River \\\"Fest\\\"\"],\"status\":[\"DRAFT\",\"PUBLISHED\"]}}", json);
+    }
+
+    @Test
+    void encode_recordsDescriptionAsLengthAndChecksumOnly() {
+        Event e = event();
+        EventFieldState before = EventFieldState.of(e);
+        e.setEventDescription("x".repeat(10_000));
+
+        String json = EventChangeCodec.encode(before, EventFieldState.of(e), 2L);
+
+        assertFalse(json.contains("Live music") || json.contains("xxxx"), json);
+        assertTrue(json.contains("{\"len\":10000,\"crc32\":\""), json);
+        Map<String, List<Object>> fields = EventChangeCodec.decode(json).fields();
+        Map<?, ?> oldMarker = (Map<?, ?>) fields.get("eventDescription").get(0);
+        assertEquals(24, oldMarker.get("len"));
+        assertEquals(8, oldMarker.get("crc32").toString().length());
+    }
+
+    @Test
+    void decode_roundTripsAndIgnoresNonDiffSnapshots() {
+        Event e = event();
+        EventFieldState before = EventFieldState.of(e);
+        e.setEventLocation(null);
+        e.setStartAt(LocalDateTime.of(2025, 7, 5, 19, 0));
+
+        EventChangeCodec.Change change = EventChangeCodec.decode(EventChangeCodec.encode(before, EventFieldState.of(e), 9L));
+
+        assertEquals(9L, change.version());
+        assertEquals(List.of("2025-07-04T19:00", "2025-07-05T19:00"), change.fields().get("startAt"));
+        assertEquals(java.util.Arrays.asList("Riverside Park", null), change.fields().get("eventLocation"));
+        assertEquals(2, change.fields().size());
+        assertNull(EventChangeCodec.decode(null));
+        assertNull(EventChangeCodec.decode("{\"eventName\":\"full snapshot\"}"));
+        assertNull(EventChangeCodec.decode("not json"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.arkvalleyevents.msse692_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedTtlCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(2, clock::get);
+
+    @Test
+    void entryIsServedUntilItsExpiry_thenDropped() {
+        cache.put("a", 1, 10);
+
+        clock.set(9);
+        assertEquals(1, cache.get("a"));
+        clock.set(10);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void overTheBound_evictsOnlyTheLeastRecentlyUsedEntry() {
+        cache.put("a", 1, 100);
+        cache.put("b", 2, 100);
+        cache.get("a");
+
+        cache.put("c", 3, 100);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    void expiryComparisonSurvivesClockWrapAround() {
+        clock.set(Long.MAX_VALUE - 5);
+        cache.put("a", 1, Long.MAX_VALUE + 5); // wraps negative, still 10 ticks ahead
+
+        clock.set(Long.MAX_VALUE);
+        assertEquals(1, cache.get("a"));
+        clock.set(Long.MAX_VALUE + 6);
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void removeIf_matchesOnKeyAndValue() {
+        cache.put("a", 1, 100);
+        cache.put("b", 2, 100);
+
+        cache.removeIf((k, v) -> v == 2);
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.get("a"));
+    }
+}